@@ -0,0 +1,58 @@
+package com.drawkcab.blackjack.game;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class DeckBenchmark {
+    @Param({"1", "2", "6", "8"})
+    public int numDecks;
+
+    private Deck deck;
+    private long seed;
+
+    @Setup
+    public void setup() {
+        deck = new Deck(numDecks, new SplittableRandom(42));
+    }
+
+    /** Deals one card, reshuffling whenever the shoe runs out. */
+    @Benchmark
+    public Card getNextCard() {
+        if (deck.cardsRemaining() == 0) {
+            deck.shuffle();
+        }
+        return deck.getNextCard();
+    }
+
+    /** The reshuffle between shoes within a game. */
+    @Benchmark
+    public int shuffle() {
+        deck.shuffle();
+        return deck.cardsRemaining();
+    }
+
+    /** The reseed at the start of every game. */
+    @Benchmark
+    public int shuffleSeeded() {
+        deck.shuffle(seed++);
+        return deck.cardsRemaining();
+    }
+}
@@ -0,0 +1,56 @@
+package com.drawkcab.blackjack.game;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class HandBenchmark {
+    // A power of two, so the next hand is picked with a mask.
+    private static final int HANDS = 1024;
+
+    private Hand[] hands;
+    private int next;
+
+    @Setup
+    public void setup() {
+        // A spread of realistic hands, two to five cards, so the branch predictor can't learn a
+        // single answer.
+        Deck deck = new Deck(6, new SplittableRandom(42));
+        hands = new Hand[HANDS];
+        SplittableRandom random = new SplittableRandom(7);
+        for (int i = 0; i < HANDS; i++) {
+            if (deck.cardsRemaining() < 10) {
+                deck.shuffle();
+            }
+            List<Card> cards = new ArrayList<>();
+            int size = 2 + random.nextInt(4);
+            for (int j = 0; j < size; j++) {
+                cards.add(deck.getNextCard());
+            }
+            hands[i] = new Hand(cards);
+        }
+    }
+
+    @Benchmark
+    public int totalValue() {
+        return hands[next++ & (HANDS - 1)].totalValue();
+    }
+}
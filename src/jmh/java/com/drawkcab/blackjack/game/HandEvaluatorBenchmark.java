@@ -0,0 +1,66 @@
+package com.drawkcab.blackjack.game;
+
+import com.drawkcab.blackjack.player.HandState;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class HandEvaluatorBenchmark {
+    private static final int HANDS = 1024;
+
+    private HandEvaluator handEvaluator;
+    private HandState[] playerHands;
+    private HandState[] dealerHands;
+    private int next;
+
+    @Setup
+    public void setup() {
+        handEvaluator = new HandEvaluator();
+        Deck deck = new Deck(6, new SplittableRandom(42));
+        playerHands = new HandState[HANDS];
+        dealerHands = new HandState[HANDS];
+        for (int i = 0; i < HANDS; i++) {
+            if (deck.cardsRemaining() < 20) {
+                deck.shuffle();
+            }
+            playerHands[i] = finishedHand(deck, 17);
+            dealerHands[i] = finishedHand(deck, 17);
+        }
+    }
+
+    // Hits to the target like a dealer would, giving a mix of blackjacks, busts and made hands.
+    private static HandState finishedHand(Deck deck, int standOn) {
+        HandState hand = new HandState(
+                new Hand(List.of(deck.getNextCard(), deck.getNextCard())), 2);
+        while (!hand.isFinished() && hand.getTotalValue() < standOn) {
+            hand.hit(deck.getNextCard());
+        }
+        if (!hand.isFinished()) {
+            hand.stand();
+        }
+        return hand;
+    }
+
+    @Benchmark
+    public HandOutcome getOutcome() {
+        int i = next++ & (HANDS - 1);
+        return handEvaluator.getOutcome(playerHands[i], dealerHands[i]);
+    }
+}
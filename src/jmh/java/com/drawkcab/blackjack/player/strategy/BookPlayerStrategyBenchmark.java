@@ -0,0 +1,75 @@
+package com.drawkcab.blackjack.player.strategy;
+
+import com.drawkcab.blackjack.game.Card;
+import com.drawkcab.blackjack.game.Deck;
+import com.drawkcab.blackjack.game.Hand;
+import com.drawkcab.blackjack.player.HandState;
+import com.drawkcab.blackjack.player.Move;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the book strategy's live decision logic with its {@link CompiledStrategy} table.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class BookPlayerStrategyBenchmark {
+    private static final int HANDS = 1024;
+    private static final long BET = 20;
+
+    private Strategy book;
+    private Strategy compiled;
+    private HandState[] hands;
+    private Card[] dealerCards;
+    private long[] banks;
+    private int next;
+
+    @Setup
+    public void setup() {
+        book = new BookPlayerStrategy();
+        compiled = CompiledStrategy.compile(book);
+
+        Deck deck = new Deck(6, new SplittableRandom(42));
+        hands = new HandState[HANDS];
+        dealerCards = new Card[HANDS];
+        banks = new long[HANDS];
+        for (int i = 0; i < HANDS; i++) {
+            if (deck.cardsRemaining() < 10) {
+                deck.shuffle();
+            }
+            hands[i] = new HandState(
+                    new Hand(List.of(deck.getNextCard(), deck.getNextCard())), BET);
+            dealerCards[i] = deck.getNextCard();
+            // Mostly able to afford another bet, like a player early in a game.
+            banks[i] = i % 8 == 0 ? BET - 1 : BET * 10;
+        }
+    }
+
+    @Benchmark
+    public Move getNextMove() {
+        int i = next++ & (HANDS - 1);
+        return book.getNextMove(hands[i], dealerCards[i], banks[i]);
+    }
+
+    @Benchmark
+    public Move getNextMoveCompiled() {
+        int i = next++ & (HANDS - 1);
+        return compiled.getNextMove(hands[i], dealerCards[i], banks[i]);
+    }
+}
@@ -0,0 +1,57 @@
+package com.drawkcab.blackjack.simulation;
+
+import com.drawkcab.blackjack.player.strategy.BookPlayerStrategy;
+import com.drawkcab.blackjack.simulation.modules.BlackJackSimulationModule;
+import com.drawkcab.blackjack.simulation.modules.BlackJackSimulationModule.SimulationConfiguration;
+import com.google.inject.Guice;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigDecimal;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Whole games, with the same configuration as {@code Main}.
+ *
+ * <p>Game lengths are heavy tailed, so each invocation plays the next game from a fixed cycle of
+ * seeds. Every measurement iteration then averages over the same mix of short and long games
+ * rather than whichever games happened to come up.</p>
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class GameSimulatorBenchmark {
+    private static final int SEEDS = 256;
+
+    @Param({"1", "2", "6", "8"})
+    public int numDecks;
+
+    private GameSimulator gameSimulator;
+    private int game;
+
+    @Setup
+    public void setup() {
+        SimulationConfiguration configuration = new SimulationConfiguration(numDecks,
+                new BigDecimal("100.00"), new BigDecimal("10.00"), new BookPlayerStrategy(), 1,
+                42);
+        gameSimulator = Guice.createInjector(new BlackJackSimulationModule(configuration))
+                .getInstance(GameSimulator.class);
+    }
+
+    @Benchmark
+    public long playGame() {
+        return gameSimulator.playGame(GameSeeds.forGame(42, game++ & (SEEDS - 1)));
+    }
+}
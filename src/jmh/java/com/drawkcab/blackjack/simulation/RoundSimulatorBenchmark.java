@@ -0,0 +1,65 @@
+package com.drawkcab.blackjack.simulation;
+
+import com.drawkcab.blackjack.game.Deck;
+import com.drawkcab.blackjack.game.Money;
+import com.drawkcab.blackjack.player.Dealer;
+import com.drawkcab.blackjack.player.Player;
+import com.drawkcab.blackjack.player.strategy.BookPlayerStrategy;
+import com.drawkcab.blackjack.simulation.modules.BlackJackSimulationModule;
+import com.drawkcab.blackjack.simulation.modules.BlackJackSimulationModule.SimulationConfiguration;
+import com.google.inject.Guice;
+import com.google.inject.Injector;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigDecimal;
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class RoundSimulatorBenchmark {
+    private RoundSimulator roundSimulator;
+    private Player player;
+    private Dealer dealer;
+    private Deck deck;
+    private long minBet;
+
+    @Setup
+    public void setup() {
+        // A deep bank, so the player very rarely needs resetting.
+        SimulationConfiguration configuration = new SimulationConfiguration(6,
+                new BigDecimal("1000000.00"), new BigDecimal("10.00"), new BookPlayerStrategy(),
+                1, 42);
+        Injector injector = Guice.createInjector(new BlackJackSimulationModule(configuration));
+        roundSimulator = injector.getInstance(RoundSimulator.class);
+        player = injector.getInstance(Player.class);
+        dealer = injector.getInstance(Dealer.class);
+        deck = injector.getInstance(Deck.class);
+        deck.shuffle(42);
+        minBet = Money.of(configuration.minBet());
+    }
+
+    @Benchmark
+    public long playRound() {
+        if (deck.cardsRemaining() < 50) {
+            deck.shuffle();
+        }
+        if (player.getBank() < minBet) {
+            player.reset();
+        }
+        roundSimulator.playRound(player, dealer, deck, minBet);
+        return player.getBank();
+    }
+}
@@ -1,6 +1,7 @@
 package com.drawkcab.blackjack;
 
 import com.drawkcab.blackjack.player.strategy.BookPlayerStrategy;
+import com.drawkcab.blackjack.server.SimulationServer;
 import com.drawkcab.blackjack.simulation.MonteCarloSimulator;
 import com.drawkcab.blackjack.simulation.MonteCarloSimulator.SimulationResult;
 import com.drawkcab.blackjack.simulation.modules.BlackJackSimulationModule;
@@ -8,7 +9,9 @@ import com.drawkcab.blackjack.simulation.modules.BlackJackSimulationModule.Simul
 import com.google.inject.Guice;
 import com.google.inject.Injector;
 
+import java.io.IOException;
 import java.math.BigDecimal;
+import java.net.InetSocketAddress;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -18,19 +21,40 @@ import java.util.logging.Logger;
  * <p>Initializes logging, configures the simulation parameters, sets up dependency
  * injection via Guice, and runs a simulation of a specified number of rounds.</p>
  *
- * <p>The results of the simulation are printed to standard output.</p>
+ * <p>The results of the simulation are printed to standard output, followed by a table of game
+ * length percentiles out to the 99.99th.</p>
+ *
+ * <p>Run with {@code --serve [port [address]]} to start a {@link SimulationServer} instead,
+ * which keeps running and takes simulations over HTTP. It listens on the loopback address unless
+ * another address is given.</p>
  */
 public class Main {
-    public static void main(String[] args) {
+    private static final int DEFAULT_PORT = 8080;
+    private static final double[] RISK_PERCENTILES = {50, 90, 99, 99.9, 99.99};
+
+    public static void main(String[] args) throws IOException {
         setupLogging(Level.WARNING);
 
+        if (args.length > 0 && args[0].equals("--serve")) {
+            int port = args.length > 1 ? Integer.parseInt(args[1]) : DEFAULT_PORT;
+            int cores = Runtime.getRuntime().availableProcessors();
+            SimulationServer server = args.length > 2
+                    ? new SimulationServer(new InetSocketAddress(args[2], port), cores, cores)
+                    : new SimulationServer(port, cores, cores);
+            Runtime.getRuntime().addShutdownHook(new Thread(server::close));
+            System.out.printf("Serving simulations on [%s]%n", server.address());
+            return;
+        }
+
         // MODIFY SIMULATION CONFIGURATION HERE
         SimulationConfiguration simulationConfiguration =
                 new SimulationConfiguration(
                         6, // numDecks
                         new BigDecimal("100.00"), // startingBank
                         new BigDecimal("10.00"), // minBet
-                        new BookPlayerStrategy() // playerStrategy
+                        new BookPlayerStrategy(), // playerStrategy
+                        Runtime.getRuntime().availableProcessors(), // numThreads
+                        System.nanoTime() // seed, fix this to reproduce a run
                 );
 
         Injector injector = Guice.createInjector(new BlackJackSimulationModule(simulationConfiguration));
@@ -38,7 +62,8 @@ public class Main {
 
         SimulationResult result = simulator.run(10_000);
 
-        System.out.printf("Simulation Results = [%s]", result);
+        System.out.printf("Simulation Results = [%s]%n", result);
+        result.statistics().histogram().writePercentiles(System.out, RISK_PERCENTILES);
     }
 
     private static void setupLogging(Level level) {
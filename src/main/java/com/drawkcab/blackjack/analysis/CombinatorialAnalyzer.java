@@ -0,0 +1,482 @@
+package com.drawkcab.blackjack.analysis;
+
+import com.drawkcab.blackjack.game.Card;
+import com.drawkcab.blackjack.game.Hand;
+import com.drawkcab.blackjack.player.HandState;
+import com.drawkcab.blackjack.player.Move;
+import com.drawkcab.blackjack.player.strategy.Strategy;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+
+import static com.drawkcab.blackjack.analysis.Compositions.VALUES;
+
+/**
+ * Calculates the exact expected value of Blackjack decisions from a shoe composition, rather than
+ * estimating them by playing rounds.
+ *
+ * <p>For each dealer face-up card, this recurses over every hand the player could build, weighting
+ * each card by its probability given what's left in the shoe. Standing is scored against the exact
+ * dealer distribution for that shoe from a {@link DealerProbabilityCalculator}. Hands are memoized
+ * on their composition, so each distinct hand is only scored once per face-up card. The ten
+ * face-up cards are independent, so they're analyzed in parallel.</p>
+ *
+ * <p>The player rules are the simulation's: doubling on any two cards including after a split,
+ * surrendering any two-card hand, and an Ace with a ten-valued card paying 3:2 even after a split.
+ * The analysis makes some standard approximations, which each move overall values by around a
+ * hundredth of a percent in a multi-deck shoe:</p>
+ * <ul>
+ *     <li>Split hands can't be resplit. A strategy that resplits is scored as hitting instead.</li>
+ *     <li>Each split hand is played as if the card that went to the other hand were still in the
+ *     shoe. This lets split hands share every memoized value with ordinary hands.</li>
+ *     <li>When the dealer peeks, the dealer's hand is conditioned on not having a blackjack, but
+ *     the player's own draws aren't.</li>
+ * </ul>
+ */
+public class CombinatorialAnalyzer {
+    private static final Card[] CARDS_BY_VALUE = new Card[VALUES];
+    private static final Move[] MOVES = Move.values();
+
+    static {
+        for (Card card : Card.values()) {
+            if (CARDS_BY_VALUE[card.getValue() - 1] == null) {
+                CARDS_BY_VALUE[card.getValue() - 1] = card;
+            }
+        }
+    }
+
+    // Enough for every stand decision across all ten face-up cards without evictions.
+    private static final int DEALER_CACHE_SIZE = 1 << 17;
+
+    private final int[] shoe;
+    private final DealerRules rules;
+    private final int numThreads;
+    private final DealerProbabilityCalculator dealer;
+
+    /**
+     * @param shoe       the composition of the shoe before the round is dealt, see
+     *                   {@link Compositions}
+     * @param rules      the rules the dealer plays by
+     * @param numThreads how many face-up cards to analyze at once
+     */
+    public CombinatorialAnalyzer(int[] shoe, DealerRules rules, int numThreads) {
+        Compositions.validate(shoe);
+        if (numThreads < 1) {
+            throw new IllegalArgumentException(
+                    String.format("At least one thread is required. numThreads = [%s]",
+                            numThreads));
+        }
+        this.shoe = shoe.clone();
+        this.rules = rules;
+        this.numThreads = numThreads;
+        this.dealer = new DealerProbabilityCalculator(rules, DEALER_CACHE_SIZE);
+    }
+
+    /**
+     * Calculates the expected value of every move for every initial hand and face-up card,
+     * assuming perfect play afterwards.
+     */
+    public ExpectedValueTable decisionTable() {
+        double[][][][] values = new double[VALUES][][][];
+        List<double[][][]> upCards = forEachUpCard(upValue -> {
+            UpCardAnalysis analysis = new UpCardAnalysis(upValue, null);
+            double[][][] table = new double[VALUES][VALUES][];
+            for (int first = 1; first <= VALUES; first++) {
+                for (int second = first; second <= VALUES; second++) {
+                    table[first - 1][second - 1] = analysis.initialMoves(first, second);
+                    table[second - 1][first - 1] = table[first - 1][second - 1];
+                }
+            }
+            return table;
+        });
+        for (int i = 0; i < VALUES; i++) {
+            // A face-up card the shoe doesn't hold can't be dealt, like a hand it can't deal.
+            values[i] = upCards.get(i) == null ? undealable() : upCards.get(i);
+        }
+        return new ExpectedValueTable(values);
+    }
+
+    private static double[][][] undealable() {
+        double[] moves = new double[MOVES.length];
+        Arrays.fill(moves, Double.NaN);
+        double[][][] table = new double[VALUES][VALUES][];
+        for (double[][] firstCards : table) {
+            Arrays.fill(firstCards, moves);
+        }
+        return table;
+    }
+
+    /**
+     * Calculates the expected value of a round played with a strategy, in units of the initial
+     * bet, assuming the player can always afford to double or split.
+     *
+     * <p>This is directly comparable with the average result per round of a long simulation.</p>
+     *
+     * @param strategy the strategy to play every decision with
+     */
+    public double expectedValue(Strategy strategy) {
+        List<Double> upCards = forEachUpCard(upValue ->
+                new UpCardAnalysis(upValue, strategy).roundExpectedValue());
+
+        int total = total(shoe);
+        double expectedValue = 0;
+        for (int upValue = 1; upValue <= VALUES; upValue++) {
+            if (shoe[upValue - 1] > 0) {
+                expectedValue += (double) shoe[upValue - 1] / total * upCards.get(upValue - 1);
+            }
+        }
+        return expectedValue;
+    }
+
+    private interface UpCardTask<T> {
+        T analyze(int upValue);
+    }
+
+    private <T> List<T> forEachUpCard(UpCardTask<T> task) {
+        List<Callable<T>> tasks = new ArrayList<>();
+        for (int upValue = 1; upValue <= VALUES; upValue++) {
+            int value = upValue;
+            tasks.add(() -> shoe[value - 1] == 0 ? null : task.analyze(value));
+        }
+
+        try (ForkJoinPool pool = new ForkJoinPool(numThreads)) {
+            List<T> results = new ArrayList<>();
+            for (Future<T> future : pool.invokeAll(tasks)) {
+                results.add(future.get());
+            }
+            return results;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while analyzing.", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IllegalStateException("Analysis failed.", e.getCause());
+        }
+    }
+
+    private static int total(int[] counts) {
+        int total = 0;
+        for (int count : counts) {
+            total += count;
+        }
+        return total;
+    }
+
+    /**
+     * The analysis for one dealer face-up card. Not thread safe, each task has its own.
+     *
+     * <p>The hand being scored is kept in {@link #hand} as a count of each card value, updated in
+     * place as the recursion draws and returns cards. Memo keys pack those counts, so a split hand
+     * shares every value with the unsplit hand holding the same cards.</p>
+     */
+    private final class UpCardAnalysis {
+        private final Card upCard;
+        private final int upValue;
+        // The shoe after the dealer's face-up card, before any player cards.
+        private final int[] remaining;
+        // null to play perfectly.
+        private final Strategy strategy;
+
+        private final int[] hand = new int[VALUES];
+        // Whether the hand came from a split, and so can't be split again.
+        private boolean split;
+
+        private final Map<Long, Double> standValues = new HashMap<>();
+        private final Map<Long, Double> hitOrStandValues = new HashMap<>();
+        private final Map<Long, double[]> initialMoves = new HashMap<>();
+
+        UpCardAnalysis(int upValue, Strategy strategy) {
+            this.upValue = upValue;
+            this.upCard = CARDS_BY_VALUE[upValue - 1];
+            this.remaining = shoe.clone();
+            this.remaining[upValue - 1]--;
+            this.strategy = strategy;
+        }
+
+        /** The expected value of a round with this face-up card, over every initial hand. */
+        double roundExpectedValue() {
+            int total = total(remaining);
+            double expectedValue = 0;
+            for (int first = 1; first <= VALUES; first++) {
+                double firstProbability = (double) remaining[first - 1] / total;
+                if (firstProbability == 0) {
+                    continue;
+                }
+                hand[first - 1]++;
+                for (int second = 1; second <= VALUES; second++) {
+                    int secondCount = remaining[second - 1] - hand[second - 1];
+                    if (secondCount <= 0) {
+                        continue;
+                    }
+                    double probability = firstProbability * secondCount / (total - 1);
+                    expectedValue += probability * roundValue(first, second);
+                }
+                hand[first - 1]--;
+            }
+            return expectedValue;
+        }
+
+        // With the first card already in hand.
+        private double roundValue(int first, int second) {
+            hand[second - 1]++;
+            double handValue = initialValue(first, second);
+            double playerBlackjack = isBlackjack(first, second) ? 1 : 0;
+
+            double value = handValue;
+            int blackjackValue = upValue == 1 ? 10 : upValue == 10 ? 1 : 0;
+            if (rules.peek() && blackjackValue != 0) {
+                // The dealer checks first. With a blackjack the round ends: a push for a player
+                // blackjack, otherwise the bet is lost.
+                int[] unseen = unseen();
+                double dealerBlackjack = (double) unseen[blackjackValue - 1] / total(unseen);
+                value = dealerBlackjack * (playerBlackjack - 1)
+                        + (1 - dealerBlackjack) * handValue;
+            }
+            hand[second - 1]--;
+            return value;
+        }
+
+        /**
+         * Returns the expected value of each move for an initial hand, indexed by move ordinal.
+         */
+        double[] initialMoves(int first, int second) {
+            hand[first - 1]++;
+            hand[second - 1]++;
+            double[] moves;
+            if (remaining[first - 1] < hand[first - 1]
+                    || remaining[second - 1] < hand[second - 1]) {
+                // The shoe can't deal this hand.
+                moves = new double[MOVES.length];
+                Arrays.fill(moves, Double.NaN);
+            } else {
+                moves = initialMovesInHand(first, second).clone();
+            }
+            hand[first - 1]--;
+            hand[second - 1]--;
+            return moves;
+        }
+
+        private double initialValue(int first, int second) {
+            double[] moves = initialMovesInHand(first, second);
+            if (strategy == null) {
+                return best(moves);
+            }
+
+            Move move = decide(2);
+            if (move == Move.SPLIT && Double.isNaN(moves[Move.SPLIT.ordinal()])) {
+                // A resplit, which isn't modelled.
+                move = Move.HIT;
+            }
+            return moves[move.ordinal()];
+        }
+
+        /** Expected value of each move for the two-card hand currently in {@link #hand}. */
+        private double[] initialMovesInHand(int first, int second) {
+            // Only whether the hand can split depends on where it came from.
+            long key = key() << 1 | (split ? 1 : 0);
+            double[] cached = initialMoves.get(key);
+            if (cached != null) {
+                return cached;
+            }
+
+            int hardTotal = first + second;
+            boolean hasAce = first == 1 || second == 1;
+            int[] unseen = unseen();
+            int total = total(unseen);
+            DealerDistribution distribution = dealer.distribution(upCard, unseen);
+
+            double[] moves = new double[MOVES.length];
+            moves[Move.STAND.ordinal()] = stand(hardTotal, hasAce, 2);
+
+            double hit = 0;
+            double doubleDown = 0;
+            for (int value = 1; value <= VALUES; value++) {
+                int count = unseen[value - 1];
+                if (count == 0) {
+                    continue;
+                }
+                double probability = (double) count / total;
+                hand[value - 1]++;
+                int newHardTotal = hardTotal + value;
+                boolean newHasAce = hasAce || value == 1;
+                hit += probability * hitOrStand(newHardTotal, newHasAce);
+                doubleDown += probability * (newHardTotal > 21 ? -1
+                        : stand(newHardTotal, newHasAce, 3));
+                hand[value - 1]--;
+            }
+            moves[Move.HIT.ordinal()] = hit;
+            moves[Move.DOUBLE_DOWN.ordinal()] = 2 * doubleDown;
+
+            // Against an unpeeked dealer blackjack a surrendered hand still loses the whole bet.
+            moves[Move.SURRENDER.ordinal()] =
+                    -0.5 * (1 - distribution.blackjack()) - distribution.blackjack();
+
+            moves[Move.SPLIT.ordinal()] = first == second && !split
+                    ? 2 * splitHand(first)
+                    : Double.NaN;
+
+            initialMoves.put(key, moves);
+            return moves;
+        }
+
+        /**
+         * The value of one half of a split, before its second card.
+         */
+        private double splitHand(int value) {
+            int[] saved = hand.clone();
+            Arrays.fill(hand, 0);
+            hand[value - 1] = 1;
+            split = true;
+
+            int[] unseen = unseen();
+            int total = total(unseen);
+            double expectedValue = 0;
+            for (int second = 1; second <= VALUES; second++) {
+                int count = unseen[second - 1];
+                if (count == 0) {
+                    continue;
+                }
+                hand[second - 1]++;
+                expectedValue += (double) count / total * initialValue(value, second);
+                hand[second - 1]--;
+            }
+
+            split = false;
+            System.arraycopy(saved, 0, hand, 0, VALUES);
+            return expectedValue;
+        }
+
+        /** The value of a hand past its first decision, which can only hit or stand. */
+        private double hitOrStand(int hardTotal, boolean hasAce) {
+            if (hardTotal > 21) {
+                return -1;
+            }
+            long key = key();
+            Double cached = hitOrStandValues.get(key);
+            if (cached != null) {
+                return cached;
+            }
+
+            int cardCount = cardCount();
+            double stand = stand(hardTotal, hasAce, cardCount);
+            double value;
+            if (strategy != null && decide(cardCount) == Move.STAND) {
+                value = stand;
+            } else {
+                int[] unseen = unseen();
+                int total = total(unseen);
+                double hit = 0;
+                for (int card = 1; card <= VALUES; card++) {
+                    int count = unseen[card - 1];
+                    if (count == 0) {
+                        continue;
+                    }
+                    hand[card - 1]++;
+                    hit += (double) count / total * hitOrStand(hardTotal + card,
+                            hasAce || card == 1);
+                    hand[card - 1]--;
+                }
+                value = strategy == null ? Math.max(stand, hit) : hit;
+            }
+
+            hitOrStandValues.put(key, value);
+            return value;
+        }
+
+        /** The value of standing on the hand, against the exact dealer distribution. */
+        private double stand(int hardTotal, boolean hasAce, int cardCount) {
+            long key = key();
+            Double cached = standValues.get(key);
+            if (cached != null) {
+                return cached;
+            }
+
+            DealerDistribution distribution = dealer.distribution(upCard, unseen());
+            boolean soft = hasAce && hardTotal <= 11;
+            int total = soft ? hardTotal + 10 : hardTotal;
+
+            double value;
+            if (cardCount == 2 && soft && total == 21) {
+                // Paid 3:2, unless the dealer also has one.
+                value = 1.5 * (1 - distribution.blackjack());
+            } else {
+                value = distribution.bust() - distribution.blackjack();
+                for (int dealerTotal = 17; dealerTotal <= 21; dealerTotal++) {
+                    value += Integer.signum(total - dealerTotal)
+                            * distribution.probabilityOf(dealerTotal);
+                }
+            }
+
+            standValues.put(key, value);
+            return value;
+        }
+
+        /** Asks the strategy what to do with the hand currently in {@link #hand}. */
+        private Move decide(int cardCount) {
+            List<Card> cards = new ArrayList<>(cardCount);
+            for (int value = 1; value <= VALUES; value++) {
+                for (int i = 0; i < hand[value - 1]; i++) {
+                    cards.add(CARDS_BY_VALUE[value - 1]);
+                }
+            }
+            // A bank that always covers another bet.
+            Move move = strategy.getNextMove(new HandState(new Hand(cards), 1), upCard,
+                    Long.MAX_VALUE);
+            if (cardCount > 2 && move != Move.HIT && move != Move.STAND) {
+                throw new IllegalStateException(
+                        String.format("Strategy chose a move that's only allowed on two cards. "
+                                + "move = [%s], cards = %s", move, cards));
+            }
+            return move;
+        }
+
+        private boolean isBlackjack(int first, int second) {
+            return first + second == 11 && (first == 1 || second == 1);
+        }
+
+        /** The cards the player hasn't seen: the shoe less the face-up card and this hand. */
+        private int[] unseen() {
+            int[] unseen = remaining.clone();
+            for (int i = 0; i < VALUES; i++) {
+                unseen[i] -= hand[i];
+            }
+            return unseen;
+        }
+
+        private int cardCount() {
+            int count = 0;
+            for (int cards : hand) {
+                count += cards;
+            }
+            return count;
+        }
+
+        private long key() {
+            // 5 bits a value covers any hand that hasn't bust.
+            long key = 0;
+            for (int count : hand) {
+                key = key << 5 | count;
+            }
+            return key;
+        }
+
+        private double best(double[] moves) {
+            double best = Double.NEGATIVE_INFINITY;
+            for (double move : moves) {
+                if (move > best) {
+                    best = move;
+                }
+            }
+            return best;
+        }
+    }
+}
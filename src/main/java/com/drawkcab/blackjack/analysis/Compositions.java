@@ -0,0 +1,96 @@
+package com.drawkcab.blackjack.analysis;
+
+import com.drawkcab.blackjack.game.Card;
+
+import java.util.Arrays;
+
+/**
+ * Helpers for shoe compositions, the number of cards of each value left in a shoe.
+ *
+ * <p>A composition is an {@code int[10]} indexed by card value minus one, so index 0 counts Aces
+ * and index 9 counts every ten-valued card (Tens, Jacks, Queens and Kings together). Suits and the
+ * difference between face cards never matter to Blackjack, so this is all the analysis needs.</p>
+ */
+public final class Compositions {
+    /** The number of distinct card values, Ace through ten. */
+    public static final int VALUES = 10;
+
+    // Packing limits: 6 bits for each of Ace to Nine and 8 bits for tens, 62 bits in all. That's
+    // up to 15 decks.
+    private static final int SMALL_BITS = 6;
+    private static final int TEN_BITS = 8;
+
+    /** Returned by {@link #pack} for compositions too large to pack. */
+    static final long UNPACKABLE = -1;
+
+    private Compositions() {
+    }
+
+    /**
+     * Returns the composition of a full, unshuffled shoe.
+     *
+     * @param numDecks the number of standard 52-card decks in the shoe
+     */
+    public static int[] fullShoe(int numDecks) {
+        if (numDecks < 1) {
+            throw new IllegalArgumentException(
+                    String.format("A shoe needs at least one deck. numDecks = [%s]", numDecks));
+        }
+        int[] counts = new int[VALUES];
+        Arrays.fill(counts, 4 * numDecks);
+        counts[VALUES - 1] = 16 * numDecks;
+        return counts;
+    }
+
+    /**
+     * Returns a copy of a composition with one card removed.
+     *
+     * @throws IllegalArgumentException if the composition has none of that card left
+     */
+    public static int[] without(int[] counts, Card card) {
+        int index = card.getValue() - 1;
+        if (counts[index] == 0) {
+            throw new IllegalArgumentException(
+                    String.format("No cards of that value left to remove. card = [%s]", card));
+        }
+        int[] copy = counts.clone();
+        copy[index]--;
+        return copy;
+    }
+
+    /**
+     * Packs a composition into a single long, or returns {@link #UNPACKABLE} if any count is too
+     * large to fit.
+     */
+    static long pack(int[] counts) {
+        long packed = 0;
+        for (int i = 0; i < VALUES - 1; i++) {
+            if (counts[i] >>> SMALL_BITS != 0) {
+                return UNPACKABLE;
+            }
+            packed = packed << SMALL_BITS | counts[i];
+        }
+        if (counts[VALUES - 1] >>> TEN_BITS != 0) {
+            return UNPACKABLE;
+        }
+        return packed << TEN_BITS | counts[VALUES - 1];
+    }
+
+    /**
+     * Checks that a composition has one count per card value, none of them negative.
+     */
+    static void validate(int[] counts) {
+        if (counts.length != VALUES) {
+            throw new IllegalArgumentException(
+                    String.format("A composition needs a count for each of the [%s] card values. "
+                            + "counts = %s", VALUES, Arrays.toString(counts)));
+        }
+        for (int count : counts) {
+            if (count < 0) {
+                throw new IllegalArgumentException(
+                        String.format("Composition counts can't be negative. counts = %s",
+                                Arrays.toString(counts)));
+            }
+        }
+    }
+}
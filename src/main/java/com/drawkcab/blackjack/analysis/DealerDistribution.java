@@ -0,0 +1,55 @@
+package com.drawkcab.blackjack.analysis;
+
+/**
+ * The probability of each way the dealer's hand can end: standing on 17 through 21, busting, or
+ * having a blackjack.
+ *
+ * <p>Instances are immutable, so they can be cached and shared between threads.</p>
+ */
+public final class DealerDistribution {
+    static final int BUST = 5;
+    static final int BLACKJACK = 6;
+    static final int OUTCOMES = 7;
+
+    // Standing totals 17-21, then bust, then blackjack.
+    private final double[] probabilities;
+
+    DealerDistribution(double[] probabilities) {
+        this.probabilities = probabilities.clone();
+    }
+
+    /**
+     * Returns the probability the dealer stands on a total. Blackjacks are counted separately,
+     * see {@link #blackjack()}.
+     *
+     * @param total a standing total, 17 to 21
+     */
+    public double probabilityOf(int total) {
+        if (total < 17 || total > 21) {
+            throw new IllegalArgumentException(
+                    String.format("The dealer only stands on 17 to 21. total = [%s]", total));
+        }
+        return probabilities[total - 17];
+    }
+
+    /** @return the probability the dealer busts */
+    public double bust() {
+        return probabilities[BUST];
+    }
+
+    /**
+     * Returns the probability the dealer has a blackjack. This is always 0 when the dealer peeks,
+     * since the distribution is then conditioned on the dealer not having one.
+     */
+    public double blackjack() {
+        return probabilities[BLACKJACK];
+    }
+
+    @Override
+    public String toString() {
+        return String.format("DealerDistribution[17=%.6f, 18=%.6f, 19=%.6f, 20=%.6f, 21=%.6f, "
+                        + "bust=%.6f, blackjack=%.6f]", probabilities[0], probabilities[1],
+                probabilities[2], probabilities[3], probabilities[4], probabilities[BUST],
+                probabilities[BLACKJACK]);
+    }
+}
@@ -0,0 +1,175 @@
+package com.drawkcab.blackjack.analysis;
+
+import com.drawkcab.blackjack.game.Card;
+import com.drawkcab.blackjack.game.ShoeComposition;
+
+import static com.drawkcab.blackjack.analysis.Compositions.VALUES;
+
+/**
+ * Calculates exactly how the dealer's hand ends, given their face-up card and what's left in
+ * the shoe.
+ *
+ * <p>Rather than playing hands out, this walks every sequence of cards the dealer could draw,
+ * without replacement, weighting each by its probability given the remaining composition. The
+ * dealer follows the same fixed rules as
+ * {@link com.drawkcab.blackjack.player.strategy.DealerStrategy} (hit below 17), with hitting soft
+ * 17 and peeking for blackjack set by {@link DealerRules}.</p>
+ *
+ * <p>Walking the tree takes tens of microseconds for a full six-deck shoe, so results are memoized
+ * in a bounded, direct-mapped cache keyed on the packed composition, face-up card and rules.
+ * Repeated queries are a hash and an array load, well under a microsecond. The cache holds
+ * immutable entries and tolerates races, so one calculator can be shared between threads; two
+ * threads missing on the same key just both compute it.</p>
+ */
+public class DealerProbabilityCalculator {
+    /** The number of cached distributions when no size is given. */
+    public static final int DEFAULT_CACHE_SIZE = 1 << 14;
+
+    private final DealerRules rules;
+    private final Entry[] cache;
+    private final int mask;
+
+    public DealerProbabilityCalculator(DealerRules rules) {
+        this(rules, DEFAULT_CACHE_SIZE);
+    }
+
+    /**
+     * @param rules     the rules the dealer plays by
+     * @param cacheSize the number of distributions to cache, rounded up to a power of two
+     */
+    public DealerProbabilityCalculator(DealerRules rules, int cacheSize) {
+        if (cacheSize < 1) {
+            throw new IllegalArgumentException(
+                    String.format("Cache size must be positive. cacheSize = [%s]", cacheSize));
+        }
+        this.rules = rules;
+        int size = Integer.highestOneBit(cacheSize - 1) << 1;
+        this.cache = new Entry[Math.max(1, size)];
+        this.mask = cache.length - 1;
+    }
+
+    /** @return the rules this calculator's dealer plays by */
+    public DealerRules rules() {
+        return rules;
+    }
+
+    /**
+     * Returns the distribution of the dealer's final hand from what's left in a live shoe.
+     *
+     * @param upCard the dealer's face-up card, already dealt from the shoe
+     * @param shoe   the shoe the hole card and any hits come from
+     * @throws IllegalArgumentException if the shoe is empty
+     */
+    public DealerDistribution distribution(Card upCard, ShoeComposition shoe) {
+        return distribution(upCard, shoe.valueCounts());
+    }
+
+    /**
+     * Returns the distribution of the dealer's final hand.
+     *
+     * @param upCard    the dealer's face-up card
+     * @param remaining the composition of the shoe the hole card and any hits come from, with the
+     *                  face-up card (and anything else already dealt) removed. Not modified.
+     * @throws IllegalArgumentException if the composition is malformed or the shoe is empty
+     */
+    public DealerDistribution distribution(Card upCard, int[] remaining) {
+        Compositions.validate(remaining);
+
+        long composition = Compositions.pack(remaining);
+        int context = (upCard.getValue() - 1) << 2 | (rules.peek() ? 2 : 0)
+                | (rules.hitSoft17() ? 1 : 0);
+        if (composition == Compositions.UNPACKABLE) {
+            return calculate(upCard, remaining);
+        }
+
+        int slot = index(composition, context);
+        Entry entry = cache[slot];
+        if (entry != null && entry.composition == composition && entry.context == context) {
+            return entry.distribution;
+        }
+
+        DealerDistribution distribution = calculate(upCard, remaining);
+        cache[slot] = new Entry(composition, context, distribution);
+        return distribution;
+    }
+
+    private int index(long composition, int context) {
+        long hash = (composition ^ (long) context << 58) * 0x9E3779B97F4A7C15L;
+        return (int) (hash >>> 40) & mask;
+    }
+
+    private DealerDistribution calculate(Card upCard, int[] remaining) {
+        int[] counts = remaining.clone();
+        int total = 0;
+        for (int count : counts) {
+            total += count;
+        }
+        double[] outcomes = new double[DealerDistribution.OUTCOMES];
+        int upValue = upCard.getValue();
+
+        // The hole card. When the dealer peeks, we know it doesn't complete a blackjack, so the
+        // card that would is excluded and the rest are renormalized.
+        int blackjackValue = upValue == 1 ? 10 : upValue == 10 ? 1 : 0;
+        boolean excludeBlackjack = rules.peek() && blackjackValue != 0;
+        int holeTotal = excludeBlackjack ? total - counts[blackjackValue - 1] : total;
+        if (holeTotal == 0) {
+            throw new IllegalArgumentException("No cards left in the shoe for the hole card.");
+        }
+
+        for (int value = 1; value <= VALUES; value++) {
+            int count = counts[value - 1];
+            if (count == 0 || (excludeBlackjack && value == blackjackValue)) {
+                continue;
+            }
+            double probability = (double) count / holeTotal;
+            boolean hasAce = upValue == 1 || value == 1;
+            int hardTotal = upValue + value;
+
+            if (hasAce && hardTotal == 11) {
+                outcomes[DealerDistribution.BLACKJACK] += probability;
+                continue;
+            }
+
+            counts[value - 1]--;
+            draw(counts, total - 1, hardTotal, hasAce, probability, outcomes);
+            counts[value - 1]++;
+        }
+
+        return new DealerDistribution(outcomes);
+    }
+
+    /**
+     * Adds the probability of each way a dealer hand can finish, from the given hand onwards.
+     */
+    private void draw(int[] counts, int total, int hardTotal, boolean hasAce, double probability,
+                      double[] outcomes) {
+        if (hardTotal > 21) {
+            outcomes[DealerDistribution.BUST] += probability;
+            return;
+        }
+        boolean soft = hasAce && hardTotal <= 11;
+        int handTotal = soft ? hardTotal + 10 : hardTotal;
+        if (handTotal >= 18 || (handTotal == 17 && !(soft && rules.hitSoft17()))) {
+            outcomes[handTotal - 17] += probability;
+            return;
+        }
+        if (total == 0) {
+            throw new IllegalArgumentException("The shoe ran out before the dealer's hand was "
+                    + "finished.");
+        }
+
+        for (int value = 1; value <= VALUES; value++) {
+            int count = counts[value - 1];
+            if (count == 0) {
+                continue;
+            }
+            counts[value - 1]--;
+            draw(counts, total - 1, hardTotal + value, hasAce || value == 1,
+                    probability * count / total, outcomes);
+            counts[value - 1]++;
+        }
+    }
+
+    private record Entry(long composition, int context, DealerDistribution distribution) {
+    }
+}
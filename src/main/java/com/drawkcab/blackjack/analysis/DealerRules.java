@@ -0,0 +1,13 @@
+package com.drawkcab.blackjack.analysis;
+
+/**
+ * House rules that change how the dealer's hand plays out.
+ *
+ * @param peek       whether the dealer checks for blackjack before the player acts, so the
+ *                   player only ever plays against a dealer without one
+ * @param hitSoft17  whether the dealer hits a soft 17 rather than standing
+ */
+public record DealerRules(boolean peek, boolean hitSoft17) {
+    /** The rules the simulation plays by: the dealer peeks and stands on soft 17. */
+    public static final DealerRules SIMULATION = new DealerRules(true, false);
+}
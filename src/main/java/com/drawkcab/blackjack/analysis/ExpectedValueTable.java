@@ -0,0 +1,57 @@
+package com.drawkcab.blackjack.analysis;
+
+import com.drawkcab.blackjack.game.Card;
+import com.drawkcab.blackjack.player.Move;
+
+/**
+ * The expected value of every move for every initial two-card hand against every dealer face-up
+ * card, in units of the initial bet.
+ *
+ * <p>Each value assumes the hand is played perfectly after the move. When the dealer peeks, values
+ * are conditioned on the dealer not having a blackjack, since the player never gets to act
+ * otherwise. Moves that aren't allowed (splitting a non-pair) have a value of {@link Double#NaN},
+ * as does every move for a hand or face-up card the shoe can't deal, such as an ace against an
+ * ace when the shoe has only one ace left.</p>
+ *
+ * <p>Instances are immutable.</p>
+ */
+public final class ExpectedValueTable {
+    private static final Move[] MOVES = Move.values();
+
+    // [up card value - 1][first card value - 1][second card value - 1][move ordinal]
+    private final double[][][][] values;
+
+    ExpectedValueTable(double[][][][] values) {
+        this.values = values;
+    }
+
+    /**
+     * Returns the expected value of a move.
+     *
+     * @param first  the player's first card
+     * @param second the player's second card
+     * @param upCard the dealer's face-up card
+     * @param move   the move to make
+     * @return the expected value in initial bets, or {@link Double#NaN} if the move isn't allowed
+     */
+    public double expectedValue(Card first, Card second, Card upCard, Move move) {
+        return values[upCard.getValue() - 1][first.getValue() - 1][second.getValue() - 1]
+                [move.ordinal()];
+    }
+
+    /**
+     * Returns the move with the highest expected value, or {@link Move#STAND} if the shoe can't
+     * deal the hand or face-up card.
+     */
+    public Move bestMove(Card first, Card second, Card upCard) {
+        double[] moves =
+                values[upCard.getValue() - 1][first.getValue() - 1][second.getValue() - 1];
+        Move best = Move.STAND;
+        for (Move move : MOVES) {
+            if (moves[move.ordinal()] > moves[best.ordinal()]) {
+                best = move;
+            }
+        }
+        return best;
+    }
+}
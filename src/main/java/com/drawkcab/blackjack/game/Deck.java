@@ -1,8 +1,8 @@
 package com.drawkcab.blackjack.game;
 
-import java.util.ArrayList;
-import java.util.Collections;
-import java.util.List;
+import java.util.Arrays;
+import java.util.SplittableRandom;
+import java.util.random.RandomGenerator;
 
 /**
  * Represents a deck of cards for use in a game of Blackjack.
@@ -12,26 +12,56 @@ import java.util.List;
  *
  * <p>Cards are dealt sequentially from the top. Once all cards are dealt, attempting to deal further
  * will result in an {@link IllegalStateException}.</p>
+ *
+ * <p>Each deck owns its random generator rather than relying on a shared one, so decks on different
+ * threads never contend, and a deck can be reseeded to replay the exact same sequence of shoes.</p>
+ *
+ * <p>The shoe is shuffled lazily. Rather than permuting every card up front, each call to
+ * {@link #getNextCard()} performs a single step of a Fisher–Yates shuffle, picking the next card
+ * uniformly from those not yet dealt. A shoe is usually reshuffled well before it runs out, so this
+ * only pays for the cards that are actually dealt, and a reshuffle is just resetting the deal
+ * position.</p>
+ *
+ * <p>The deck also keeps a running count of the cards left in the shoe, exposed through
+ * {@link #composition()}, so strategies never have to track dealt cards themselves. Anything that
+ * needs to react to each card as it's dealt, like a card counter, can register a
+ * {@link DeckListener} instead.</p>
  */
 public class Deck {
-    // Using a List + position instead of Deque to allow efficient random access for shuffling.
-    private final List<Card> cards;
+    private static final Card[] CARDS = Card.values();
+
+    // Card ordinals. Everything before pos has been dealt, everything after is still in the shoe.
+    private final byte[] cards;
+    private final ShoeComposition composition;
     private int pos;
+    private RandomGenerator random;
+    private DeckListener listener;
 
     /**
-     * Constructs a new shuffled deck.
+     * Constructs a new shuffled deck with an unpredictable seed.
      *
      * @param numDecks the number of standard 52-card decks to include
      */
     public Deck(int numDecks) {
-        cards = new ArrayList<>();
+        this(numDecks, new SplittableRandom());
+    }
+
+    /**
+     * Constructs a new deck shuffled by the given random generator.
+     *
+     * @param numDecks the number of standard 52-card decks to include
+     * @param random   the generator used for this and every later shuffle
+     */
+    public Deck(int numDecks, RandomGenerator random) {
+        this.random = random;
+        cards = new byte[CARDS.length * numDecks * 4];
+        composition = new ShoeComposition(numDecks);
         pos = 0;
 
-        for (Card card : Card.values()) {
-            for (int i = 0; i < numDecks; i++) {
-                for(int j = 0; j < 4; j++) {
-                    cards.add(card);
-                }
+        int i = 0;
+        for (Card card : CARDS) {
+            for (int j = 0; j < numDecks * 4; j++) {
+                cards[i++] = (byte) card.ordinal();
             }
         }
         shuffle();
@@ -46,22 +76,73 @@ public class Deck {
      * @throws IllegalStateException if the deck is empty
      */
     public Card getNextCard() {
-        if (pos >= cards.size()) {
+        if (pos >= cards.length) {
             throw new IllegalStateException("No cards remaining in deck.");
         }
 
-        return cards.get(pos++);
+        // One step of Fisher–Yates: swap a uniformly chosen undealt card into the deal position.
+        int pick = pos + random.nextInt(cards.length - pos);
+        byte card = cards[pick];
+        cards[pick] = cards[pos];
+        cards[pos++] = card;
+        composition.remove(CARDS[card]);
+        if (listener != null) {
+            listener.cardDealt(CARDS[card]);
+        }
+        return CARDS[card];
+    }
+
+    /**
+     * Deals cards and throws them away until only {@code cardsRemaining} are left.
+     *
+     * <p>Burned cards are dealt like any other, so the composition and any listener see them, just
+     * as a counter at a table sees the cards dealt to the other seats.</p>
+     *
+     * @param cardsRemaining the number of cards to leave in the deck
+     * @throws IllegalArgumentException if the deck already has fewer cards left
+     */
+    public void burnTo(int cardsRemaining) {
+        if (cardsRemaining > cardsRemaining()) {
+            throw new IllegalArgumentException(
+                    String.format("Can't burn back up to more cards than are left. "
+                                    + "cardsRemaining = [%s], left = [%s]",
+                            cardsRemaining, cardsRemaining()));
+        }
+        while (cardsRemaining() > cardsRemaining) {
+            getNextCard();
+        }
     }
 
     /**
      * Shuffles the entire deck and resets the dealing position.
      *
-     * <p>Shuffling randomizes the order of all cards, including those already dealt.</p>
+     * <p>Shuffling returns all cards to the shoe, including those already dealt. The order is
+     * randomized as cards are dealt, so this takes constant time.</p>
      */
     public void shuffle() {
-        // Collections.shuffle() performs an in-place O(n) Fisher–Yates shuffle.
-        Collections.shuffle(cards);
+        // Whatever order the cards are in, drawing uniformly from the undealt ones is a uniform
+        // shuffle, so there's nothing to do up front.
         pos = 0;
+        composition.reset();
+        if (listener != null) {
+            listener.shuffled();
+        }
+    }
+
+    /**
+     * Reseeds the deck and shuffles it.
+     *
+     * <p>Two decks of the same size shuffled with the same seed deal identical cards, including
+     * across any later calls to {@link #shuffle()}.</p>
+     *
+     * @param seed the seed for this and every later shuffle
+     */
+    public void shuffle(long seed) {
+        random = new SplittableRandom(seed);
+        // Put the cards back in a canonical (rank) order first, so the result depends only on the
+        // seed and not on how earlier games left the deck.
+        Arrays.sort(cards);
+        shuffle();
     }
 
     /**
@@ -70,6 +151,33 @@ public class Deck {
      * @return the number of undealt cards remaining in the deck
      */
     public int cardsRemaining() {
-        return cards.size() - pos;
+        return cards.length - pos;
+    }
+
+    /**
+     * Returns a read-only view of the cards left in the deck.
+     *
+     * <p>The view is live: it always reflects the deck as it is now, so it can be fetched once and
+     * kept.</p>
+     */
+    public ShoeComposition composition() {
+        return composition;
+    }
+
+    /**
+     * Registers the listener to notify of every card dealt and every shuffle from now on.
+     *
+     * <p>A deck has at most one listener, so that dealing a card without one costs nothing more
+     * than a null check.</p>
+     *
+     * @param listener the listener
+     * @throws IllegalStateException if the deck already has a listener
+     */
+    public void setListener(DeckListener listener) {
+        if (this.listener != null) {
+            throw new IllegalStateException(
+                    String.format("Deck already has a listener. listener = [%s]", this.listener));
+        }
+        this.listener = listener;
     }
 }
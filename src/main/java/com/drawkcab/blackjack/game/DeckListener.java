@@ -0,0 +1,21 @@
+package com.drawkcab.blackjack.game;
+
+/**
+ * Observes the cards leaving a {@link Deck}.
+ *
+ * <p>Listeners are called synchronously on the dealing thread, once per card, so they should do
+ * no more than constant work.</p>
+ */
+public interface DeckListener {
+    /**
+     * Called after a card is dealt from the deck.
+     *
+     * @param card the card that was dealt
+     */
+    void cardDealt(Card card);
+
+    /**
+     * Called after the deck is shuffled and every card is back in the shoe.
+     */
+    void shuffled();
+}
@@ -2,7 +2,7 @@ package com.drawkcab.blackjack.game;
 
 import com.drawkcab.blackjack.game.exception.InvalidSplitException;
 
-import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 
 /**
@@ -12,10 +12,24 @@ import java.util.List;
  * gameplay. This class has logic for handling splits and is able to answer common BlackJack
  * questions about a hand.</p>
  *
+ * <p>Strategies ask about the same hand many times per decision, so rather than rescanning its
+ * cards, the hand keeps a running hard total (every Ace counted as 1) and whether it holds an Ace,
+ * both updated as cards are added or split off. Every question is then answered in constant time
+ * without allocating. The cards themselves are kept as a compact array of ordinals for anything
+ * that needs to look at them one by one (see {@link #getCard(int)}).</p>
+ *
  * @see Card
  */
 public class Hand {
-    private final List<Card> cards;
+    private static final Card[] CARDS = Card.values();
+    // Enough for almost any hand, grown on the rare occasion it isn't.
+    private static final int INITIAL_CAPACITY = 8;
+
+    private byte[] cards;
+    private int cardCount;
+    // Total with every Ace counted as 1.
+    private int hardTotal;
+    private boolean hasAce;
 
     /**
      * Creates a new hand containing the specified cards.
@@ -23,8 +37,10 @@ public class Hand {
      * @param cards the initial cards in the hand
      */
     public Hand(List<Card> cards) {
-        // Make a copy because we may have been passed an immutable list of cards.
-        this.cards =  new ArrayList<Card>(cards);
+        this.cards = new byte[Math.max(INITIAL_CAPACITY, cards.size())];
+        for (Card card : cards) {
+            addCard(card);
+        }
     }
 
     /**
@@ -36,20 +52,9 @@ public class Hand {
      * @return the best possible total value of the hand
      */
     public int totalValue() {
-        boolean hasAce = false;
-        int total = 0;
-
-        // First calculate the total, with Ace treated as 1.
-        total = rawTotal();
-
-        // Now handle promotion of Aces.
-        // We only need to check if there are any aces. It's not possible for two aces to both be
+        // We only need to know if there are any aces. It's not possible for two aces to both be
         // valued at 11 in the same hand.
-        if (cards.contains(Card.ACE) && total <= 11) {
-            total += 10;
-        }
-
-        return total;
+        return isSoft() ? hardTotal + 10 : hardTotal;
     }
 
     /**
@@ -61,7 +66,7 @@ public class Hand {
      * @return {@code true} if the hand can be split; {@code false} otherwise
      */
     public boolean canSplit() {
-        return cards.size() == 2 && cards.get(0).getValue() == cards.get(1).getValue();
+        return cardCount == 2 && CARDS[cards[0]].getValue() == CARDS[cards[1]].getValue();
     }
 
     /**
@@ -77,7 +82,7 @@ public class Hand {
             throw new InvalidSplitException("No split card available for unsplittable hand");
         }
 
-        return cards.getFirst();
+        return CARDS[cards[0]];
     }
 
     /**
@@ -90,18 +95,38 @@ public class Hand {
      * @throws InvalidSplitException if the hand is not eligible for splitting
      */
     public Hand split() {
+        Hand splitHand = new Hand(List.of());
+        splitInto(splitHand);
+        return splitHand;
+    }
+
+    /**
+     * Splits the current hand by moving one card into another, existing hand.
+     *
+     * <p>This is {@link #split()} for callers that reuse hands between rounds. Whatever was in
+     * {@code splitHand} before is discarded.</p>
+     *
+     * @param splitHand the hand to receive the removed card
+     * @throws InvalidSplitException if the hand is not eligible for splitting
+     */
+    public void splitInto(Hand splitHand) {
         if (!canSplit()) {
             throw new InvalidSplitException(
                     String.format("Hand is not eligible to be split. Hand = [%s]", this));
         }
-        return new Hand(List.of(cards.removeLast()));
+        Card splitCard = CARDS[cards[--cardCount]];
+        hardTotal -= splitCard.getValue();
+        hasAce = CARDS[cards[0]] == Card.ACE;
+
+        splitHand.clear();
+        splitHand.addCard(splitCard);
     }
 
     /**
      * @return {@code true} if this hand was just split and contains a single card.
      */
     public boolean justSplit() {
-        return cards.size() == 1;
+        return cardCount == 1;
     }
 
     /**
@@ -113,14 +138,50 @@ public class Hand {
      * @return {@code true} if an initial hand (2 cards).
      */
     public boolean isInitialHand() {
-        return cards.size() == 2;
+        return cardCount == 2;
     }
 
     /**
      * Adds a card to the hand.
      */
     public void addCard(Card card) {
-        cards.add(card);
+        if (cardCount == cards.length) {
+            cards = Arrays.copyOf(cards, cards.length * 2);
+        }
+        cards[cardCount++] = (byte) card.ordinal();
+        hardTotal += card.getValue();
+        hasAce |= card == Card.ACE;
+    }
+
+    /**
+     * Removes every card from the hand, so it can be reused for another round.
+     */
+    public void clear() {
+        cardCount = 0;
+        hardTotal = 0;
+        hasAce = false;
+    }
+
+    /**
+     * Returns the number of cards in the hand.
+     */
+    public int cardCount() {
+        return cardCount;
+    }
+
+    /**
+     * Returns a card from the hand, in the order the cards were received.
+     *
+     * @param index the position of the card, from {@code 0} to {@link #cardCount()} - 1
+     * @throws IndexOutOfBoundsException if there is no card at that position
+     */
+    public Card getCard(int index) {
+        if (index < 0 || index >= cardCount) {
+            throw new IndexOutOfBoundsException(
+                    String.format("No card at index [%s] in a hand of [%s] cards", index,
+                            cardCount));
+        }
+        return CARDS[cards[index]];
     }
 
     /**
@@ -130,42 +191,42 @@ public class Hand {
      * @throws IllegalStateException if the hand is empty
      */
     public Card getFaceUpCard() {
-        if (cards.isEmpty()) {
+        if (cardCount == 0) {
             throw new IllegalStateException("A face up card can not be retrieved when the hand " +
                     "has no cards.");
         }
 
-        return cards.getFirst();
+        return CARDS[cards[0]];
     }
 
     /**
      * @return {@code true} if the hand is a Blackjack (Ace + 10-value card).
      */
     public boolean isBlackJack() {
-        return cards.size() == 2 && totalValue() == 21;
+        return cardCount == 2 && hasAce && hardTotal == 11;
     }
 
     /**
      * @return {@code true} if the hand is a "soft" hand (Ace counted as 11).
      */
     public boolean isSoft() {
-        return cards.contains(Card.ACE) && rawTotal() <= 11;
+        return hasAce && hardTotal <= 11;
     }
 
     /**
      * @return {@code true} if the hand's total value exceeds 21 (busted).
      */
     public boolean isBust() {
-        return totalValue() > 21;
+        // A soft total is never over 21, so only the hard total can bust.
+        return hardTotal > 21;
     }
 
-    private int rawTotal() {
-        int total = 0;
-
-        for(Card card : cards) {
-            total += card.getValue();
+    @Override
+    public String toString() {
+        StringBuilder builder = new StringBuilder("Hand[");
+        for (int i = 0; i < cardCount; i++) {
+            builder.append(i == 0 ? "" : ", ").append(CARDS[cards[i]]);
         }
-
-        return total;
+        return builder.append(']').toString();
     }
 }
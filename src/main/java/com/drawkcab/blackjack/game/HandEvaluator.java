@@ -11,7 +11,7 @@ import com.drawkcab.blackjack.player.HandState;
  * the player and the dealer according to standard Blackjack rules.</p>
  */
 public class HandEvaluator {
-    HandEvaluator() {
+    public HandEvaluator() {
     }
 
 
@@ -0,0 +1,50 @@
+package com.drawkcab.blackjack.game;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+/**
+ * Fixed-point money used throughout the simulation.
+ *
+ * <p>Banks and bets are plain {@code long}s counted in half cents. A simulated round moves money
+ * several times, and doing that with {@link BigDecimal} allocates on every operation. Half cents
+ * are fine enough that every payout the game makes stays exact: bets are always whole cents, so
+ * paying 3:2 on a blackjack (bet * 5 / 2) or refunding half a surrendered bet (bet / 2) never
+ * leaves a remainder.</p>
+ *
+ * <p>{@link BigDecimal} is only used at the edges, to read amounts from configuration and to
+ * present them back to people.</p>
+ */
+public final class Money {
+    /** Number of fixed-point units in one whole unit of currency. */
+    public static final long UNITS_PER_WHOLE = 200;
+
+    private Money() {
+    }
+
+    /**
+     * Converts a decimal amount into fixed-point units.
+     *
+     * @param amount an amount with no more precision than whole cents
+     * @return the amount in half cents
+     * @throws ArithmeticException if the amount has fractional cents or doesn't fit in a long
+     */
+    public static long of(BigDecimal amount) {
+        // setScale(UNNECESSARY) rejects fractional cents rather than silently rounding them away.
+        long cents = amount.setScale(2, RoundingMode.UNNECESSARY).unscaledValue().longValueExact();
+        return Math.multiplyExact(cents, 2);
+    }
+
+    /**
+     * Converts fixed-point units back into a decimal amount.
+     *
+     * @param units an amount in half cents
+     * @return the same amount, with two decimal places unless it includes half a cent
+     */
+    public static BigDecimal toBigDecimal(long units) {
+        if (units % 2 == 0) {
+            return BigDecimal.valueOf(units / 2, 2);
+        }
+        return BigDecimal.valueOf(units * 5, 3);
+    }
+}
@@ -0,0 +1,129 @@
+package com.drawkcab.blackjack.game;
+
+/**
+ * A read-only view of the cards left in a {@link Deck}.
+ *
+ * <p>The deck keeps these counts up to date as it deals and shuffles, so the view always reflects
+ * the shoe as it is now. Every query is a constant-time array lookup and allocates nothing, which
+ * makes it cheap enough for a strategy to consult on every decision.</p>
+ *
+ * <p>Counts are available both by card and by blackjack value. By value, the Ten, Jack, Queen and
+ * King are counted together as tens.</p>
+ */
+public final class ShoeComposition {
+    private static final Card[] CARDS = Card.values();
+
+    /** The number of distinct blackjack values, Ace through ten. */
+    public static final int VALUES = 10;
+
+    private final int[] fullByCard = new int[CARDS.length];
+    private final int[] fullByValue = new int[VALUES];
+    private final int size;
+
+    // Indexed by card ordinal and by value - 1 respectively.
+    private final int[] byCard = new int[CARDS.length];
+    private final int[] byValue = new int[VALUES];
+    private int remaining;
+
+    ShoeComposition(int numDecks) {
+        for (Card card : CARDS) {
+            fullByCard[card.ordinal()] = 4 * numDecks;
+            fullByValue[card.getValue() - 1] += 4 * numDecks;
+        }
+        size = CARDS.length * 4 * numDecks;
+        reset();
+    }
+
+    /** Returns every card to the shoe. */
+    void reset() {
+        System.arraycopy(fullByCard, 0, byCard, 0, byCard.length);
+        System.arraycopy(fullByValue, 0, byValue, 0, byValue.length);
+        remaining = size;
+    }
+
+    /** Records a card leaving the shoe. */
+    void remove(Card card) {
+        byCard[card.ordinal()]--;
+        byValue[card.getValue() - 1]--;
+        remaining--;
+    }
+
+    /**
+     * Returns the number of cards of the given rank left in the shoe.
+     */
+    public int remaining(Card card) {
+        return byCard[card.ordinal()];
+    }
+
+    /**
+     * Returns the number of cards with the given blackjack value left in the shoe.
+     *
+     * @param value the card value, 1 for Aces through 10 for every ten-valued card
+     * @throws IllegalArgumentException if the value isn't between 1 and 10
+     */
+    public int remainingOfValue(int value) {
+        if (value < 1 || value > VALUES) {
+            throw new IllegalArgumentException(
+                    String.format("Card values are between 1 and 10. value = [%s]", value));
+        }
+        return byValue[value - 1];
+    }
+
+    /**
+     * Returns the number of ten-valued cards (Tens, Jacks, Queens and Kings) left in the shoe.
+     */
+    public int tensRemaining() {
+        return byValue[VALUES - 1];
+    }
+
+    /**
+     * Returns the number of cards left in the shoe.
+     */
+    public int cardsRemaining() {
+        return remaining;
+    }
+
+    /**
+     * Returns the number of cards in the full shoe.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Returns the fraction of the cards left in the shoe with the given blackjack value, or 0 if
+     * the shoe is empty.
+     *
+     * @param value the card value, 1 for Aces through 10 for every ten-valued card
+     * @throws IllegalArgumentException if the value isn't between 1 and 10
+     */
+    public double fractionOfValue(int value) {
+        int count = remainingOfValue(value);
+        return remaining == 0 ? 0 : (double) count / remaining;
+    }
+
+    /**
+     * Copies the remaining count of each value into an array, indexed by value minus one.
+     *
+     * <p>This is the layout the probability engines in the analysis package take, and filling a
+     * caller-owned array lets a snapshot be taken without allocating.</p>
+     *
+     * @param counts an array of at least {@link #VALUES} elements to fill
+     * @return {@code counts}
+     */
+    public int[] copyValueCounts(int[] counts) {
+        if (counts.length < VALUES) {
+            throw new IllegalArgumentException(
+                    String.format("Need room for every card value. length = [%s]", counts.length));
+        }
+        System.arraycopy(byValue, 0, counts, 0, VALUES);
+        return counts;
+    }
+
+    /**
+     * Returns a snapshot of the remaining count of each value, indexed by value minus one.
+     */
+    public int[] valueCounts() {
+        return byValue.clone();
+    }
+}
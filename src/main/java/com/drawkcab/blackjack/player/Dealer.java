@@ -4,8 +4,6 @@ import com.drawkcab.blackjack.game.Card;
 import com.drawkcab.blackjack.game.Hand;
 import com.drawkcab.blackjack.player.strategy.Strategy;
 
-import java.math.BigDecimal;
-
 /**
  * Represents the dealer in a Blackjack game.
  *
@@ -18,7 +16,7 @@ public class Dealer extends Player {
      * Creates a new Dealer with the given strategy.
      */
     public Dealer(Strategy strategy) {
-        super( strategy, BigDecimal.ZERO);
+        super(strategy, 0);
     }
 
     /**
@@ -32,7 +30,17 @@ public class Dealer extends Player {
      * Starts a new round for the dealer with the provided hand.
      */
     public void startRound(Hand hand) {
-        super.startRound(hand, BigDecimal.ZERO, hand.getFaceUpCard());
+        super.startRound(hand, 0, hand.getFaceUpCard());
+    }
+
+    /**
+     * Starts a new round for the dealer with the two cards they were dealt.
+     *
+     * @param faceUp the dealer's face-up card
+     * @param hole   the dealer's face-down card
+     */
+    public void startRound(Card faceUp, Card hole) {
+        super.startRound(faceUp, hole, 0, faceUp);
     }
 
     /**
@@ -2,9 +2,9 @@ package com.drawkcab.blackjack.player;
 
 import com.drawkcab.blackjack.game.Card;
 import com.drawkcab.blackjack.game.Hand;
+import com.drawkcab.blackjack.game.Money;
 
-import java.math.BigDecimal;
-
+import java.util.List;
 
 /**
  * Represents the state of an individual player hand during a round of Blackjack.
@@ -14,7 +14,7 @@ import java.math.BigDecimal;
  */
 public class HandState {
     private final Hand hand;
-    private BigDecimal betAmount;
+    private long betAmount;
     private boolean finished;
     private boolean surrendered;
 
@@ -22,15 +22,35 @@ public class HandState {
      * Creates a new hand state with the given initial hand and bet amount.
      *
      * @param hand      the initial cards in the hand
-     * @param betAmount the wager associated with this hand
+     * @param betAmount the wager associated with this hand, in {@link Money} units
      */
-    public HandState(Hand hand, BigDecimal betAmount) {
+    public HandState(Hand hand, long betAmount) {
         this.hand = hand;
         this.betAmount = betAmount;
         this.finished = false;
         this.surrendered = false;
     }
 
+    /**
+     * Empties the hand and clears its state, so it can be reused for another round.
+     *
+     * @param betAmount the wager for the next hand, in {@link Money} units
+     */
+    void reset(long betAmount) {
+        hand.clear();
+        this.betAmount = betAmount;
+        finished = false;
+        surrendered = false;
+    }
+
+    /**
+     * Adds one of the initial cards to the hand. Unlike {@link #hit(Card)} this isn't a move, so
+     * it doesn't check whether the hand is finished.
+     */
+    void deal(Card card) {
+        hand.addCard(card);
+    }
+
     // --- Actions on the hand ---
 
     /**
@@ -64,7 +84,7 @@ public class HandState {
             throw new IllegalStateException("Can't double down after player has made a move");
         }
 
-        betAmount = betAmount.multiply(BigDecimal.TWO);
+        betAmount *= 2;
         hand.addCard(card);
         finished = true;
     }
@@ -79,9 +99,25 @@ public class HandState {
      * @throws com.drawkcab.blackjack.game.exception.InvalidSplitException if hand cannot be split.
      */
     public HandState split() {
+        HandState splitHand = new HandState(new Hand(List.of()), betAmount);
+        splitInto(splitHand);
+        return splitHand;
+    }
+
+    /**
+     * Splits the current hand, moving the second card into an existing, reusable hand state.
+     *
+     * @param splitHand the hand state to receive the split card and a matching bet
+     * @throws IllegalStateException if the hand is already finished
+     * @throws com.drawkcab.blackjack.game.exception.InvalidSplitException if hand cannot be split.
+     */
+    void splitInto(HandState splitHand) {
         throwIfFinished();
 
-        return new HandState(hand.split(), betAmount);
+        hand.splitInto(splitHand.hand);
+        splitHand.betAmount = betAmount;
+        splitHand.finished = false;
+        splitHand.surrendered = false;
     }
 
     /**
@@ -117,9 +153,9 @@ public class HandState {
     // --- Information about the hand ---
 
     /**
-     * Returns the current bet amount for the hand.
+     * Returns the current bet amount for the hand, in {@link Money} units.
      */
-    public BigDecimal getBetAmount() {
+    public long getBetAmount() {
         return betAmount;
     }
 
@@ -2,43 +2,86 @@ package com.drawkcab.blackjack.player;
 
 import com.drawkcab.blackjack.game.Card;
 import com.drawkcab.blackjack.game.Hand;
+import com.drawkcab.blackjack.game.Money;
+import com.drawkcab.blackjack.player.strategy.BettingStrategy;
 import com.drawkcab.blackjack.player.strategy.Strategy;
-import com.google.common.collect.ImmutableList;
 
-import java.math.BigDecimal;
-import java.util.ArrayList;
+import java.util.AbstractList;
+import java.util.Arrays;
 import java.util.List;
+import java.util.Objects;
 
 /**
  * Represents a player in a game of Blackjack.
  *
- * <p>Handles decision-making (through a {@link Strategy}), manages the player's
- * bank, and interacts with per-round hand state via {@link RoundState}.</p>
+ * <p>Handles decision-making (through a {@link Strategy}), bet sizing (through a
+ * {@link BettingStrategy}), manages the player's bank, and interacts with per-round hand state via
+ * {@link RoundState}.</p>
+ *
+ * <p>All amounts are in {@link Money} units.</p>
+ *
+ * <p>A player reuses the same hand objects every round, so a round in progress doesn't allocate.
+ * The flip side is that the hands returned by {@link #endRound()} are only valid until the next
+ * round starts.</p>
  */
 public class Player {
     // Player State
     private final Strategy strategy;
-    private final BigDecimal seedAmount;
+    private final BettingStrategy bettingStrategy;
+    private final long seedAmount;
 
     // Game State
-    private BigDecimal bank;
+    private long bank;
 
     // Round State
     private final RoundState roundState;
 
     /**
-     * Constructs a new Player with a given strategy and starting bank amount.
+     * Constructs a new Player with a given strategy and starting bank amount, who always bets the
+     * minimum.
      *
      * @param strategy   the playing strategy
      * @param seedAmount the initial bank amount
      */
-    public Player(Strategy strategy, BigDecimal seedAmount) {
+    public Player(Strategy strategy, long seedAmount) {
+        this(strategy, BettingStrategy.FLAT, seedAmount);
+    }
+
+    /**
+     * Constructs a new Player with a given playing strategy, betting strategy and starting bank
+     * amount.
+     *
+     * @param strategy        the playing strategy
+     * @param bettingStrategy decides each round's bet
+     * @param seedAmount      the initial bank amount
+     */
+    public Player(Strategy strategy, BettingStrategy bettingStrategy, long seedAmount) {
         this.strategy = strategy;
+        this.bettingStrategy = bettingStrategy;
         this.seedAmount = seedAmount;
         this.roundState = new RoundState();
         reset();
     }
 
+    /**
+     * Decides the bet for the next round. Call this before the round's cards are dealt, then
+     * start the round with the result.
+     *
+     * @param minBet the table minimum
+     * @return the bet, at least the minimum
+     * @throws IllegalStateException if the betting strategy bets below the minimum, or more than
+     *                               the minimum when the bank can't cover it
+     */
+    public long chooseBet(long minBet) {
+        long bet = bettingStrategy.getBet(minBet, bank);
+        if (bet < minBet || (bet > minBet && bet > bank)) {
+            throw new IllegalStateException(
+                    String.format("Bet must be at least the minimum and covered by the bank. "
+                            + "bet = [%s], minBet = [%s], bank = [%s]", bet, minBet, bank));
+        }
+        return bet;
+    }
+
     /**
      * Starts a new round for the player with an initial hand and bet.
      *
@@ -46,14 +89,34 @@ public class Player {
      * @param minBet the minimum bet for the round
      * @param dealerFaceUpCard the dealer's visible face-up card
      */
-    public void startRound(Hand hand, BigDecimal minBet, Card dealerFaceUpCard) {
-        roundState.startRound(hand, minBet, dealerFaceUpCard);
-        bank = bank.subtract(minBet);
+    public void startRound(Hand hand, long minBet, Card dealerFaceUpCard) {
+        HandState handState = roundState.startRound(minBet, dealerFaceUpCard);
+        for (int i = 0; i < hand.cardCount(); i++) {
+            handState.deal(hand.getCard(i));
+        }
+        bank -= minBet;
+    }
+
+    /**
+     * Starts a new round for the player with the two cards they were dealt.
+     *
+     * @param first            the player's first card
+     * @param second           the player's second card
+     * @param bet              the bet for the round, usually from {@link #chooseBet(long)}
+     * @param dealerFaceUpCard the dealer's visible face-up card
+     */
+    public void startRound(Card first, Card second, long bet, Card dealerFaceUpCard) {
+        HandState handState = roundState.startRound(bet, dealerFaceUpCard);
+        handState.deal(first);
+        handState.deal(second);
+        bank -= bet;
     }
 
     /**
      * Ends the current round and returns the final states of all hands.
      *
+     * <p>The returned list and hands are reused, they stay valid until the next round starts.</p>
+     *
      * @return a list of final hand states for this round
      */
     public List<HandState> endRound() {
@@ -96,13 +159,12 @@ public class Player {
     /** Splits the active hand into two hands, adjusting the bank accordingly. */
     public void split() {
         HandState splitHand = roundState.split();
-        bank = bank.subtract(splitHand.getBetAmount());
-        roundState.addSplitHand(splitHand);
+        bank -= splitHand.getBetAmount();
     }
 
     /** Doubles the bet and hits exactly one more card. */
     public void doubleDown(Card card) {
-        bank = bank.subtract(getActivePlayerHand().getBetAmount());
+        bank -= getActivePlayerHand().getBetAmount();
         roundState.doubleDown(card);
     }
 
@@ -117,12 +179,12 @@ public class Player {
     }
 
     /** Pays the player a given amount (e.g., winnings + initial bet). */
-    public void pay(BigDecimal amount) {
-        bank = bank.add(amount);
+    public void pay(long amount) {
+        bank += amount;
     }
 
     /** @return the current bank balance */
-    public BigDecimal getBank() {
+    public long getBank() {
         return bank;
     }
 
@@ -140,45 +202,77 @@ public class Player {
      *
      * <p>This includes active hands, the dealer's visible card, and tracking
      * whether a round is currently active.</p>
+     *
+     * <p>Hands live in a pool of slots that's reset, not reallocated, each round. Splits take the
+     * next free slot, and the pool only grows in the rare round that splits more often than it
+     * has ever split before.</p>
      */
     private static class RoundState {
-        // A player may have multiple active hands during a round due to splits.
-        private final List<HandState> handStates;
+        // Room for a hand split three times, which covers almost every round.
+        private static final int INITIAL_SLOTS = 4;
+
+        // A player may have multiple active hands during a round due to splits. Only the first
+        // handCount slots belong to the current (or last) round.
+        private HandState[] handStates;
+        private int handCount;
+        private final List<HandState> hands;
         private int activeHandIndex;
         private Card dealerFaceUpCard;
         private boolean roundStarted;
 
         RoundState() {
-            handStates = new ArrayList<>();
+            handStates = new HandState[0];
+            growSlots(INITIAL_SLOTS);
+            hands = new AbstractList<>() {
+                @Override
+                public HandState get(int index) {
+                    Objects.checkIndex(index, handCount);
+                    return handStates[index];
+                }
+
+                @Override
+                public int size() {
+                    return handCount;
+                }
+            };
             reset();
         }
 
-        void startRound(Hand hand, BigDecimal bet, Card dealerFaceUpCard) {
+        /**
+         * Starts a round with a single empty hand, ready to be dealt to.
+         *
+         * @return the hand for the round
+         */
+        HandState startRound(long bet, Card dealerFaceUpCard) {
             if (roundStarted) {
                 throw new IllegalStateException("Cannot start a new round without finishing the " +
                         "previous round.");
             }
 
-            handStates.add(new HandState(hand, bet));
+            HandState handState = handStates[0];
+            handState.reset(bet);
+            handCount = 1;
             activeHandIndex = 0;
             this.dealerFaceUpCard = dealerFaceUpCard;
             roundStarted = true;
+            return handState;
         }
 
         /**
          * Ends the current round and returns the final state of the hands.
          *
-         * @return a copy of the player's final hands
+         * @return a view of the player's final hands, valid until the next round starts
          */
         List<HandState> endRound() {
-            ImmutableList<HandState> finalHands = ImmutableList.copyOf(handStates);
-            reset();
-            return finalHands;
+            activeHandIndex = -1;
+            dealerFaceUpCard = null;
+            roundStarted = false;
+            return hands;
         }
 
         /** Resets the current round state completely. */
         private void reset() {
-            handStates.clear();
+            handCount = 0;
             activeHandIndex = -1;
             dealerFaceUpCard = null;
             roundStarted = false;
@@ -189,8 +283,21 @@ public class Player {
             advanceHandIfFinished();
         }
 
+        /**
+         * Splits the active hand into the next free slot.
+         *
+         * @return the new hand
+         */
         HandState split() {
-            return getActivePlayerHand().split();
+            HandState activeHand = getActivePlayerHand();
+            if (handCount == handStates.length) {
+                growSlots(handStates.length * 2);
+            }
+
+            HandState splitHand = handStates[handCount];
+            activeHand.splitInto(splitHand);
+            handCount++;
+            return splitHand;
         }
 
         void doubleDown(Card card) {
@@ -219,11 +326,7 @@ public class Player {
             if (activeHandIndex == -1) {
                 throw new IllegalStateException("No active player hand exists. Did you call startRound()?");
             }
-            return handStates.get(activeHandIndex);
-        }
-
-        void addSplitHand(HandState splitHand) {
-            handStates.add(splitHand);
+            return hands.get(activeHandIndex);
         }
 
         Card getDealerFaceUpCard() {
@@ -235,7 +338,15 @@ public class Player {
         }
 
         boolean hasUnfinishedHands() {
-            return handStates.stream().anyMatch(playerHand -> !playerHand.isFinished());
+            if (!roundStarted) {
+                return false;
+            }
+            for (int i = 0; i < handCount; i++) {
+                if (!handStates[i].isFinished()) {
+                    return true;
+                }
+            }
+            return false;
         }
 
         private void advanceHandIfFinished() {
@@ -243,5 +354,13 @@ public class Player {
                 activeHandIndex++;
             }
         }
+
+        private void growSlots(int size) {
+            int oldSize = handStates.length;
+            handStates = Arrays.copyOf(handStates, size);
+            for (int i = oldSize; i < size; i++) {
+                handStates[i] = new HandState(new Hand(List.of()), 0);
+            }
+        }
     }
 }
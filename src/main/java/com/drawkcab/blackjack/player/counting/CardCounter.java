@@ -0,0 +1,95 @@
+package com.drawkcab.blackjack.player.counting;
+
+import com.drawkcab.blackjack.game.Card;
+import com.drawkcab.blackjack.game.Deck;
+import com.drawkcab.blackjack.game.DeckListener;
+import com.drawkcab.blackjack.game.ShoeComposition;
+
+/**
+ * Keeps a running count of the cards dealt from a {@link Deck}.
+ *
+ * <p>The counter listens to the deck, so every card dealt updates the count in constant time and
+ * a shuffle resets it. Nothing ever rescans the shoe.</p>
+ *
+ * <p>The counter sees every card as it leaves the shoe, including the dealer's hole card, which
+ * a real player only sees once the dealer turns it over. Decisions made during a round are
+ * therefore very slightly better informed than a real counter's. Bets are placed before any of
+ * the round's cards are dealt, so they're unaffected.</p>
+ *
+ * <p>A counter belongs to one deck and one thread, like the deck itself.</p>
+ */
+public class CardCounter implements DeckListener {
+    private static final int CARDS_PER_DECK = 52;
+
+    private final CountingSystem system;
+    private final ShoeComposition shoe;
+    private final int initialRunningCount;
+    private int runningCount;
+
+    private CardCounter(CountingSystem system, ShoeComposition shoe) {
+        this.system = system;
+        this.shoe = shoe;
+        this.initialRunningCount = system.initialRunningCount(shoe.size() / CARDS_PER_DECK);
+        // Catch up on anything already dealt, so a counter can join a shoe part way through.
+        int count = initialRunningCount;
+        int perCard = shoe.size() / Card.values().length;
+        for (Card card : Card.values()) {
+            count += system.tag(card) * (perCard - shoe.remaining(card));
+        }
+        this.runningCount = count;
+    }
+
+    /**
+     * Creates a counter and registers it to count every card dealt from the deck.
+     *
+     * @param deck   the deck to count
+     * @param system the counting system to use
+     * @return the new counter
+     * @throws IllegalStateException if the deck already has a listener
+     */
+    public static CardCounter attachTo(Deck deck, CountingSystem system) {
+        CardCounter counter = new CardCounter(system, deck.composition());
+        deck.setListener(counter);
+        return counter;
+    }
+
+    @Override
+    public void cardDealt(Card card) {
+        runningCount += system.tag(card);
+    }
+
+    @Override
+    public void shuffled() {
+        runningCount = initialRunningCount;
+    }
+
+    /**
+     * Returns the counting system in use.
+     */
+    public CountingSystem system() {
+        return system;
+    }
+
+    /**
+     * Returns the running count, the sum of the tags of every card dealt since the last shuffle,
+     * starting from {@link CountingSystem#initialRunningCount(int)}.
+     */
+    public int runningCount() {
+        return runningCount;
+    }
+
+    /**
+     * Returns the count adjusted for how much of the shoe is left.
+     *
+     * <p>For a balanced system this is the running count per deck remaining. Unbalanced systems
+     * are designed to be used without that division, so for them it is just the running count.
+     * An empty shoe also returns the running count.</p>
+     */
+    public double trueCount() {
+        int cardsRemaining = shoe.cardsRemaining();
+        if (!system.isBalanced() || cardsRemaining == 0) {
+            return runningCount;
+        }
+        return runningCount * (double) CARDS_PER_DECK / cardsRemaining;
+    }
+}
@@ -0,0 +1,65 @@
+package com.drawkcab.blackjack.player.counting;
+
+import com.drawkcab.blackjack.game.Card;
+
+/**
+ * A card counting system: the tag added to the running count for every card seen.
+ *
+ * <p>Balanced systems tag a full deck to zero, so their running count is divided by the number of
+ * decks left to get a true count. Unbalanced systems tag a deck to a positive total and instead
+ * start the running count below zero, so the running count can be bet on directly.</p>
+ */
+public enum CountingSystem {
+    /** The most common level one count. Tens and Aces are -1, two to six are +1. */
+    HI_LO(true, -1, 1, 1, 1, 1, 1, 0, 0, 0, -1),
+    /** Knock-Out, Hi-Lo with sevens counted as low cards, making it unbalanced. */
+    KO(false, -1, 1, 1, 1, 1, 1, 1, 0, 0, -1),
+    /** A level two count that ignores Aces and weighs fours to sixes and tens double. */
+    OMEGA_II(true, 0, 1, 1, 2, 2, 2, 1, 0, -1, -2);
+
+    private final boolean balanced;
+    // Indexed by card ordinal.
+    private final int[] tags;
+
+    CountingSystem(boolean balanced, int... tagsByValue) {
+        this.balanced = balanced;
+        this.tags = new int[Card.values().length];
+        for (Card card : Card.values()) {
+            tags[card.ordinal()] = tagsByValue[card.getValue() - 1];
+        }
+    }
+
+    /**
+     * Returns how much seeing this card changes the running count.
+     */
+    public int tag(Card card) {
+        return tags[card.ordinal()];
+    }
+
+    /**
+     * Returns whether a full deck counts to zero.
+     */
+    public boolean isBalanced() {
+        return balanced;
+    }
+
+    /**
+     * Returns the running count of a freshly shuffled shoe.
+     *
+     * <p>Zero for balanced systems. Unbalanced systems start at minus their per-deck imbalance
+     * for every deck but one, so that the count reaches zero about when the player has the
+     * edge.</p>
+     *
+     * @param numDecks the number of decks in the shoe
+     */
+    public int initialRunningCount(int numDecks) {
+        if (balanced) {
+            return 0;
+        }
+        int imbalance = 0;
+        for (Card card : Card.values()) {
+            imbalance += 4 * tag(card);
+        }
+        return -imbalance * (numDecks - 1);
+    }
+}
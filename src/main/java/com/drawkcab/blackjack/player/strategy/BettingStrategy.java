@@ -0,0 +1,24 @@
+package com.drawkcab.blackjack.player.strategy;
+
+import com.drawkcab.blackjack.game.Money;
+
+/**
+ * Decides how much a player bets on a round, before any of its cards are dealt.
+ */
+@FunctionalInterface
+public interface BettingStrategy {
+    /** Always bets the table minimum. */
+    BettingStrategy FLAT = (minBet, bank) -> minBet;
+
+    /**
+     * Returns the bet for the next round.
+     *
+     * <p>The bet must be at least the minimum bet, and anything above the minimum must be covered
+     * by the bank. Bets must be whole cents.</p>
+     *
+     * @param minBet the table minimum, in {@link Money} units
+     * @param bank   the player's bank before betting, in {@link Money} units
+     * @return the bet, in {@link Money} units
+     */
+    long getBet(long minBet, long bank);
+}
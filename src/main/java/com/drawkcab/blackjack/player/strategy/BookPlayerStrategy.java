@@ -4,11 +4,9 @@ import com.drawkcab.blackjack.game.Card;
 import com.drawkcab.blackjack.player.Move;
 import com.drawkcab.blackjack.player.HandState;
 
-import java.math.BigDecimal;
-
 public class BookPlayerStrategy implements Strategy {
     @Override
-    public Move getNextMove(HandState hand, Card dealerFaceUpCard, BigDecimal bank) {
+    public Move getNextMove(HandState hand, Card dealerFaceUpCard, long bank) {
         int currentValue = hand.getTotalValue();
         int dealerValue = dealerFaceUpCard.getMaxValue();
 
@@ -39,16 +37,16 @@ public class BookPlayerStrategy implements Strategy {
         return Move.HIT;
     }
 
-    private boolean canSplit(HandState hand, BigDecimal bank) {
+    private boolean canSplit(HandState hand, long bank) {
         return hand.canSplit() && canAffordBet(hand, bank);
     }
 
-    private boolean canDouble(HandState hand, BigDecimal bank) {
+    private boolean canDouble(HandState hand, long bank) {
         return hand.isInitialHand() && canAffordBet(hand, bank);
     }
 
-    private boolean canAffordBet(HandState hand, BigDecimal bank) {
-        return bank.compareTo(hand.getBetAmount()) >= 0;
+    private boolean canAffordBet(HandState hand, long bank) {
+        return bank >= hand.getBetAmount();
     }
 
     private boolean shouldSurrender(int currentValue, boolean isSoft, int dealerValue) {
@@ -0,0 +1,181 @@
+package com.drawkcab.blackjack.player.strategy;
+
+import com.drawkcab.blackjack.game.Card;
+import com.drawkcab.blackjack.game.Hand;
+import com.drawkcab.blackjack.player.HandState;
+import com.drawkcab.blackjack.player.Move;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * A {@link Strategy} precomputed into a dense decision table.
+ *
+ * <p>Most strategies decide purely from a handful of facts about the hand: its total, whether it
+ * is soft, its pair rank, whether it is still the initial two cards, whether the player can afford
+ * another bet, and the dealer's card. There are only a few thousand combinations of those, so
+ * {@link #compile(Strategy)} asks the original strategy about each one once, up front, and records
+ * the answers in a {@code byte[]}. Every later decision is then a single array load, however
+ * expensive the original strategy's logic was.</p>
+ *
+ * <p>Strategies that report {@link Strategy#dependsOnExtraContext()} are not compiled. Anything the
+ * table can't answer (for instance a hand that was just split) is passed through to the original
+ * strategy.</p>
+ */
+public final class CompiledStrategy implements Strategy {
+    private static final Move[] MOVES = Move.values();
+    private static final byte NOT_COMPILED = -1;
+
+    // Dimensions of the table key, in the order they're combined.
+    private static final int TOTALS = 22;
+    private static final int SOFTNESS = 2;
+    // 0 for not a pair, otherwise the value of the paired cards (1 for aces).
+    private static final int PAIR_RANKS = 11;
+    private static final int INITIAL = 2;
+    private static final int AFFORDABILITY = 2;
+    private static final int DEALER_VALUES = 10;
+
+    // Any bet works for compiling, only whether the bank covers it matters.
+    private static final long COMPILE_BET = 2;
+
+    private final Strategy strategy;
+    private final byte[] moves;
+
+    private CompiledStrategy(Strategy strategy, byte[] moves) {
+        this.strategy = strategy;
+        this.moves = moves;
+    }
+
+    /**
+     * Precomputes a strategy into a lookup table.
+     *
+     * @param strategy the strategy to compile
+     * @return a compiled equivalent, or {@code strategy} itself if it depends on extra context or
+     *         is already compiled
+     */
+    public static Strategy compile(Strategy strategy) {
+        if (strategy instanceof CompiledStrategy || strategy.dependsOnExtraContext()) {
+            return strategy;
+        }
+
+        byte[] moves = new byte[TOTALS * SOFTNESS * PAIR_RANKS * INITIAL * AFFORDABILITY
+                * DEALER_VALUES];
+        Arrays.fill(moves, NOT_COMPILED);
+
+        for (Hand hand : representativeHands()) {
+            for (int dealerValue = 1; dealerValue <= DEALER_VALUES; dealerValue++) {
+                Card dealerCard = cardWithValue(dealerValue);
+                for (boolean canAfford : new boolean[] {true, false}) {
+                    HandState handState = new HandState(hand, COMPILE_BET);
+                    long bank = canAfford ? COMPILE_BET : COMPILE_BET - 1;
+                    Move move = strategy.getNextMove(handState, dealerCard, bank);
+                    moves[index(handState, dealerValue, canAfford)] = (byte) move.ordinal();
+                }
+            }
+        }
+
+        return new CompiledStrategy(strategy, moves);
+    }
+
+    /**
+     * Returns a fingerprint of a strategy that's the same in every JVM, for telling whether two
+     * runs played the same strategy. A compiled strategy is identified by its table and the class
+     * it passes uncompiled decisions to, anything else by its class alone. Lambdas' classes are
+     * named differently in every JVM, so they're left out.
+     */
+    public static long fingerprint(Strategy strategy) {
+        Strategy original = strategy instanceof CompiledStrategy compiled
+                ? compiled.strategy
+                : strategy;
+        int table = strategy instanceof CompiledStrategy compiled
+                ? Arrays.hashCode(compiled.moves)
+                : 0;
+        int type = original.getClass().isHidden() ? 0 : original.getClass().getName().hashCode();
+        return (long) table << Integer.SIZE | type & 0xffffffffL;
+    }
+
+    @Override
+    public Move getNextMove(HandState hand, Card dealerFaceUpCard, long bank) {
+        // A hand that was just split only has one card, and a bust hand is already over. Neither is
+        // in the table.
+        if (!hand.justSplit() && hand.getTotalValue() < TOTALS) {
+            byte move = moves[index(hand, dealerFaceUpCard.getValue(),
+                    bank >= hand.getBetAmount())];
+            if (move != NOT_COMPILED) {
+                return MOVES[move];
+            }
+        }
+
+        return strategy.getNextMove(hand, dealerFaceUpCard, bank);
+    }
+
+    private static int index(HandState hand, int dealerValue, boolean canAfford) {
+        int pairRank = hand.canSplit() ? hand.getSplitCard().getValue() : 0;
+
+        int index = hand.getTotalValue();
+        index = index * SOFTNESS + (hand.isSoft() ? 1 : 0);
+        index = index * PAIR_RANKS + pairRank;
+        index = index * INITIAL + (hand.isInitialHand() ? 1 : 0);
+        index = index * AFFORDABILITY + (canAfford ? 1 : 0);
+        return index * DEALER_VALUES + dealerValue - 1;
+    }
+
+    /**
+     * Builds one hand for every reachable combination of total, softness, pair rank and initial
+     * state that a player could be asked to act on.
+     */
+    private static List<Hand> representativeHands() {
+        List<Hand> hands = new ArrayList<>();
+
+        // Pairs.
+        for (int value = 1; value <= 10; value++) {
+            hands.add(handOf(value, value));
+        }
+
+        // Initial hard hands that aren't pairs: 5 (2 + 3) through 19 (9 + 10).
+        for (int total = 5; total <= 19; total++) {
+            int low = Math.max(2, total - 10);
+            if (low * 2 == total) {
+                low--;
+            }
+            if (low >= 2) {
+                hands.add(handOf(low, total - low));
+            }
+        }
+
+        // Initial soft hands: Ace + 2 (soft 13) through Ace + 10 (blackjack).
+        for (int value = 2; value <= 10; value++) {
+            hands.add(handOf(1, value));
+        }
+
+        // Hard hands after hitting: three or more non-Ace cards, 6 through 21.
+        for (int total = 6; total <= 21; total++) {
+            int rest = total - 2;
+            int second = Math.min(10, rest - 2);
+            hands.add(handOf(2, second, rest - second));
+        }
+
+        // Soft hands after hitting: an Ace plus two cards making up the rest, soft 13 through 21.
+        for (int total = 13; total <= 21; total++) {
+            int rest = total - 11;
+            int second = Math.max(1, rest - 10);
+            hands.add(handOf(1, second, rest - second));
+        }
+
+        return hands;
+    }
+
+    private static Hand handOf(int... values) {
+        List<Card> cards = new ArrayList<>();
+        for (int value : values) {
+            cards.add(cardWithValue(value));
+        }
+        return new Hand(cards);
+    }
+
+    private static Card cardWithValue(int value) {
+        // Card ordinals run ACE, TWO, ..., TEN, so the first card with each value is at value - 1.
+        return Card.values()[value - 1];
+    }
+}
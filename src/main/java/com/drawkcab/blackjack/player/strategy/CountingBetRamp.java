@@ -0,0 +1,46 @@
+package com.drawkcab.blackjack.player.strategy;
+
+import com.drawkcab.blackjack.player.counting.CardCounter;
+
+import java.util.Arrays;
+
+/**
+ * Bets more when the count favors the player.
+ *
+ * <p>The ramp is a list of bet sizes, in multiples of the minimum bet, indexed by the true count
+ * rounded down. Counts below zero bet the first entry and counts past the end bet the last.
+ * Whenever the bank can't cover the ramp's bet, the largest multiple of the minimum it does cover
+ * is bet instead.</p>
+ */
+public class CountingBetRamp implements BettingStrategy {
+    private final CardCounter counter;
+    private final int[] units;
+
+    /**
+     * Creates a bet ramp.
+     *
+     * @param counter the counter to read the true count from
+     * @param units   the bet at each true count from zero up, in multiples of the minimum bet
+     * @throws IllegalArgumentException if the ramp is empty or has a bet below the minimum
+     */
+    public CountingBetRamp(CardCounter counter, int... units) {
+        if (units.length == 0 || Arrays.stream(units).anyMatch(unit -> unit < 1)) {
+            throw new IllegalArgumentException(
+                    String.format("Every bet in the ramp must be at least the minimum bet. "
+                            + "units = %s", Arrays.toString(units)));
+        }
+        this.counter = counter;
+        this.units = units.clone();
+    }
+
+    @Override
+    public long getBet(long minBet, long bank) {
+        int index = (int) Math.max(0, Math.min(units.length - 1,
+                Math.floor(counter.trueCount())));
+        long bet = minBet * units[index];
+        if (bet > bank) {
+            bet = Math.max(minBet, bank / minBet * minBet);
+        }
+        return bet;
+    }
+}
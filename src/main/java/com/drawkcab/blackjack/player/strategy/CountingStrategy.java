@@ -0,0 +1,88 @@
+package com.drawkcab.blackjack.player.strategy;
+
+import com.drawkcab.blackjack.game.Card;
+import com.drawkcab.blackjack.player.HandState;
+import com.drawkcab.blackjack.player.Move;
+import com.drawkcab.blackjack.player.counting.CardCounter;
+
+import java.util.List;
+
+/**
+ * Plays a base strategy, deviating from it when the count calls for one of a list of
+ * {@link IndexPlay}s.
+ *
+ * <p>Deviations are checked in order and the first one the count triggers, and that is allowed
+ * for the hand and bank, wins. Index tables assume surrender and splitting are decided first, so
+ * when the base strategy surrenders or splits, only a deviation that is itself a surrender or a
+ * split replaces it.</p>
+ *
+ * <p>Decisions depend on the shoe, so this is never compiled into a table (see
+ * {@link CompiledStrategy}), though the base strategy can be. Like its counter, an instance
+ * belongs to a single game.</p>
+ */
+public class CountingStrategy implements Strategy {
+    private final Strategy baseStrategy;
+    private final CardCounter counter;
+    private final IndexPlay[] indexPlays;
+
+    /**
+     * Creates a counting strategy.
+     *
+     * @param baseStrategy the strategy to play when no deviation applies
+     * @param counter      the counter to read the true count from
+     * @param indexPlays   the deviations, in order of precedence
+     */
+    public CountingStrategy(Strategy baseStrategy, CardCounter counter,
+                            List<IndexPlay> indexPlays) {
+        this.baseStrategy = baseStrategy;
+        this.counter = counter;
+        this.indexPlays = indexPlays.toArray(IndexPlay[]::new);
+    }
+
+    @Override
+    public Move getNextMove(HandState hand, Card dealerFaceUpCard, long bank) {
+        Move baseMove = baseStrategy.getNextMove(hand, dealerFaceUpCard, bank);
+        if (hand.isBlackJack()) {
+            return baseMove;
+        }
+
+        int dealerValue = dealerFaceUpCard.getMaxValue();
+        // The count only matters once a deviation matches, so it isn't computed otherwise.
+        double trueCount = Double.NaN;
+        for (IndexPlay indexPlay : indexPlays) {
+            if (!indexPlay.matches(hand, dealerValue)
+                    || !overrides(indexPlay.move(), baseMove)
+                    || !isAllowed(indexPlay.move(), hand, bank)) {
+                continue;
+            }
+            if (Double.isNaN(trueCount)) {
+                trueCount = counter.trueCount();
+            }
+            if (indexPlay.isTriggered(trueCount)) {
+                return indexPlay.move();
+            }
+        }
+        return baseMove;
+    }
+
+    @Override
+    public boolean dependsOnExtraContext() {
+        return true;
+    }
+
+    private static boolean overrides(Move deviation, Move baseMove) {
+        return switch (baseMove) {
+            case SURRENDER, SPLIT -> deviation == Move.SURRENDER || deviation == Move.SPLIT;
+            default -> true;
+        };
+    }
+
+    private static boolean isAllowed(Move move, HandState hand, long bank) {
+        return switch (move) {
+            case DOUBLE_DOWN -> hand.isInitialHand() && bank >= hand.getBetAmount();
+            case SPLIT -> hand.canSplit() && bank >= hand.getBetAmount();
+            case SURRENDER -> hand.isInitialHand();
+            case HIT, STAND -> true;
+        };
+    }
+}
@@ -4,8 +4,6 @@ import com.drawkcab.blackjack.game.Card;
 import com.drawkcab.blackjack.player.Move;
 import com.drawkcab.blackjack.player.HandState;
 
-import java.math.BigDecimal;
-
 /**
  * A fixed strategy implementation for the dealer in Blackjack.
  *
@@ -31,7 +29,7 @@ public class DealerStrategy implements Strategy {
      * @return {@link Move#HIT} if the hand total is less than 17, {@link Move#STAND} otherwise
      */
     @Override
-    public Move getNextMove(HandState hand, Card dealerFaceUpCard, BigDecimal bank) {
+    public Move getNextMove(HandState hand, Card dealerFaceUpCard, long bank) {
         if (hand.getTotalValue() >= 17) {
             return Move.STAND;
         } else {
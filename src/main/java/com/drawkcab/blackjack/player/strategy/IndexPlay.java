@@ -0,0 +1,93 @@
+package com.drawkcab.blackjack.player.strategy;
+
+import com.drawkcab.blackjack.player.HandState;
+import com.drawkcab.blackjack.player.Move;
+
+import java.util.List;
+
+/**
+ * A count-based deviation from basic strategy: make a different move with a hard total against a
+ * dealer card once the true count crosses an index.
+ *
+ * @param total       the hand's hard total
+ * @param pair        whether the deviation only applies to a pair with that total
+ * @param dealerValue the dealer's face-up card value, 11 for an Ace
+ * @param move        the move to make instead
+ * @param index       the true count the deviation starts at
+ * @param atOrAbove   {@code true} to deviate at or above the index, {@code false} below it
+ */
+public record IndexPlay(int total, boolean pair, int dealerValue, Move move, double index,
+                        boolean atOrAbove) {
+
+    /**
+     * The Hi-Lo "Illustrious 18" play deviations.
+     *
+     * <p>Insurance isn't offered by this game, so it's left out. So is splitting tens against a
+     * 5 or 6: this game allows unlimited resplits, and at a high count a player would keep
+     * splitting tens until the shoe ran out. {@link #SPLIT_TENS} has those two plays for anyone
+     * who wants them anyway.</p>
+     */
+    public static final List<IndexPlay> ILLUSTRIOUS_18 = List.of(
+            atOrAbove(16, 10, Move.STAND, 0),
+            atOrAbove(15, 10, Move.STAND, 4),
+            atOrAbove(10, 10, Move.DOUBLE_DOWN, 4),
+            atOrAbove(12, 3, Move.STAND, 2),
+            atOrAbove(12, 2, Move.STAND, 3),
+            atOrAbove(11, 11, Move.DOUBLE_DOWN, 1),
+            atOrAbove(9, 2, Move.DOUBLE_DOWN, 1),
+            atOrAbove(10, 11, Move.DOUBLE_DOWN, 4),
+            atOrAbove(9, 7, Move.DOUBLE_DOWN, 3),
+            atOrAbove(16, 9, Move.STAND, 5),
+            below(13, 2, Move.HIT, -1),
+            below(12, 4, Move.HIT, 0),
+            below(12, 5, Move.HIT, -2),
+            below(12, 6, Move.HIT, -1),
+            below(13, 3, Move.HIT, -2));
+
+    /**
+     * The Hi-Lo deviations to split tens against a 5 or 6.
+     */
+    public static final List<IndexPlay> SPLIT_TENS = List.of(
+            new IndexPlay(20, true, 5, Move.SPLIT, 5, true),
+            new IndexPlay(20, true, 6, Move.SPLIT, 4, true));
+
+    /**
+     * The Hi-Lo "Fab 4" surrender deviations.
+     */
+    public static final List<IndexPlay> FAB_4 = List.of(
+            atOrAbove(14, 10, Move.SURRENDER, 3),
+            atOrAbove(15, 10, Move.SURRENDER, 0),
+            atOrAbove(15, 9, Move.SURRENDER, 2),
+            atOrAbove(15, 11, Move.SURRENDER, 1));
+
+    /**
+     * Returns a deviation for a hard total made at or above the index.
+     */
+    public static IndexPlay atOrAbove(int total, int dealerValue, Move move, double index) {
+        return new IndexPlay(total, false, dealerValue, move, index, true);
+    }
+
+    /**
+     * Returns a deviation for a hard total made below the index.
+     */
+    public static IndexPlay below(int total, int dealerValue, Move move, double index) {
+        return new IndexPlay(total, false, dealerValue, move, index, false);
+    }
+
+    /**
+     * Returns whether this deviation is for the given hand and dealer card, whatever the count.
+     */
+    public boolean matches(HandState hand, int dealerValue) {
+        return this.dealerValue == dealerValue
+                && !hand.isSoft()
+                && hand.getTotalValue() == total
+                && (!pair || hand.canSplit());
+    }
+
+    /**
+     * Returns whether the count calls for this deviation.
+     */
+    public boolean isTriggered(double trueCount) {
+        return atOrAbove ? trueCount >= index : trueCount < index;
+    }
+}
@@ -1,11 +1,10 @@
 package com.drawkcab.blackjack.player.strategy;
 
 import com.drawkcab.blackjack.game.Card;
+import com.drawkcab.blackjack.game.Money;
 import com.drawkcab.blackjack.player.Move;
 import com.drawkcab.blackjack.player.HandState;
 
-import java.math.BigDecimal;
-
 /**
  * Defines the strategy for making decisions in a game of Blackjack.
  *
@@ -19,8 +18,25 @@ public interface Strategy {
      *
      * @param hand the current state of the player's hand
      * @param dealerFaceUpCard the dealer's visible face-up card
-     * @param bank the player's current available bank for betting decisions
+     * @param bank the player's current available bank for betting decisions, in {@link Money}
+     *             units
      * @return the {@link Move} that the player should make next
      */
-    Move getNextMove(HandState hand, Card dealerFaceUpCard, BigDecimal bank);
+    Move getNextMove(HandState hand, Card dealerFaceUpCard, long bank);
+
+    /**
+     * Returns whether this strategy looks at anything other than the hand's total, whether it is
+     * soft, its pair rank, whether it is still the initial two cards, whether the player can afford
+     * another bet, and the dealer's card.
+     *
+     * <p>Strategies that only look at those can be precomputed into a lookup table (see
+     * {@link CompiledStrategy}). Strategies that also depend on, for example, the individual cards
+     * in the hand or the state of the shoe must return {@code true} so they're always asked
+     * directly.</p>
+     *
+     * @return {@code true} if decisions depend on more than the table key
+     */
+    default boolean dependsOnExtraContext() {
+        return false;
+    }
 }
@@ -0,0 +1,37 @@
+package com.drawkcab.blackjack.server;
+
+import com.drawkcab.blackjack.simulation.MonteCarloSimulator.SimulationResult;
+
+/**
+ * The JSON view of a simulation job.
+ *
+ * @param id     the job's id
+ * @param state  where the job is in its life
+ * @param result the summary, once the job is {@link State#DONE}
+ * @param error  what went wrong, once the job has {@link State#FAILED}
+ */
+record JobStatus(long id, State state, Result result, String error) {
+
+    /** Where a job is in its life. */
+    enum State {
+        QUEUED, RUNNING, DONE, FAILED, CANCELLED
+    }
+
+    /**
+     * A simulation's summary.
+     *
+     * @param games             the number of games played
+     * @param median            the median number of rounds a game lasted
+     * @param mean              the mean number of rounds a game lasted
+     * @param standardDeviation the standard deviation of rounds per game
+     * @param p90               the 90th percentile of rounds per game
+     * @param p99               the 99th percentile of rounds per game
+     */
+    record Result(long games, double median, double mean, double standardDeviation, double p90,
+                  double p99) {
+        static Result of(SimulationResult result) {
+            return new Result(result.statistics().count(), result.median(), result.mean(),
+                    result.standardDeviation(), result.percentile(90), result.percentile(99));
+        }
+    }
+}
@@ -0,0 +1,100 @@
+package com.drawkcab.blackjack.server;
+
+import com.drawkcab.blackjack.player.counting.CountingSystem;
+import com.drawkcab.blackjack.player.strategy.IndexPlay;
+import com.drawkcab.blackjack.player.strategy.Strategy;
+import com.drawkcab.blackjack.simulation.modules.BlackJackSimulationModule.CountingConfiguration;
+import com.drawkcab.blackjack.simulation.modules.BlackJackSimulationModule.SimulationConfiguration;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The JSON body of a request to run a simulation.
+ *
+ * <p>Strategies are named rather than serialized, see {@link SimulationServer} for the names. A
+ * missing seed picks an unpredictable one, and a missing counting section plays without
+ * counting.</p>
+ *
+ * @param numDecks     the number of decks in the shoe
+ * @param startingBank the player's starting bank
+ * @param minBet       the minimum bet
+ * @param strategy     the name of the player's strategy
+ * @param seed         the simulation seed, or {@code null} for an unpredictable one
+ * @param runs         the number of games to play
+ * @param counting     how the player counts cards, or {@code null} for no counting
+ */
+record SimulationRequest(int numDecks, BigDecimal startingBank, BigDecimal minBet,
+                         String strategy, Long seed, int runs, Counting counting) {
+
+    /**
+     * The counting section of a request.
+     *
+     * @param system     a {@link CountingSystem} name
+     * @param indexPlays names of index play sets: {@code ILLUSTRIOUS_18}, {@code FAB_4} or
+     *                   {@code SPLIT_TENS}
+     * @param maxRounds  the most rounds a game lasts
+     * @param betRamp    the bet at each true count from zero up, in multiples of the minimum bet
+     */
+    record Counting(String system, List<String> indexPlays, long maxRounds, int[] betRamp) {
+    }
+
+    private static final Map<String, List<IndexPlay>> INDEX_PLAYS = Map.of(
+            "ILLUSTRIOUS_18", IndexPlay.ILLUSTRIOUS_18,
+            "FAB_4", IndexPlay.FAB_4,
+            "SPLIT_TENS", IndexPlay.SPLIT_TENS);
+
+    /**
+     * Converts the request to a configuration.
+     *
+     * @param strategies the available strategies by name
+     * @throws IllegalArgumentException if a field is missing or out of range, or a name is unknown
+     */
+    SimulationConfiguration toConfiguration(Map<String, Strategy> strategies) {
+        if (numDecks < 1 || startingBank == null || minBet == null
+                || minBet.signum() <= 0 || runs < 0) {
+            throw new IllegalArgumentException(
+                    String.format("numDecks and minBet must be positive, startingBank is required "
+                                    + "and runs can't be negative. numDecks = [%s], "
+                                    + "startingBank = [%s], minBet = [%s], runs = [%s]",
+                            numDecks, startingBank, minBet, runs));
+        }
+        Strategy playerStrategy = strategies.get(strategy);
+        if (playerStrategy == null) {
+            throw new IllegalArgumentException(
+                    String.format("Unknown strategy. strategy = [%s], known = %s", strategy,
+                            strategies.keySet()));
+        }
+        return new SimulationConfiguration(numDecks, startingBank, minBet, playerStrategy, 1,
+                seed == null ? System.nanoTime() : seed, countingConfiguration());
+    }
+
+    private CountingConfiguration countingConfiguration() {
+        if (counting == null) {
+            return null;
+        }
+        CountingSystem system;
+        try {
+            system = CountingSystem.valueOf(String.valueOf(counting.system()));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException(
+                    String.format("Unknown counting system. system = [%s]", counting.system()), e);
+        }
+        List<IndexPlay> indexPlays = new ArrayList<>();
+        if (counting.indexPlays() != null) {
+            for (String name : counting.indexPlays()) {
+                List<IndexPlay> plays = INDEX_PLAYS.get(name);
+                if (plays == null) {
+                    throw new IllegalArgumentException(
+                            String.format("Unknown index plays. indexPlays = [%s], known = %s",
+                                    name, INDEX_PLAYS.keySet()));
+                }
+                indexPlays.addAll(plays);
+            }
+        }
+        return new CountingConfiguration(system, indexPlays, counting.maxRounds(),
+                counting.betRamp());
+    }
+}
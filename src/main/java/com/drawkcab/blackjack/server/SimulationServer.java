@@ -0,0 +1,323 @@
+package com.drawkcab.blackjack.server;
+
+import com.drawkcab.blackjack.player.strategy.BookPlayerStrategy;
+import com.drawkcab.blackjack.player.strategy.CompiledStrategy;
+import com.drawkcab.blackjack.player.strategy.DealerStrategy;
+import com.drawkcab.blackjack.player.strategy.Strategy;
+import com.drawkcab.blackjack.server.JobStatus.State;
+import com.drawkcab.blackjack.simulation.MonteCarloSimulator.SimulationResult;
+import com.drawkcab.blackjack.simulation.SimulationService;
+import com.drawkcab.blackjack.simulation.modules.BlackJackSimulationModule.SimulationConfiguration;
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.google.gson.JsonParseException;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.Reader;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Serves simulations over HTTP, so a long-lived, warmed-up JVM can run many short simulations at
+ * full speed instead of each one paying for JVM startup and JIT warm-up.
+ *
+ * <p>Built on the JDK's {@link HttpServer}, so it needs nothing else running. Jobs run on a
+ * {@link SimulationService}, so queued requests never oversubscribe the cores. The API:</p>
+ *
+ * <ul>
+ *   <li>{@code POST /simulations} with a JSON {@link SimulationRequest} queues a job and returns
+ *   {@code 202} with its status, including its id.</li>
+ *   <li>{@code GET /simulations} lists every job's status.</li>
+ *   <li>{@code GET /simulations/{id}} returns a job's status, with the result once it's done.</li>
+ *   <li>{@code DELETE /simulations/{id}} cancels a job and forgets it.</li>
+ * </ul>
+ *
+ * <p>Strategies are named {@code BOOK} ({@link BookPlayerStrategy}) and {@code DEALER}
+ * ({@link DealerStrategy}). Each is compiled once when the server starts and shared by every
+ * job.</p>
+ *
+ * <p>A finished job keeps only its summary, not the simulation's full statistics. Finished jobs
+ * are forgotten {@link #DEFAULT_FINISHED_JOB_TTL} after they finish, and the oldest are forgotten
+ * early once more than {@value #DEFAULT_MAX_FINISHED_JOBS} have finished, so a long-lived server
+ * holds a bounded amount of results.</p>
+ */
+public class SimulationServer implements AutoCloseable {
+    private static final String PATH = "/simulations";
+    /** The most finished jobs kept, by default. */
+    public static final int DEFAULT_MAX_FINISHED_JOBS = 1000;
+    /** How long a finished job is kept, by default. */
+    public static final Duration DEFAULT_FINISHED_JOB_TTL = Duration.ofHours(1);
+
+    private final Gson gson = new GsonBuilder().serializeSpecialFloatingPointValues().create();
+    private final Map<String, Strategy> strategies = Map.of(
+            "BOOK", CompiledStrategy.compile(new BookPlayerStrategy()),
+            "DEALER", CompiledStrategy.compile(new DealerStrategy()));
+    private final Map<Long, Job> jobs = new ConcurrentHashMap<>();
+    private final AtomicLong nextId = new AtomicLong(1);
+    private final int maxFinishedJobs;
+    private final long finishedJobTtlNanos;
+    private final SimulationService service;
+    private final HttpServer server;
+
+    /**
+     * Creates and starts a server listening on the loopback address only, so only this machine
+     * can submit jobs.
+     *
+     * @param port              the port to listen on, or 0 for any free port
+     * @param maxConcurrentJobs the most simulations that play games at once
+     * @param workerThreads     the number of threads playing games
+     * @throws IOException if the server can't listen on the port
+     */
+    public SimulationServer(int port, int maxConcurrentJobs, int workerThreads)
+            throws IOException {
+        this(new InetSocketAddress(InetAddress.getLoopbackAddress(), port), maxConcurrentJobs,
+                workerThreads);
+    }
+
+    /**
+     * Creates and starts a server listening on the given address. The server has no
+     * authentication, and every job can keep every worker thread busy, so only listen on an
+     * address other machines can reach on a network they're all trusted on.
+     *
+     * @param address           the address and port to listen on
+     * @param maxConcurrentJobs the most simulations that play games at once
+     * @param workerThreads     the number of threads playing games
+     * @throws IOException if the server can't listen on the address
+     */
+    public SimulationServer(InetSocketAddress address, int maxConcurrentJobs, int workerThreads)
+            throws IOException {
+        this(address, maxConcurrentJobs, workerThreads, DEFAULT_MAX_FINISHED_JOBS,
+                DEFAULT_FINISHED_JOB_TTL);
+    }
+
+    /**
+     * Creates and starts a server listening on the given address, see
+     * {@link #SimulationServer(InetSocketAddress, int, int)}.
+     *
+     * @param address           the address and port to listen on
+     * @param maxConcurrentJobs the most simulations that play games at once
+     * @param workerThreads     the number of threads playing games
+     * @param maxFinishedJobs   the most finished jobs kept
+     * @param finishedJobTtl    how long a finished job is kept
+     * @throws IOException if the server can't listen on the address
+     * @throws IllegalArgumentException if {@code maxFinishedJobs} or {@code finishedJobTtl} is
+     *                                  negative
+     */
+    public SimulationServer(InetSocketAddress address, int maxConcurrentJobs, int workerThreads,
+                            int maxFinishedJobs, Duration finishedJobTtl) throws IOException {
+        if (maxFinishedJobs < 0 || finishedJobTtl.isNegative()) {
+            throw new IllegalArgumentException(
+                    String.format("Finished jobs can't be kept a negative number or time. "
+                                    + "maxFinishedJobs = [%s], finishedJobTtl = [%s]",
+                            maxFinishedJobs, finishedJobTtl));
+        }
+        this.maxFinishedJobs = maxFinishedJobs;
+        this.finishedJobTtlNanos = finishedJobTtl.toNanos();
+        this.service = new SimulationService(maxConcurrentJobs, workerThreads);
+        this.server = HttpServer.create(address, 0);
+        server.createContext(PATH, this::handle);
+        // Requests only parse JSON and look up jobs, the games run on the service's pool.
+        server.setExecutor(Executors.newVirtualThreadPerTaskExecutor());
+        server.start();
+    }
+
+    /**
+     * Returns the port the server is listening on.
+     */
+    public int port() {
+        return server.getAddress().getPort();
+    }
+
+    /**
+     * Returns the address the server is listening on.
+     */
+    public InetSocketAddress address() {
+        return server.getAddress();
+    }
+
+    /**
+     * Stops accepting requests, cancels every unfinished job and shuts down.
+     */
+    @Override
+    public void close() {
+        server.stop(0);
+        jobs.values().forEach(Job::cancel);
+        service.close();
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        try (exchange) {
+            evictFinishedJobs();
+            String path = exchange.getRequestURI().getPath();
+            String method = exchange.getRequestMethod();
+            if (path.equals(PATH) || path.equals(PATH + "/")) {
+                switch (method) {
+                    case "POST" -> submit(exchange);
+                    case "GET" -> send(exchange, 200, statuses());
+                    default -> sendError(exchange, 405, "Use GET or POST. method = " + method);
+                }
+                return;
+            }
+
+            Job job = findJob(path.substring(PATH.length() + 1));
+            if (job == null) {
+                sendError(exchange, 404, "No such job. path = " + path);
+                return;
+            }
+            switch (method) {
+                case "GET" -> send(exchange, 200, job.status());
+                case "DELETE" -> {
+                    job.cancel();
+                    jobs.remove(job.id);
+                    send(exchange, 200, job.status());
+                }
+                default -> sendError(exchange, 405, "Use GET or DELETE. method = " + method);
+            }
+        }
+    }
+
+    private void submit(HttpExchange exchange) throws IOException {
+        SimulationConfiguration configuration;
+        int runs;
+        try (Reader body = new InputStreamReader(exchange.getRequestBody(),
+                StandardCharsets.UTF_8)) {
+            SimulationRequest request = gson.fromJson(body, SimulationRequest.class);
+            if (request == null) {
+                throw new IllegalArgumentException("The request body is empty.");
+            }
+            configuration = request.toConfiguration(strategies);
+            runs = request.runs();
+        } catch (JsonParseException | IllegalArgumentException | ArithmeticException e) {
+            sendError(exchange, 400, e.getMessage());
+            return;
+        }
+
+        Job job = new Job(nextId.getAndIncrement());
+        jobs.put(job.id, job);
+        CompletableFuture<SimulationResult> result =
+                service.submit(configuration, runs, () -> job.started = true);
+        job.result = result;
+        result.whenComplete((simulationResult, failure) -> {
+            job.finish(simulationResult, failure);
+            evictFinishedJobs();
+        });
+        exchange.getResponseHeaders().set("Location", PATH + "/" + job.id);
+        send(exchange, 202, job.status());
+    }
+
+    /**
+     * Forgets finished jobs older than the time to live, then the longest finished until no more
+     * than the most kept remain.
+     */
+    private void evictFinishedJobs() {
+        long now = System.nanoTime();
+        List<Job> finished = new ArrayList<>();
+        for (Job job : jobs.values()) {
+            if (job.finished == null) {
+                continue;
+            }
+            if (now - job.finishedAt >= finishedJobTtlNanos) {
+                jobs.remove(job.id);
+            } else {
+                finished.add(job);
+            }
+        }
+        if (finished.size() > maxFinishedJobs) {
+            finished.sort(Comparator.comparingLong(job -> job.finishedAt));
+            for (Job job : finished.subList(0, finished.size() - maxFinishedJobs)) {
+                jobs.remove(job.id);
+            }
+        }
+    }
+
+    private Job findJob(String id) {
+        try {
+            return jobs.get(Long.parseLong(id));
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    private void send(HttpExchange exchange, int status, Object body) throws IOException {
+        byte[] json = gson.toJson(body).getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", "application/json");
+        exchange.sendResponseHeaders(status, json.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(json);
+        }
+    }
+
+    private void sendError(HttpExchange exchange, int status, String message) throws IOException {
+        send(exchange, status, Map.of("error", String.valueOf(message)));
+    }
+
+    /**
+     * A submitted simulation. Once it finishes only its status is kept, the simulation's result
+     * is dropped.
+     */
+    private static class Job {
+        final long id;
+        volatile CompletableFuture<SimulationResult> result;
+        volatile boolean started;
+        volatile JobStatus finished;
+        volatile long finishedAt;
+
+        Job(long id) {
+            this.id = id;
+        }
+
+        void cancel() {
+            CompletableFuture<SimulationResult> future = result;
+            if (future != null) {
+                future.cancel(true);
+            }
+        }
+
+        void finish(SimulationResult simulationResult, Throwable failure) {
+            Throwable cause = failure instanceof CompletionException && failure.getCause() != null
+                    ? failure.getCause()
+                    : failure;
+            if (cause == null) {
+                finished = new JobStatus(id, State.DONE, JobStatus.Result.of(simulationResult),
+                        null);
+            } else if (cause instanceof CancellationException) {
+                finished = new JobStatus(id, State.CANCELLED, null, null);
+            } else {
+                finished = new JobStatus(id, State.FAILED, null, String.valueOf(cause));
+            }
+            finishedAt = System.nanoTime();
+            result = null;
+        }
+
+        JobStatus status() {
+            JobStatus status = finished;
+            if (status != null) {
+                return status;
+            }
+            return new JobStatus(id, started ? State.RUNNING : State.QUEUED, null, null);
+        }
+    }
+
+    private List<JobStatus> statuses() {
+        return jobs.values().stream()
+                .sorted(Comparator.comparingLong(job -> job.id))
+                .map(Job::status)
+                .toList();
+    }
+}
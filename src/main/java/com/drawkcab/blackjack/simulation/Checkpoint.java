@@ -0,0 +1,97 @@
+package com.drawkcab.blackjack.simulation;
+
+import com.drawkcab.blackjack.simulation.statistics.GameStatistics;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * The progress of a long simulation, saved so it can be resumed after the JVM dies.
+ *
+ * <p>Every game is seeded from the simulation seed and its own index (see {@link GameSeeds}), and
+ * games are checkpointed in order, so the simulation seed and the number of games completed are
+ * the whole position of the random number streams. Together with the statistics so far, that's
+ * everything needed to carry on exactly where the run stopped.</p>
+ *
+ * <p>A checkpoint is written to a temporary file next to the target, forced to disk, then moved
+ * over the target atomically. A crash mid-write leaves the previous checkpoint intact, never a
+ * torn one.</p>
+ *
+ * <p>The number of games between checkpoints decides the order statistics are merged in, so it's
+ * saved too, and a resumed run carries on in the same batches.</p>
+ *
+ * @param seed               the simulation seed
+ * @param configuration      the fingerprint of the rest of the simulation's configuration, see
+ *                           {@link com.drawkcab.blackjack.simulation.modules.SimulationFingerprint}
+ * @param numberOfRuns       the number of games the whole run plays
+ * @param gamesPerCheckpoint the number of games between checkpoints
+ * @param gamesCompleted     the number of games played so far, always games
+ *                           {@code [0, gamesCompleted)}
+ * @param statistics         the statistics over the games played so far
+ */
+record Checkpoint(long seed, long configuration, long numberOfRuns, long gamesPerCheckpoint,
+                  long gamesCompleted, GameStatistics statistics) {
+    // "BJCK", so a stray file isn't mistaken for a checkpoint.
+    private static final int MAGIC = 0x424a434b;
+    private static final int VERSION = 3;
+
+    /**
+     * Atomically replaces the checkpoint at {@code path} with this one.
+     *
+     * @throws IOException if the checkpoint can't be written
+     */
+    void write(Path path) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            out.writeLong(seed);
+            out.writeLong(configuration);
+            out.writeLong(numberOfRuns);
+            out.writeLong(gamesPerCheckpoint);
+            out.writeLong(gamesCompleted);
+            statistics.writeTo(out);
+        }
+
+        Path temporary = path.resolveSibling(path.getFileName() + ".tmp");
+        try (FileChannel channel = FileChannel.open(temporary, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            ByteBuffer buffer = ByteBuffer.wrap(bytes.toByteArray());
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            channel.force(true);
+        }
+        Files.move(temporary, path, StandardCopyOption.ATOMIC_MOVE,
+                StandardCopyOption.REPLACE_EXISTING);
+    }
+
+    /**
+     * Reads the checkpoint at {@code path}.
+     *
+     * @throws IOException if it can't be read or isn't a checkpoint
+     */
+    static Checkpoint read(Path path) throws IOException {
+        try (InputStream file = Files.newInputStream(path);
+             DataInputStream in = new DataInputStream(file)) {
+            int magic = in.readInt();
+            int version = in.readInt();
+            if (magic != MAGIC || version != VERSION) {
+                throw new IOException(
+                        String.format("Not a version [%s] checkpoint. path = [%s]", VERSION,
+                                path));
+            }
+            return new Checkpoint(in.readLong(), in.readLong(), in.readLong(), in.readLong(),
+                    in.readLong(), GameStatistics.readFrom(in));
+        }
+    }
+}
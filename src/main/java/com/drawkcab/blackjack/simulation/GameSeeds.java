@@ -0,0 +1,36 @@
+package com.drawkcab.blackjack.simulation;
+
+/**
+ * Derives an independent seed for every game of a simulation from a single root seed.
+ *
+ * <p>The seed for game {@code i} is a pure function of the root seed and {@code i}, so a game
+ * sees the same shoes no matter which thread plays it or in what order games are scheduled. This
+ * is what makes a parallel run reproduce a serial run with the same root seed exactly.</p>
+ *
+ * <p>Seeds are produced the same way {@link java.util.SplittableRandom} derives its streams: the
+ * game index is stepped by the golden-ratio gamma and passed through the SplitMix64 finalizer, so
+ * neighbouring games get statistically unrelated seeds.</p>
+ */
+public final class GameSeeds {
+    private static final long GOLDEN_GAMMA = 0x9e3779b97f4a7c15L;
+
+    private GameSeeds() {
+    }
+
+    /**
+     * Returns the seed for a single game.
+     *
+     * @param rootSeed  the seed of the whole simulation
+     * @param gameIndex the zero based index of the game within the simulation
+     * @return the seed to shuffle that game's deck with
+     */
+    public static long forGame(long rootSeed, long gameIndex) {
+        return mix64(rootSeed + GOLDEN_GAMMA * (gameIndex + 1));
+    }
+
+    private static long mix64(long z) {
+        z = (z ^ (z >>> 30)) * 0xbf58476d1ce4e5b9L;
+        z = (z ^ (z >>> 27)) * 0x94d049bb133111ebL;
+        return z ^ (z >>> 31);
+    }
+}
@@ -6,60 +6,229 @@ import com.drawkcab.blackjack.player.Player;
 import com.drawkcab.blackjack.simulation.modules.MinBet;
 import com.google.inject.Inject;
 
-import java.math.BigDecimal;
-
 /**
  * Simulates a game of Blackjack between a player and a dealer.
  *
  * <p>This class manages round setup, player and dealer turns, hand evaluations, and payouts.
- * The simulation runs until the player can no longer afford the minimum bet.</p>
+ * The simulation runs until the player can no longer afford the minimum bet, or until an optional
+ * cap on the number of rounds. A player with an edge over the house, like a card counter, may
+ * never go broke, so their games need the cap to end.</p>
+ *
+ * <p>Games, rounds and reshuffles are counted for {@link SimulationMetrics}, added to the shared
+ * counters when a game ends, or every {@value SimulationMetrics#FLUSH_ROUNDS} rounds of a long
+ * game.</p>
+ *
+ * <p>Sampled games and shuffles are recorded as {@link SimulationEvents.GameSimulated} and
+ * {@link SimulationEvents.ShoeShuffled} flight recorder events, when they're enabled.</p>
  */
 public class GameSimulator {
     private final Player player;
     private final Dealer dealer;
     private final Deck deck;
-    private final BigDecimal minBet;
+    private final long minBet;
+    private final long maxRounds;
     private final RoundSimulator roundSimulator;
+    private final SimulationMetrics.Tally tally = new SimulationMetrics.Tally();
+    private long peakBank;
+    private int gamesUntilSample = SimulationEvents.SAMPLE_EVERY;
+    private int shufflesUntilSample = SimulationEvents.SAMPLE_EVERY;
+    // The event for the game being played, if it's being recorded.
+    private SimulationEvents.GameSimulated recordedGame;
 
     @Inject
     public GameSimulator(RoundSimulator roundSimulator,
                          Player player,
                          Dealer dealer,
                          Deck deck,
-                         @MinBet BigDecimal minBet) {
+                         @MinBet long minBet) {
+        this(roundSimulator, player, dealer, deck, minBet, Long.MAX_VALUE);
+    }
+
+    /**
+     * Creates a game simulator that stops every game after at most {@code maxRounds} rounds.
+     *
+     * @throws IllegalArgumentException if {@code maxRounds} isn't positive
+     */
+    public GameSimulator(RoundSimulator roundSimulator,
+                         Player player,
+                         Dealer dealer,
+                         Deck deck,
+                         long minBet,
+                         long maxRounds) {
+        if (maxRounds < 1) {
+            throw new IllegalArgumentException(
+                    String.format("A game needs at least one round. maxRounds = [%s]", maxRounds));
+        }
         this.roundSimulator = roundSimulator;
         this.player = player;
         this.dealer = dealer;
         this.deck = deck;
         this.minBet = minBet;
+        this.maxRounds = maxRounds;
+    }
+
+    /**
+     * Simulates a game on a freshly shuffled deck.
+     *
+     * <p>The deck is reseeded before the first round, so two games played with the same seed are
+     * identical regardless of what this simulator played before.</p>
+     *
+     * @param seed the seed for every shuffle in this game
+     * @return the number of rounds successfully played
+     */
+    public long playGame(long seed) {
+        shuffle(seed);
+        return playGame();
     }
 
     /**
-     * Simulates multiple rounds of Blackjack until the player cannot afford the minimum bet.
+     * Simulates multiple rounds of Blackjack until the player cannot afford the minimum bet, or
+     * the round cap is reached.
      *
      * @return the number of rounds successfully played
      */
     public long playGame() {
+        SimulationEvents.GameSimulated event = sampleGame();
         long numberOfRoundsPlayed = 0;
+        peakBank = 0;
 
-        while (playerHasMinBet()) {
-            if (deck.cardsRemaining() < 50) {
-                deck.shuffle();
-            }
-            roundSimulator.playRound(player, dealer, deck, minBet);
+        while (canPlayRound(numberOfRoundsPlayed)) {
+            playRound();
             numberOfRoundsPlayed++;
         }
 
         reset();
+        if (event != null) {
+            commitGame(event, numberOfRoundsPlayed);
+        }
         return numberOfRoundsPlayed;
     }
 
+    /**
+     * Returns the most the player's bank held at any point in the last game played, in
+     * {@link com.drawkcab.blackjack.game.Money} units.
+     */
+    public long peakBank() {
+        return peakBank;
+    }
+
+    // The steps of playGame, for StrategyComparison to play several games in lockstep.
+
+    /** Reseeds and shuffles the deck for a new game. */
+    void startGame(long seed) {
+        shuffle(seed);
+        peakBank = 0;
+    }
+
+    /** Returns whether the player can afford another round and the round cap isn't reached. */
+    boolean canPlayRound(long numberOfRoundsPlayed) {
+        // Checked before every round and once after the last, so it sees every bank the player
+        // had. Tracking the peak here costs no extra read of the bank.
+        long bank = player.getBank();
+        peakBank = Math.max(peakBank, bank);
+        return bank >= minBet && numberOfRoundsPlayed < maxRounds;
+    }
+
+    /** Plays one round, reshuffling first if the shoe is running low. */
+    void playRound() {
+        if (deck.cardsRemaining() < 50) {
+            if (RoundTrace.ENABLED) {
+                RoundTrace.reshuffle(deck.cardsRemaining());
+            }
+            reshuffle();
+            tally.reshuffles++;
+        }
+        roundSimulator.playRound(player, dealer, deck, minBet);
+        if (++tally.rounds == SimulationMetrics.FLUSH_ROUNDS) {
+            flushMetrics();
+        }
+    }
+
+    /** Returns the deck this game is played from. */
+    Deck deck() {
+        return deck;
+    }
+
+    /** Gets the player and dealer ready for the next game. */
+    void endGame() {
+        reset();
+    }
+
     private void reset() {
         player.reset();
         dealer.reset();
+        tally.games++;
+        flushMetrics();
+    }
+
+    /** Starts recording this game if it's sampled and the event is enabled. */
+    private SimulationEvents.GameSimulated sampleGame() {
+        if (--gamesUntilSample != 0) {
+            return null;
+        }
+        gamesUntilSample = SimulationEvents.SAMPLE_EVERY;
+        SimulationEvents.GameSimulated event = new SimulationEvents.GameSimulated();
+        if (!event.isEnabled()) {
+            return null;
+        }
+        event.begin();
+        recordedGame = event;
+        return event;
+    }
+
+    private void commitGame(SimulationEvents.GameSimulated event, long rounds) {
+        event.rounds = rounds;
+        event.peakBank = peakBank;
+        event.commit();
+        recordedGame = null;
+    }
+
+    /** Returns an event for this shuffle if it's sampled and the event is enabled. */
+    private SimulationEvents.ShoeShuffled sampleShuffle() {
+        if (--shufflesUntilSample != 0) {
+            return null;
+        }
+        shufflesUntilSample = SimulationEvents.SAMPLE_EVERY;
+        SimulationEvents.ShoeShuffled event = new SimulationEvents.ShoeShuffled();
+        return event.isEnabled() ? event : null;
+    }
+
+    private void shuffle(long seed) {
+        SimulationEvents.ShoeShuffled event = sampleShuffle();
+        if (event == null) {
+            deck.shuffle(seed);
+            return;
+        }
+        event.seeded = true;
+        event.cardsRemaining = deck.cardsRemaining();
+        event.begin();
+        deck.shuffle(seed);
+        event.commit();
+    }
+
+    private void reshuffle() {
+        SimulationEvents.ShoeShuffled event = sampleShuffle();
+        if (event == null && recordedGame == null) {
+            deck.shuffle();
+            return;
+        }
+        if (event != null) {
+            event.cardsRemaining = deck.cardsRemaining();
+            event.begin();
+        }
+        long start = System.nanoTime();
+        deck.shuffle();
+        if (recordedGame != null) {
+            recordedGame.reshuffles++;
+            recordedGame.shuffleTime += System.nanoTime() - start;
+        }
+        if (event != null) {
+            event.commit();
+        }
     }
 
-    private boolean playerHasMinBet() {
-        return player.getBank().compareTo(minBet) >= 0;
+    private void flushMetrics() {
+        SimulationMetrics.get().add(tally);
+        roundSimulator.flushMetrics();
     }
 }
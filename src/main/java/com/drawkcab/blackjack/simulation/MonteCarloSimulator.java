@@ -1,44 +1,383 @@
 package com.drawkcab.blackjack.simulation;
 
+import com.drawkcab.blackjack.simulation.modules.SimulationFingerprint;
+import com.drawkcab.blackjack.simulation.modules.SimulationSeed;
+import com.drawkcab.blackjack.simulation.modules.SimulationThreads;
+import com.drawkcab.blackjack.simulation.results.GameResultsWriter;
+import com.drawkcab.blackjack.simulation.statistics.GameStatistics;
 import com.google.inject.Inject;
+import com.google.inject.Provider;
 
-import java.util.ArrayList;
-import java.util.List;
-
-import org.apache.commons.math3.stat.descriptive.rank.Median;
-import org.apache.commons.math3.stat.descriptive.DescriptiveStatistics;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.function.BooleanSupplier;
 
+/**
+ * Runs many independent games of Blackjack and summarizes how long each one lasted.
+ *
+ * <p>Games are spread across a {@link ForkJoinPool} so that idle workers can steal work from busy
+ * ones. Game lengths are heavy-tailed, so a fixed up-front partition of games per thread would
+ * leave most cores idle waiting on the unlucky worker with the long games.</p>
+ *
+ * <p>Every worker thread plays on its own {@link GameSimulator} graph (player, dealer and deck),
+ * obtained from the injected provider, so no mutable game state is shared between threads.</p>
+ *
+ * <p>Each game is seeded from the simulation seed and its own index (see {@link GameSeeds}), so a
+ * run is reproducible and returns identical results whatever the thread count.</p>
+ *
+ * <p>Game lengths are summarized on the fly into per-task {@link GameStatistics} that are merged
+ * back up the task tree, so memory use doesn't grow with the number of games. The tree only depends
+ * on the number of games, never on the number of threads, which keeps merged results identical
+ * across thread counts.</p>
+ */
 public class MonteCarloSimulator {
-    private final GameSimulator game;
+    // Small enough that a handful of very long games can't strand a worker with a big backlog,
+    // large enough that task bookkeeping stays negligible next to playing the games.
+    private static final int GAMES_PER_TASK = 32;
+    // The first batch of an adaptive run, enough games for a first estimate of the precision.
+    private static final long INITIAL_ADAPTIVE_RUNS = 1_000;
+
+    private final Provider<GameSimulator> gameSimulators;
+    private final int numThreads;
+    private final long seed;
+    private final long configuration;
+
+    public MonteCarloSimulator(Provider<GameSimulator> gameSimulators, int numThreads, long seed) {
+        this(gameSimulators, numThreads, seed, 0);
+    }
 
+    /**
+     * @param configuration the fingerprint of the rest of the configuration, saved in checkpoints
+     *                      so that {@link #resume} can reject a differently configured run
+     */
     @Inject
-    public MonteCarloSimulator(GameSimulator game) {
-        this.game = game;
+    public MonteCarloSimulator(Provider<GameSimulator> gameSimulators,
+                               @SimulationThreads int numThreads,
+                               @SimulationSeed long seed,
+                               @SimulationFingerprint long configuration) {
+        if (numThreads < 1) {
+            throw new IllegalArgumentException(
+                    String.format("At least one thread is required. numThreads = [%s]", numThreads));
+        }
+        this.gameSimulators = gameSimulators;
+        this.numThreads = numThreads;
+        this.seed = seed;
+        this.configuration = configuration;
     }
 
+    /**
+     * Plays the requested number of games across the configured number of threads.
+     *
+     * @param numberOfRuns the number of games to play
+     * @return summary statistics over the number of rounds each game lasted
+     */
     public SimulationResult run(int numberOfRuns) {
-        List<Long> games = new ArrayList<>();
+        try (ForkJoinPool pool = new ForkJoinPool(numThreads)) {
+            return run(numberOfRuns, pool, () -> false);
+        }
+    }
+
+    /**
+     * Plays the requested number of games on an existing pool, which may be shared with other
+     * simulations. The configured number of threads is ignored, the pool's parallelism is used
+     * instead.
+     *
+     * <p>Cancellation is cooperative: {@code cancelled} is checked before each game, and once it
+     * returns {@code true} no further games start.</p>
+     *
+     * @param numberOfRuns the number of games to play
+     * @param pool         the pool to play the games on
+     * @param cancelled    returns {@code true} once the simulation should stop
+     * @return summary statistics over the number of rounds each game lasted
+     * @throws CancellationException if the simulation was cancelled before every game was played
+     */
+    public SimulationResult run(int numberOfRuns, ForkJoinPool pool, BooleanSupplier cancelled) {
+        ThreadLocal<GameSimulator> workerGames = ThreadLocal.withInitial(gameSimulators::get);
+
+        GameStatistics statistics =
+                pool.invoke(new GameBatch(workerGames, cancelled, seed, 0, numberOfRuns));
+
+        return SimulationResult.of(statistics);
+    }
+
+    /**
+     * Plays the requested number of games, writing every game's length and peak bank to
+     * {@code results} as well as summarizing them.
+     *
+     * @param numberOfRuns the number of games to play
+     * @param results      where to write each game. It's left open, so several runs can share it.
+     * @return summary statistics over the number of rounds each game lasted
+     */
+    public SimulationResult run(int numberOfRuns, GameResultsWriter results) {
+        ThreadLocal<GameSimulator> workerGames = ThreadLocal.withInitial(gameSimulators::get);
+        try (ForkJoinPool pool = new ForkJoinPool(numThreads)) {
+            return SimulationResult.of(pool.invoke(
+                    new GameBatch(workerGames, () -> false, results, seed, 0, numberOfRuns)));
+        }
+    }
+
+    /**
+     * Plays the requested number of games, saving a checkpoint to {@code checkpoint} every
+     * {@code gamesPerCheckpoint} games so that {@link #resume} can carry on if the run dies.
+     *
+     * <p>Games are played in batches of {@code gamesPerCheckpoint}, and each batch's statistics
+     * are merged in order. A resumed run merges the same batches in the same order, so it returns
+     * exactly what the uninterrupted run would have. The result can differ from
+     * {@link #run(int)} in the last bits of the mean and in the estimated quantiles, which depend
+     * on the order statistics are merged in.</p>
+     *
+     * @param numberOfRuns       the number of games to play
+     * @param checkpoint         the file to save progress to, replaced if it already exists
+     * @param gamesPerCheckpoint the number of games between checkpoints
+     * @return summary statistics over the number of rounds each game lasted
+     * @throws IOException if a checkpoint can't be written
+     */
+    public SimulationResult run(long numberOfRuns, Path checkpoint, long gamesPerCheckpoint)
+            throws IOException {
+        if (gamesPerCheckpoint < 1) {
+            throw new IllegalArgumentException(
+                    String.format("Checkpoints need at least one game between them. "
+                            + "gamesPerCheckpoint = [%s]", gamesPerCheckpoint));
+        }
+        return runFrom(new Checkpoint(seed, configuration, numberOfRuns, gamesPerCheckpoint, 0,
+                new GameStatistics()), checkpoint);
+    }
+
+    /**
+     * Carries on a run started by {@link #run(long, Path, long)} from its last checkpoint, in
+     * the same batches between checkpoints as the run was started with. The simulator must be
+     * configured the same way as the one that started the run, which the checkpoint checks.
+     *
+     * @param checkpoint the file the run saved its progress to
+     * @return summary statistics over every game of the run, as if it had never stopped
+     * @throws IOException           if the checkpoint can't be read or written
+     * @throws IllegalStateException if the checkpoint was made with a different seed or
+     *                               configuration
+     */
+    public SimulationResult resume(Path checkpoint) throws IOException {
+        Checkpoint saved = Checkpoint.read(checkpoint);
+        if (saved.seed() != seed || saved.configuration() != configuration) {
+            throw new IllegalStateException(
+                    String.format("The checkpoint is for a different simulation. "
+                                    + "checkpointSeed = [%s], seed = [%s], "
+                                    + "checkpointConfiguration = [%016x], configuration = [%016x]",
+                            saved.seed(), seed, saved.configuration(), configuration));
+        }
+        return runFrom(saved, checkpoint);
+    }
+
+    private SimulationResult runFrom(Checkpoint start, Path checkpoint) throws IOException {
+        long gamesPerCheckpoint = start.gamesPerCheckpoint();
+        ThreadLocal<GameSimulator> workerGames = ThreadLocal.withInitial(gameSimulators::get);
+        GameStatistics statistics = start.statistics();
+        long completed = start.gamesCompleted();
+
+        try (ForkJoinPool pool = new ForkJoinPool(numThreads)) {
+            while (completed < start.numberOfRuns()) {
+                long to = Math.min(start.numberOfRuns(), completed + gamesPerCheckpoint);
+                statistics.merge(pool.invoke(
+                        new GameBatch(workerGames, () -> false, seed, completed, to)));
+                completed = to;
+                new Checkpoint(seed, configuration, start.numberOfRuns(), gamesPerCheckpoint,
+                        completed, statistics).write(checkpoint);
+            }
+        }
+        return SimulationResult.of(statistics);
+    }
+
+    /**
+     * Plays games until the result is as precise as {@code target} asks, or until
+     * {@link PrecisionTarget#maxRuns()} games have been played.
+     *
+     * @param target how precise the result needs to be
+     * @return the result and the precision it reached
+     */
+    public AdaptiveResult run(PrecisionTarget target) {
+        try (ForkJoinPool pool = new ForkJoinPool(numThreads)) {
+            return run(target, pool, () -> false);
+        }
+    }
+
+    /**
+     * Plays games on an existing pool until the result is as precise as {@code target} asks, or
+     * until {@link PrecisionTarget#maxRuns()} games have been played.
+     *
+     * <p>Games are played in batches. After each one, the number of games still needed is
+     * extrapolated from the precision so far (the half-width shrinks with the square root of the
+     * number of games), but a batch never more than doubles the games played, since early
+     * estimates of a heavy-tailed distribution are unreliable. Game {@code i} is seeded the same
+     * way as in {@link #run(int)}, so an adaptive run that stops after {@code n} games plays
+     * exactly the games {@code run(n)} would.</p>
+     *
+     * @param target    how precise the result needs to be
+     * @param pool      the pool to play the games on
+     * @param cancelled returns {@code true} once the simulation should stop
+     * @return the result and the precision it reached
+     * @throws CancellationException if the simulation was cancelled before reaching the target
+     */
+    public AdaptiveResult run(PrecisionTarget target, ForkJoinPool pool,
+                              BooleanSupplier cancelled) {
+        ThreadLocal<GameSimulator> workerGames = ThreadLocal.withInitial(gameSimulators::get);
+        GameStatistics statistics = new GameStatistics();
+        long played = 0;
+        long batch = Math.min(INITIAL_ADAPTIVE_RUNS, target.maxRuns());
+
+        while (true) {
+            statistics.merge(pool.invoke(
+                    new GameBatch(workerGames, cancelled, seed, played, played + batch)));
+            played += batch;
 
-        for (int i = 0; i < numberOfRuns; i++) {
-            games.add(game.playGame());
+            SimulationResult result = SimulationResult.of(statistics);
+            double halfWidth = target.achievedHalfWidth(result);
+            if (halfWidth <= target.halfWidth() || played >= target.maxRuns()) {
+                return new AdaptiveResult(result, target, halfWidth);
+            }
+
+            double ratio = halfWidth / target.halfWidth();
+            long needed = Double.isNaN(ratio)
+                    ? 2 * played
+                    : (long) Math.ceil(played * ratio * ratio);
+            batch = Math.min(Math.max(needed - played, 1), played);
+            batch = Math.min(batch, target.maxRuns() - played);
         }
+    }
+
+    /**
+     * Plays the games in {@code [from, to)}, recursively splitting the range until it is small
+     * enough to play directly, and returns the merged statistics for the whole range.
+     */
+    private static class GameBatch extends RecursiveTask<GameStatistics> {
+        private final ThreadLocal<GameSimulator> workerGames;
+        private final BooleanSupplier cancelled;
+        private final GameResultsWriter results;
+        private final long seed;
+        private final long from;
+        private final long to;
 
-        return calculateResults(games);
+        GameBatch(ThreadLocal<GameSimulator> workerGames, BooleanSupplier cancelled, long seed,
+                  long from, long to) {
+            this(workerGames, cancelled, null, seed, from, to);
+        }
+
+        GameBatch(ThreadLocal<GameSimulator> workerGames, BooleanSupplier cancelled,
+                  GameResultsWriter results, long seed, long from, long to) {
+            this.workerGames = workerGames;
+            this.cancelled = cancelled;
+            this.results = results;
+            this.seed = seed;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected GameStatistics compute() {
+            // Checked before splitting too, so a cancelled batch doesn't fan out into every task
+            // it would have split into.
+            throwIfCancelled(from);
+            if (to - from <= GAMES_PER_TASK) {
+                return results == null ? playGames() : playAndWriteGames();
+            }
+
+            long mid = (from + to) >>> 1;
+            GameBatch left = new GameBatch(workerGames, cancelled, results, seed, from, mid);
+            left.fork();
+            GameStatistics right =
+                    new GameBatch(workerGames, cancelled, results, seed, mid, to).compute();
+            // Always merge right into left so the result doesn't depend on which half ran first.
+            return left.join().merge(right);
+        }
+
+        private GameStatistics playGames() {
+            GameSimulator game = workerGames.get();
+            GameStatistics statistics = new GameStatistics();
+            for (long i = from; i < to; i++) {
+                throwIfCancelled(i);
+                statistics.add(game.playGame(GameSeeds.forGame(seed, i)));
+            }
+            return statistics;
+        }
+
+        private GameStatistics playAndWriteGames() {
+            GameSimulator game = workerGames.get();
+            GameStatistics statistics = new GameStatistics();
+            int count = (int) (to - from);
+            long[] rounds = new long[count];
+            long[] peakBanks = new long[count];
+            for (int i = 0; i < count; i++) {
+                throwIfCancelled(from + i);
+                rounds[i] = game.playGame(GameSeeds.forGame(seed, from + i));
+                peakBanks[i] = game.peakBank();
+                statistics.add(rounds[i]);
+            }
+            results.write(from, rounds, peakBanks, count);
+            return statistics;
+        }
+
+        private void throwIfCancelled(long game) {
+            if (cancelled.getAsBoolean()) {
+                throw new CancellationException(
+                        String.format("Simulation cancelled before game [%s]", game));
+            }
+        }
     }
 
-    private SimulationResult calculateResults(List<Long> games) {
-        DescriptiveStatistics stats = new DescriptiveStatistics();
-        games.forEach(stats::addValue);
+    /**
+     * The summary of a simulation.
+     *
+     * @param median            the (estimated) median number of rounds a game lasted
+     * @param mean              the mean number of rounds a game lasted
+     * @param standardDeviation the sample standard deviation of rounds per game
+     * @param statistics        the full streaming summary, for percentiles beyond the median
+     */
+    public record SimulationResult(double median, double mean, double standardDeviation,
+                                   GameStatistics statistics) {
+        static SimulationResult of(GameStatistics statistics) {
+            return new SimulationResult(statistics.median(), statistics.mean(),
+                    statistics.standardDeviation(), statistics);
+        }
 
-        Median medianCalculator = new Median();
-        double median = medianCalculator.evaluate(games.stream().mapToDouble(k -> k).toArray());
+        /**
+         * Returns the estimated number of rounds at the given percentile.
+         *
+         * @param percentile the percentile, between 0 and 100 inclusive
+         */
+        public double percentile(double percentile) {
+            return statistics.quantile(percentile / 100);
+        }
 
-        return new SimulationResult(
-                median,
-                stats.getMean(),
-                stats.getStandardDeviation());
+        /**
+         * Returns the fraction of games still being played after the given number of rounds.
+         * See {@link GameStatistics#survival}.
+         */
+        public double survival(long rounds) {
+            return statistics.survival(rounds);
+        }
 
+        @Override
+        public String toString() {
+            return String.format("SimulationResult[games=%s, median=%s, mean=%s, "
+                            + "standardDeviation=%s]", statistics.count(), median, mean,
+                    standardDeviation);
+        }
     }
 
-    public record SimulationResult(double median, double mean, double standardDeviation) {}
-}
\ No newline at end of file
+    /**
+     * The summary of an adaptive simulation, with the precision it reached.
+     *
+     * @param result    the summary of every game played
+     * @param target    the precision that was asked for
+     * @param halfWidth the half-width of the confidence interval around the target's statistic
+     */
+    public record AdaptiveResult(SimulationResult result, PrecisionTarget target,
+                                 double halfWidth) {
+        /**
+         * Returns whether the target was met, rather than the simulation running out of games.
+         */
+        public boolean targetMet() {
+            return halfWidth <= target.halfWidth();
+        }
+    }
+}
@@ -0,0 +1,272 @@
+package com.drawkcab.blackjack.simulation;
+
+import com.drawkcab.blackjack.player.strategy.CompiledStrategy;
+import com.drawkcab.blackjack.player.strategy.Strategy;
+import com.drawkcab.blackjack.simulation.MonteCarloSimulator.SimulationResult;
+import com.drawkcab.blackjack.simulation.modules.BlackJackSimulationModule;
+import com.drawkcab.blackjack.simulation.modules.BlackJackSimulationModule.SimulationConfiguration;
+import com.google.inject.Guice;
+
+import java.io.Flushable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveAction;
+import java.util.function.Consumer;
+
+/**
+ * Runs a simulation for every combination of deck count, starting bank, minimum bet and strategy
+ * in a {@link Grid}, in one process.
+ *
+ * <p>Every cell is forked onto a single {@link ForkJoinPool} at once, and each cell's games are
+ * split into batches on that same pool (see {@link MonteCarloSimulator#run(int, ForkJoinPool,
+ * java.util.function.BooleanSupplier)}). Idle workers steal batches from whichever cells still
+ * have games left, so the cores stay busy until the last few batches of the whole sweep rather
+ * than the end of every cell. Strategies are compiled once for the whole sweep, and every cell
+ * runs on the same warmed-up JIT-compiled code.</p>
+ *
+ * <p>Every cell uses the base configuration's seed, so cells are played on the same shoes and
+ * differences between neighbouring cells aren't drowned in shoe-to-shoe noise. Results are
+ * identical whatever the thread count, and are reported as each cell finishes.</p>
+ */
+public class ParameterSweep {
+    private final SimulationConfiguration base;
+    private final Grid grid;
+    private final Map<String, Strategy> strategies;
+
+    /**
+     * Creates a sweep.
+     *
+     * @param base the configuration every cell starts from. Its thread count, seed and counting
+     *             configuration are used as they are, the rest is replaced by each cell's values.
+     * @param grid the values to sweep
+     */
+    public ParameterSweep(SimulationConfiguration base, Grid grid) {
+        this.base = base;
+        this.grid = grid;
+        this.strategies = new LinkedHashMap<>();
+        grid.strategies().forEach((name, strategy) ->
+                strategies.put(name, CompiledStrategy.compile(strategy)));
+    }
+
+    /**
+     * Runs every cell, and writes the results as a CSV table with a row per cell, in the order
+     * cells finish. If {@code table} is {@link Flushable} it's flushed after every row.
+     *
+     * @param gamesPerCell the number of games each cell plays
+     * @param table        where to write the table
+     * @return the result of every cell, in {@link Grid#cells()} order
+     * @throws IOException if the table can't be written
+     */
+    public List<CellResult> run(int gamesPerCell, Appendable table) throws IOException {
+        table.append(CellResult.CSV_HEADER).append('\n');
+        try {
+            return run(gamesPerCell, result -> {
+                try {
+                    table.append(result.toCsvRow()).append('\n');
+                    if (table instanceof Flushable flushable) {
+                        flushable.flush();
+                    }
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    /**
+     * Runs every cell.
+     *
+     * @param gamesPerCell the number of games each cell plays
+     * @param onCell       called with each cell's result as soon as it finishes, one at a time
+     * @return the result of every cell, in {@link Grid#cells()} order
+     * @throws IllegalArgumentException if {@code gamesPerCell} is negative
+     */
+    public List<CellResult> run(int gamesPerCell, Consumer<? super CellResult> onCell) {
+        if (gamesPerCell < 0) {
+            throw new IllegalArgumentException(
+                    String.format("Can't play a negative number of games. gamesPerCell = [%s]",
+                            gamesPerCell));
+        }
+        List<Cell> cells = grid.cells();
+        CellResult[] results = new CellResult[cells.size()];
+        List<CellTask> tasks = new ArrayList<>(cells.size());
+        for (int i = 0; i < cells.size(); i++) {
+            tasks.add(new CellTask(cells.get(i), i, gamesPerCell, results, onCell));
+        }
+
+        try (ForkJoinPool pool = new ForkJoinPool(base.numThreads())) {
+            pool.invoke(new RecursiveAction() {
+                @Override
+                protected void compute() {
+                    ForkJoinTask.invokeAll(tasks);
+                }
+            });
+        }
+        return List.of(results);
+    }
+
+    /** Plays one cell's games, on the pool it's running in. */
+    private final class CellTask extends RecursiveAction {
+        private final Cell cell;
+        private final int index;
+        private final int gamesPerCell;
+        private final CellResult[] results;
+        private final Consumer<? super CellResult> onCell;
+
+        CellTask(Cell cell, int index, int gamesPerCell, CellResult[] results,
+                 Consumer<? super CellResult> onCell) {
+            this.cell = cell;
+            this.index = index;
+            this.gamesPerCell = gamesPerCell;
+            this.results = results;
+            this.onCell = onCell;
+        }
+
+        @Override
+        protected void compute() {
+            SimulationResult result = Guice.createInjector(
+                            new BlackJackSimulationModule(configuration(cell)))
+                    .getInstance(MonteCarloSimulator.class)
+                    .run(gamesPerCell, getPool(), () -> false);
+            CellResult cellResult = new CellResult(cell, result);
+            results[index] = cellResult;
+            synchronized (onCell) {
+                onCell.accept(cellResult);
+            }
+        }
+    }
+
+    private SimulationConfiguration configuration(Cell cell) {
+        return new SimulationConfiguration(cell.numDecks(), cell.startingBank(), cell.minBet(),
+                strategies.get(cell.strategy()), base.numThreads(), base.seed(),
+                base.counting());
+    }
+
+    /**
+     * The values to sweep. Every combination is a cell.
+     *
+     * @param numDecks      the deck counts
+     * @param startingBanks the starting banks
+     * @param minBets       the minimum bets
+     * @param strategies    the strategies by name, in iteration order
+     */
+    public record Grid(List<Integer> numDecks, List<BigDecimal> startingBanks,
+                       List<BigDecimal> minBets, Map<String, ? extends Strategy> strategies) {
+        public Grid {
+            if (numDecks.isEmpty() || startingBanks.isEmpty() || minBets.isEmpty()
+                    || strategies.isEmpty()) {
+                throw new IllegalArgumentException(
+                        String.format("Every field needs at least one value. numDecks = %s, "
+                                        + "startingBanks = %s, minBets = %s, strategies = %s",
+                                numDecks, startingBanks, minBets, strategies.keySet()));
+            }
+            numDecks = List.copyOf(numDecks);
+            startingBanks = List.copyOf(startingBanks);
+            minBets = List.copyOf(minBets);
+            strategies = Collections.unmodifiableMap(new LinkedHashMap<>(strategies));
+        }
+
+        /**
+         * Returns every cell, varying the strategy fastest, then the minimum bet, the starting
+         * bank and the deck count.
+         */
+        public List<Cell> cells() {
+            List<Cell> cells = new ArrayList<>();
+            for (int decks : numDecks) {
+                for (BigDecimal startingBank : startingBanks) {
+                    for (BigDecimal minBet : minBets) {
+                        for (String strategy : strategies.keySet()) {
+                            cells.add(new Cell(decks, startingBank, minBet, strategy));
+                        }
+                    }
+                }
+            }
+            return cells;
+        }
+    }
+
+    /**
+     * Returns {@code from, from + step, ...} up to and including {@code to}.
+     *
+     * @throws IllegalArgumentException if {@code step} isn't positive or {@code to < from}
+     */
+    public static List<Integer> range(int from, int to, int step) {
+        if (step <= 0 || to < from) {
+            throw invalidRange(from, to, step);
+        }
+        List<Integer> values = new ArrayList<>();
+        // A long, so stepping past Integer.MAX_VALUE ends the loop rather than wrapping around.
+        for (long value = from; value <= to; value += step) {
+            values.add((int) value);
+        }
+        return values;
+    }
+
+    /**
+     * Returns {@code from, from + step, ...} up to and including {@code to}, exactly.
+     *
+     * @throws IllegalArgumentException if {@code step} isn't positive or {@code to < from}
+     */
+    public static List<BigDecimal> range(BigDecimal from, BigDecimal to, BigDecimal step) {
+        if (step.signum() <= 0 || to.compareTo(from) < 0) {
+            throw invalidRange(from, to, step);
+        }
+        List<BigDecimal> values = new ArrayList<>();
+        for (BigDecimal value = from; value.compareTo(to) <= 0; value = value.add(step)) {
+            values.add(value);
+        }
+        return values;
+    }
+
+    private static IllegalArgumentException invalidRange(Object from, Object to, Object step) {
+        return new IllegalArgumentException(
+                String.format("A range needs a positive step and to >= from. from = [%s], "
+                        + "to = [%s], step = [%s]", from, to, step));
+    }
+
+    /** One combination of swept values. */
+    public record Cell(int numDecks, BigDecimal startingBank, BigDecimal minBet, String strategy) {
+    }
+
+    /**
+     * The result of one cell.
+     */
+    public record CellResult(Cell cell, SimulationResult result) {
+        /** The header of the table {@link #toCsvRow()} writes rows of. */
+        public static final String CSV_HEADER = "numDecks,startingBank,minBet,strategy,games,"
+                + "median,mean,standardDeviation,p99,p99.99";
+
+        /**
+         * Returns this result as a row of a CSV table, see {@link #CSV_HEADER}. The strategy name
+         * is quoted as RFC 4180 asks if it holds a comma, quote or line break.
+         */
+        public String toCsvRow() {
+            return String.join(",", Arrays.asList(
+                    String.valueOf(cell.numDecks()), cell.startingBank().toPlainString(),
+                    cell.minBet().toPlainString(), csvField(cell.strategy()),
+                    String.valueOf(result.statistics().count()), String.valueOf(result.median()),
+                    String.valueOf(result.mean()), String.valueOf(result.standardDeviation()),
+                    String.valueOf(result.statistics().histogram().valueAtPercentile(99)),
+                    String.valueOf(result.statistics().histogram().valueAtPercentile(99.99))));
+        }
+
+        private static String csvField(String value) {
+            if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0
+                    && value.indexOf('\r') < 0) {
+                return value;
+            }
+            return '"' + value.replace("\"", "\"\"") + '"';
+        }
+    }
+}
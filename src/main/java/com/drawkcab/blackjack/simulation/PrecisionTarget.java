@@ -0,0 +1,81 @@
+package com.drawkcab.blackjack.simulation;
+
+import com.drawkcab.blackjack.simulation.MonteCarloSimulator.SimulationResult;
+import org.apache.commons.math3.distribution.NormalDistribution;
+
+/**
+ * How precise an adaptive simulation (see {@link MonteCarloSimulator#run(PrecisionTarget)}) has to
+ * be before it stops playing games.
+ *
+ * <p>Precision is the half-width of a confidence interval around the mean or the median number of
+ * rounds a game lasted. The mean's interval is the usual normal one, {@code z * s / sqrt(n)}. Game
+ * lengths are heavy-tailed, so the mean converges slowly and the median is usually the better
+ * target. Its interval is distribution-free: half the distance between the quantiles
+ * {@code 0.5 - z * 0.5 / sqrt(n)} and {@code 0.5 + z * 0.5 / sqrt(n)}, which bracket the median's
+ * order statistic.</p>
+ *
+ * @param statistic  the statistic to pin down
+ * @param halfWidth  the widest acceptable half-width, in rounds
+ * @param confidence the confidence level of the interval, for example {@code 0.95}
+ * @param maxRuns    the most games to play, whether or not the target is met
+ */
+public record PrecisionTarget(Statistic statistic, double halfWidth, double confidence,
+                              long maxRuns) {
+
+    /** The statistic a target is for. */
+    public enum Statistic {
+        MEAN, MEDIAN
+    }
+
+    public PrecisionTarget {
+        if (statistic == null || !(halfWidth > 0) || !(confidence > 0 && confidence < 1)
+                || maxRuns < 1) {
+            throw new IllegalArgumentException(
+                    String.format("A target needs a statistic, a positive half-width, a confidence "
+                                    + "between 0 and 1 and at least one run. statistic = [%s], "
+                                    + "halfWidth = [%s], confidence = [%s], maxRuns = [%s]",
+                            statistic, halfWidth, confidence, maxRuns));
+        }
+    }
+
+    /**
+     * Returns the half-width of the confidence interval around this target's statistic.
+     *
+     * @return the half-width, or {@link Double#NaN} if there are too few games to tell
+     */
+    public double achievedHalfWidth(SimulationResult result) {
+        long games = result.statistics().count();
+        if (games < 2) {
+            return Double.NaN;
+        }
+        double z = zScore(confidence);
+        return switch (statistic) {
+            case MEAN -> z * result.standardDeviation() / Math.sqrt(games);
+            case MEDIAN -> {
+                double offset = z * 0.5 / Math.sqrt(games);
+                yield (result.statistics().quantile(Math.min(1, 0.5 + offset))
+                        - result.statistics().quantile(Math.max(0, 0.5 - offset))) / 2;
+            }
+        };
+    }
+
+    /**
+     * Returns the standard normal quantile for a two-sided confidence interval, 1.96 for 0.95.
+     *
+     * @throws IllegalArgumentException if the confidence isn't between 0 and 1
+     */
+    static double zScore(double confidence) {
+        if (!(confidence > 0 && confidence < 1)) {
+            throw new IllegalArgumentException(
+                    String.format("Confidence is between 0 and 1. confidence = [%s]", confidence));
+        }
+        return new NormalDistribution().inverseCumulativeProbability(0.5 + confidence / 2);
+    }
+
+    /**
+     * Returns whether a result is at least as precise as this target asks.
+     */
+    public boolean isMetBy(SimulationResult result) {
+        return achievedHalfWidth(result) <= halfWidth;
+    }
+}
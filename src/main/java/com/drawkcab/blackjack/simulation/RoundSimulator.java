@@ -2,21 +2,26 @@ package com.drawkcab.blackjack.simulation;
 
 import com.drawkcab.blackjack.game.*;
 import com.drawkcab.blackjack.player.*;
-import com.google.common.flogger.FluentLogger;
 import com.google.inject.Inject;
 
-import java.math.BigDecimal;
-import java.math.RoundingMode;
 import java.util.List;
 
 
 /**
  * Simulates a **single round** of Blackjack for a player and dealer.
+ *
+ * <p>Round events are recorded through {@link RoundTrace} when tracing is enabled. Hands, splits,
+ * doubles and surrenders are counted for {@link SimulationMetrics} in a tally of this instance's
+ * own, so like the game it plays for, a round simulator belongs to one thread at a time. Sampled
+ * rounds are timed phase by phase for a {@link SimulationEvents.RoundPlayed} flight recorder
+ * event, when it's enabled.</p>
  */
 public class RoundSimulator {
-    private static final FluentLogger flogger = FluentLogger.forEnclosingClass();
-
     private final HandEvaluator handEvaluator;
+    private final SimulationMetrics.Tally tally = new SimulationMetrics.Tally();
+    private int roundsUntilSample = SimulationEvents.SAMPLE_EVERY;
+    // Each seat's bet at a table, grown once to the largest table played.
+    private long[] seatBets = new long[0];
 
     @Inject
     public RoundSimulator(HandEvaluator handEvaluator) {
@@ -29,9 +34,13 @@ public class RoundSimulator {
      * @param player the player
      * @param dealer the dealer
      * @param deck   the deck to deal from
-     * @param minBet the minimum bet amount
+     * @param minBet the minimum bet amount, in {@link Money} units
      */
-    public void playRound(Player player, Dealer dealer, Deck deck, BigDecimal minBet) {
+    public void playRound(Player player, Dealer dealer, Deck deck, long minBet) {
+        if (--roundsUntilSample == 0 && playSampledRound(player, dealer, deck, minBet)) {
+            return;
+        }
+
         initializeRound(player, dealer, deck, minBet);
 
         if (!dealer.hasBlackJack()) {
@@ -42,54 +51,177 @@ public class RoundSimulator {
         resolveRound(player, dealer);
     }
 
-    private void initializeRound(Player player, Dealer dealer, Deck deck, BigDecimal minBet) {
-        dealer.startRound(getInitialHand(deck));
-        player.startRound(getInitialHand(deck), minBet, dealer.getFaceUpCard());
-        flogger.atInfo().log("Initializing round.");
+    /**
+     * Plays a full round at a table, every seat against the same dealer hand.
+     *
+     * <p>Every seat bets before any card is dealt. The dealer's two cards come out first, then each
+     * seat's two in turn, so a table of one seat deals exactly like
+     * {@link #playRound(Player, Dealer, Deck, long)}. The seats then play in order, the dealer
+     * plays once, and every seat is settled against the dealer's hand.</p>
+     *
+     * @param seats     the players, in the order they're dealt to
+     * @param seatCount the number of seats playing, from the start of {@code seats}
+     * @param dealer    the dealer
+     * @param deck      the deck to deal from
+     * @param minBet    the minimum bet amount, in {@link Money} units
+     */
+    public void playRound(Player[] seats, int seatCount, Dealer dealer, Deck deck, long minBet) {
+        if (seatBets.length < seatCount) {
+            seatBets = new long[seatCount];
+        }
+        // The bets go down before any of the round's cards come out of the shoe.
+        for (int i = 0; i < seatCount; i++) {
+            seatBets[i] = seats[i].chooseBet(minBet);
+        }
+
+        Card dealerFaceUp = deck.getNextCard();
+        Card dealerHole = deck.getNextCard();
+        dealer.startRound(dealerFaceUp, dealerHole);
+        for (int i = 0; i < seatCount; i++) {
+            Card first = deck.getNextCard();
+            Card second = deck.getNextCard();
+            seats[i].startRound(first, second, seatBets[i], dealerFaceUp);
+            if (RoundTrace.ENABLED) {
+                RoundTrace.deal(dealerFaceUp, dealerHole, first, second);
+            }
+        }
+
+        if (!dealer.hasBlackJack()) {
+            for (int i = 0; i < seatCount; i++) {
+                simulatePlayer(seats[i], deck);
+            }
+            simulatePlayer(dealer, deck);
+        }
+
+        HandState dealerHand = dealer.endRound().getFirst();
+        for (int i = 0; i < seatCount; i++) {
+            settle(seats[i], seats[i].endRound(), dealerHand);
+        }
     }
 
-    private Hand getInitialHand(Deck deck) {
-        return new Hand(List.of(deck.getNextCard(), deck.getNextCard()));
+    // Out of line, so the sampling costs playRound's hot path as little as possible.
+    private boolean playSampledRound(Player player, Dealer dealer, Deck deck, long minBet) {
+        roundsUntilSample = SimulationEvents.SAMPLE_EVERY;
+        SimulationEvents.RoundPlayed event = new SimulationEvents.RoundPlayed();
+        if (!event.isEnabled()) {
+            return false;
+        }
+        playRecordedRound(event, player, dealer, deck, minBet);
+        return true;
+    }
+
+    // playRound, timing each phase.
+    private void playRecordedRound(SimulationEvents.RoundPlayed event, Player player,
+                                   Dealer dealer, Deck deck, long minBet) {
+        event.begin();
+        long start = System.nanoTime();
+        initializeRound(player, dealer, deck, minBet);
+        long dealt = System.nanoTime();
+        long playerDone = dealt;
+        long dealerDone = dealt;
+
+        if (!dealer.hasBlackJack()) {
+            simulatePlayer(player, deck);
+            playerDone = System.nanoTime();
+            simulatePlayer(dealer, deck);
+            dealerDone = System.nanoTime();
+        }
+
+        int hands = resolveRound(player, dealer);
+        long settled = System.nanoTime();
+
+        event.dealTime = dealt - start;
+        event.playerTime = playerDone - dealt;
+        event.dealerTime = dealerDone - playerDone;
+        event.settleTime = settled - dealerDone;
+        event.hands = hands;
+        event.commit();
+    }
+
+    private void initializeRound(Player player, Dealer dealer, Deck deck, long minBet) {
+        // The bet goes down before any of the round's cards come out of the shoe.
+        long bet = player.chooseBet(minBet);
+
+        // Dealt straight from the shoe into the players' reusable hands.
+        Card dealerFaceUp = deck.getNextCard();
+        Card dealerHole = deck.getNextCard();
+        Card playerFirst = deck.getNextCard();
+        Card playerSecond = deck.getNextCard();
+        dealer.startRound(dealerFaceUp, dealerHole);
+        player.startRound(playerFirst, playerSecond, bet, dealerFaceUp);
+
+        if (RoundTrace.ENABLED) {
+            RoundTrace.deal(dealerFaceUp, dealerHole, playerFirst, playerSecond);
+        }
     }
 
     private void simulatePlayer(Player player, Deck deck) {
         while (player.hasUnfinishedHands()) {
             Move move = player.getNextMove();
-            flogger.atInfo().log("Move = [%s]", move);
+            Card card = null;
 
             switch (move) {
-                case HIT -> player.hit(deck.getNextCard());
+                case HIT -> player.hit(card = deck.getNextCard());
                 case STAND -> player.stand();
-                case DOUBLE_DOWN -> player.doubleDown(deck.getNextCard());
-                case SPLIT -> player.split();
-                case SURRENDER -> player.surrender();
+                case DOUBLE_DOWN -> {
+                    player.doubleDown(card = deck.getNextCard());
+                    tally.doubles++;
+                }
+                case SPLIT -> {
+                    player.split();
+                    tally.splits++;
+                }
+                case SURRENDER -> {
+                    player.surrender();
+                    tally.surrenders++;
+                }
+            }
+
+            if (RoundTrace.ENABLED) {
+                RoundTrace.move(player instanceof Dealer, move, card);
             }
         }
     }
 
-    private void resolveRound(Player player, Dealer dealer) {
+    /** Settles the round and returns the number of hands the player finished with. */
+    private int resolveRound(Player player, Dealer dealer) {
         List<HandState> playerHands = player.endRound();
-        HandState dealerHand = dealer.endRound().getFirst();
+        return settle(player, playerHands, dealer.endRound().getFirst());
+    }
 
-        BigDecimal roundStartBank = player.getBank();
-        for (HandState playerHand : playerHands) {
+    /** Pays out one player's hands and returns how many there were. */
+    private int settle(Player player, List<HandState> playerHands, HandState dealerHand) {
+        long roundStartBank = player.getBank();
+        // Indexed rather than for-each, so settling a round doesn't need an iterator.
+        for (int i = 0; i < playerHands.size(); i++) {
+            HandState playerHand = playerHands.get(i);
             HandOutcome outcome = handEvaluator.getOutcome(playerHand, dealerHand);
             payPlayer(player, outcome, playerHand.getBetAmount());
         }
+        tally.hands += playerHands.size();
 
-        flogger.atInfo().log("Over the round the player's bank changed by [%s]",
-                player.getBank().subtract(roundStartBank));
+        if (RoundTrace.ENABLED) {
+            RoundTrace.settle(playerHands.size(), player.getBank() - roundStartBank);
+        }
+        return playerHands.size();
+    }
+
+    /**
+     * Adds the events counted since the last call to {@link SimulationMetrics}.
+     */
+    void flushMetrics() {
+        SimulationMetrics.get().add(tally);
     }
 
-    private void payPlayer(Player player, HandOutcome outcome, BigDecimal betAmount) {
+    private void payPlayer(Player player, HandOutcome outcome, long betAmount) {
         // By default, a player is debited a bet when they create a hand, so even in situations
         // where there are no winnings, we still need to "pay" them their original bet as long as
         // they didn't lose.
+        // Bets are always whole cents, so in Money units both divisions below are exact.
         switch (outcome) {
-            case WIN -> player.pay(betAmount.multiply(BigDecimal.TWO));
-            case BLACKJACK_WIN -> player.pay(betAmount.multiply(BigDecimal.valueOf(2.5)));
-            case SURRENDER -> player.pay(betAmount.divide(BigDecimal.valueOf(2),
-                    RoundingMode.HALF_DOWN));
+            case WIN -> player.pay(betAmount * 2);
+            case BLACKJACK_WIN -> player.pay(betAmount * 5 / 2);
+            case SURRENDER -> player.pay(betAmount / 2);
             case PUSH -> player.pay(betAmount); // original
             // LOSS doesn't require paying anything
             default -> {}
@@ -0,0 +1,154 @@
+package com.drawkcab.blackjack.simulation;
+
+import com.drawkcab.blackjack.game.Card;
+import com.drawkcab.blackjack.player.Move;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Structured tracing of round events, for debugging individual games.
+ *
+ * <p>Tracing is off unless the JVM is started with {@code -Dblackjack.trace=true}. Every call
+ * site is guarded by {@link #ENABLED}, which is a {@code static final} read once at class load,
+ * so when tracing is off the JIT folds the guard away and the simulation pays nothing for it.</p>
+ *
+ * <p>When on, each thread records into its own ring buffer of {@code long}s, allocated once, so
+ * recording neither allocates nor contends. Only the most recent events are kept (4096 by
+ * default, set with {@code -Dblackjack.trace.capacity}, at least one), and {@link #dump()}
+ * returns them for the calling thread, oldest first. To trace a single game, run it with one
+ * thread and dump after it finishes.</p>
+ */
+public final class RoundTrace {
+    /** Whether round events are recorded. */
+    public static final boolean ENABLED = Boolean.getBoolean("blackjack.trace");
+
+    static final int CAPACITY =
+            Math.max(1, Integer.getInteger("blackjack.trace.capacity", 4096));
+
+    /** The kinds of event recorded. */
+    public enum EventType {
+        /** The initial two cards each for the dealer and the player. */
+        DEAL,
+        /** A move by the player or dealer, with the card it drew if any. */
+        MOVE,
+        /** The round's payout, as the change in the player's bank. */
+        SETTLE,
+        /** The shoe being reshuffled mid-game. */
+        RESHUFFLE
+    }
+
+    private static final EventType[] EVENT_TYPES = EventType.values();
+    private static final Card[] CARDS = Card.values();
+    private static final Move[] MOVES = Move.values();
+    private static final int NONE = 0xFF;
+
+    private static final ThreadLocal<Ring> RINGS = ThreadLocal.withInitial(Ring::new);
+
+    private RoundTrace() {
+    }
+
+    /**
+     * Records the initial deal.
+     */
+    public static void deal(Card dealerFaceUp, Card dealerHole, Card playerFirst,
+                            Card playerSecond) {
+        RINGS.get().record(header(EventType.DEAL, dealerFaceUp.ordinal(), dealerHole.ordinal(),
+                playerFirst.ordinal(), playerSecond.ordinal()), 0);
+    }
+
+    /**
+     * Records a move.
+     *
+     * @param dealer whether the dealer made the move
+     * @param move   the move made
+     * @param card   the card drawn by the move, or {@code null} if it didn't draw one
+     */
+    public static void move(boolean dealer, Move move, Card card) {
+        RINGS.get().record(header(EventType.MOVE, dealer ? 1 : 0, move.ordinal(),
+                card == null ? NONE : card.ordinal(), NONE), 0);
+    }
+
+    /**
+     * Records the end of a round.
+     *
+     * @param hands      the number of hands the player finished with
+     * @param bankChange the total paid out to the player, in
+     *                   {@link com.drawkcab.blackjack.game.Money} units
+     */
+    public static void settle(int hands, long bankChange) {
+        RINGS.get().record(header(EventType.SETTLE, hands, NONE, NONE, NONE), bankChange);
+    }
+
+    /**
+     * Records a mid-game reshuffle.
+     *
+     * @param cardsRemaining the cards left undealt when the shoe was reshuffled
+     */
+    public static void reshuffle(int cardsRemaining) {
+        RINGS.get().record(header(EventType.RESHUFFLE, NONE, NONE, NONE, NONE), cardsRemaining);
+    }
+
+    /**
+     * Returns the events recorded on this thread, oldest first.
+     */
+    public static List<String> dump() {
+        return RINGS.get().dump();
+    }
+
+    /**
+     * Forgets all events recorded on this thread.
+     */
+    public static void clear() {
+        RINGS.get().clear();
+    }
+
+    private static long header(EventType type, int a, int b, int c, int d) {
+        return type.ordinal() | (long) a << 8 | (long) b << 16 | (long) c << 24 | (long) d << 32;
+    }
+
+    private static String format(long header, long value) {
+        int a = (int) (header >>> 8) & 0xFF;
+        int b = (int) (header >>> 16) & 0xFF;
+        int c = (int) (header >>> 24) & 0xFF;
+        int d = (int) (header >>> 32) & 0xFF;
+
+        return switch (EVENT_TYPES[(int) header & 0xFF]) {
+            case DEAL -> String.format("DEAL dealer=[%s, %s] player=[%s, %s]",
+                    CARDS[a], CARDS[b], CARDS[c], CARDS[d]);
+            case MOVE -> String.format("MOVE %s %s%s", a == 1 ? "dealer" : "player", MOVES[b],
+                    c == NONE ? "" : " " + CARDS[c]);
+            case SETTLE -> String.format("SETTLE hands=[%s] bankChange=[%s]", a, value);
+            case RESHUFFLE -> String.format("RESHUFFLE cardsRemaining=[%s]", value);
+        };
+    }
+
+    /**
+     * A fixed-size ring of events, two longs each: a packed header and a value.
+     */
+    private static final class Ring {
+        private final long[] events = new long[CAPACITY * 2];
+        // Total events ever recorded, so the oldest retained one is at count - CAPACITY.
+        private long count;
+
+        void record(long header, long value) {
+            int slot = (int) (count++ % CAPACITY) * 2;
+            events[slot] = header;
+            events[slot + 1] = value;
+        }
+
+        List<String> dump() {
+            long first = Math.max(0, count - CAPACITY);
+            List<String> dumped = new ArrayList<>((int) (count - first));
+            for (long i = first; i < count; i++) {
+                int slot = (int) (i % CAPACITY) * 2;
+                dumped.add(format(events[slot], events[slot + 1]));
+            }
+            return dumped;
+        }
+
+        void clear() {
+            count = 0;
+        }
+    }
+}
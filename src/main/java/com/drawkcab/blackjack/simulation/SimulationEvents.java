@@ -0,0 +1,108 @@
+package com.drawkcab.blackjack.simulation;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+/**
+ * JDK Flight Recorder events for the simulation's hot loop: {@link GameSimulated},
+ * {@link RoundPlayed} and {@link ShoeShuffled}, which break a game down into the time spent
+ * dealing, on the player's decisions, on the dealer's turn, on settling and on shuffling.
+ *
+ * <p>The events are disabled by default. Enable them for a recording like any other event, for
+ * example {@code -XX:StartFlightRecording:com.drawkcab.blackjack.RoundPlayed#enabled=true}, or in
+ * a {@code .jfc} settings file. Even when enabled, only one game, round or shuffle in
+ * {@link #SAMPLE_EVERY} is recorded (100 by default, set with
+ * {@code -Dblackjack.jfr.sampleEvery}), since at a few million rounds a second an event each
+ * would swamp both the simulation and the recording.</p>
+ *
+ * <p>The simulators count down to their next sample in plain fields of their own, and only then
+ * ask whether the event is enabled, so between samples, enabled or not, the loop pays a decrement
+ * and a branch.</p>
+ */
+final class SimulationEvents {
+    /** One in this many games, rounds and shuffles is recorded. */
+    static final int SAMPLE_EVERY =
+            Math.max(1, Integer.getInteger("blackjack.jfr.sampleEvery", 100));
+
+    private static final String CATEGORY = "BlackJack Simulation";
+
+    private SimulationEvents() {
+    }
+
+    /** A whole game, from its first round to the player going broke or the round cap. */
+    @Name("com.drawkcab.blackjack.GameSimulated")
+    @Label("Game Simulated")
+    @Category(CATEGORY)
+    @Enabled(false)
+    @StackTrace(false)
+    static final class GameSimulated extends Event {
+        @Label("Rounds")
+        long rounds;
+
+        @Label("Reshuffles")
+        @Description("Mid-game reshuffles of the shoe")
+        long reshuffles;
+
+        @Label("Shuffle Time")
+        @Description("Time spent reshuffling, included in the duration")
+        @Timespan(Timespan.NANOSECONDS)
+        long shuffleTime;
+
+        @Label("Peak Bank")
+        @Description("The most the player's bank held, in half cents")
+        long peakBank;
+    }
+
+    /** One round, with the time spent in each phase of it. */
+    @Name("com.drawkcab.blackjack.RoundPlayed")
+    @Label("Round Played")
+    @Category(CATEGORY)
+    @Enabled(false)
+    @StackTrace(false)
+    static final class RoundPlayed extends Event {
+        @Label("Deal Time")
+        @Description("Betting and dealing the first four cards")
+        @Timespan(Timespan.NANOSECONDS)
+        long dealTime;
+
+        @Label("Player Time")
+        @Description("The player's decisions and draws, zero if the dealer had blackjack")
+        @Timespan(Timespan.NANOSECONDS)
+        long playerTime;
+
+        @Label("Dealer Time")
+        @Description("The dealer's turn, zero if the dealer had blackjack")
+        @Timespan(Timespan.NANOSECONDS)
+        long dealerTime;
+
+        @Label("Settle Time")
+        @Description("Evaluating and paying out every hand")
+        @Timespan(Timespan.NANOSECONDS)
+        long settleTime;
+
+        @Label("Hands")
+        int hands;
+    }
+
+    /** A shuffle of the shoe, at the start of a game or when it runs low. */
+    @Name("com.drawkcab.blackjack.ShoeShuffled")
+    @Label("Shoe Shuffled")
+    @Category(CATEGORY)
+    @Enabled(false)
+    @StackTrace(false)
+    static final class ShoeShuffled extends Event {
+        @Label("Seeded")
+        @Description("Whether the shoe was reseeded for a new game, not reshuffled mid-game")
+        boolean seeded;
+
+        @Label("Cards Remaining")
+        @Description("The cards left undealt before the shuffle")
+        int cardsRemaining;
+    }
+}
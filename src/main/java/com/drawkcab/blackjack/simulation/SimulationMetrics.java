@@ -0,0 +1,196 @@
+package com.drawkcab.blackjack.simulation;
+
+import com.google.common.flogger.FluentLogger;
+
+import javax.management.JMException;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Live throughput counters for every simulation in this JVM, registered as a platform MXBean
+ * under {@value #OBJECT_NAME} so JConsole or any JMX client can watch a long run.
+ *
+ * <p>A round takes a few hundred nanoseconds, so even an uncontended {@link LongAdder} increment
+ * per event would cost a few percent. Instead, {@link RoundSimulator} and {@link GameSimulator}
+ * count into a plain {@link Tally} of their own, which only their thread touches, and add it to
+ * the shared adders when a game ends, or every {@value #FLUSH_ROUNDS} rounds of a long one. That's
+ * a handful of adds per game, and the counters are never more than a game or so behind.</p>
+ *
+ * <p>The metrics are registered in the background the first time the class is used. Counters
+ * only go up. Rates are worked out when they're read, over the time since the previous read, at
+ * least a second.</p>
+ */
+public final class SimulationMetrics implements SimulationMetricsMXBean {
+    private static final FluentLogger logger = FluentLogger.forEnclosingClass();
+
+    /** The name the metrics are registered under. */
+    public static final String OBJECT_NAME = "com.drawkcab.blackjack:type=SimulationMetrics";
+    /** The most rounds a game plays before its tally is added to the counters. */
+    static final int FLUSH_ROUNDS = 1024;
+    private static final long MIN_RATE_WINDOW_NANOS = TimeUnit.SECONDS.toNanos(1);
+
+    private static final SimulationMetrics INSTANCE = new SimulationMetrics();
+    // Starting the platform MBean server takes the better part of a second, which the first game
+    // shouldn't wait for.
+    private static final Thread REGISTRATION = Thread.ofPlatform().daemon()
+            .name("simulation-metrics-registration").start(SimulationMetrics::register);
+
+    private final LongAdder games = new LongAdder();
+    private final LongAdder rounds = new LongAdder();
+    private final LongAdder hands = new LongAdder();
+    private final LongAdder splits = new LongAdder();
+    private final LongAdder doubles = new LongAdder();
+    private final LongAdder surrenders = new LongAdder();
+    private final LongAdder reshuffles = new LongAdder();
+    private final Rate roundRate = new Rate();
+    private final Rate handRate = new Rate();
+    private volatile long lastProgressNanos = System.nanoTime();
+
+    private SimulationMetrics() {
+    }
+
+    /** Returns the metrics of this JVM. */
+    public static SimulationMetrics get() {
+        return INSTANCE;
+    }
+
+    /**
+     * Adds a tally to the counters and clears it.
+     */
+    void add(Tally tally) {
+        // A tally only holds some kinds of event, and an add of zero still costs a CAS.
+        if (tally.games != 0) {
+            games.add(tally.games);
+        }
+        if (tally.rounds != 0) {
+            rounds.add(tally.rounds);
+        }
+        if (tally.hands != 0) {
+            hands.add(tally.hands);
+        }
+        if (tally.splits != 0) {
+            splits.add(tally.splits);
+        }
+        if (tally.doubles != 0) {
+            doubles.add(tally.doubles);
+        }
+        if (tally.surrenders != 0) {
+            surrenders.add(tally.surrenders);
+        }
+        if (tally.reshuffles != 0) {
+            reshuffles.add(tally.reshuffles);
+        }
+        lastProgressNanos = System.nanoTime();
+        tally.clear();
+    }
+
+    @Override
+    public long getGamesCompleted() {
+        return games.sum();
+    }
+
+    @Override
+    public long getRoundsPlayed() {
+        return rounds.sum();
+    }
+
+    @Override
+    public long getHandsPlayed() {
+        return hands.sum();
+    }
+
+    @Override
+    public long getSplits() {
+        return splits.sum();
+    }
+
+    @Override
+    public long getDoubles() {
+        return doubles.sum();
+    }
+
+    @Override
+    public long getSurrenders() {
+        return surrenders.sum();
+    }
+
+    @Override
+    public long getReshuffles() {
+        return reshuffles.sum();
+    }
+
+    @Override
+    public double getRoundsPerSecond() {
+        return roundRate.update(rounds.sum());
+    }
+
+    @Override
+    public double getHandsPerSecond() {
+        return handRate.update(hands.sum());
+    }
+
+    @Override
+    public long getMillisSinceLastProgress() {
+        return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - lastProgressNanos);
+    }
+
+    /** Waits until the metrics are registered, or have failed to be. */
+    static void awaitRegistration() throws InterruptedException {
+        REGISTRATION.join();
+    }
+
+    private static void register() {
+        try {
+            ManagementFactory.getPlatformMBeanServer()
+                    .registerMBean(INSTANCE, new ObjectName(OBJECT_NAME));
+        } catch (JMException e) {
+            // Another copy of this class, from another class loader, got there first. The
+            // simulation runs just the same, only this copy's counters can't be watched.
+            logger.atWarning().withCause(e).log("Couldn't register simulation metrics as [%s]",
+                    OBJECT_NAME);
+        }
+    }
+
+    /**
+     * Counts events on one thread, to be added to the shared counters in bulk. Not thread safe.
+     */
+    static final class Tally {
+        long games;
+        long rounds;
+        long hands;
+        long splits;
+        long doubles;
+        long surrenders;
+        long reshuffles;
+
+        void clear() {
+            games = 0;
+            rounds = 0;
+            hands = 0;
+            splits = 0;
+            doubles = 0;
+            surrenders = 0;
+            reshuffles = 0;
+        }
+    }
+
+    /** A per-second rate of a counter, over the time between reads. */
+    private static final class Rate {
+        private long lastNanos = System.nanoTime();
+        private long lastTotal;
+        private double rate;
+
+        synchronized double update(long total) {
+            long now = System.nanoTime();
+            if (now - lastNanos >= MIN_RATE_WINDOW_NANOS) {
+                rate = (double) (total - lastTotal) * TimeUnit.SECONDS.toNanos(1)
+                        / (now - lastNanos);
+                lastNanos = now;
+                lastTotal = total;
+            }
+            return rate;
+        }
+    }
+}
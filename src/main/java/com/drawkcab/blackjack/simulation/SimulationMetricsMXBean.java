@@ -0,0 +1,40 @@
+package com.drawkcab.blackjack.simulation;
+
+/**
+ * The live throughput counters of every simulation in this JVM, as seen over JMX. See
+ * {@link SimulationMetrics}.
+ */
+public interface SimulationMetricsMXBean {
+    /** @return the number of games finished */
+    long getGamesCompleted();
+
+    /** @return the number of rounds played */
+    long getRoundsPlayed();
+
+    /** @return the number of player hands settled, counting each hand of a split */
+    long getHandsPlayed();
+
+    /** @return the number of times a player split */
+    long getSplits();
+
+    /** @return the number of times a player doubled down */
+    long getDoubles();
+
+    /** @return the number of times a player surrendered */
+    long getSurrenders();
+
+    /** @return the number of mid-game reshuffles */
+    long getReshuffles();
+
+    /** @return rounds per second, over the time since the rate was last read */
+    double getRoundsPerSecond();
+
+    /** @return hands per second, over the time since the rate was last read */
+    double getHandsPerSecond();
+
+    /**
+     * @return milliseconds since a simulation last reported progress. It grows while nothing is
+     *         running, or while every game in progress is stuck.
+     */
+    long getMillisSinceLastProgress();
+}
@@ -0,0 +1,166 @@
+package com.drawkcab.blackjack.simulation;
+
+import com.drawkcab.blackjack.simulation.MonteCarloSimulator.SimulationResult;
+import com.drawkcab.blackjack.simulation.modules.BlackJackSimulationModule;
+import com.drawkcab.blackjack.simulation.modules.BlackJackSimulationModule.SimulationConfiguration;
+import com.google.inject.Guice;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.function.BooleanSupplier;
+
+/**
+ * Runs many simulations at once for callers that don't want to block on them.
+ *
+ * <p>Each submitted job gets a virtual thread, which is cheap enough that hundreds of queued jobs
+ * cost next to nothing. The virtual thread only coordinates: it waits for one of a fixed number of
+ * job slots, then hands the games to a single {@link ForkJoinPool} shared by every job. However
+ * many jobs are queued, the games themselves never run on more threads than the pool has, so the
+ * cores are never oversubscribed. Jobs running at the same time share the pool by work
+ * stealing.</p>
+ *
+ * <p>Cancelling a job's future stops it. A queued job never starts, and a running job stops
+ * before its next game. A job's {@link SimulationConfiguration#numThreads()} is ignored, the
+ * shared pool decides the parallelism.</p>
+ *
+ * <p>Close the service to stop accepting jobs. Closing waits for submitted jobs to finish.</p>
+ */
+public class SimulationService implements AutoCloseable {
+    private final JobRunner jobRunner;
+    private final int maxConcurrentJobs;
+    private final Semaphore jobSlots;
+    private final ForkJoinPool workers;
+    private final ExecutorService jobs;
+
+    /**
+     * Creates a service.
+     *
+     * @param maxConcurrentJobs the most jobs that play games at once, the rest wait their turn
+     * @param workerThreads     the number of threads playing games, usually the number of cores
+     * @throws IllegalArgumentException if either limit is less than one
+     */
+    public SimulationService(int maxConcurrentJobs, int workerThreads) {
+        this(maxConcurrentJobs, workerThreads, SimulationService::runWithGuice);
+    }
+
+    SimulationService(int maxConcurrentJobs, int workerThreads, JobRunner jobRunner) {
+        if (maxConcurrentJobs < 1 || workerThreads < 1) {
+            throw new IllegalArgumentException(
+                    String.format("At least one job slot and one worker thread are required. "
+                                    + "maxConcurrentJobs = [%s], workerThreads = [%s]",
+                            maxConcurrentJobs, workerThreads));
+        }
+        this.jobRunner = jobRunner;
+        this.maxConcurrentJobs = maxConcurrentJobs;
+        this.jobSlots = new Semaphore(maxConcurrentJobs, true);
+        this.workers = new ForkJoinPool(workerThreads);
+        this.jobs = Executors.newVirtualThreadPerTaskExecutor();
+    }
+
+    /**
+     * Submits a simulation.
+     *
+     * @param configuration the simulation to run
+     * @param numberOfRuns  the number of games to play
+     * @return a future for the result. Cancelling it stops the job.
+     * @throws IllegalArgumentException if {@code numberOfRuns} is negative
+     * @throws java.util.concurrent.RejectedExecutionException if the service is closed
+     */
+    public CompletableFuture<SimulationResult> submit(SimulationConfiguration configuration,
+                                                      int numberOfRuns) {
+        return submit(configuration, numberOfRuns, () -> {});
+    }
+
+    /**
+     * Submits a simulation, with a callback for when it gets a slot and starts playing games.
+     *
+     * @param configuration the simulation to run
+     * @param numberOfRuns  the number of games to play
+     * @param onStart       called on the job's thread when the job starts. Never called for a job
+     *                      cancelled while queued.
+     * @return a future for the result. Cancelling it stops the job.
+     * @throws IllegalArgumentException if {@code numberOfRuns} is negative
+     * @throws java.util.concurrent.RejectedExecutionException if the service is closed
+     */
+    public CompletableFuture<SimulationResult> submit(SimulationConfiguration configuration,
+                                                      int numberOfRuns, Runnable onStart) {
+        if (numberOfRuns < 0) {
+            throw new IllegalArgumentException(
+                    String.format("Can't play a negative number of games. numberOfRuns = [%s]",
+                            numberOfRuns));
+        }
+
+        CompletableFuture<SimulationResult> result = new CompletableFuture<>();
+        Future<?> job = jobs.submit(() -> runJob(configuration, numberOfRuns, onStart, result));
+        // Wakes the job if it's still waiting for a slot. A running job notices the cancellation
+        // itself, between games.
+        result.whenComplete((ignored, failure) -> {
+            if (result.isCancelled()) {
+                job.cancel(true);
+            }
+        });
+        return result;
+    }
+
+    /**
+     * Returns the number of jobs playing games right now.
+     */
+    public int runningJobs() {
+        return maxConcurrentJobs - jobSlots.availablePermits();
+    }
+
+    /**
+     * Returns the number of jobs waiting for a slot.
+     */
+    public int queuedJobs() {
+        return jobSlots.getQueueLength();
+    }
+
+    @Override
+    public void close() {
+        jobs.close();
+        workers.close();
+    }
+
+    private void runJob(SimulationConfiguration configuration, int numberOfRuns, Runnable onStart,
+                        CompletableFuture<SimulationResult> result) {
+        try {
+            jobSlots.acquire();
+        } catch (InterruptedException e) {
+            // Only cancellation interrupts a job, and the future is already complete.
+            return;
+        }
+        try {
+            if (!result.isDone()) {
+                onStart.run();
+                result.complete(jobRunner.run(configuration, numberOfRuns, workers,
+                        result::isCancelled));
+            }
+        } catch (Throwable t) {
+            result.completeExceptionally(t);
+        } finally {
+            jobSlots.release();
+        }
+    }
+
+    private static SimulationResult runWithGuice(SimulationConfiguration configuration,
+                                                 int numberOfRuns, ForkJoinPool pool,
+                                                 BooleanSupplier cancelled) {
+        return Guice.createInjector(new BlackJackSimulationModule(configuration))
+                .getInstance(MonteCarloSimulator.class)
+                .run(numberOfRuns, pool, cancelled);
+    }
+
+    /**
+     * Plays one job's games on the shared pool. Exists so tests can stand in for the simulator.
+     */
+    @FunctionalInterface
+    interface JobRunner {
+        SimulationResult run(SimulationConfiguration configuration, int numberOfRuns,
+                             ForkJoinPool pool, BooleanSupplier cancelled);
+    }
+}
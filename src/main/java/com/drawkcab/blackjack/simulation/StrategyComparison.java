@@ -0,0 +1,347 @@
+package com.drawkcab.blackjack.simulation;
+
+import com.drawkcab.blackjack.player.strategy.Strategy;
+import com.drawkcab.blackjack.simulation.MonteCarloSimulator.SimulationResult;
+import com.drawkcab.blackjack.simulation.modules.BlackJackSimulationModule;
+import com.drawkcab.blackjack.simulation.modules.BlackJackSimulationModule.SimulationConfiguration;
+import com.drawkcab.blackjack.simulation.statistics.GameStatistics;
+import com.drawkcab.blackjack.simulation.statistics.Moments;
+import com.google.inject.Guice;
+import com.google.inject.Provider;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.function.BooleanSupplier;
+
+/**
+ * Compares strategies by playing each of them on the same games, with common random numbers.
+ *
+ * <p>Two independent simulations see different shoes, and shoe-to-shoe variance swamps the small
+ * differences between good strategies. Here game {@code i} is played once per strategy, each with
+ * its own {@link GameSimulator} (and so its own player), all seeded with the same
+ * {@link GameSeeds#forGame game seed}. Sharing the seed alone isn't enough: the first time two
+ * strategies play a hand differently they draw a different number of cards, every later card
+ * shifts, and from then on their games are as unrelated as independent ones. So the games are
+ * played in lockstep, one round at a time. After each round, the decks that dealt fewer cards
+ * burn the difference (see {@link com.drawkcab.blackjack.game.Deck#burnTo}), so every strategy
+ * starts every round on the same cards, like players seated at the same table. Their game
+ * lengths stay correlated and the paired differences vary several times less than independent
+ * ones, which takes that many times fewer games to tell strategies apart.</p>
+ *
+ * <p>The first strategy is the baseline. Every other strategy is reported as a
+ * {@link PairedDifference} from it. Like {@link MonteCarloSimulator}, games are spread across a
+ * {@link ForkJoinPool} and results are identical whatever the thread count.</p>
+ */
+public class StrategyComparison {
+    // Same trade-off as MonteCarloSimulator, every task plays each of its games once per strategy.
+    private static final int GAMES_PER_TASK = 32;
+
+    private final List<String> names;
+    private final List<Provider<GameSimulator>> gameSimulators;
+    private final int numThreads;
+    private final long seed;
+
+    /**
+     * Creates a comparison.
+     *
+     * @param contenders a game simulator provider for each strategy by name, in iteration order.
+     *                   The first one is the baseline.
+     * @param numThreads the number of threads to play on
+     * @param seed       the simulation seed, shared by every strategy
+     * @throws IllegalArgumentException if there are fewer than two contenders or no threads
+     */
+    public StrategyComparison(Map<String, ? extends Provider<GameSimulator>> contenders,
+                              int numThreads, long seed) {
+        if (contenders.size() < 2 || numThreads < 1) {
+            throw new IllegalArgumentException(
+                    String.format("A comparison needs at least two strategies and one thread. "
+                            + "strategies = %s, numThreads = [%s]", contenders.keySet(),
+                            numThreads));
+        }
+        this.names = List.copyOf(contenders.keySet());
+        this.gameSimulators = List.copyOf(contenders.values());
+        this.numThreads = numThreads;
+        this.seed = seed;
+    }
+
+    /**
+     * Creates a comparison of strategies in an otherwise identical simulation.
+     *
+     * @param configuration the simulation. Its strategy is replaced by each of {@code strategies}
+     *                      in turn.
+     * @param strategies    the strategies by name, in iteration order. The first one is the
+     *                      baseline.
+     */
+    public static StrategyComparison of(SimulationConfiguration configuration,
+                                        Map<String, ? extends Strategy> strategies) {
+        Map<String, Provider<GameSimulator>> contenders = new LinkedHashMap<>();
+        strategies.forEach((name, strategy) -> contenders.put(name, Guice.createInjector(
+                        new BlackJackSimulationModule(new SimulationConfiguration(
+                                configuration.numDecks(), configuration.startingBank(),
+                                configuration.minBet(), strategy, configuration.numThreads(),
+                                configuration.seed(), configuration.counting())))
+                .getProvider(GameSimulator.class)));
+        return new StrategyComparison(contenders, configuration.numThreads(),
+                configuration.seed());
+    }
+
+    /**
+     * Plays the requested number of games with every strategy.
+     *
+     * @param numberOfRuns the number of games each strategy plays
+     * @return each strategy's results and its paired difference from the baseline
+     */
+    public ComparisonResult run(int numberOfRuns) {
+        try (ForkJoinPool pool = new ForkJoinPool(numThreads)) {
+            return run(numberOfRuns, pool, () -> false);
+        }
+    }
+
+    /**
+     * Plays the requested number of games with every strategy on an existing pool. See
+     * {@link MonteCarloSimulator#run(int, ForkJoinPool, BooleanSupplier)}.
+     *
+     * @param numberOfRuns the number of games each strategy plays
+     * @param pool         the pool to play the games on
+     * @param cancelled    returns {@code true} once the comparison should stop
+     * @return each strategy's results and its paired difference from the baseline
+     * @throws CancellationException if the comparison was cancelled before every game was played
+     */
+    public ComparisonResult run(int numberOfRuns, ForkJoinPool pool, BooleanSupplier cancelled) {
+        ThreadLocal<GameSimulator[]> workerGames = ThreadLocal.withInitial(() ->
+                gameSimulators.stream().map(Provider::get).toArray(GameSimulator[]::new));
+
+        Partial partial = pool.invoke(
+                new ComparisonBatch(workerGames, cancelled, seed, names.size(), 0, numberOfRuns));
+
+        Map<String, SimulationResult> results = new LinkedHashMap<>();
+        Map<String, PairedDifference> differences = new LinkedHashMap<>();
+        for (int i = 0; i < names.size(); i++) {
+            results.put(names.get(i), SimulationResult.of(partial.lengths[i]));
+            if (i > 0) {
+                differences.put(names.get(i),
+                        PairedDifference.of(partial.differences[i], partial.lengths[0],
+                                partial.lengths[i]));
+            }
+        }
+        return new ComparisonResult(names.get(0), results, differences);
+    }
+
+    /**
+     * The game lengths of each strategy and the differences from the baseline, over a range of
+     * games. Index 0 of {@code differences} is unused.
+     */
+    private record Partial(GameStatistics[] lengths, Moments[] differences) {
+        static Partial empty(int strategies) {
+            GameStatistics[] lengths = new GameStatistics[strategies];
+            Moments[] differences = new Moments[strategies];
+            for (int i = 0; i < strategies; i++) {
+                lengths[i] = new GameStatistics();
+                differences[i] = new Moments();
+            }
+            return new Partial(lengths, differences);
+        }
+
+        Partial merge(Partial other) {
+            for (int i = 0; i < lengths.length; i++) {
+                lengths[i].merge(other.lengths[i]);
+                differences[i].merge(other.differences[i]);
+            }
+            return this;
+        }
+    }
+
+    /**
+     * Plays the games in {@code [from, to)} with every strategy, splitting the range like
+     * {@link MonteCarloSimulator}'s batches.
+     */
+    private static class ComparisonBatch extends RecursiveTask<Partial> {
+        private final ThreadLocal<GameSimulator[]> workerGames;
+        private final BooleanSupplier cancelled;
+        private final long seed;
+        private final int strategies;
+        private final long from;
+        private final long to;
+
+        ComparisonBatch(ThreadLocal<GameSimulator[]> workerGames, BooleanSupplier cancelled,
+                        long seed, int strategies, long from, long to) {
+            this.workerGames = workerGames;
+            this.cancelled = cancelled;
+            this.seed = seed;
+            this.strategies = strategies;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected Partial compute() {
+            throwIfCancelled(from);
+            if (to - from <= GAMES_PER_TASK) {
+                GameSimulator[] games = workerGames.get();
+                long[] rounds = new long[strategies];
+                Partial partial = Partial.empty(strategies);
+                for (long i = from; i < to; i++) {
+                    throwIfCancelled(i);
+                    playInLockstep(games, GameSeeds.forGame(seed, i), rounds);
+                    partial.lengths[0].add(rounds[0]);
+                    for (int s = 1; s < strategies; s++) {
+                        partial.lengths[s].add(rounds[s]);
+                        partial.differences[s].add(rounds[s] - rounds[0]);
+                    }
+                }
+                return partial;
+            }
+
+            long mid = (from + to) >>> 1;
+            ComparisonBatch left =
+                    new ComparisonBatch(workerGames, cancelled, seed, strategies, from, mid);
+            left.fork();
+            Partial right =
+                    new ComparisonBatch(workerGames, cancelled, seed, strategies, mid, to)
+                            .compute();
+            return left.join().merge(right);
+        }
+
+        /**
+         * Plays one game with every strategy, round by round, and records how many rounds each
+         * one lasted in {@code rounds}.
+         */
+        private static void playInLockstep(GameSimulator[] games, long gameSeed, long[] rounds) {
+            for (GameSimulator game : games) {
+                game.startGame(gameSeed);
+            }
+            Arrays.fill(rounds, 0);
+
+            boolean anyPlayed = true;
+            while (anyPlayed) {
+                anyPlayed = false;
+                int fewestRemaining = Integer.MAX_VALUE;
+                for (int s = 0; s < games.length; s++) {
+                    if (games[s].canPlayRound(rounds[s])) {
+                        games[s].playRound();
+                        rounds[s]++;
+                        anyPlayed = true;
+                        fewestRemaining =
+                                Math.min(fewestRemaining, games[s].deck().cardsRemaining());
+                    }
+                }
+                // Every deck is seeded the same and has dealt the same number of cards, so they're
+                // identical. Burning the shallower ones down to the deepest keeps them that way.
+                // A game that didn't play this round is over, its player can't play again.
+                for (int s = 0; s < games.length; s++) {
+                    if (games[s].deck().cardsRemaining() > fewestRemaining
+                            && games[s].canPlayRound(rounds[s])) {
+                        games[s].deck().burnTo(fewestRemaining);
+                    }
+                }
+            }
+
+            for (GameSimulator game : games) {
+                game.endGame();
+            }
+        }
+
+        private void throwIfCancelled(long game) {
+            if (cancelled.getAsBoolean()) {
+                throw new CancellationException(
+                        String.format("Comparison cancelled before game [%s]", game));
+            }
+        }
+    }
+
+    /**
+     * The results of a comparison.
+     *
+     * @param baseline    the name of the baseline strategy
+     * @param results     each strategy's results by name, baseline first
+     * @param differences each other strategy's paired difference from the baseline, by name
+     */
+    public record ComparisonResult(String baseline, Map<String, SimulationResult> results,
+                                   Map<String, PairedDifference> differences) {
+
+        /**
+         * Returns a strategy's paired difference from the baseline.
+         *
+         * @throws IllegalArgumentException if there is no such strategy, or it's the baseline
+         */
+        public PairedDifference difference(String strategy) {
+            PairedDifference difference = differences.get(strategy);
+            if (difference == null) {
+                throw new IllegalArgumentException(
+                        String.format("Not a compared strategy. strategy = [%s], compared = %s",
+                                strategy, differences.keySet()));
+            }
+            return difference;
+        }
+    }
+
+    /**
+     * How much longer a strategy's games lasted than the baseline's on the same shoes.
+     *
+     * @param games                     the number of paired games
+     * @param meanDifference            the mean of strategy minus baseline rounds, per game
+     * @param standardDeviation         the sample standard deviation of the paired differences
+     * @param unpairedStandardDeviation the standard deviation the difference would have had with
+     *                                  independent games, {@code sqrt(s_a^2 + s_b^2)}
+     */
+    public record PairedDifference(long games, double meanDifference, double standardDeviation,
+                                   double unpairedStandardDeviation) {
+
+        static PairedDifference of(Moments differences, GameStatistics baseline,
+                                   GameStatistics strategy) {
+            return new PairedDifference(differences.count(), differences.mean(),
+                    differences.standardDeviation(),
+                    Math.hypot(baseline.standardDeviation(), strategy.standardDeviation()));
+        }
+
+        /**
+         * Returns the half-width of the confidence interval around the mean difference.
+         *
+         * @param confidence the confidence level, for example {@code 0.95}
+         */
+        public double halfWidth(double confidence) {
+            return PrecisionTarget.zScore(confidence) * standardDeviation / Math.sqrt(games);
+        }
+
+        /**
+         * Returns the half-width the same number of independent games would have given.
+         *
+         * @param confidence the confidence level, for example {@code 0.95}
+         */
+        public double unpairedHalfWidth(double confidence) {
+            return PrecisionTarget.zScore(confidence) * unpairedStandardDeviation
+                    / Math.sqrt(games);
+        }
+
+        /**
+         * Returns how many times more independent games it would take to match the paired
+         * precision.
+         *
+         * <p>When the paired differences don't vary at all, as when two strategies play every
+         * game identically, no number of independent games matches them: this returns
+         * {@link Double#POSITIVE_INFINITY}, or {@code 1} if the unpaired results don't vary
+         * either.</p>
+         */
+        public double varianceReduction() {
+            if (standardDeviation == 0) {
+                return unpairedStandardDeviation == 0 ? 1 : Double.POSITIVE_INFINITY;
+            }
+            double ratio = unpairedStandardDeviation / standardDeviation;
+            return ratio * ratio;
+        }
+
+        /**
+         * Returns whether the confidence interval around the mean difference excludes zero.
+         *
+         * @param confidence the confidence level, for example {@code 0.95}
+         */
+        public boolean isSignificant(double confidence) {
+            return Math.abs(meanDifference) > halfWidth(confidence);
+        }
+    }
+}
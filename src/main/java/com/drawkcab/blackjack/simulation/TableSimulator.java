@@ -0,0 +1,252 @@
+package com.drawkcab.blackjack.simulation;
+
+import com.drawkcab.blackjack.game.Deck;
+import com.drawkcab.blackjack.game.HandEvaluator;
+import com.drawkcab.blackjack.game.Money;
+import com.drawkcab.blackjack.player.Dealer;
+import com.drawkcab.blackjack.player.Player;
+import com.drawkcab.blackjack.player.strategy.CompiledStrategy;
+import com.drawkcab.blackjack.player.strategy.DealerStrategy;
+import com.drawkcab.blackjack.player.strategy.Strategy;
+import com.drawkcab.blackjack.simulation.statistics.GameStatistics;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Simulates games at a table of up to {@value #MAX_SEATS} seats, every seat playing its own
+ * strategy with its own bank against one dealer hand per round, all from one shoe.
+ *
+ * <p>More seats use more cards a round, which changes how many rounds a shoe lasts and how deep
+ * into it the cut card falls. The shoe is reshuffled once fewer than
+ * {@value #RESHUFFLE_CARDS_PER_HAND} cards per hand at the table (the seats still playing and the
+ * dealer) remain, so a table of one seat reshuffles at the same 50 cards as
+ * {@link GameSimulator}, and with the same seed plays exactly the same game. A shoe barely bigger
+ * than that is reshuffled after nearly every round, and one no bigger is reshuffled before every
+ * round, so {@link #create} needs more decks for more seats: two seats need two decks, four seats
+ * three, and seven four.</p>
+ *
+ * <p>A seat leaves the table once it can't afford the minimum bet, and the game goes on until
+ * every seat has left or the round cap is reached. The round each seat left in is its ruin time,
+ * see {@link #roundsPlayed(int)}. Seats still playing are kept at the front of a fixed array, in
+ * seating order, so a seat leaving never allocates anything.</p>
+ *
+ * <p>Like {@link GameSimulator}, a table belongs to one thread at a time.</p>
+ */
+public class TableSimulator {
+    /** The most seats a table has. */
+    public static final int MAX_SEATS = 7;
+    /** The cards left in the shoe per hand at the table below which it's reshuffled. */
+    public static final int RESHUFFLE_CARDS_PER_HAND = 25;
+    private static final int CARDS_PER_DECK = 52;
+
+    private final RoundSimulator roundSimulator;
+    private final Player[] seats;
+    private final Dealer dealer;
+    private final Deck deck;
+    private final long minBet;
+    private final long maxRounds;
+    private final SimulationMetrics.Tally tally = new SimulationMetrics.Tally();
+
+    // The seats still playing, in seating order, and which seat each one is.
+    private final Player[] active;
+    private final int[] activeSeats;
+    private int activeCount;
+    private final long[] roundsPlayed;
+
+    /**
+     * Creates a table.
+     *
+     * @param roundSimulator plays each round
+     * @param seats          the players, in seating order. Each must be a different instance.
+     * @param dealer         the dealer
+     * @param deck           the shoe every seat plays from
+     * @param minBet         the minimum bet, in {@link Money} units
+     * @param maxRounds      the most rounds a game lasts
+     * @throws IllegalArgumentException if there are no seats, more than {@value #MAX_SEATS}, the
+     *                                  same player in two seats, or {@code maxRounds} isn't
+     *                                  positive
+     */
+    public TableSimulator(RoundSimulator roundSimulator, List<Player> seats, Dealer dealer,
+                          Deck deck, long minBet, long maxRounds) {
+        if (seats.isEmpty() || seats.size() > MAX_SEATS || maxRounds < 1) {
+            throw new IllegalArgumentException(
+                    String.format("A table needs between 1 and %s seats and at least one round. "
+                                    + "seats = [%s], maxRounds = [%s]",
+                            MAX_SEATS, seats.size(), maxRounds));
+        }
+        // Two seats sharing a player would share a bank and hands, and corrupt both.
+        for (int i = 0; i < seats.size(); i++) {
+            for (int j = i + 1; j < seats.size(); j++) {
+                if (seats.get(i) == seats.get(j)) {
+                    throw new IllegalArgumentException(
+                            String.format("Every seat needs its own player. The same player "
+                                    + "is in seats [%s] and [%s]", i, j));
+                }
+            }
+        }
+        this.roundSimulator = roundSimulator;
+        this.seats = seats.toArray(new Player[0]);
+        this.dealer = dealer;
+        this.deck = deck;
+        this.minBet = minBet;
+        this.maxRounds = maxRounds;
+        this.active = new Player[this.seats.length];
+        this.activeSeats = new int[this.seats.length];
+        this.roundsPlayed = new long[this.seats.length];
+    }
+
+    /**
+     * Creates a table with no round cap, from a shoe of {@code numDecks} decks.
+     *
+     * @param numDecks the number of decks in the shoe
+     * @param minBet   the minimum bet
+     * @param seats    each seat's strategy and starting bank, in seating order
+     * @throws IllegalArgumentException if a full shoe of {@code numDecks} decks would already
+     *                                  need reshuffling with every seat playing
+     */
+    public static TableSimulator create(int numDecks, BigDecimal minBet, List<Seat> seats) {
+        if (numDecks * CARDS_PER_DECK <= RESHUFFLE_CARDS_PER_HAND * (seats.size() + 1)) {
+            throw new IllegalArgumentException(
+                    String.format("The shoe is too small for the table, it would be reshuffled "
+                                    + "every round. numDecks = [%s], seats = [%s]",
+                            numDecks, seats.size()));
+        }
+        List<Player> players = new ArrayList<>(seats.size());
+        for (Seat seat : seats) {
+            players.add(new Player(CompiledStrategy.compile(seat.strategy()),
+                    Money.of(seat.startingBank())));
+        }
+        return new TableSimulator(new RoundSimulator(new HandEvaluator()), players,
+                new Dealer(new DealerStrategy()), new Deck(numDecks), Money.of(minBet),
+                Long.MAX_VALUE);
+    }
+
+    /**
+     * Plays a game on a freshly shuffled shoe.
+     *
+     * @param seed the seed for every shuffle in this game
+     * @return the number of rounds the table played, the longest any seat lasted
+     */
+    public long playGame(long seed) {
+        deck.shuffle(seed);
+        return playGame();
+    }
+
+    /**
+     * Plays rounds until every seat has left the table, or the round cap is reached.
+     *
+     * @return the number of rounds the table played, the longest any seat lasted
+     */
+    public long playGame() {
+        for (int seat = 0; seat < seats.length; seat++) {
+            active[seat] = seats[seat];
+            activeSeats[seat] = seat;
+        }
+        activeCount = seats.length;
+
+        long rounds = 0;
+        while (leaveBrokeSeats(rounds) > 0 && rounds < maxRounds) {
+            if (deck.cardsRemaining() < RESHUFFLE_CARDS_PER_HAND * (activeCount + 1)) {
+                if (RoundTrace.ENABLED) {
+                    RoundTrace.reshuffle(deck.cardsRemaining());
+                }
+                deck.shuffle();
+                tally.reshuffles++;
+            }
+            roundSimulator.playRound(active, activeCount, dealer, deck, minBet);
+            rounds++;
+            if (++tally.rounds == SimulationMetrics.FLUSH_ROUNDS) {
+                flushMetrics();
+            }
+        }
+        // Whoever is still seated lasted the whole game.
+        for (int i = 0; i < activeCount; i++) {
+            roundsPlayed[activeSeats[i]] = rounds;
+        }
+
+        for (Player seat : seats) {
+            seat.reset();
+        }
+        dealer.reset();
+        tally.games++;
+        flushMetrics();
+        return rounds;
+    }
+
+    /**
+     * Returns the number of rounds a seat played in the last game: the round it went broke in, or
+     * the length of the game if it never did.
+     *
+     * @param seat the seat, in seating order from 0
+     */
+    public long roundsPlayed(int seat) {
+        return roundsPlayed[seat];
+    }
+
+    /** @return the number of seats at the table */
+    public int seats() {
+        return seats.length;
+    }
+
+    /**
+     * Plays games seeded by index, like {@link MonteCarloSimulator}, on this thread.
+     *
+     * @param numberOfGames the number of games to play
+     * @param seed          the simulation seed
+     * @return each seat's ruin times, by seat
+     */
+    public List<GameStatistics> playGames(long numberOfGames, long seed) {
+        List<GameStatistics> statistics = new ArrayList<>(seats.length);
+        for (int seat = 0; seat < seats.length; seat++) {
+            statistics.add(new GameStatistics());
+        }
+        for (long game = 0; game < numberOfGames; game++) {
+            playGame(GameSeeds.forGame(seed, game));
+            for (int seat = 0; seat < seats.length; seat++) {
+                statistics.get(seat).add(roundsPlayed[seat]);
+            }
+        }
+        return statistics;
+    }
+
+    /**
+     * Sends the seats that can't afford the minimum bet away from the table, keeping the rest in
+     * order at the front.
+     *
+     * @return the number of seats still playing
+     */
+    private int leaveBrokeSeats(long rounds) {
+        int kept = 0;
+        for (int i = 0; i < activeCount; i++) {
+            if (active[i].getBank() >= minBet) {
+                active[kept] = active[i];
+                activeSeats[kept] = activeSeats[i];
+                kept++;
+            } else {
+                roundsPlayed[activeSeats[i]] = rounds;
+            }
+        }
+        // Clear the departed seats' slots, so the array never holds stale references.
+        for (int i = kept; i < activeCount; i++) {
+            active[i] = null;
+        }
+        activeCount = kept;
+        return activeCount;
+    }
+
+    private void flushMetrics() {
+        SimulationMetrics.get().add(tally);
+        roundSimulator.flushMetrics();
+    }
+
+    /**
+     * One seat at a table.
+     *
+     * @param strategy     the seat's strategy
+     * @param startingBank the seat's bank at the start of every game
+     */
+    public record Seat(Strategy strategy, BigDecimal startingBank) {
+    }
+}
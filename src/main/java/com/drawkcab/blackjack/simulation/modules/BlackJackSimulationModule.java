@@ -1,50 +1,179 @@
 package com.drawkcab.blackjack.simulation.modules;
 
 import com.drawkcab.blackjack.game.Deck;
+import com.drawkcab.blackjack.game.Money;
 import com.drawkcab.blackjack.player.Dealer;
 import com.drawkcab.blackjack.player.Player;
+import com.drawkcab.blackjack.player.counting.CardCounter;
+import com.drawkcab.blackjack.player.counting.CountingSystem;
+import com.drawkcab.blackjack.player.strategy.CompiledStrategy;
+import com.drawkcab.blackjack.player.strategy.CountingBetRamp;
+import com.drawkcab.blackjack.player.strategy.CountingStrategy;
 import com.drawkcab.blackjack.player.strategy.DealerStrategy;
+import com.drawkcab.blackjack.player.strategy.IndexPlay;
 import com.drawkcab.blackjack.player.strategy.Strategy;
+import com.drawkcab.blackjack.simulation.GameSimulator;
+import com.drawkcab.blackjack.simulation.RoundSimulator;
 import com.google.inject.AbstractModule;
 import com.google.inject.Provides;
-import com.google.inject.Singleton;
 
 import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
 
 public class BlackJackSimulationModule extends AbstractModule {
     private final SimulationConfiguration simulationConfiguration;
+    // Compiled once and shared, the table is read only so every worker's Player can use it.
+    private final Strategy playerStrategy;
 
     public BlackJackSimulationModule(SimulationConfiguration simulationConfiguration) {
         this.simulationConfiguration = simulationConfiguration;
+        this.playerStrategy = CompiledStrategy.compile(simulationConfiguration.playerStrategy());
     }
 
     @Override
     protected void configure() {
-        bind(BigDecimal.class).annotatedWith(MinBet.class)
-                .toInstance(simulationConfiguration.minBet());
+        // Money stays a BigDecimal in configuration, the simulation itself works in Money units.
+        bind(Long.class).annotatedWith(MinBet.class)
+                .toInstance(Money.of(simulationConfiguration.minBet()));
+        bind(Integer.class).annotatedWith(SimulationThreads.class)
+                .toInstance(simulationConfiguration.numThreads());
+        bind(Long.class).annotatedWith(SimulationSeed.class)
+                .toInstance(simulationConfiguration.seed());
+        bind(Long.class).annotatedWith(SimulationFingerprint.class)
+                .toInstance(fingerprint());
     }
 
+    // Everything that decides how games play out, except the seed, which is checked on its own,
+    // and the thread count, which never changes results. Enums and records are described by
+    // name, since their hash codes differ between JVMs.
+    private long fingerprint() {
+        SimulationConfiguration configuration = simulationConfiguration;
+        CountingConfiguration counting = configuration.counting();
+        String description = String.join(",",
+                String.valueOf(configuration.numDecks()),
+                configuration.startingBank().stripTrailingZeros().toPlainString(),
+                configuration.minBet().stripTrailingZeros().toPlainString(),
+                String.valueOf(CompiledStrategy.fingerprint(playerStrategy)),
+                counting == null ? "" : counting.system() + ";" + counting.indexPlays() + ";"
+                        + counting.maxRounds() + ";" + Arrays.toString(counting.betRamp()));
+        // 64-bit FNV-1a, so different configurations collide far less often than String's hash.
+        long hash = 0xcbf29ce484222325L;
+        for (int i = 0; i < description.length(); i++) {
+            hash = (hash ^ description.charAt(i)) * 0x100000001b3L;
+        }
+        return hash;
+    }
+
+    // Deck, Player and Dealer are intentionally unscoped. Each GameSimulator gets its own graph so
+    // that parallel workers never share mutable game state.
     @Provides
-    @Singleton
     Deck provideDeck() {
         return new Deck(simulationConfiguration.numDecks());
     }
 
     @Provides
-    @Singleton
     Player providePlayer() {
-        return new Player(simulationConfiguration.playerStrategy(),
-                simulationConfiguration.startingBank());
+        return new Player(playerStrategy,
+                Money.of(simulationConfiguration.startingBank()));
     }
 
     @Provides
-    @Singleton
     Dealer provideDealer() {
         Strategy dealerStrategy = new DealerStrategy();
         return new Dealer(dealerStrategy);
     }
 
+    // A counting player has to watch the same deck it plays from, which separate unscoped
+    // providers can't arrange, so each game's graph is wired up here in one place.
+    @Provides
+    GameSimulator provideGameSimulator(RoundSimulator roundSimulator, @MinBet long minBet) {
+        Deck deck = provideDeck();
+        CountingConfiguration counting = simulationConfiguration.counting();
+        if (counting == null) {
+            return new GameSimulator(roundSimulator, providePlayer(), provideDealer(), deck,
+                    minBet);
+        }
+
+        CardCounter counter = CardCounter.attachTo(deck, counting.system());
+        Player player = new Player(
+                new CountingStrategy(playerStrategy, counter, counting.indexPlays()),
+                new CountingBetRamp(counter, counting.betRamp()),
+                Money.of(simulationConfiguration.startingBank()));
+        return new GameSimulator(roundSimulator, player, provideDealer(), deck, minBet,
+                counting.maxRounds());
+    }
+
+    /**
+     * Configures the simulation.
+     *
+     * @param counting how the player counts cards, or {@code null} to play without counting
+     */
     public record SimulationConfiguration(int numDecks, BigDecimal startingBank, BigDecimal minBet,
-                                          Strategy playerStrategy) {
+                                          Strategy playerStrategy, int numThreads,
+                                          long seed, CountingConfiguration counting) {
+        public SimulationConfiguration(int numDecks, BigDecimal startingBank, BigDecimal minBet,
+                                       Strategy playerStrategy, int numThreads, long seed) {
+            this(numDecks, startingBank, minBet, playerStrategy, numThreads, seed, null);
+        }
+    }
+
+    /**
+     * Configures card counting. The player plays {@link SimulationConfiguration#playerStrategy()}
+     * as their base strategy.
+     *
+     * <p>The index plays and bet ramp are copied, so changing the caller's list or array later
+     * doesn't change the configuration. Equality compares the bet ramp's contents.</p>
+     *
+     * @param system     the counting system
+     * @param indexPlays the deviations from the base strategy, in order of precedence
+     * @param maxRounds  the most rounds a game lasts. A counter with a big enough bet spread has
+     *                   the edge and may never go broke, so their games need a cap to end.
+     * @param betRamp    the bet at each true count from zero up, in multiples of the minimum bet
+     */
+    public record CountingConfiguration(CountingSystem system, List<IndexPlay> indexPlays,
+                                        long maxRounds, int... betRamp) {
+        /**
+         * @throws IllegalArgumentException if {@code maxRounds} isn't positive, or the bet ramp is
+         *                                  empty or has a bet below the minimum
+         */
+        public CountingConfiguration {
+            if (maxRounds < 1 || betRamp == null || betRamp.length == 0
+                    || Arrays.stream(betRamp).anyMatch(unit -> unit < 1)) {
+                throw new IllegalArgumentException(
+                        String.format("Counting needs a positive maxRounds and a bet ramp of at "
+                                        + "least the minimum bet. maxRounds = [%s], betRamp = %s",
+                                maxRounds, Arrays.toString(betRamp)));
+            }
+            indexPlays = List.copyOf(indexPlays);
+            betRamp = betRamp.clone();
+        }
+
+        /** Returns a copy of the bet ramp. */
+        @Override
+        public int[] betRamp() {
+            return betRamp.clone();
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof CountingConfiguration other
+                    && system == other.system
+                    && indexPlays.equals(other.indexPlays)
+                    && maxRounds == other.maxRounds
+                    && Arrays.equals(betRamp, other.betRamp);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(system, indexPlays, maxRounds, Arrays.hashCode(betRamp));
+        }
+
+        @Override
+        public String toString() {
+            return String.format("CountingConfiguration[system=%s, indexPlays=%s, maxRounds=%s, "
+                    + "betRamp=%s]", system, indexPlays, maxRounds, Arrays.toString(betRamp));
+        }
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,19 @@
+package com.drawkcab.blackjack.simulation.modules;
+
+import com.google.inject.BindingAnnotation;
+import java.lang.annotation.Retention;
+import java.lang.annotation.Target;
+
+import static java.lang.annotation.ElementType.FIELD;
+import static java.lang.annotation.ElementType.PARAMETER;
+import static java.lang.annotation.ElementType.METHOD;
+import static java.lang.annotation.RetentionPolicy.RUNTIME;
+
+/**
+ * A fingerprint of everything in the configuration that decides how games play out, apart from
+ * the seed, so a checkpoint can tell it's being resumed by a differently configured simulation.
+ */
+@BindingAnnotation
+@Target({ FIELD, PARAMETER, METHOD })
+@Retention(RUNTIME)
+public @interface SimulationFingerprint {}
\ No newline at end of file
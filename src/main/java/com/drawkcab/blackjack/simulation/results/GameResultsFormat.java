@@ -0,0 +1,65 @@
+package com.drawkcab.blackjack.simulation.results;
+
+import java.nio.ByteBuffer;
+
+/**
+ * The layout of a game results file, shared by {@link GameResultsWriter} and
+ * {@link GameResultsReader}.
+ *
+ * <p>The file starts with a {@value #FILE_HEADER_BYTES} byte header: the magic number, the format
+ * version and the region size, as big-endian ints, then zero padding. The rest of the file is
+ * fixed-size regions, each owned by one writing thread. A region starts with the number of bytes
+ * of blocks that follow as an int, and the rest of it is unused.</p>
+ *
+ * <p>A block holds consecutive games. It's the index of its first game and the number of games,
+ * as unsigned varints, then for each game the number of rounds it lasted as an unsigned varint
+ * and its peak bank as a zigzag varint delta from the previous game's peak bank in the block (the
+ * first from zero). Varints are LEB128: seven bits per byte, least significant group first, with
+ * the high bit set on every byte but the last.</p>
+ */
+final class GameResultsFormat {
+    // "BJGR", so a stray file isn't mistaken for results.
+    static final int MAGIC = 0x424a4752;
+    static final int VERSION = 1;
+    static final int FILE_HEADER_BYTES = 16;
+    static final int REGION_HEADER_BYTES = Integer.BYTES;
+
+    /** The longest a varint of a 64-bit value can be. */
+    static final int MAX_VARINT_BYTES = 10;
+
+    private GameResultsFormat() {
+    }
+
+    /** Returns the most bytes a block of {@code games} games can take. */
+    static int maxBlockBytes(int games) {
+        return 2 * MAX_VARINT_BYTES + games * 2 * MAX_VARINT_BYTES;
+    }
+
+    static void putVarint(ByteBuffer buffer, long value) {
+        while ((value & ~0x7FL) != 0) {
+            buffer.put((byte) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        buffer.put((byte) value);
+    }
+
+    static long getVarint(ByteBuffer buffer) {
+        long value = 0;
+        for (int shift = 0; ; shift += 7) {
+            byte b = buffer.get();
+            value |= (long) (b & 0x7F) << shift;
+            if (b >= 0) {
+                return value;
+            }
+        }
+    }
+
+    /** Maps signed values to unsigned ones so small magnitudes stay short: 0, -1, 1, -2, ... */
+    static long zigzag(long value) {
+        return (value << 1) ^ (value >> 63);
+    }
+
+    static long unzigzag(long value) {
+        return (value >>> 1) ^ -(value & 1);
+    }
+}
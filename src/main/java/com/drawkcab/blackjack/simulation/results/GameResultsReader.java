@@ -0,0 +1,123 @@
+package com.drawkcab.blackjack.simulation.results;
+
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+import static com.drawkcab.blackjack.simulation.results.GameResultsFormat.FILE_HEADER_BYTES;
+import static com.drawkcab.blackjack.simulation.results.GameResultsFormat.REGION_HEADER_BYTES;
+
+/**
+ * Reads a file written by {@link GameResultsWriter}.
+ *
+ * <p>The file is memory-mapped in large windows and decoded in a single sequential pass into a
+ * primitive callback, so nothing is boxed or kept and a scan runs at about the speed the disk
+ * can deliver the file, however many games it holds.</p>
+ */
+public final class GameResultsReader {
+    // Whole regions are mapped at once, up to about this many bytes.
+    private static final long WINDOW_BYTES = 1L << 30;
+
+    private GameResultsReader() {
+    }
+
+    /** Receives each game read from a results file. */
+    @FunctionalInterface
+    public interface GameVisitor {
+        /**
+         * Called once per game.
+         *
+         * @param game     the game's index in the simulation
+         * @param rounds   the number of rounds it lasted
+         * @param peakBank the most its bank held, in {@link com.drawkcab.blackjack.game.Money}
+         *                 units
+         */
+        void visit(long game, long rounds, long peakBank);
+    }
+
+    /**
+     * Visits every game in a results file. Games come in the order they were written, which
+     * isn't game order.
+     *
+     * @param path    the results file
+     * @param visitor called for each game
+     * @return the number of games visited
+     * @throws IOException if the file can't be read or isn't a results file
+     */
+    public static long scan(Path path, GameVisitor visitor) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            int regionBytes = readRegionBytes(channel, path);
+            long regionCount = (channel.size() - FILE_HEADER_BYTES) / regionBytes;
+            long regionsPerWindow = Math.max(1, WINDOW_BYTES / regionBytes);
+
+            long games = 0;
+            for (long first = 0; first < regionCount; first += regionsPerWindow) {
+                long regions = Math.min(regionsPerWindow, regionCount - first);
+                MappedByteBuffer window = channel.map(FileChannel.MapMode.READ_ONLY,
+                        FILE_HEADER_BYTES + first * regionBytes, regions * regionBytes);
+                for (int region = 0; region < regions; region++) {
+                    games += scanRegion(window, region * regionBytes, regionBytes, visitor,
+                            path);
+                }
+            }
+            return games;
+        }
+    }
+
+    private static int readRegionBytes(FileChannel channel, Path path) throws IOException {
+        ByteBuffer header = ByteBuffer.allocate(FILE_HEADER_BYTES);
+        while (header.hasRemaining()) {
+            if (channel.read(header) < 0) {
+                break;
+            }
+        }
+        header.flip();
+        if (header.remaining() < FILE_HEADER_BYTES || header.getInt() != GameResultsFormat.MAGIC
+                || header.getInt() != GameResultsFormat.VERSION) {
+            throw new IOException(
+                    String.format("Not a version [%s] results file. path = [%s]",
+                            GameResultsFormat.VERSION, path));
+        }
+        int regionBytes = header.getInt();
+        if (regionBytes <= REGION_HEADER_BYTES) {
+            throw new IOException(
+                    String.format("Corrupt results file. regionBytes = [%s], path = [%s]",
+                            regionBytes, path));
+        }
+        return regionBytes;
+    }
+
+    private static long scanRegion(MappedByteBuffer window, int start, int regionBytes,
+                                   GameVisitor visitor, Path path) throws IOException {
+        int used = window.getInt(start);
+        if (used < 0 || used > regionBytes - REGION_HEADER_BYTES) {
+            throw new IOException(
+                    String.format("Corrupt results file. used = [%s], path = [%s]", used, path));
+        }
+        ByteBuffer blocks = window.slice(start + REGION_HEADER_BYTES, used);
+
+        long games = 0;
+        try {
+            while (blocks.hasRemaining()) {
+                long game = GameResultsFormat.getVarint(blocks);
+                long count = GameResultsFormat.getVarint(blocks);
+                long peakBank = 0;
+                for (long i = 0; i < count; i++) {
+                    long rounds = GameResultsFormat.getVarint(blocks);
+                    peakBank += GameResultsFormat.unzigzag(GameResultsFormat.getVarint(blocks));
+                    visitor.visit(game + i, rounds, peakBank);
+                }
+                games += count;
+            }
+        } catch (BufferUnderflowException e) {
+            throw new IOException(
+                    String.format("Corrupt results file, a block is cut short. path = [%s]", path),
+                    e);
+        }
+        return games;
+    }
+}
@@ -0,0 +1,168 @@
+package com.drawkcab.blackjack.simulation.results;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static com.drawkcab.blackjack.simulation.results.GameResultsFormat.FILE_HEADER_BYTES;
+import static com.drawkcab.blackjack.simulation.results.GameResultsFormat.REGION_HEADER_BYTES;
+
+/**
+ * Streams the length and peak bank of every game of a simulation to a compact binary file, for
+ * analysis that needs more than the summary statistics. Read it back with
+ * {@link GameResultsReader}.
+ *
+ * <p>Each writing thread gets its own region of the file, claimed with a single atomic add and
+ * memory-mapped, so threads never contend and a write is just encoding into memory. Games are
+ * written in blocks of consecutive games, with varint and delta encoding (see
+ * {@link GameResultsFormat}), which takes a typical game to three or four bytes. A region records
+ * how much of it holds complete blocks after every block, so if the JVM dies the file is still
+ * readable up to the last blocks the OS got to disk.</p>
+ *
+ * <p>Blocks land in the file in the order threads finish them, not in game order, so every block
+ * records the index of its first game. Regions are allocated whole, so a file has up to one
+ * region of slack per thread. On most file systems the untouched part of a region takes no
+ * space.</p>
+ *
+ * <p>Safe to write from many threads at once. Close it once every write has returned.</p>
+ */
+public final class GameResultsWriter implements AutoCloseable {
+    /** The default region size, big enough that threads rarely need to claim another. */
+    public static final int DEFAULT_REGION_BYTES = 1 << 20;
+
+    private final FileChannel channel;
+    private final int regionBytes;
+    // The most games a block can hold and still fit in a region.
+    private final int maxGamesPerBlock;
+    private final AtomicLong regionsClaimed = new AtomicLong();
+    private final Queue<MappedByteBuffer> regions = new ConcurrentLinkedQueue<>();
+    private final ThreadLocal<MappedByteBuffer> threadRegions = new ThreadLocal<>();
+    private volatile boolean closed;
+
+    private GameResultsWriter(FileChannel channel, int regionBytes) {
+        this.channel = channel;
+        this.regionBytes = regionBytes;
+        int bytesPerGame = GameResultsFormat.maxBlockBytes(1) - GameResultsFormat.maxBlockBytes(0);
+        this.maxGamesPerBlock =
+                (regionBytes - REGION_HEADER_BYTES - GameResultsFormat.maxBlockBytes(0))
+                        / bytesPerGame;
+    }
+
+    /**
+     * Creates a results file with {@link #DEFAULT_REGION_BYTES default regions}, replacing any
+     * file already at {@code path}.
+     *
+     * @throws IOException if the file can't be created
+     */
+    public static GameResultsWriter create(Path path) throws IOException {
+        return create(path, DEFAULT_REGION_BYTES);
+    }
+
+    /**
+     * Creates a results file, replacing any file already at {@code path}.
+     *
+     * @param path        the file to write
+     * @param regionBytes the size of each thread's region
+     * @throws IOException              if the file can't be created
+     * @throws IllegalArgumentException if a region couldn't hold a single one-game block
+     */
+    public static GameResultsWriter create(Path path, int regionBytes) throws IOException {
+        if (regionBytes < REGION_HEADER_BYTES + GameResultsFormat.maxBlockBytes(1)) {
+            throw new IllegalArgumentException(
+                    String.format("Regions are too small to hold a game. regionBytes = [%s]",
+                            regionBytes));
+        }
+        FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.READ,
+                StandardOpenOption.WRITE);
+        ByteBuffer header = ByteBuffer.allocate(FILE_HEADER_BYTES)
+                .putInt(GameResultsFormat.MAGIC)
+                .putInt(GameResultsFormat.VERSION)
+                .putInt(regionBytes)
+                .flip()
+                .limit(FILE_HEADER_BYTES);
+        while (header.hasRemaining()) {
+            channel.write(header);
+        }
+        return new GameResultsWriter(channel, regionBytes);
+    }
+
+    /**
+     * Writes a block of consecutive games. A block too big for one region is split into as many
+     * blocks as it takes.
+     *
+     * @param firstGame the index of the first game
+     * @param rounds    the number of rounds each game lasted
+     * @param peakBanks the most each game's bank held, in
+     *                  {@link com.drawkcab.blackjack.game.Money} units
+     * @param count     the number of games, from the start of both arrays
+     * @throws IllegalStateException    if the writer is closed
+     * @throws UncheckedIOException     if a new region can't be mapped
+     */
+    public void write(long firstGame, long[] rounds, long[] peakBanks, int count) {
+        if (closed) {
+            throw new IllegalStateException("The results file is closed.");
+        }
+        for (int offset = 0; offset < count; offset += maxGamesPerBlock) {
+            writeBlock(firstGame + offset, rounds, peakBanks, offset,
+                    Math.min(maxGamesPerBlock, count - offset));
+        }
+    }
+
+    private void writeBlock(long firstGame, long[] rounds, long[] peakBanks, int offset,
+                            int count) {
+        int maxBytes = GameResultsFormat.maxBlockBytes(count);
+        MappedByteBuffer region = threadRegions.get();
+        if (region == null || region.remaining() < maxBytes) {
+            region = claimRegion();
+            threadRegions.set(region);
+        }
+
+        GameResultsFormat.putVarint(region, firstGame);
+        GameResultsFormat.putVarint(region, count);
+        long previousPeak = 0;
+        for (int i = offset; i < offset + count; i++) {
+            GameResultsFormat.putVarint(region, rounds[i]);
+            GameResultsFormat.putVarint(region,
+                    GameResultsFormat.zigzag(peakBanks[i] - previousPeak));
+            previousPeak = peakBanks[i];
+        }
+        // Only now does the block count, so a reader never sees half of one.
+        region.putInt(0, region.position() - REGION_HEADER_BYTES);
+    }
+
+    /**
+     * Flushes every region to disk and closes the file.
+     */
+    @Override
+    public void close() throws IOException {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        for (MappedByteBuffer region : regions) {
+            region.force();
+        }
+        channel.close();
+    }
+
+    private MappedByteBuffer claimRegion() {
+        long offset = FILE_HEADER_BYTES + regionsClaimed.getAndIncrement() * regionBytes;
+        try {
+            MappedByteBuffer region =
+                    channel.map(FileChannel.MapMode.READ_WRITE, offset, regionBytes);
+            region.position(REGION_HEADER_BYTES);
+            regions.add(region);
+            return region;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
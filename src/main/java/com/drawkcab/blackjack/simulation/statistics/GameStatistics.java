@@ -0,0 +1,162 @@
+package com.drawkcab.blackjack.simulation.statistics;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.Objects;
+
+/**
+ * Constant-memory summary of how many rounds each simulated game lasted.
+ *
+ * <p>The mean and variance are tracked with {@link Moments}, and quantiles (median,
+ * percentiles) with a {@link TDigest}. The full distribution, for survival curves and extreme
+ * percentiles, is kept in a {@link LogHistogram}. None of them keeps the individual game lengths
+ * around, so a billion-game run uses exactly as much memory as a ten-game run.</p>
+ *
+ * <p>Instances are not thread safe. Each worker accumulates its own statistics and the partials are
+ * combined with {@link #merge}. The merged moments and histogram are the same as if every game had
+ * been added to a single instance (the moments up to floating point rounding).</p>
+ */
+public class GameStatistics {
+    private final Moments moments;
+    private final TDigest quantiles;
+    private final LogHistogram histogram;
+
+    public GameStatistics() {
+        this(new Moments(), new TDigest(), new LogHistogram());
+    }
+
+    private GameStatistics(Moments moments, TDigest quantiles, LogHistogram histogram) {
+        this.moments = moments;
+        this.quantiles = quantiles;
+        this.histogram = histogram;
+    }
+
+    /**
+     * Records the length of one game.
+     *
+     * @param rounds the number of rounds the game lasted
+     * @throws IllegalArgumentException if {@code rounds} is negative
+     */
+    public void add(long rounds) {
+        histogram.record(rounds);
+        moments.add(rounds);
+        quantiles.add(rounds);
+    }
+
+    /**
+     * Folds another partial into this one.
+     *
+     * @param other statistics over a disjoint set of games
+     * @return this instance, for chaining
+     */
+    public GameStatistics merge(GameStatistics other) {
+        if (other.count() == 0) {
+            return this;
+        }
+        moments.merge(other.moments);
+        quantiles.merge(other.quantiles);
+        histogram.merge(other.histogram);
+        return this;
+    }
+
+    /** @return the number of games recorded */
+    public long count() {
+        return moments.count();
+    }
+
+    /** @return the mean game length, or {@link Double#NaN} if no games were recorded */
+    public double mean() {
+        return moments.mean();
+    }
+
+    /**
+     * Returns the sample standard deviation of the game lengths (dividing by {@code n - 1}).
+     *
+     * @return the standard deviation, {@code 0} for a single game, or {@link Double#NaN} if no
+     *         games were recorded
+     */
+    public double standardDeviation() {
+        return moments.standardDeviation();
+    }
+
+    /** @return the estimated median game length */
+    public double median() {
+        return quantile(0.5);
+    }
+
+    /**
+     * Returns the estimated game length at a quantile.
+     *
+     * @param quantile the quantile, between 0 and 1 inclusive (0.99 is the 99th percentile)
+     */
+    public double quantile(double quantile) {
+        return quantiles.quantile(quantile);
+    }
+
+    /** @return the shortest game recorded */
+    public double min() {
+        return quantiles.min();
+    }
+
+    /** @return the longest game recorded */
+    public double max() {
+        return quantiles.max();
+    }
+
+    /**
+     * Returns the fraction of games that lasted more than {@code rounds} rounds: the probability
+     * a game is still being played after that many. See {@link LogHistogram#survival}.
+     *
+     * @return the fraction, or {@link Double#NaN} if no games were recorded
+     */
+    public double survival(long rounds) {
+        return histogram.survival(rounds);
+    }
+
+    /**
+     * Returns the histogram of game lengths, for exporting survival curves and percentile tables.
+     * It's live, so copy it with {@code new LogHistogram().merge(...)} before adding more games.
+     */
+    public LogHistogram histogram() {
+        return histogram;
+    }
+
+    /**
+     * Writes the statistics so {@link #readFrom} can restore them exactly.
+     */
+    public void writeTo(DataOutput out) throws IOException {
+        moments.writeTo(out);
+        quantiles.writeTo(out);
+        histogram.writeTo(out);
+    }
+
+    /**
+     * Reads statistics written by {@link #writeTo}. Adding to or merging them gives exactly what
+     * it would have given with the statistics that were written.
+     *
+     * @throws IOException if the input ends early or doesn't hold statistics
+     */
+    public static GameStatistics readFrom(DataInput in) throws IOException {
+        return new GameStatistics(Moments.readFrom(in), TDigest.readFrom(in),
+                LogHistogram.readFrom(in));
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof GameStatistics other)) {
+            return false;
+        }
+        return moments.equals(other.moments)
+                && quantiles.equals(other.quantiles)
+                && histogram.equals(other.histogram);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(moments, quantiles, histogram);
+    }
+}
@@ -0,0 +1,292 @@
+package com.drawkcab.blackjack.simulation.statistics;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.Arrays;
+
+/**
+ * A log-bucketed histogram of non-negative values, in the style of HdrHistogram, for the full
+ * distribution of game lengths: survival curves and extreme percentiles that a sketch like
+ * {@link TDigest} can only estimate.
+ *
+ * <p>Values below {@value #EXACT_VALUES} are counted exactly. Above that, each power of two is
+ * split into {@value #SUB_BUCKETS} equal-width buckets, so a value is known to within 1/128 of
+ * itself whatever its size. Recording is a bit-length computation and an array increment.
+ * Memory is fixed. A power of two's buckets are only allocated once a value lands in it, so a
+ * histogram of typical game lengths holds a dozen or so small arrays.</p>
+ *
+ * <p>Counts are integers, so merging is exact and the result never depends on the order of
+ * merges. Instances are not thread safe: give each worker its own and {@link #merge} them.</p>
+ */
+public class LogHistogram {
+    private static final int SUB_BUCKET_BITS = 8;
+    /** Values below this are counted exactly. */
+    public static final int EXACT_VALUES = 1 << SUB_BUCKET_BITS;
+    /** The number of buckets each power of two above the exact values is split into. */
+    public static final int SUB_BUCKETS = EXACT_VALUES / 2;
+    // Bucket 0 holds the exact values, bucket b holds values with a bit length of
+    // SUB_BUCKET_BITS + b, in SUB_BUCKETS buckets of width 2^b.
+    private static final int BUCKETS = Long.SIZE - SUB_BUCKET_BITS;
+
+    private final long[][] counts = new long[BUCKETS][];
+    private long totalCount;
+
+    /**
+     * Records one value.
+     *
+     * @throws IllegalArgumentException if the value is negative
+     */
+    public void record(long value) {
+        if (value < 0) {
+            throw new IllegalArgumentException(
+                    String.format("Only non-negative values can be recorded. value = [%s]",
+                            value));
+        }
+        int bucket = bucketOf(value);
+        long[] bucketCounts = counts[bucket];
+        if (bucketCounts == null) {
+            bucketCounts = counts[bucket] = new long[bucketLength(bucket)];
+        }
+        bucketCounts[subBucketOf(value, bucket)]++;
+        totalCount++;
+    }
+
+    /**
+     * Adds every count of another histogram to this one.
+     *
+     * @return this histogram, for chaining
+     */
+    public LogHistogram merge(LogHistogram other) {
+        for (int bucket = 0; bucket < BUCKETS; bucket++) {
+            long[] theirs = other.counts[bucket];
+            if (theirs == null) {
+                continue;
+            }
+            if (counts[bucket] == null) {
+                counts[bucket] = theirs.clone();
+            } else {
+                long[] ours = counts[bucket];
+                for (int i = 0; i < ours.length; i++) {
+                    ours[i] += theirs[i];
+                }
+            }
+        }
+        totalCount += other.totalCount;
+        return this;
+    }
+
+    /** @return the number of values recorded */
+    public long count() {
+        return totalCount;
+    }
+
+    /**
+     * Returns the fraction of values greater than {@code value}. For game lengths, that's the
+     * probability a game is still going after {@code value} rounds.
+     *
+     * <p>Exact below {@value #EXACT_VALUES}. Above, values are assumed to be spread evenly
+     * across the bucket {@code value} falls in.</p>
+     *
+     * @return the fraction, or {@link Double#NaN} if nothing was recorded
+     */
+    public double survival(long value) {
+        if (totalCount == 0) {
+            return Double.NaN;
+        }
+        if (value < 0) {
+            return 1;
+        }
+        int valueBucket = bucketOf(value);
+        int valueSubBucket = subBucketOf(value, valueBucket);
+        long above = 0;
+        double partial = 0;
+        for (int bucket = valueBucket; bucket < BUCKETS; bucket++) {
+            long[] bucketCounts = counts[bucket];
+            if (bucketCounts == null) {
+                continue;
+            }
+            int first = 0;
+            if (bucket == valueBucket) {
+                first = valueSubBucket + 1;
+                long highest = lowestValue(bucket, valueSubBucket) + bucketWidth(bucket) - 1;
+                // The share of the bucket holding value that's above it.
+                partial = bucketCounts[valueSubBucket] * (double) (highest - value)
+                        / bucketWidth(bucket);
+            }
+            for (int i = first; i < bucketCounts.length; i++) {
+                above += bucketCounts[i];
+            }
+        }
+        return (above + partial) / totalCount;
+    }
+
+    /**
+     * Returns the value at a percentile: the largest value that could be in the bucket holding
+     * the value at that rank, so at least {@code percentile}% of values are at or below it.
+     *
+     * @param percentile the percentile, between 0 and 100 inclusive
+     * @return the value, or {@code -1} if nothing was recorded
+     * @throws IllegalArgumentException if the percentile is out of range
+     */
+    public long valueAtPercentile(double percentile) {
+        if (!(percentile >= 0 && percentile <= 100)) {
+            throw new IllegalArgumentException(
+                    String.format("Percentile must be between 0 and 100. percentile = [%s]",
+                            percentile));
+        }
+        if (totalCount == 0) {
+            return -1;
+        }
+        long rank = Math.max(1, (long) Math.ceil(percentile / 100 * totalCount));
+        long seen = 0;
+        for (int bucket = 0; bucket < BUCKETS; bucket++) {
+            long[] bucketCounts = counts[bucket];
+            if (bucketCounts == null) {
+                continue;
+            }
+            for (int i = 0; i < bucketCounts.length; i++) {
+                seen += bucketCounts[i];
+                if (seen >= rank) {
+                    return lowestValue(bucket, i) + bucketWidth(bucket) - 1;
+                }
+            }
+        }
+        throw new IllegalStateException(
+                String.format("Counts don't add up to the total. totalCount = [%s]", totalCount));
+    }
+
+    /**
+     * Writes the survival curve as CSV, {@code rounds,survival}, with a row for the lowest value
+     * of every bucket holding values, and a row for the largest value that could have been
+     * recorded, where survival reaches zero.
+     */
+    public void writeSurvivalCurve(Appendable out) throws IOException {
+        out.append("rounds,survival\n");
+        long highest = -1;
+        for (int bucket = 0; bucket < BUCKETS; bucket++) {
+            long[] bucketCounts = counts[bucket];
+            if (bucketCounts == null) {
+                continue;
+            }
+            for (int i = 0; i < bucketCounts.length; i++) {
+                if (bucketCounts[i] != 0) {
+                    long low = lowestValue(bucket, i);
+                    // Survival at low - 1 counts every value in this bucket.
+                    out.append(Long.toString(low)).append(',')
+                            .append(Double.toString(survival(low - 1))).append('\n');
+                    highest = low + bucketWidth(bucket) - 1;
+                }
+            }
+        }
+        if (highest >= 0) {
+            out.append(Long.toString(highest + 1)).append(",0.0\n");
+        }
+    }
+
+    /**
+     * Writes a percentile table as CSV, {@code percentile,rounds}, see
+     * {@link #valueAtPercentile}.
+     */
+    public void writePercentiles(Appendable out, double... percentiles) throws IOException {
+        out.append("percentile,rounds\n");
+        for (double percentile : percentiles) {
+            out.append(Double.toString(percentile)).append(',')
+                    .append(Long.toString(valueAtPercentile(percentile))).append('\n');
+        }
+    }
+
+    /**
+     * Writes the histogram so {@link #readFrom} can restore it exactly. Only buckets holding
+     * values are written.
+     */
+    public void writeTo(DataOutput out) throws IOException {
+        out.writeLong(totalCount);
+        for (int bucket = 0; bucket < BUCKETS; bucket++) {
+            long[] bucketCounts = counts[bucket];
+            if (bucketCounts == null) {
+                continue;
+            }
+            out.writeByte(bucket);
+            for (long count : bucketCounts) {
+                out.writeLong(count);
+            }
+        }
+        out.writeByte(-1);
+    }
+
+    /**
+     * Reads a histogram written by {@link #writeTo}.
+     *
+     * @throws IOException if the input ends early or doesn't hold a histogram
+     */
+    public static LogHistogram readFrom(DataInput in) throws IOException {
+        LogHistogram histogram = new LogHistogram();
+        histogram.totalCount = in.readLong();
+        for (int bucket = in.readByte(); bucket != -1; bucket = in.readByte()) {
+            if (bucket < 0 || bucket >= BUCKETS || histogram.counts[bucket] != null) {
+                throw new IOException(
+                        String.format("Not a histogram. bucket = [%s]", bucket));
+            }
+            long[] bucketCounts = new long[bucketLength(bucket)];
+            for (int i = 0; i < bucketCounts.length; i++) {
+                bucketCounts[i] = in.readLong();
+            }
+            histogram.counts[bucket] = bucketCounts;
+        }
+        return histogram;
+    }
+
+    private static int bucketOf(long value) {
+        return Math.max(0, Long.SIZE - Long.numberOfLeadingZeros(value) - SUB_BUCKET_BITS);
+    }
+
+    private static int subBucketOf(long value, int bucket) {
+        // The top SUB_BUCKET_BITS bits of values in bucket b > 0 always start with a one, so the
+        // index drops it.
+        return bucket == 0 ? (int) value : (int) (value >>> bucket) - SUB_BUCKETS;
+    }
+
+    private static int bucketLength(int bucket) {
+        return bucket == 0 ? EXACT_VALUES : SUB_BUCKETS;
+    }
+
+    private static long bucketWidth(int bucket) {
+        return 1L << bucket;
+    }
+
+    private static long lowestValue(int bucket, int subBucket) {
+        return bucket == 0 ? subBucket : (long) (subBucket + SUB_BUCKETS) << bucket;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof LogHistogram other) || totalCount != other.totalCount) {
+            return false;
+        }
+        for (int bucket = 0; bucket < BUCKETS; bucket++) {
+            if (!Arrays.equals(countsOrEmpty(bucket), other.countsOrEmpty(bucket))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public int hashCode() {
+        int result = Long.hashCode(totalCount);
+        for (int bucket = 0; bucket < BUCKETS; bucket++) {
+            result = 31 * result + Arrays.hashCode(countsOrEmpty(bucket));
+        }
+        return result;
+    }
+
+    // An allocated bucket of zeros, as left by merging, equals one never allocated.
+    private long[] countsOrEmpty(int bucket) {
+        long[] bucketCounts = counts[bucket];
+        return bucketCounts == null ? new long[bucketLength(bucket)] : bucketCounts;
+    }
+}
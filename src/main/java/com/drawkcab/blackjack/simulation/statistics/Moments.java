@@ -0,0 +1,119 @@
+package com.drawkcab.blackjack.simulation.statistics;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.Objects;
+
+/**
+ * Constant-memory running count, mean and variance of a stream of values, which may be negative.
+ *
+ * <p>Values are added with Welford's online algorithm, and partials are combined with
+ * {@link #merge}, which uses Chan et al.'s pairwise update so the merged moments are the same as
+ * if every value had been added to a single instance (up to floating point rounding).</p>
+ *
+ * <p>Instances are not thread safe.</p>
+ */
+public class Moments {
+    private long count;
+    private double mean;
+    // Sum of squared differences from the running mean.
+    private double m2;
+
+    /**
+     * Records one value.
+     */
+    public void add(double value) {
+        count++;
+        double delta = value - mean;
+        mean += delta / count;
+        m2 += delta * (value - mean);
+    }
+
+    /**
+     * Folds another partial into this one.
+     *
+     * @param other moments over a disjoint set of values
+     * @return this instance, for chaining
+     */
+    public Moments merge(Moments other) {
+        if (other.count == 0) {
+            return this;
+        }
+        if (count == 0) {
+            count = other.count;
+            mean = other.mean;
+            m2 = other.m2;
+        } else {
+            long combined = count + other.count;
+            double delta = other.mean - mean;
+            mean += delta * other.count / combined;
+            m2 += other.m2 + delta * delta * ((double) count * other.count / combined);
+            count = combined;
+        }
+        return this;
+    }
+
+    /** @return the number of values recorded */
+    public long count() {
+        return count;
+    }
+
+    /** @return the mean, or {@link Double#NaN} if no values were recorded */
+    public double mean() {
+        return count == 0 ? Double.NaN : mean;
+    }
+
+    /**
+     * Returns the sample standard deviation (dividing by {@code n - 1}).
+     *
+     * @return the standard deviation, {@code 0} for a single value, or {@link Double#NaN} if no
+     *         values were recorded
+     */
+    public double standardDeviation() {
+        if (count == 0) {
+            return Double.NaN;
+        }
+        return count == 1 ? 0.0 : Math.sqrt(m2 / (count - 1));
+    }
+
+    /**
+     * Writes the moments so {@link #readFrom} can restore them exactly.
+     */
+    public void writeTo(DataOutput out) throws IOException {
+        out.writeLong(count);
+        out.writeDouble(mean);
+        out.writeDouble(m2);
+    }
+
+    /**
+     * Reads moments written by {@link #writeTo}.
+     *
+     * @throws IOException if the input ends early
+     */
+    public static Moments readFrom(DataInput in) throws IOException {
+        Moments moments = new Moments();
+        moments.count = in.readLong();
+        moments.mean = in.readDouble();
+        moments.m2 = in.readDouble();
+        return moments;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof Moments other)) {
+            return false;
+        }
+        return count == other.count
+                && Double.compare(mean, other.mean) == 0
+                && Double.compare(m2, other.m2) == 0;
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(count, mean, m2);
+    }
+}
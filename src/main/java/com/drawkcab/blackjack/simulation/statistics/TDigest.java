@@ -0,0 +1,363 @@
+package com.drawkcab.blackjack.simulation.statistics;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.Arrays;
+
+/**
+ * A mergeable, fixed-size sketch of a distribution that answers quantile queries.
+ *
+ * <p>This is a merging t-digest (Dunning &amp; Ertl). Values are summarized as weighted centroids,
+ * with centroids kept small near the tails and allowed to grow toward the median, so extreme
+ * quantiles stay accurate while memory stays bounded by the compression, no matter how many values
+ * are added.</p>
+ *
+ * <p>Incoming values are buffered and periodically folded into the centroids in a single sorted
+ * pass. Given the same sequence of {@link #add} and {@link #merge} calls the digest is always the
+ * same, which keeps seeded simulations reproducible. Instances are not thread safe; give each
+ * thread its own digest and {@link #merge} them at the end.</p>
+ */
+public class TDigest {
+    /** Trades accuracy for size. Roughly bounds the number of centroids kept. */
+    public static final int DEFAULT_COMPRESSION = 100;
+
+    private final double compression;
+
+    // Centroids, sorted by mean.
+    private final double[] means;
+    private final long[] weights;
+    private int centroidCount;
+
+    // Unmerged single values.
+    private final double[] buffer;
+    private int bufferCount;
+
+    // Scratch space for compress(), reused to avoid allocating on every merge pass.
+    private final double[] scratchMeans;
+    private final long[] scratchWeights;
+
+    private long totalWeight;
+    private double min = Double.POSITIVE_INFINITY;
+    private double max = Double.NEGATIVE_INFINITY;
+
+    /** Creates an empty digest with the {@link #DEFAULT_COMPRESSION default compression}. */
+    public TDigest() {
+        this(DEFAULT_COMPRESSION);
+    }
+
+    /**
+     * Creates an empty digest.
+     *
+     * @param compression how many centroids to aim for; higher is more accurate and larger
+     */
+    public TDigest(int compression) {
+        if (compression < 10) {
+            throw new IllegalArgumentException(
+                    String.format("Compression must be at least 10. compression = [%s]",
+                            compression));
+        }
+        this.compression = compression;
+
+        // The k1 scale function bounds the merged digest to about `compression` centroids, merging
+        // two digests can briefly hold both.
+        int capacity = 2 * compression + 10;
+        means = new double[capacity];
+        weights = new long[capacity];
+        buffer = new double[5 * compression];
+        scratchMeans = new double[capacity + buffer.length];
+        scratchWeights = new long[capacity + buffer.length];
+    }
+
+    /**
+     * Adds a single value to the digest.
+     */
+    public void add(double value) {
+        if (bufferCount == buffer.length) {
+            compress();
+        }
+        buffer[bufferCount++] = value;
+        totalWeight++;
+        min = Math.min(min, value);
+        max = Math.max(max, value);
+    }
+
+    /**
+     * Folds all values from another digest into this one. The other digest is left summarizing the
+     * same values it did before.
+     */
+    public void merge(TDigest other) {
+        if (other.totalWeight == 0) {
+            return;
+        }
+        compress();
+        other.compress();
+
+        // Both centroid lists are sorted, so a linear merge keeps them sorted. Ties keep this
+        // digest's centroid first, so the result only depends on the order of merges.
+        int count = 0;
+        int i = 0;
+        int j = 0;
+        while (i < centroidCount || j < other.centroidCount) {
+            if (j >= other.centroidCount
+                    || (i < centroidCount && means[i] <= other.means[j])) {
+                scratchMeans[count] = means[i];
+                scratchWeights[count++] = weights[i++];
+            } else {
+                scratchMeans[count] = other.means[j];
+                scratchWeights[count++] = other.weights[j++];
+            }
+        }
+
+        totalWeight += other.totalWeight;
+        min = Math.min(min, other.min);
+        max = Math.max(max, other.max);
+        mergeCentroids(count);
+    }
+
+    /**
+     * Returns an estimate of the value at the given quantile.
+     *
+     * @param quantile the quantile, between 0 and 1 inclusive (0.5 is the median)
+     * @return the estimated value, or {@link Double#NaN} if the digest is empty
+     */
+    public double quantile(double quantile) {
+        if (quantile < 0 || quantile > 1) {
+            throw new IllegalArgumentException(
+                    String.format("Quantile must be between 0 and 1. quantile = [%s]", quantile));
+        }
+        compress();
+
+        if (centroidCount == 0) {
+            return Double.NaN;
+        }
+        if (centroidCount == 1) {
+            return means[0];
+        }
+
+        int n = centroidCount;
+        double index = quantile * totalWeight;
+        if (index < 1) {
+            return min;
+        }
+
+        // Interpolate between the minimum and the first centroid.
+        if (weights[0] > 1 && index < weights[0] / 2.0) {
+            return min + (index - 1) / (weights[0] / 2.0 - 1) * (means[0] - min);
+        }
+
+        if (index > totalWeight - 1) {
+            return max;
+        }
+
+        // Interpolate between the last centroid and the maximum.
+        if (weights[n - 1] > 1 && totalWeight - index <= weights[n - 1] / 2.0) {
+            return max - (totalWeight - index - 1) / (weights[n - 1] / 2.0 - 1)
+                    * (max - means[n - 1]);
+        }
+
+        // Otherwise interpolate between the two centroids either side of the index. A centroid of
+        // weight one is an exact sample, so it owns the half unit of weight around it.
+        double weightSoFar = weights[0] / 2.0;
+        for (int i = 0; i < n - 1; i++) {
+            double delta = (weights[i] + weights[i + 1]) / 2.0;
+            if (weightSoFar + delta > index) {
+                double leftUnit = 0;
+                if (weights[i] == 1) {
+                    if (index - weightSoFar < 0.5) {
+                        return means[i];
+                    }
+                    leftUnit = 0.5;
+                }
+                double rightUnit = 0;
+                if (weights[i + 1] == 1) {
+                    if (weightSoFar + delta - index <= 0.5) {
+                        return means[i + 1];
+                    }
+                    rightUnit = 0.5;
+                }
+                double z1 = index - weightSoFar - leftUnit;
+                double z2 = weightSoFar + delta - index - rightUnit;
+                return weightedAverage(means[i], z2, means[i + 1], z1);
+            }
+            weightSoFar += delta;
+        }
+
+        double z1 = index - totalWeight - weights[n - 1] / 2.0;
+        double z2 = weights[n - 1] / 2.0 - z1;
+        return weightedAverage(means[n - 1], z1, max, z2);
+    }
+
+    /** @return the number of values summarized by this digest */
+    public long size() {
+        return totalWeight;
+    }
+
+    /** @return the smallest value added, or {@link Double#NaN} if the digest is empty */
+    public double min() {
+        return totalWeight == 0 ? Double.NaN : min;
+    }
+
+    /** @return the largest value added, or {@link Double#NaN} if the digest is empty */
+    public double max() {
+        return totalWeight == 0 ? Double.NaN : max;
+    }
+
+    /**
+     * Writes the digest so {@link #readFrom} can restore it exactly.
+     */
+    public void writeTo(DataOutput out) throws IOException {
+        compress();
+        out.writeInt((int) compression);
+        out.writeLong(totalWeight);
+        out.writeDouble(min);
+        out.writeDouble(max);
+        out.writeInt(centroidCount);
+        for (int i = 0; i < centroidCount; i++) {
+            out.writeDouble(means[i]);
+            out.writeLong(weights[i]);
+        }
+    }
+
+    /**
+     * Reads a digest written by {@link #writeTo}. It answers and merges exactly like the digest
+     * that was written.
+     *
+     * @throws IOException if the input ends early or doesn't hold a digest
+     */
+    public static TDigest readFrom(DataInput in) throws IOException {
+        int compression = in.readInt();
+        if (compression < 10) {
+            throw new IOException(
+                    String.format("Not a digest. compression = [%s]", compression));
+        }
+        TDigest digest = new TDigest(compression);
+        digest.totalWeight = in.readLong();
+        digest.min = in.readDouble();
+        digest.max = in.readDouble();
+        int centroidCount = in.readInt();
+        if (centroidCount < 0 || centroidCount > digest.means.length) {
+            throw new IOException(
+                    String.format("Not a digest. centroidCount = [%s]", centroidCount));
+        }
+        for (int i = 0; i < centroidCount; i++) {
+            digest.means[i] = in.readDouble();
+            digest.weights[i] = in.readLong();
+        }
+        digest.centroidCount = centroidCount;
+        return digest;
+    }
+
+    /** @return the number of centroids currently summarizing the distribution */
+    int centroidCount() {
+        compress();
+        return centroidCount;
+    }
+
+    /**
+     * Folds buffered values into the centroids.
+     */
+    private void compress() {
+        if (bufferCount == 0) {
+            return;
+        }
+
+        Arrays.sort(buffer, 0, bufferCount);
+
+        int count = 0;
+        int i = 0;
+        int j = 0;
+        while (i < centroidCount || j < bufferCount) {
+            if (j >= bufferCount || (i < centroidCount && means[i] <= buffer[j])) {
+                scratchMeans[count] = means[i];
+                scratchWeights[count++] = weights[i++];
+            } else {
+                scratchMeans[count] = buffer[j++];
+                scratchWeights[count++] = 1;
+            }
+        }
+        bufferCount = 0;
+
+        mergeCentroids(count);
+    }
+
+    /**
+     * Greedily merges the sorted centroids in scratch space into the digest's centroids, keeping
+     * each merged centroid within the size the scale function allows at its quantile.
+     */
+    private void mergeCentroids(int count) {
+        double total = totalWeight;
+        int n = 0;
+        double weightSoFar = 0;
+        double mean = scratchMeans[0];
+        long weight = scratchWeights[0];
+        double limit = total * integratedQuantile(integratedLocation(0) + 1);
+
+        for (int i = 1; i < count; i++) {
+            long proposed = weight + scratchWeights[i];
+            if (weightSoFar + proposed <= limit) {
+                weight = proposed;
+                mean += (scratchMeans[i] - mean) * scratchWeights[i] / weight;
+            } else {
+                means[n] = mean;
+                weights[n++] = weight;
+                weightSoFar += weight;
+                limit = total * integratedQuantile(integratedLocation(weightSoFar / total) + 1);
+                mean = scratchMeans[i];
+                weight = scratchWeights[i];
+            }
+        }
+        means[n] = mean;
+        weights[n++] = weight;
+        centroidCount = n;
+    }
+
+    // The k1 scale function, k(q) = compression * (asin(2q - 1) + pi/2) / pi, and its inverse.
+
+    private double integratedLocation(double quantile) {
+        return compression * (Math.asin(2 * quantile - 1) + Math.PI / 2) / Math.PI;
+    }
+
+    private double integratedQuantile(double location) {
+        return (Math.sin(Math.min(location, compression) * Math.PI / compression - Math.PI / 2)
+                + 1) / 2;
+    }
+
+    private static double weightedAverage(double x1, double w1, double x2, double w2) {
+        if (x1 > x2) {
+            return weightedAverage(x2, w2, x1, w1);
+        }
+        double average = (x1 * w1 + x2 * w2) / (w1 + w2);
+        return Math.max(x1, Math.min(average, x2));
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof TDigest other)) {
+            return false;
+        }
+        compress();
+        other.compress();
+        return compression == other.compression
+                && totalWeight == other.totalWeight
+                && Double.compare(min, other.min) == 0
+                && Double.compare(max, other.max) == 0
+                && Arrays.equals(means, 0, centroidCount, other.means, 0, other.centroidCount)
+                && Arrays.equals(weights, 0, centroidCount, other.weights, 0,
+                other.centroidCount);
+    }
+
+    @Override
+    public int hashCode() {
+        compress();
+        int result = Long.hashCode(totalWeight);
+        for (int i = 0; i < centroidCount; i++) {
+            result = 31 * result + Double.hashCode(means[i]);
+            result = 31 * result + Long.hashCode(weights[i]);
+        }
+        return result;
+    }
+}
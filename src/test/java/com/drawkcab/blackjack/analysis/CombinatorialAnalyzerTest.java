@@ -0,0 +1,119 @@
+package com.drawkcab.blackjack.analysis;
+
+import com.drawkcab.blackjack.game.Card;
+import com.drawkcab.blackjack.game.Deck;
+import com.drawkcab.blackjack.player.Dealer;
+import com.drawkcab.blackjack.player.Move;
+import com.drawkcab.blackjack.player.Player;
+import com.drawkcab.blackjack.player.strategy.BookPlayerStrategy;
+import com.drawkcab.blackjack.player.strategy.DealerStrategy;
+import com.drawkcab.blackjack.player.strategy.Strategy;
+import com.drawkcab.blackjack.simulation.RoundSimulator;
+import com.google.inject.Guice;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.util.SplittableRandom;
+
+import static com.google.common.truth.Truth.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class CombinatorialAnalyzerTest {
+    private static final int DECKS = 6;
+
+    private static CombinatorialAnalyzer analyzer;
+    private static ExpectedValueTable table;
+
+    @BeforeAll
+    static void analyze() {
+        analyzer = new CombinatorialAnalyzer(Compositions.fullShoe(DECKS), DealerRules.SIMULATION,
+                Runtime.getRuntime().availableProcessors());
+        table = analyzer.decisionTable();
+    }
+
+    @Test
+    void decisionTable_matchesBasicStrategy() {
+        assertThat(table.bestMove(Card.TEN, Card.KING, Card.SIX)).isEqualTo(Move.STAND);
+        assertThat(table.bestMove(Card.FIVE, Card.SIX, Card.SIX)).isEqualTo(Move.DOUBLE_DOWN);
+        assertThat(table.bestMove(Card.TEN, Card.SIX, Card.TEN)).isEqualTo(Move.SURRENDER);
+        assertThat(table.bestMove(Card.TEN, Card.TWO, Card.TEN)).isEqualTo(Move.HIT);
+        assertThat(table.bestMove(Card.ACE, Card.ACE, Card.SIX)).isEqualTo(Move.SPLIT);
+        assertThat(table.bestMove(Card.EIGHT, Card.EIGHT, Card.TEN)).isEqualTo(Move.SPLIT);
+    }
+
+    @Test
+    void decisionTable_surrenderAgainstPeekingDealer_losesHalf() {
+        assertThat(table.expectedValue(Card.TEN, Card.SIX, Card.ACE, Move.SURRENDER))
+                .isEqualTo(-0.5);
+    }
+
+    @Test
+    void decisionTable_splitNonPair_notAllowed() {
+        assertThat(table.expectedValue(Card.TEN, Card.NINE, Card.SIX, Move.SPLIT)).isNaN();
+    }
+
+    @Test
+    void decisionTable_faceCardsShareTens() {
+        assertThat(table.expectedValue(Card.KING, Card.QUEEN, Card.FIVE, Move.STAND))
+                .isEqualTo(table.expectedValue(Card.TEN, Card.TEN, Card.FIVE, Move.STAND));
+    }
+
+    @Test
+    void decisionTable_playerBlackjack_paysThreeToTwo() {
+        // The dealer peeked and doesn't have one, so standing is always paid in full.
+        assertThat(table.expectedValue(Card.ACE, Card.KING, Card.TEN, Move.STAND)).isEqualTo(1.5);
+    }
+
+    @Test
+    void expectedValue_bookStrategy_matchesSimulation() {
+        double expectedValue = analyzer.expectedValue(new BookPlayerStrategy());
+
+        // Play rounds from a freshly shuffled shoe each time, which is what the analysis assumes,
+        // with a bank deep enough to always afford doubling and splitting.
+        int rounds = 2_000_000;
+        long bet = 2;
+        RoundSimulator roundSimulator = Guice.createInjector().getInstance(RoundSimulator.class);
+        Player player = new Player(new BookPlayerStrategy(), Long.MAX_VALUE / 2);
+        Dealer dealer = new Dealer(new DealerStrategy());
+        Deck deck = new Deck(DECKS, new SplittableRandom(12345));
+        long startingBank = player.getBank();
+        for (int i = 0; i < rounds; i++) {
+            deck.shuffle();
+            roundSimulator.playRound(player, dealer, deck, bet);
+        }
+        double simulated = (double) (player.getBank() - startingBank) / bet / rounds;
+
+        // About four standard errors of the simulated mean.
+        assertThat(expectedValue).isWithin(0.003).of(simulated);
+    }
+
+    @Test
+    void decisionTable_depletedUpCard_isUndealable() {
+        int[] noSixes = Compositions.fullShoe(1);
+        for (int i = 0; i < 4; i++) {
+            noSixes = Compositions.without(noSixes, Card.SIX);
+        }
+
+        ExpectedValueTable depleted = new CombinatorialAnalyzer(noSixes, DealerRules.SIMULATION,
+                Runtime.getRuntime().availableProcessors()).decisionTable();
+
+        assertThat(depleted.expectedValue(Card.TEN, Card.SEVEN, Card.SIX, Move.STAND)).isNaN();
+        assertThat(depleted.bestMove(Card.TEN, Card.SEVEN, Card.SIX)).isEqualTo(Move.STAND);
+        assertThat(depleted.expectedValue(Card.TEN, Card.SEVEN, Card.FIVE, Move.STAND))
+                .isWithin(1).of(0);
+    }
+
+    @Test
+    void expectedValue_movesOnlyForTwoCards_throws() {
+        Strategy alwaysDoubles = (hand, dealerFaceUpCard, bank) -> Move.DOUBLE_DOWN;
+
+        assertThrows(IllegalStateException.class, () -> analyzer.expectedValue(alwaysDoubles));
+    }
+
+    @Test
+    void constructor_noThreads_throws() {
+        assertThrows(IllegalArgumentException.class,
+                () -> new CombinatorialAnalyzer(Compositions.fullShoe(1), DealerRules.SIMULATION,
+                        0));
+    }
+}
@@ -0,0 +1,149 @@
+package com.drawkcab.blackjack.analysis;
+
+import com.drawkcab.blackjack.game.Card;
+import com.drawkcab.blackjack.game.Deck;
+import org.junit.jupiter.api.Test;
+
+import static com.google.common.truth.Truth.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class DealerProbabilityCalculatorTest {
+    private static final double TOLERANCE = 1e-12;
+
+    private static final DealerRules NO_PEEK_S17 = new DealerRules(false, false);
+    private static final DealerRules NO_PEEK_H17 = new DealerRules(false, true);
+
+    @Test
+    void distribution_sumsToOne() {
+        DealerProbabilityCalculator calculator = new DealerProbabilityCalculator(NO_PEEK_S17);
+
+        for (Card upCard : new Card[] {Card.ACE, Card.TWO, Card.SIX, Card.TEN}) {
+            DealerDistribution distribution =
+                    calculator.distribution(upCard, Compositions.without(
+                            Compositions.fullShoe(6), upCard));
+
+            assertThat(total(distribution)).isWithin(TOLERANCE).of(1.0);
+        }
+    }
+
+    @Test
+    void distribution_onlyTens_standsOrBustsWithCertainty() {
+        DealerProbabilityCalculator calculator = new DealerProbabilityCalculator(NO_PEEK_S17);
+        int[] tens = {0, 0, 0, 0, 0, 0, 0, 0, 0, 20};
+
+        assertThat(calculator.distribution(Card.SEVEN, tens).probabilityOf(17)).isEqualTo(1.0);
+        assertThat(calculator.distribution(Card.SIX, tens).bust()).isEqualTo(1.0);
+    }
+
+    @Test
+    void distribution_softSeventeen_followsRules() {
+        // With only sixes left, an Ace up always makes soft 17: stand, or hit to 13 and then 19.
+        int[] sixes = {0, 0, 0, 0, 0, 20, 0, 0, 0, 0};
+
+        DealerDistribution stands =
+                new DealerProbabilityCalculator(NO_PEEK_S17).distribution(Card.ACE, sixes);
+        DealerDistribution hits =
+                new DealerProbabilityCalculator(NO_PEEK_H17).distribution(Card.ACE, sixes);
+
+        assertThat(stands.probabilityOf(17)).isEqualTo(1.0);
+        assertThat(hits.probabilityOf(19)).isEqualTo(1.0);
+    }
+
+    @Test
+    void distribution_noPeek_includesBlackjack() {
+        DealerProbabilityCalculator calculator = new DealerProbabilityCalculator(NO_PEEK_S17);
+        int[] shoe = Compositions.without(Compositions.fullShoe(6), Card.ACE);
+
+        DealerDistribution distribution = calculator.distribution(Card.ACE, shoe);
+
+        assertThat(distribution.blackjack()).isWithin(TOLERANCE).of(96.0 / 311);
+    }
+
+    @Test
+    void distribution_peek_conditionsOnNoBlackjack() {
+        DealerProbabilityCalculator calculator =
+                new DealerProbabilityCalculator(DealerRules.SIMULATION);
+        int[] shoe = Compositions.without(Compositions.fullShoe(6), Card.TEN);
+
+        DealerDistribution distribution = calculator.distribution(Card.TEN, shoe);
+
+        assertThat(distribution.blackjack()).isEqualTo(0.0);
+        assertThat(total(distribution)).isWithin(TOLERANCE).of(1.0);
+    }
+
+    @Test
+    void distribution_sixUpSixDecks_matchesPublishedBustRate() {
+        DealerProbabilityCalculator calculator =
+                new DealerProbabilityCalculator(DealerRules.SIMULATION);
+        int[] shoe = Compositions.without(Compositions.fullShoe(6), Card.SIX);
+
+        // Standard tables put the dealer's bust rate with a 6 up at about 42%.
+        assertThat(calculator.distribution(Card.SIX, shoe).bust()).isWithin(0.005).of(0.4226);
+    }
+
+    @Test
+    void distribution_sameQuery_servedFromCache() {
+        DealerProbabilityCalculator calculator =
+                new DealerProbabilityCalculator(DealerRules.SIMULATION);
+        int[] shoe = Compositions.without(Compositions.fullShoe(6), Card.FIVE);
+
+        DealerDistribution first = calculator.distribution(Card.FIVE, shoe);
+        DealerDistribution second = calculator.distribution(Card.FIVE, shoe.clone());
+
+        assertThat(second).isSameInstanceAs(first);
+    }
+
+    @Test
+    void distribution_differentRules_notSharedInCache() {
+        int[] shoe = {0, 0, 0, 0, 0, 20, 0, 0, 0, 0};
+        DealerProbabilityCalculator standsOnSoft17 = new DealerProbabilityCalculator(NO_PEEK_S17);
+        DealerProbabilityCalculator hitsSoft17 = new DealerProbabilityCalculator(NO_PEEK_H17);
+
+        assertThat(standsOnSoft17.distribution(Card.ACE, shoe).probabilityOf(17)).isEqualTo(1.0);
+        assertThat(hitsSoft17.distribution(Card.ACE, shoe).probabilityOf(17)).isEqualTo(0.0);
+    }
+
+    @Test
+    void distribution_liveShoe_matchesComposition() {
+        DealerProbabilityCalculator calculator =
+                new DealerProbabilityCalculator(DealerRules.SIMULATION);
+        Deck deck = new Deck(2);
+        Card upCard = deck.getNextCard();
+        for (int i = 0; i < 10; i++) {
+            deck.getNextCard();
+        }
+
+        DealerDistribution distribution = calculator.distribution(upCard, deck.composition());
+
+        assertThat(distribution).isSameInstanceAs(
+                calculator.distribution(upCard, deck.composition().valueCounts()));
+    }
+
+    @Test
+    void distribution_doesNotModifyComposition() {
+        DealerProbabilityCalculator calculator =
+                new DealerProbabilityCalculator(DealerRules.SIMULATION);
+        int[] shoe = Compositions.fullShoe(1);
+
+        calculator.distribution(Card.TWO, shoe);
+
+        assertThat(shoe).isEqualTo(Compositions.fullShoe(1));
+    }
+
+    @Test
+    void distribution_malformedComposition_throws() {
+        DealerProbabilityCalculator calculator =
+                new DealerProbabilityCalculator(DealerRules.SIMULATION);
+
+        assertThrows(IllegalArgumentException.class,
+                () -> calculator.distribution(Card.TWO, new int[] {1, 2, 3}));
+    }
+
+    private static double total(DealerDistribution distribution) {
+        double total = distribution.bust() + distribution.blackjack();
+        for (int i = 17; i <= 21; i++) {
+            total += distribution.probabilityOf(i);
+        }
+        return total;
+    }
+}
@@ -4,10 +4,14 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
 import java.util.ArrayList;
+import java.util.EnumMap;
 import java.util.List;
+import java.util.Map;
 
 import static com.google.common.truth.Truth.assertThat;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
 
 class DeckTest {
 
@@ -73,6 +77,134 @@ class DeckTest {
         assertThat(newOrder).isNotEqualTo(originalOrder);
     }
 
+    @Test
+    void shuffle_sameSeed_dealsSameCards() {
+        Deck other = new Deck(1);
+        dealCards(other, 10); // Earlier deals must not affect a reseeded shuffle.
+
+        deck.shuffle(7L);
+        other.shuffle(7L);
+
+        assertThat(dealCards(other, 52)).isEqualTo(dealCards(deck, 52));
+    }
+
+    @Test
+    void shuffle_sameSeed_laterShufflesAlsoMatch() {
+        Deck other = new Deck(1);
+        deck.shuffle(7L);
+        other.shuffle(7L);
+
+        deck.shuffle();
+        other.shuffle();
+
+        assertThat(dealCards(other, 52)).isEqualTo(dealCards(deck, 52));
+    }
+
+    @Test
+    void burnTo_sameSeed_staysInStepWithDeckThatDealt() {
+        Deck other = new Deck(1);
+        deck.shuffle(7L);
+        other.shuffle(7L);
+        dealCards(deck, 3);
+        dealCards(other, 7);
+
+        deck.burnTo(other.cardsRemaining());
+
+        assertThat(deck.cardsRemaining()).isEqualTo(45);
+        assertThat(dealCards(deck, 45)).isEqualTo(dealCards(other, 45));
+    }
+
+    @Test
+    void burnTo_moreThanRemaining_throws() {
+        dealCards(deck, 10);
+
+        assertThrows(IllegalArgumentException.class, () -> deck.burnTo(43));
+    }
+
+    @Test
+    void getNextCard_fullShoe_dealsEachCardOnce() {
+        Deck shoe = new Deck(2);
+
+        Map<Card, Integer> counts = countCards(dealCards(shoe, 104));
+
+        for (Card card : Card.values()) {
+            assertThat(counts).containsEntry(card, 8);
+        }
+    }
+
+    @Test
+    void shuffle_afterPartialDeal_returnsDealtCardsToShoe() {
+        dealCards(deck, 30);
+
+        deck.shuffle();
+        Map<Card, Integer> counts = countCards(dealCards(deck, 52));
+
+        for (Card card : Card.values()) {
+            assertThat(counts).containsEntry(card, 4);
+        }
+    }
+
+    @Test
+    void composition_tracksDealtCards() {
+        Map<Card, Integer> dealt = countCards(dealCards(deck, 20));
+
+        for (Card card : Card.values()) {
+            assertThat(deck.composition().remaining(card))
+                    .isEqualTo(4 - dealt.getOrDefault(card, 0));
+        }
+        assertThat(deck.composition().cardsRemaining()).isEqualTo(deck.cardsRemaining());
+    }
+
+    @Test
+    void composition_shuffle_returnsAllCards() {
+        dealCards(deck, 30);
+
+        deck.shuffle();
+
+        assertThat(deck.composition().cardsRemaining()).isEqualTo(52);
+        assertThat(deck.composition().tensRemaining()).isEqualTo(16);
+    }
+
+    @Test
+    void composition_reseed_returnsAllCards() {
+        dealCards(deck, 30);
+
+        deck.shuffle(7L);
+
+        assertThat(deck.composition().remaining(Card.ACE)).isEqualTo(4);
+        assertThat(deck.composition().cardsRemaining()).isEqualTo(52);
+    }
+
+    @Test
+    void composition_isLiveView() {
+        ShoeComposition composition = deck.composition();
+
+        deck.getNextCard();
+
+        assertThat(composition.cardsRemaining()).isEqualTo(51);
+        assertThat(deck.composition()).isSameInstanceAs(composition);
+    }
+
+    @Test
+    void listener_notifiedOfDealsAndShuffles() {
+        DeckListener listener = mock(DeckListener.class);
+        deck.setListener(listener);
+
+        Card card = deck.getNextCard();
+        deck.shuffle();
+
+        verify(listener).cardDealt(card);
+        verify(listener).shuffled();
+    }
+
+    @Test
+    void setListener_secondListener_throws() {
+        deck.setListener(mock(DeckListener.class));
+
+        assertThrows(IllegalStateException.class,
+                () -> deck.setListener(mock(DeckListener.class)));
+    }
+
     @Test
     void multipleDecks_hasCorrectCount() {
         Deck freshDeck = new Deck(6);
@@ -98,4 +230,13 @@ class DeckTest {
 
         return dealtCards;
     }
-}
\ No newline at end of file
+
+    private static Map<Card, Integer> countCards(List<Card> cards) {
+        Map<Card, Integer> counts = new EnumMap<>(Card.class);
+        for (Card card : cards) {
+            counts.merge(card, 1, Integer::sum);
+        }
+
+        return counts;
+    }
+}
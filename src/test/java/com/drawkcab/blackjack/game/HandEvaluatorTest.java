@@ -4,7 +4,6 @@ import com.drawkcab.blackjack.player.HandState;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
-import java.math.BigDecimal;
 import java.util.List;
 
 import static com.google.common.truth.Truth.assertThat;
@@ -24,8 +23,8 @@ class HandEvaluatorTest {
 
     @Test
     void getOutcome_winningHand_win() {
-        HandState dealerHand = new HandState(SEVENTEEN, BigDecimal.ZERO);
-        HandState handState = new HandState(EIGHTEEN, BigDecimal.TWO);
+        HandState dealerHand = new HandState(SEVENTEEN, 0);
+        HandState handState = new HandState(EIGHTEEN, 2);
 
         HandOutcome outcome = handEvaluator.getOutcome(handState, dealerHand);
 
@@ -34,8 +33,8 @@ class HandEvaluatorTest {
 
     @Test
     void getOutcome_losingHand_loss() {
-        HandState dealerHand = new HandState(EIGHTEEN, BigDecimal.ZERO);
-        HandState handState = new HandState(SEVENTEEN, BigDecimal.TWO);
+        HandState dealerHand = new HandState(EIGHTEEN, 0);
+        HandState handState = new HandState(SEVENTEEN, 2);
 
         HandOutcome outcome = handEvaluator.getOutcome(handState, dealerHand);
 
@@ -44,8 +43,8 @@ class HandEvaluatorTest {
 
     @Test
     void getOutcome_matchingValue_push() {
-        HandState dealerHand = new HandState(EIGHTEEN, BigDecimal.ZERO);
-        HandState handState = new HandState(EIGHTEEN, BigDecimal.TWO);
+        HandState dealerHand = new HandState(EIGHTEEN, 0);
+        HandState handState = new HandState(EIGHTEEN, 2);
 
         HandOutcome outcome = handEvaluator.getOutcome(handState, dealerHand);
 
@@ -54,8 +53,8 @@ class HandEvaluatorTest {
 
     @Test
     void getOutcome_playerBlackJackVerseNotBlackJack_blackjackWin() {
-        HandState dealerHand = new HandState(SEVENTEEN, BigDecimal.ZERO);
-        HandState handState = new HandState(BLACK_JACK, BigDecimal.TWO);
+        HandState dealerHand = new HandState(SEVENTEEN, 0);
+        HandState handState = new HandState(BLACK_JACK, 2);
 
         HandOutcome outcome = handEvaluator.getOutcome(handState, dealerHand);
 
@@ -64,8 +63,8 @@ class HandEvaluatorTest {
 
     @Test
     void getOutcome_playerBust_loss() {
-        HandState dealerHand = new HandState(EIGHTEEN, BigDecimal.ZERO);
-        HandState handState = new HandState(TWENTY_TWO, BigDecimal.TWO);
+        HandState dealerHand = new HandState(EIGHTEEN, 0);
+        HandState handState = new HandState(TWENTY_TWO, 2);
 
         HandOutcome outcome = handEvaluator.getOutcome(handState, dealerHand);
 
@@ -74,8 +73,8 @@ class HandEvaluatorTest {
 
     @Test
     void getOutcome_bustVsBust_loss() {
-        HandState dealerHand = new HandState(TWENTY_TWO, BigDecimal.ZERO);
-        HandState handState = new HandState(TWENTY_TWO, BigDecimal.TWO);
+        HandState dealerHand = new HandState(TWENTY_TWO, 0);
+        HandState handState = new HandState(TWENTY_TWO, 2);
 
         HandOutcome outcome = handEvaluator.getOutcome(handState, dealerHand);
 
@@ -84,8 +83,8 @@ class HandEvaluatorTest {
 
     @Test
     void getOutcome_lowVsBust_win() {
-        HandState dealerHand = new HandState(TWENTY_TWO, BigDecimal.ZERO);
-        HandState handState = new HandState(SEVENTEEN, BigDecimal.TWO);
+        HandState dealerHand = new HandState(TWENTY_TWO, 0);
+        HandState handState = new HandState(SEVENTEEN, 2);
 
         HandOutcome outcome = handEvaluator.getOutcome(handState, dealerHand);
 
@@ -94,8 +93,8 @@ class HandEvaluatorTest {
 
     @Test
     void getOutcome_surrenderVsNonBlackJack_surrender() {
-        HandState dealerHand = new HandState(EIGHTEEN, BigDecimal.ZERO);
-        HandState handState = new HandState(EIGHTEEN, BigDecimal.TWO);
+        HandState dealerHand = new HandState(EIGHTEEN, 0);
+        HandState handState = new HandState(EIGHTEEN, 2);
         handState.surrender();
 
         HandOutcome outcome = handEvaluator.getOutcome(handState, dealerHand);
@@ -105,8 +104,8 @@ class HandEvaluatorTest {
 
     @Test
     void getOutcome_surrenderVsBlackJack_loss() {
-        HandState dealerHand = new HandState(BLACK_JACK, BigDecimal.ZERO);
-        HandState handState = new HandState(EIGHTEEN, BigDecimal.TWO);
+        HandState dealerHand = new HandState(BLACK_JACK, 0);
+        HandState handState = new HandState(EIGHTEEN, 2);
         handState.surrender();
 
         HandOutcome outcome = handEvaluator.getOutcome(handState, dealerHand);
@@ -116,8 +115,8 @@ class HandEvaluatorTest {
 
     @Test
     void getOutcome_blackJackVsBlackJack_push() {
-        HandState dealerHand = new HandState(BLACK_JACK, BigDecimal.ZERO);
-        HandState handState = new HandState(BLACK_JACK, BigDecimal.TWO);
+        HandState dealerHand = new HandState(BLACK_JACK, 0);
+        HandState handState = new HandState(BLACK_JACK, 2);
 
         HandOutcome outcome = handEvaluator.getOutcome(handState, dealerHand);
 
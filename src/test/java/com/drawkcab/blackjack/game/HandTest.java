@@ -128,6 +128,70 @@ class HandTest {
         assertThat(hand.isBust()).isFalse();
     }
 
+    @Test
+    void isSoft_aceSplitOff_updatesTotals() {
+        Hand hand = new Hand(List.of(Card.ACE, Card.ACE));
+
+        hand.split();
+
+        assertThat(hand.isSoft()).isTrue();
+        assertThat(hand.totalValue()).isEqualTo(11);
+    }
+
+    @Test
+    void isSoft_aceBecomesHard_false() {
+        Hand hand = new Hand(List.of(Card.ACE, Card.SIX));
+
+        hand.addCard(Card.NINE);
+
+        assertThat(hand.isSoft()).isFalse();
+        assertThat(hand.totalValue()).isEqualTo(16);
+    }
+
+    @Test
+    void getCard_returnsCardsInOrderDealt() {
+        Hand hand = new Hand(List.of(Card.KING, Card.TWO));
+
+        hand.addCard(Card.ACE);
+
+        assertThat(hand.cardCount()).isEqualTo(3);
+        assertThat(hand.getCard(0)).isEqualTo(Card.KING);
+        assertThat(hand.getCard(1)).isEqualTo(Card.TWO);
+        assertThat(hand.getCard(2)).isEqualTo(Card.ACE);
+    }
+
+    @Test
+    void getCard_outOfRange_throws() {
+        Hand hand = new Hand(List.of(Card.KING, Card.TWO));
+
+        assertThrows(IndexOutOfBoundsException.class, () -> hand.getCard(2));
+    }
+
+    @Test
+    void addCard_manyCards_keepsAllCards() {
+        Hand hand = new Hand(List.of());
+
+        for (int i = 0; i < 20; i++) {
+            hand.addCard(Card.ACE);
+        }
+
+        assertThat(hand.cardCount()).isEqualTo(20);
+        assertThat(hand.getCard(19)).isEqualTo(Card.ACE);
+        assertThat(hand.totalValue()).isEqualTo(20);
+    }
+
+    @Test
+    void clear_removesCardsAndTotals() {
+        Hand hand = new Hand(List.of(Card.ACE, Card.KING));
+
+        hand.clear();
+        hand.addCard(Card.NINE);
+
+        assertThat(hand.cardCount()).isEqualTo(1);
+        assertThat(hand.totalValue()).isEqualTo(9);
+        assertThat(hand.isSoft()).isFalse();
+    }
+
     @Nested
     class TotalValue {
         @Test
@@ -217,6 +281,19 @@ class HandTest {
             assertThat(splitHand.totalValue()).isEqualTo(8);
         }
 
+        @Test
+        void splitInto_replacesOtherHand() {
+            Hand hand = new Hand(List.of(Card.ACE, Card.ACE));
+            Hand other = new Hand(List.of(Card.KING, Card.QUEEN, Card.TWO));
+
+            hand.splitInto(other);
+
+            assertThat(hand.cardCount()).isEqualTo(1);
+            assertThat(other.cardCount()).isEqualTo(1);
+            assertThat(other.getCard(0)).isEqualTo(Card.ACE);
+            assertThat(other.totalValue()).isEqualTo(11);
+        }
+
         @Test
         void differentCards_throws() {
             Hand hand = new Hand(List.of(Card.EIGHT, Card.SEVEN));
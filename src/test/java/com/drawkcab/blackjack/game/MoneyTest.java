@@ -0,0 +1,55 @@
+package com.drawkcab.blackjack.game;
+
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+
+import static com.google.common.truth.Truth.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class MoneyTest {
+
+    @Test
+    void of_wholeAmount_halfCents() {
+        assertThat(Money.of(new BigDecimal("10"))).isEqualTo(2_000);
+    }
+
+    @Test
+    void of_cents_halfCents() {
+        assertThat(Money.of(new BigDecimal("0.01"))).isEqualTo(2);
+    }
+
+    @Test
+    void of_fractionalCents_throws() {
+        assertThrows(ArithmeticException.class, () -> Money.of(new BigDecimal("0.005")));
+    }
+
+    @Test
+    void of_trailingZeros_ignored() {
+        assertThat(Money.of(new BigDecimal("1.5000"))).isEqualTo(Money.of(new BigDecimal("1.5")));
+    }
+
+    @Test
+    void toBigDecimal_wholeCents_twoDecimalPlaces() {
+        assertThat(Money.toBigDecimal(2_000)).isEqualTo(new BigDecimal("10.00"));
+    }
+
+    @Test
+    void toBigDecimal_halfCent_threeDecimalPlaces() {
+        assertThat(Money.toBigDecimal(1)).isEqualTo(new BigDecimal("0.005"));
+    }
+
+    @Test
+    void toBigDecimal_negative_roundTrips() {
+        BigDecimal amount = new BigDecimal("-12.34");
+
+        assertThat(Money.toBigDecimal(Money.of(amount))).isEqualTo(amount);
+    }
+
+    @Test
+    void blackJackPayout_oddCentBet_exact() {
+        long bet = Money.of(new BigDecimal("0.03"));
+
+        assertThat(Money.toBigDecimal(bet * 5 / 2)).isEqualTo(new BigDecimal("0.075"));
+    }
+}
@@ -0,0 +1,93 @@
+package com.drawkcab.blackjack.game;
+
+import org.junit.jupiter.api.Test;
+
+import static com.google.common.truth.Truth.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class ShoeCompositionTest {
+
+    @Test
+    void newShoe_isFull() {
+        ShoeComposition composition = new ShoeComposition(6);
+
+        assertThat(composition.size()).isEqualTo(312);
+        assertThat(composition.cardsRemaining()).isEqualTo(312);
+        assertThat(composition.remaining(Card.KING)).isEqualTo(24);
+        assertThat(composition.remainingOfValue(1)).isEqualTo(24);
+        assertThat(composition.tensRemaining()).isEqualTo(96);
+    }
+
+    @Test
+    void remove_faceCard_countsAsTen() {
+        ShoeComposition composition = new ShoeComposition(1);
+
+        composition.remove(Card.JACK);
+
+        assertThat(composition.remaining(Card.JACK)).isEqualTo(3);
+        assertThat(composition.remaining(Card.TEN)).isEqualTo(4);
+        assertThat(composition.remainingOfValue(10)).isEqualTo(15);
+        assertThat(composition.cardsRemaining()).isEqualTo(51);
+    }
+
+    @Test
+    void reset_restoresFullShoe() {
+        ShoeComposition composition = new ShoeComposition(1);
+        composition.remove(Card.ACE);
+        composition.remove(Card.TWO);
+
+        composition.reset();
+
+        assertThat(composition.remaining(Card.ACE)).isEqualTo(4);
+        assertThat(composition.cardsRemaining()).isEqualTo(52);
+    }
+
+    @Test
+    void fractionOfValue_isShareOfRemainingCards() {
+        ShoeComposition composition = new ShoeComposition(1);
+        composition.remove(Card.ACE);
+        composition.remove(Card.ACE);
+
+        assertThat(composition.fractionOfValue(1)).isEqualTo(2.0 / 50);
+        assertThat(composition.fractionOfValue(10)).isEqualTo(16.0 / 50);
+    }
+
+    @Test
+    void fractionOfValue_emptyShoe_isZero() {
+        ShoeComposition composition = new ShoeComposition(1);
+        for (Card card : Card.values()) {
+            for (int i = 0; i < 4; i++) {
+                composition.remove(card);
+            }
+        }
+
+        assertThat(composition.fractionOfValue(10)).isEqualTo(0.0);
+    }
+
+    @Test
+    void remainingOfValue_outOfRange_throws() {
+        ShoeComposition composition = new ShoeComposition(1);
+
+        assertThrows(IllegalArgumentException.class, () -> composition.remainingOfValue(0));
+        assertThrows(IllegalArgumentException.class, () -> composition.remainingOfValue(11));
+    }
+
+    @Test
+    void valueCounts_isSnapshot() {
+        ShoeComposition composition = new ShoeComposition(1);
+
+        int[] counts = composition.valueCounts();
+        composition.remove(Card.FIVE);
+
+        assertThat(counts).isEqualTo(new int[] {4, 4, 4, 4, 4, 4, 4, 4, 4, 16});
+        assertThat(composition.copyValueCounts(new int[10])[4]).isEqualTo(3);
+    }
+
+    @Test
+    void copyValueCounts_arrayTooShort_throws() {
+        ShoeComposition composition = new ShoeComposition(1);
+
+        assertThrows(IllegalArgumentException.class,
+                () -> composition.copyValueCounts(new int[9]));
+    }
+}
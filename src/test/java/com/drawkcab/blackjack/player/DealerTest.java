@@ -30,6 +30,14 @@ class DealerTest {
         assertThat(dealer.getActivePlayerHand().getTotalValue()).isEqualTo(17);
     }
 
+    @Test
+    void startRound_cards_faceUpCardIsFirst() {
+        dealer.startRound(Card.ACE, Card.KING);
+
+        assertThat(dealer.getFaceUpCard()).isEqualTo(Card.ACE);
+        assertThat(dealer.hasBlackJack()).isTrue();
+    }
+
     @Test
     void getFaceUpCard_returnsFirstCardInHand() {
         dealer.startRound(SEVENTEEN);
@@ -5,14 +5,13 @@ import com.drawkcab.blackjack.game.Hand;
 import com.drawkcab.blackjack.game.exception.InvalidSplitException;
 import org.junit.jupiter.api.Test;
 
-import java.math.BigDecimal;
 import java.util.List;
 
 import static com.google.common.truth.Truth.assertThat;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 
 class HandStateTest {
-    private static final BigDecimal BET = BigDecimal.ONE;
+    private static final long BET = 2;
     private static final List<Card> SEVENTEEN = List.of(Card.TEN, Card.SEVEN);
     private static final List<Card> SEVEN = List.of(Card.THREE, Card.FOUR);
     private static final List<Card> SOFT_SEVENTEEN = List.of(Card.ACE, Card.SIX);
@@ -35,12 +34,12 @@ class HandStateTest {
 
     @Test
     void doubleDown() {
-        HandState handState = new HandState(new Hand(SEVEN), BigDecimal.ONE);
+        HandState handState = new HandState(new Hand(SEVEN), BET);
 
         handState.doubleDown(Card.TEN);
 
         assertThat(handState.getTotalValue()).isEqualTo(17);
-        assertThat(handState.getBetAmount()).isEqualTo(BigDecimal.TWO);
+        assertThat(handState.getBetAmount()).isEqualTo(2 * BET);
         assertThat(handState.isFinished()).isTrue();
     }
 
@@ -2,6 +2,7 @@ package com.drawkcab.blackjack.player;
 
 import com.drawkcab.blackjack.game.Card;
 import com.drawkcab.blackjack.game.Hand;
+import com.drawkcab.blackjack.game.Money;
 import com.drawkcab.blackjack.player.strategy.Strategy;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Nested;
@@ -16,11 +17,10 @@ import static org.mockito.Mockito.*;
 
 class PlayerTest {
 
-    private static final BigDecimal SEED_AMOUNT = BigDecimal.valueOf(1000);
-    private static final BigDecimal BET = BigDecimal.TEN;
-    private static final BigDecimal SEED_AMOUNT_MINUS_BET = SEED_AMOUNT.subtract(BET);
-    private static final BigDecimal SEED_AMOUNT_MINUS_TWO_BET =
-            SEED_AMOUNT.subtract(BET.multiply(BigDecimal.TWO));
+    private static final long SEED_AMOUNT = Money.of(BigDecimal.valueOf(1000));
+    private static final long BET = Money.of(BigDecimal.TEN);
+    private static final long SEED_AMOUNT_MINUS_BET = SEED_AMOUNT - BET;
+    private static final long SEED_AMOUNT_MINUS_TWO_BET = SEED_AMOUNT - 2 * BET;
 
     private static final List<Card> SEVENTEEN = List.of(Card.TEN, Card.SEVEN);
     private static final List<Card> TWO_EIGHTS = List.of(Card.EIGHT, Card.EIGHT);
@@ -46,6 +46,32 @@ class PlayerTest {
         assertThat(player.getActivePlayerHand().getTotalValue()).isEqualTo(17);
     }
 
+    @Test
+    void chooseBet_defaultsToMinimum() {
+        assertThat(player.chooseBet(BET)).isEqualTo(BET);
+    }
+
+    @Test
+    void chooseBet_usesBettingStrategy() {
+        Player bettor = new Player(mockStrategy, (minBet, bank) -> minBet * 3, SEED_AMOUNT);
+
+        assertThat(bettor.chooseBet(BET)).isEqualTo(3 * BET);
+    }
+
+    @Test
+    void chooseBet_belowMinimum_throws() {
+        Player bettor = new Player(mockStrategy, (minBet, bank) -> minBet / 2, SEED_AMOUNT);
+
+        assertThrows(IllegalStateException.class, () -> bettor.chooseBet(BET));
+    }
+
+    @Test
+    void chooseBet_moreThanBank_throws() {
+        Player bettor = new Player(mockStrategy, (minBet, bank) -> bank + minBet, SEED_AMOUNT);
+
+        assertThrows(IllegalStateException.class, () -> bettor.chooseBet(BET));
+    }
+
     @Test
     void startRound_twice_throwsException() {
         player.startRound(freshHand, BET, DEALER_FACE_UP);
@@ -67,7 +93,7 @@ class PlayerTest {
 
     @Test
     void getNextMove_whenJustSplit_forcesHit() {
-        when(mockStrategy.getNextMove(any(), any(), any()))
+        when(mockStrategy.getNextMove(any(), any(), anyLong()))
                 .thenReturn(Move.STAND);
         player.startRound(new Hand(TWO_EIGHTS), BET, DEALER_FACE_UP);
 
@@ -137,9 +163,11 @@ class PlayerTest {
 
     @Test
     void pay_increasesBank() {
-        player.pay(BigDecimal.valueOf(50));
+        long fifty = Money.of(BigDecimal.valueOf(50));
 
-        assertThat(player.getBank()).isEqualTo(SEED_AMOUNT.add(BigDecimal.valueOf(50)));
+        player.pay(fifty);
+
+        assertThat(player.getBank()).isEqualTo(SEED_AMOUNT + fifty);
     }
 
     @Test
@@ -173,6 +201,47 @@ class PlayerTest {
 
     }
 
+    @Test
+    void startRound_cards_dealsHandAndDeductsBet() {
+        player.startRound(Card.TEN, Card.SEVEN, BET, DEALER_FACE_UP);
+
+        assertThat(player.getActivePlayerHand().getTotalValue()).isEqualTo(17);
+        assertThat(player.getActivePlayerHand().getBetAmount()).isEqualTo(BET);
+        assertThat(player.getBank()).isEqualTo(SEED_AMOUNT_MINUS_BET);
+    }
+
+    @Test
+    void startRound_afterPreviousRound_startsFromCleanHand() {
+        player.startRound(Card.EIGHT, Card.EIGHT, BET, DEALER_FACE_UP);
+        player.split();
+        player.hit(Card.TEN);
+        player.doubleDown(Card.TEN);
+        player.endRound();
+
+        player.startRound(Card.TWO, Card.THREE, BET, DEALER_FACE_UP);
+
+        List<HandState> handStates = player.endRound();
+        assertThat(handStates).hasSize(1);
+        assertThat(handStates.getFirst().getTotalValue()).isEqualTo(5);
+        assertThat(handStates.getFirst().getBetAmount()).isEqualTo(BET);
+        assertThat(handStates.getFirst().isFinished()).isFalse();
+    }
+
+    @Test
+    void split_moreHandsThanPreallocated_keepsEveryHand() {
+        player.startRound(Card.EIGHT, Card.EIGHT, BET, DEALER_FACE_UP);
+
+        for (int i = 0; i < 6; i++) {
+            player.split();
+            player.hit(Card.EIGHT);
+        }
+
+        List<HandState> handStates = player.endRound();
+        assertThat(handStates).hasSize(7);
+        assertThat(handStates.stream().allMatch(hand -> hand.getBetAmount() == BET)).isTrue();
+        assertThat(player.getBank()).isEqualTo(SEED_AMOUNT - 7 * BET);
+    }
+
     @Nested
     class HandAdvancement {
         @Test
@@ -0,0 +1,109 @@
+package com.drawkcab.blackjack.player.counting;
+
+import com.drawkcab.blackjack.game.Card;
+import com.drawkcab.blackjack.game.Deck;
+import org.junit.jupiter.api.Test;
+
+import java.util.SplittableRandom;
+
+import static com.google.common.truth.Truth.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class CardCounterTest {
+
+    @Test
+    void runningCount_sumsTagsOfDealtCards() {
+        Deck deck = new Deck(6, new SplittableRandom(1));
+        CardCounter counter = CardCounter.attachTo(deck, CountingSystem.HI_LO);
+
+        int expected = 0;
+        for (int i = 0; i < 100; i++) {
+            expected += CountingSystem.HI_LO.tag(deck.getNextCard());
+        }
+
+        assertThat(counter.runningCount()).isEqualTo(expected);
+    }
+
+    @Test
+    void runningCount_wholeShoeDealt_returnsToZero() {
+        Deck deck = new Deck(2, new SplittableRandom(1));
+        CardCounter counter = CardCounter.attachTo(deck, CountingSystem.OMEGA_II);
+
+        while (deck.cardsRemaining() > 0) {
+            deck.getNextCard();
+        }
+
+        assertThat(counter.runningCount()).isEqualTo(0);
+    }
+
+    @Test
+    void shuffle_resetsToInitialRunningCount() {
+        Deck deck = new Deck(6, new SplittableRandom(1));
+        CardCounter counter = CardCounter.attachTo(deck, CountingSystem.KO);
+        for (int i = 0; i < 100; i++) {
+            deck.getNextCard();
+        }
+
+        deck.shuffle();
+
+        assertThat(counter.runningCount()).isEqualTo(-20);
+    }
+
+    @Test
+    void attachTo_partlyDealtShoe_countsCardsAlreadyDealt() {
+        Deck deck = new Deck(6, new SplittableRandom(1));
+        Deck replay = new Deck(6, new SplittableRandom(1));
+        CardCounter fromStart = CardCounter.attachTo(replay, CountingSystem.HI_LO);
+        for (int i = 0; i < 40; i++) {
+            deck.getNextCard();
+            replay.getNextCard();
+        }
+
+        CardCounter late = CardCounter.attachTo(deck, CountingSystem.HI_LO);
+
+        assertThat(late.runningCount()).isEqualTo(fromStart.runningCount());
+    }
+
+    @Test
+    void attachTo_deckAlreadyCounted_throws() {
+        Deck deck = new Deck(1);
+        CardCounter.attachTo(deck, CountingSystem.HI_LO);
+
+        assertThrows(IllegalStateException.class,
+                () -> CardCounter.attachTo(deck, CountingSystem.KO));
+    }
+
+    @Test
+    void trueCount_balanced_isRunningCountPerDeckRemaining() {
+        Deck deck = new Deck(2, new SplittableRandom(1));
+        CardCounter counter = CardCounter.attachTo(deck, CountingSystem.HI_LO);
+        for (int i = 0; i < 52; i++) {
+            deck.getNextCard();
+        }
+
+        assertThat(counter.trueCount()).isEqualTo((double) counter.runningCount());
+    }
+
+    @Test
+    void trueCount_unbalanced_isRunningCount() {
+        Deck deck = new Deck(6, new SplittableRandom(1));
+        CardCounter counter = CardCounter.attachTo(deck, CountingSystem.KO);
+        for (int i = 0; i < 200; i++) {
+            deck.getNextCard();
+        }
+
+        assertThat(counter.trueCount()).isEqualTo((double) counter.runningCount());
+    }
+
+    @Test
+    void cardDealt_lowCard_raisesCount() {
+        Deck deck = new Deck(1);
+        CardCounter counter = CardCounter.attachTo(deck, CountingSystem.HI_LO);
+
+        counter.cardDealt(Card.FIVE);
+        counter.cardDealt(Card.FIVE);
+        counter.cardDealt(Card.ACE);
+
+        assertThat(counter.runningCount()).isEqualTo(1);
+    }
+}
@@ -0,0 +1,51 @@
+package com.drawkcab.blackjack.player.counting;
+
+import com.drawkcab.blackjack.game.Card;
+import org.junit.jupiter.api.Test;
+
+import static com.google.common.truth.Truth.assertThat;
+
+class CountingSystemTest {
+
+    @Test
+    void balancedSystems_fullDeckCountsToZero() {
+        assertThat(deckTotal(CountingSystem.HI_LO)).isEqualTo(0);
+        assertThat(deckTotal(CountingSystem.OMEGA_II)).isEqualTo(0);
+        assertThat(CountingSystem.HI_LO.isBalanced()).isTrue();
+        assertThat(CountingSystem.OMEGA_II.isBalanced()).isTrue();
+    }
+
+    @Test
+    void ko_fullDeckCountsToFour() {
+        assertThat(deckTotal(CountingSystem.KO)).isEqualTo(4);
+        assertThat(CountingSystem.KO.isBalanced()).isFalse();
+    }
+
+    @Test
+    void tag_faceCardsCountAsTens() {
+        for (CountingSystem system : CountingSystem.values()) {
+            assertThat(system.tag(Card.KING)).isEqualTo(system.tag(Card.TEN));
+            assertThat(system.tag(Card.JACK)).isEqualTo(system.tag(Card.TEN));
+        }
+    }
+
+    @Test
+    void initialRunningCount_balanced_isZero() {
+        assertThat(CountingSystem.HI_LO.initialRunningCount(6)).isEqualTo(0);
+        assertThat(CountingSystem.OMEGA_II.initialRunningCount(6)).isEqualTo(0);
+    }
+
+    @Test
+    void initialRunningCount_ko_startsBelowZero() {
+        assertThat(CountingSystem.KO.initialRunningCount(1)).isEqualTo(0);
+        assertThat(CountingSystem.KO.initialRunningCount(6)).isEqualTo(-20);
+    }
+
+    private static int deckTotal(CountingSystem system) {
+        int total = 0;
+        for (Card card : Card.values()) {
+            total += 4 * system.tag(card);
+        }
+        return total;
+    }
+}
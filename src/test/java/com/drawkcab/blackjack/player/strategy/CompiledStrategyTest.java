@@ -0,0 +1,85 @@
+package com.drawkcab.blackjack.player.strategy;
+
+import com.drawkcab.blackjack.game.Card;
+import com.drawkcab.blackjack.game.Deck;
+import com.drawkcab.blackjack.game.Hand;
+import com.drawkcab.blackjack.player.HandState;
+import com.drawkcab.blackjack.player.Move;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.SplittableRandom;
+
+import static com.google.common.truth.Truth.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class CompiledStrategyTest {
+    private static final long BET = 20;
+
+    @Test
+    void compile_bookStrategy_matchesOriginalOnDealtHands() {
+        Strategy book = new BookPlayerStrategy();
+        Strategy compiled = CompiledStrategy.compile(book);
+        Deck deck = new Deck(6, new SplittableRandom(1));
+
+        for (int i = 0; i < 20_000; i++) {
+            if (deck.cardsRemaining() < 20) {
+                deck.shuffle();
+            }
+            Card dealerCard = deck.getNextCard();
+            HandState hand = new HandState(
+                    new Hand(List.of(deck.getNextCard(), deck.getNextCard())), BET);
+            long bank = i % 2 == 0 ? BET : BET - 1;
+
+            // Walk the hand forward by hitting, checking every decision along the way.
+            while (!hand.isFinished()) {
+                assertThat(compiled.getNextMove(hand, dealerCard, bank))
+                        .isEqualTo(book.getNextMove(hand, dealerCard, bank));
+                hand.hit(deck.getNextCard());
+            }
+        }
+    }
+
+    @Test
+    void compile_dependsOnExtraContext_returnsOriginal() {
+        Strategy strategy = mock(Strategy.class);
+        when(strategy.dependsOnExtraContext()).thenReturn(true);
+
+        assertThat(CompiledStrategy.compile(strategy)).isSameInstanceAs(strategy);
+    }
+
+    @Test
+    void compile_alreadyCompiled_returnsSameInstance() {
+        Strategy compiled = CompiledStrategy.compile(new BookPlayerStrategy());
+
+        assertThat(CompiledStrategy.compile(compiled)).isSameInstanceAs(compiled);
+    }
+
+    @Test
+    void getNextMove_answersFromTableWithoutCallingOriginal() {
+        Strategy strategy = mock(Strategy.class);
+        when(strategy.getNextMove(any(), any(), anyLong())).thenReturn(Move.STAND);
+        Strategy compiled = CompiledStrategy.compile(strategy);
+        when(strategy.getNextMove(any(), any(), anyLong())).thenReturn(Move.HIT);
+
+        HandState hand = new HandState(new Hand(List.of(Card.TEN, Card.SIX)), BET);
+
+        assertThat(compiled.getNextMove(hand, Card.TEN, BET)).isEqualTo(Move.STAND);
+    }
+
+    @Test
+    void getNextMove_justSplit_asksOriginal() {
+        Strategy strategy = mock(Strategy.class);
+        when(strategy.getNextMove(any(), any(), anyLong())).thenReturn(Move.STAND);
+        Strategy compiled = CompiledStrategy.compile(strategy);
+        when(strategy.getNextMove(any(), any(), anyLong())).thenReturn(Move.HIT);
+
+        HandState hand = new HandState(new Hand(List.of(Card.EIGHT, Card.EIGHT)), BET);
+        hand.split();
+
+        assertThat(compiled.getNextMove(hand, Card.TEN, BET)).isEqualTo(Move.HIT);
+    }
+}
@@ -0,0 +1,69 @@
+package com.drawkcab.blackjack.player.strategy;
+
+import com.drawkcab.blackjack.player.counting.CardCounter;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static com.google.common.truth.Truth.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class CountingBetRampTest {
+    private static final long MIN_BET = 20;
+    private static final long BANK = 1_000;
+
+    private CardCounter counter;
+    private CountingBetRamp ramp;
+
+    @BeforeEach
+    void setUp() {
+        counter = mock(CardCounter.class);
+        ramp = new CountingBetRamp(counter, 1, 1, 2, 4, 8);
+    }
+
+    @Test
+    void getBet_betsRampEntryForFlooredTrueCount() {
+        when(counter.trueCount()).thenReturn(3.9);
+
+        assertThat(ramp.getBet(MIN_BET, BANK)).isEqualTo(4 * MIN_BET);
+    }
+
+    @Test
+    void getBet_negativeCount_betsFirstEntry() {
+        when(counter.trueCount()).thenReturn(-4.5);
+
+        assertThat(ramp.getBet(MIN_BET, BANK)).isEqualTo(MIN_BET);
+    }
+
+    @Test
+    void getBet_countPastRamp_betsLastEntry() {
+        when(counter.trueCount()).thenReturn(12.0);
+
+        assertThat(ramp.getBet(MIN_BET, BANK)).isEqualTo(8 * MIN_BET);
+    }
+
+    @Test
+    void getBet_bankShort_betsLargestCoveredMultiple() {
+        when(counter.trueCount()).thenReturn(12.0);
+
+        assertThat(ramp.getBet(MIN_BET, 3 * MIN_BET + 5)).isEqualTo(3 * MIN_BET);
+    }
+
+    @Test
+    void getBet_bankBelowMinimum_betsMinimum() {
+        when(counter.trueCount()).thenReturn(12.0);
+
+        assertThat(ramp.getBet(MIN_BET, MIN_BET / 2)).isEqualTo(MIN_BET);
+    }
+
+    @Test
+    void constructor_emptyRamp_throws() {
+        assertThrows(IllegalArgumentException.class, () -> new CountingBetRamp(counter));
+    }
+
+    @Test
+    void constructor_betBelowMinimum_throws() {
+        assertThrows(IllegalArgumentException.class, () -> new CountingBetRamp(counter, 1, 0));
+    }
+}
@@ -0,0 +1,134 @@
+package com.drawkcab.blackjack.player.strategy;
+
+import com.drawkcab.blackjack.game.Card;
+import com.drawkcab.blackjack.game.Hand;
+import com.drawkcab.blackjack.player.HandState;
+import com.drawkcab.blackjack.player.Move;
+import com.drawkcab.blackjack.player.counting.CardCounter;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static com.google.common.truth.Truth.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class CountingStrategyTest {
+    private static final long BET = 20;
+    private static final long BANK = 1_000;
+
+    private CardCounter counter;
+    private Strategy book;
+
+    @BeforeEach
+    void setUp() {
+        counter = mock(CardCounter.class);
+        book = new BookPlayerStrategy();
+    }
+
+    @Test
+    void getNextMove_countReachesIndex_deviates() {
+        CountingStrategy strategy = new CountingStrategy(book, counter, IndexPlay.ILLUSTRIOUS_18);
+        when(counter.trueCount()).thenReturn(4.0);
+
+        // Basic strategy hits 15 against a ten after the first move, at +4 the player stands.
+        assertThat(strategy.getNextMove(hand(Card.FIVE, Card.FOUR, Card.SIX), Card.TEN, BANK))
+                .isEqualTo(Move.STAND);
+    }
+
+    @Test
+    void getNextMove_countBelowIndex_playsBaseStrategy() {
+        CountingStrategy strategy = new CountingStrategy(book, counter, IndexPlay.ILLUSTRIOUS_18);
+        when(counter.trueCount()).thenReturn(3.0);
+
+        assertThat(strategy.getNextMove(hand(Card.FIVE, Card.FOUR, Card.SIX), Card.TEN, BANK))
+                .isEqualTo(Move.HIT);
+    }
+
+    @Test
+    void getNextMove_belowIndex_deviates() {
+        CountingStrategy strategy = new CountingStrategy(book, counter, IndexPlay.ILLUSTRIOUS_18);
+        when(counter.trueCount()).thenReturn(-1.5);
+
+        // Basic strategy stands on 12 against a 4, below 0 the player hits.
+        assertThat(strategy.getNextMove(hand(Card.TEN, Card.TWO), Card.FOUR, BANK))
+                .isEqualTo(Move.HIT);
+    }
+
+    @Test
+    void getNextMove_doubleNotAllowed_playsBaseStrategy() {
+        CountingStrategy strategy = new CountingStrategy(book, counter, IndexPlay.ILLUSTRIOUS_18);
+        when(counter.trueCount()).thenReturn(10.0);
+
+        // Doubling 11 against an Ace needs two cards and enough bank.
+        assertThat(strategy.getNextMove(hand(Card.TWO, Card.FOUR, Card.FIVE), Card.ACE, BANK))
+                .isEqualTo(Move.HIT);
+        assertThat(strategy.getNextMove(hand(Card.SIX, Card.FIVE), Card.ACE, BET - 1))
+                .isEqualTo(Move.HIT);
+        assertThat(strategy.getNextMove(hand(Card.SIX, Card.FIVE), Card.ACE, BANK))
+                .isEqualTo(Move.DOUBLE_DOWN);
+    }
+
+    @Test
+    void getNextMove_baseSplits_playDeviationDoesNotOverride() {
+        CountingStrategy strategy = new CountingStrategy(book, counter, IndexPlay.ILLUSTRIOUS_18);
+        when(counter.trueCount()).thenReturn(10.0);
+
+        // A pair of sixes is 12, but the stand-on-12 deviation doesn't replace the split.
+        assertThat(strategy.getNextMove(hand(Card.SIX, Card.SIX), Card.TWO, BANK))
+                .isEqualTo(Move.SPLIT);
+    }
+
+    @Test
+    void getNextMove_baseSurrenders_onlySurrenderDeviationOverrides() {
+        CountingStrategy strategy = new CountingStrategy(book, counter, IndexPlay.ILLUSTRIOUS_18);
+        when(counter.trueCount()).thenReturn(10.0);
+
+        assertThat(strategy.getNextMove(hand(Card.TEN, Card.SIX), Card.TEN, BANK))
+                .isEqualTo(Move.SURRENDER);
+    }
+
+    @Test
+    void getNextMove_surrenderDeviation_replacesBaseMove() {
+        CountingStrategy strategy = new CountingStrategy(book, counter, IndexPlay.FAB_4);
+        when(counter.trueCount()).thenReturn(3.0);
+
+        assertThat(strategy.getNextMove(hand(Card.TEN, Card.FOUR), Card.TEN, BANK))
+                .isEqualTo(Move.SURRENDER);
+    }
+
+    @Test
+    void getNextMove_pairDeviation_onlyForPairs() {
+        CountingStrategy strategy = new CountingStrategy(book, counter, IndexPlay.SPLIT_TENS);
+        when(counter.trueCount()).thenReturn(5.0);
+
+        assertThat(strategy.getNextMove(hand(Card.KING, Card.QUEEN), Card.SIX, BANK))
+                .isEqualTo(Move.SPLIT);
+        assertThat(strategy.getNextMove(hand(Card.SEVEN, Card.THREE, Card.KING), Card.SIX, BANK))
+                .isEqualTo(Move.STAND);
+    }
+
+    @Test
+    void getNextMove_noMatchingDeviation_doesNotReadCount() {
+        CountingStrategy strategy = new CountingStrategy(book, counter, IndexPlay.ILLUSTRIOUS_18);
+
+        assertThat(strategy.getNextMove(hand(Card.TEN, Card.NINE), Card.SEVEN, BANK))
+                .isEqualTo(Move.STAND);
+        verify(counter, never()).trueCount();
+    }
+
+    @Test
+    void dependsOnExtraContext_isTrue() {
+        CountingStrategy strategy = new CountingStrategy(book, counter, List.of());
+
+        assertThat(strategy.dependsOnExtraContext()).isTrue();
+        assertThat(CompiledStrategy.compile(strategy)).isSameInstanceAs(strategy);
+    }
+
+    private static HandState hand(Card... cards) {
+        return new HandState(new Hand(List.of(cards)), BET);
+    }
+}
@@ -7,7 +7,6 @@ import com.drawkcab.blackjack.player.Move;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
-import java.math.BigDecimal;
 import java.util.List;
 
 import static com.google.common.truth.Truth.assertThat;
@@ -22,7 +21,7 @@ class DealerStrategyTest {
 
     // Dealer strategy doesn't take into account their bank as they neither wager, nor have the
     // ability to raise the stakes by splitting or doubling down.
-    private static final BigDecimal IGNORED_BANK = BigDecimal.ZERO;
+    private static final long IGNORED_BANK = 0;
 
     DealerStrategy dealerStrategy;
 
@@ -33,7 +32,7 @@ class DealerStrategyTest {
 
     @Test
     void getNextMove_underSeventeen_hits() {
-        HandState handState = new HandState(SIXTEEN, BigDecimal.ZERO);
+        HandState handState = new HandState(SIXTEEN, 0);
 
         Move next = dealerStrategy.getNextMove(handState, IGNORED_DEALER_CARD, IGNORED_BANK);
 
@@ -42,7 +41,7 @@ class DealerStrategyTest {
 
     @Test
     void getNextMove_seventeen_stays() {
-        HandState handState = new HandState(SEVENTEEN, BigDecimal.ZERO);
+        HandState handState = new HandState(SEVENTEEN, 0);
 
         Move next = dealerStrategy.getNextMove(handState, IGNORED_DEALER_CARD, IGNORED_BANK);
 
@@ -51,7 +50,7 @@ class DealerStrategyTest {
 
     @Test
     void getNextMove_softSeventeen_stays() {
-        HandState handState = new HandState(SOFT_SEVENTEEN, BigDecimal.ZERO);
+        HandState handState = new HandState(SOFT_SEVENTEEN, 0);
 
         Move next = dealerStrategy.getNextMove(handState, IGNORED_DEALER_CARD, IGNORED_BANK);
 
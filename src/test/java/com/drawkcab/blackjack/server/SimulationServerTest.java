@@ -0,0 +1,219 @@
+package com.drawkcab.blackjack.server;
+
+import com.drawkcab.blackjack.player.strategy.BookPlayerStrategy;
+import com.drawkcab.blackjack.simulation.MonteCarloSimulator;
+import com.drawkcab.blackjack.simulation.MonteCarloSimulator.SimulationResult;
+import com.drawkcab.blackjack.simulation.modules.BlackJackSimulationModule;
+import com.drawkcab.blackjack.simulation.modules.BlackJackSimulationModule.SimulationConfiguration;
+import com.google.gson.Gson;
+import com.google.inject.Guice;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+import static com.google.common.truth.Truth.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class SimulationServerTest {
+    private static final String SMALL_SIMULATION = """
+            {"numDecks": 6, "startingBank": 20.00, "minBet": 10.00, "strategy": "BOOK",
+             "seed": 42, "runs": 200}""";
+    private static final String ENDLESS_SIMULATION = """
+            {"numDecks": 6, "startingBank": 20.00, "minBet": 10.00, "strategy": "BOOK",
+             "seed": 42, "runs": 2000000000}""";
+
+    private final Gson gson = new Gson();
+    private final HttpClient client = HttpClient.newHttpClient();
+    private SimulationServer server;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        server = new SimulationServer(0, 1, 1);
+    }
+
+    @AfterEach
+    void tearDown() {
+        server.close();
+    }
+
+    @Test
+    void post_runsSimulation_matchesDirectRun() throws Exception {
+        SimulationResult expected = Guice.createInjector(new BlackJackSimulationModule(
+                        new SimulationConfiguration(6, new BigDecimal("20.00"),
+                                new BigDecimal("10.00"), new BookPlayerStrategy(), 1, 42)))
+                .getInstance(MonteCarloSimulator.class)
+                .run(200);
+
+        HttpResponse<String> response = send("POST", "/simulations", SMALL_SIMULATION);
+        assertThat(response.statusCode()).isEqualTo(202);
+        JobStatus submitted = gson.fromJson(response.body(), JobStatus.class);
+        assertThat(response.headers().firstValue("Location"))
+                .hasValue("/simulations/" + submitted.id());
+
+        JobStatus done = awaitState(submitted.id(), JobStatus.State.DONE);
+
+        assertThat(done.result().games()).isEqualTo(200);
+        assertThat(done.result().mean()).isEqualTo(expected.mean());
+        assertThat(done.result().median()).isEqualTo(expected.median());
+    }
+
+    @Test
+    void constructor_port_listensOnLoopbackOnly() {
+        assertThat(server.address().getAddress().isLoopbackAddress()).isTrue();
+    }
+
+    @Test
+    void get_listsJobs() throws Exception {
+        send("POST", "/simulations", SMALL_SIMULATION);
+        send("POST", "/simulations", SMALL_SIMULATION);
+
+        HttpResponse<String> response = send("GET", "/simulations", null);
+
+        assertThat(response.statusCode()).isEqualTo(200);
+        JobStatus[] statuses = gson.fromJson(response.body(), JobStatus[].class);
+        assertThat(statuses).hasLength(2);
+        assertThat(statuses[0].id()).isLessThan(statuses[1].id());
+    }
+
+    @Test
+    void delete_runningJob_cancelsAndForgetsIt() throws Exception {
+        JobStatus submitted = gson.fromJson(
+                send("POST", "/simulations", ENDLESS_SIMULATION).body(), JobStatus.class);
+        awaitState(submitted.id(), JobStatus.State.RUNNING);
+
+        HttpResponse<String> response = send("DELETE", "/simulations/" + submitted.id(), null);
+
+        assertThat(response.statusCode()).isEqualTo(200);
+        assertThat(gson.fromJson(response.body(), JobStatus.class).state())
+                .isEqualTo(JobStatus.State.CANCELLED);
+        assertThat(send("GET", "/simulations/" + submitted.id(), null).statusCode())
+                .isEqualTo(404);
+    }
+
+    @Test
+    void finishedJobs_beyondCap_areForgotten() throws Exception {
+        server.close();
+        server = new SimulationServer(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0),
+                1, 1, 2, SimulationServer.DEFAULT_FINISHED_JOB_TTL);
+        for (int i = 0; i < 3; i++) {
+            send("POST", "/simulations", SMALL_SIMULATION);
+        }
+
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(30);
+        JobStatus[] statuses;
+        do {
+            assertThat(System.nanoTime()).isLessThan(deadline);
+            Thread.sleep(10);
+            statuses = gson.fromJson(send("GET", "/simulations", null).body(),
+                    JobStatus[].class);
+        } while (statuses.length != 2
+                || !Arrays.stream(statuses).allMatch(s -> s.state() == JobStatus.State.DONE));
+    }
+
+    @Test
+    void finishedJobs_pastTtl_areForgotten() throws Exception {
+        server.close();
+        server = new SimulationServer(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0),
+                1, 1, SimulationServer.DEFAULT_MAX_FINISHED_JOBS, Duration.ZERO);
+        JobStatus submitted = gson.fromJson(
+                send("POST", "/simulations", SMALL_SIMULATION).body(), JobStatus.class);
+
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(30);
+        while (send("GET", "/simulations/" + submitted.id(), null).statusCode() != 404) {
+            assertThat(System.nanoTime()).isLessThan(deadline);
+            Thread.sleep(10);
+        }
+    }
+
+    @Test
+    void constructor_negativeRetention_throws() {
+        InetSocketAddress address = new InetSocketAddress(InetAddress.getLoopbackAddress(), 0);
+
+        assertThrows(IllegalArgumentException.class,
+                () -> new SimulationServer(address, 1, 1, -1, Duration.ZERO));
+        assertThrows(IllegalArgumentException.class,
+                () -> new SimulationServer(address, 1, 1, 1, Duration.ofSeconds(-1)));
+    }
+
+    @Test
+    void get_unknownJob_returns404() throws Exception {
+        assertThat(send("GET", "/simulations/999", null).statusCode()).isEqualTo(404);
+        assertThat(send("GET", "/simulations/abc", null).statusCode()).isEqualTo(404);
+    }
+
+    @Test
+    void post_badRequests_return400() throws Exception {
+        assertThat(send("POST", "/simulations", "{not json").statusCode()).isEqualTo(400);
+        assertThat(send("POST", "/simulations", "").statusCode()).isEqualTo(400);
+        assertThat(send("POST", "/simulations",
+                SMALL_SIMULATION.replace("BOOK", "MARTINGALE")).statusCode()).isEqualTo(400);
+        assertThat(send("POST", "/simulations",
+                SMALL_SIMULATION.replace("\"numDecks\": 6", "\"numDecks\": 0")).statusCode())
+                .isEqualTo(400);
+    }
+
+    @Test
+    void post_withCounting_runs() throws Exception {
+        String counting = SMALL_SIMULATION.replace("}", """
+                , "counting": {"system": "HI_LO", "indexPlays": ["ILLUSTRIOUS_18"],
+                 "maxRounds": 1000, "betRamp": [1, 2, 4]}}""");
+
+        HttpResponse<String> response = send("POST", "/simulations", counting);
+        assertThat(response.statusCode()).isEqualTo(202);
+
+        JobStatus done = awaitState(gson.fromJson(response.body(), JobStatus.class).id(),
+                JobStatus.State.DONE);
+        assertThat(done.result().games()).isEqualTo(200);
+    }
+
+    @Test
+    void post_unknownCountingSystem_returns400() throws Exception {
+        String counting = SMALL_SIMULATION.replace("}", """
+                , "counting": {"system": "WONG", "maxRounds": 1000, "betRamp": [1]}}""");
+
+        assertThat(send("POST", "/simulations", counting).statusCode()).isEqualTo(400);
+    }
+
+    @Test
+    void unsupportedMethod_returns405() throws Exception {
+        assertThat(send("PUT", "/simulations", "{}").statusCode()).isEqualTo(405);
+    }
+
+    private HttpResponse<String> send(String method, String path, String body)
+            throws IOException, InterruptedException {
+        HttpRequest request = HttpRequest.newBuilder()
+                .uri(URI.create("http://localhost:" + server.port() + path))
+                .method(method, body == null
+                        ? HttpRequest.BodyPublishers.noBody()
+                        : HttpRequest.BodyPublishers.ofString(body))
+                .build();
+        return client.send(request, HttpResponse.BodyHandlers.ofString());
+    }
+
+    private JobStatus awaitState(long id, JobStatus.State state) throws Exception {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(30);
+        while (true) {
+            JobStatus status = gson.fromJson(send("GET", "/simulations/" + id, null).body(),
+                    JobStatus.class);
+            if (status.state() == state) {
+                return status;
+            }
+            assertThat(status.state()).isNoneOf(JobStatus.State.FAILED,
+                    JobStatus.State.CANCELLED);
+            assertThat(System.nanoTime()).isLessThan(deadline);
+            Thread.sleep(10);
+        }
+    }
+}
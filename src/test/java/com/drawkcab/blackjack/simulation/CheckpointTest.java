@@ -0,0 +1,73 @@
+package com.drawkcab.blackjack.simulation;
+
+import com.drawkcab.blackjack.simulation.statistics.GameStatistics;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+import static com.google.common.truth.Truth.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class CheckpointTest {
+    @TempDir
+    Path directory;
+
+    @Test
+    void read_returnsWhatWasWritten() throws IOException {
+        Path path = directory.resolve("run.checkpoint");
+        Checkpoint checkpoint = new Checkpoint(42, 7, 1_000, 50, 300, statisticsOf(300));
+
+        checkpoint.write(path);
+        Checkpoint read = Checkpoint.read(path);
+
+        assertThat(read.seed()).isEqualTo(42);
+        assertThat(read.configuration()).isEqualTo(7);
+        assertThat(read.numberOfRuns()).isEqualTo(1_000);
+        assertThat(read.gamesPerCheckpoint()).isEqualTo(50);
+        assertThat(read.gamesCompleted()).isEqualTo(300);
+        assertThat(read.statistics()).isEqualTo(checkpoint.statistics());
+    }
+
+    @Test
+    void write_replacesPreviousCheckpointAndLeavesNoTemporaryFile() throws IOException {
+        Path path = directory.resolve("run.checkpoint");
+        new Checkpoint(42, 7, 1_000, 50, 100, statisticsOf(100)).write(path);
+
+        new Checkpoint(42, 7, 1_000, 50, 200, statisticsOf(200)).write(path);
+
+        assertThat(Checkpoint.read(path).gamesCompleted()).isEqualTo(200);
+        try (var files = Files.list(directory)) {
+            assertThat(files.toList()).containsExactly(path);
+        }
+    }
+
+    @Test
+    void read_notACheckpoint_throws() throws IOException {
+        Path path = directory.resolve("notes.txt");
+        Files.writeString(path, "not a checkpoint");
+
+        assertThrows(IOException.class, () -> Checkpoint.read(path));
+    }
+
+    @Test
+    void read_truncated_throws() throws IOException {
+        Path path = directory.resolve("run.checkpoint");
+        new Checkpoint(42, 7, 1_000, 50, 300, statisticsOf(300)).write(path);
+        byte[] bytes = Files.readAllBytes(path);
+        Files.write(path, Arrays.copyOf(bytes, bytes.length / 2));
+
+        assertThrows(IOException.class, () -> Checkpoint.read(path));
+    }
+
+    private static GameStatistics statisticsOf(int games) {
+        GameStatistics statistics = new GameStatistics();
+        for (int i = 1; i <= games; i++) {
+            statistics.add(i * 7L % 101);
+        }
+        return statistics;
+    }
+}
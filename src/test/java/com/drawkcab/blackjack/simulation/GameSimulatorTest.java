@@ -1,6 +1,7 @@
 package com.drawkcab.blackjack.simulation;
 
 import com.drawkcab.blackjack.game.Deck;
+import com.drawkcab.blackjack.game.Money;
 import com.drawkcab.blackjack.player.Dealer;
 import com.drawkcab.blackjack.player.Player;
 import com.drawkcab.blackjack.simulation.modules.MinBet;
@@ -17,6 +18,7 @@ import java.math.BigDecimal;
 
 import static com.google.inject.Guice.createInjector;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -26,7 +28,7 @@ class GameSimulatorTest {
     @Bind @Mock Dealer dealer;
     @Bind @Mock Deck deck;
 
-    @Bind @MinBet BigDecimal minBet = BigDecimal.ONE;
+    @Bind @MinBet long minBet = Money.of(BigDecimal.ONE);
 
     @Inject
     private GameSimulator gameSimulator;
@@ -40,10 +42,10 @@ class GameSimulatorTest {
     void playGame_playerCanAffordPlaysRoundsUntilBroke() {
         // Player can afford 3 rounds, then can't
         when(player.getBank())
-                .thenReturn(BigDecimal.valueOf(5))
-                .thenReturn(BigDecimal.valueOf(3))
-                .thenReturn(BigDecimal.valueOf(1))
-                .thenReturn(BigDecimal.valueOf(0)); // after 3 rounds, broke
+                .thenReturn(5 * minBet)
+                .thenReturn(3 * minBet)
+                .thenReturn(minBet)
+                .thenReturn(0L); // after 3 rounds, broke
 
         long roundsPlayed = gameSimulator.playGame();
 
@@ -56,17 +58,76 @@ class GameSimulatorTest {
         verify(dealer).reset();
     }
 
+    @Test
+    void playGame_countsMetrics() {
+        when(player.getBank())
+                .thenReturn(minBet)
+                .thenReturn(minBet)
+                .thenReturn(0L);
+        SimulationMetrics metrics = SimulationMetrics.get();
+        long games = metrics.getGamesCompleted();
+        long rounds = metrics.getRoundsPlayed();
+        long reshuffles = metrics.getReshuffles();
+
+        gameSimulator.playGame();
+
+        assertEquals(games + 1, metrics.getGamesCompleted());
+        assertEquals(rounds + 2, metrics.getRoundsPlayed());
+        // The mock deck is always empty, so every round reshuffles.
+        assertEquals(reshuffles + 2, metrics.getReshuffles());
+        verify(roundSimulator).flushMetrics();
+    }
+
+    @Test
+    void peakBank_isMostThePlayerHeld() {
+        when(player.getBank())
+                .thenReturn(2 * minBet)
+                .thenReturn(5 * minBet)
+                .thenReturn(minBet)
+                .thenReturn(0L);
+
+        gameSimulator.playGame();
+
+        assertEquals(5 * minBet, gameSimulator.peakBank());
+    }
+
+    @Test
+    void playGame_withSeed_reseedsDeckBeforePlaying() {
+        when(player.getBank()).thenReturn(0L);
+
+        gameSimulator.playGame(42L);
+
+        verify(deck).shuffle(42L);
+    }
+
     @Test
     void playGame_playerCannotAfford_initially_stopsImmediately() {
         // Player is broke right away
-        when(player.getBank()).thenReturn(BigDecimal.ZERO);
+        when(player.getBank()).thenReturn(0L);
 
         long roundsPlayed = gameSimulator.playGame();
 
         assertEquals(0, roundsPlayed);
 
-        verify(roundSimulator, never()).playRound(any(), any(), any(), any());
+        verify(roundSimulator, never()).playRound(any(), any(), any(), anyLong());
         verify(player).reset();
         verify(dealer).reset();
     }
-}
\ No newline at end of file
+
+    @Test
+    void playGame_roundCap_stopsAtCap() {
+        GameSimulator capped = new GameSimulator(roundSimulator, player, dealer, deck, minBet, 2);
+        when(player.getBank()).thenReturn(5 * minBet);
+
+        long roundsPlayed = capped.playGame();
+
+        assertEquals(2, roundsPlayed);
+        verify(roundSimulator, times(2)).playRound(eq(player), eq(dealer), eq(deck), eq(minBet));
+    }
+
+    @Test
+    void constructor_noRounds_throws() {
+        assertThrows(IllegalArgumentException.class,
+                () -> new GameSimulator(roundSimulator, player, dealer, deck, minBet, 0));
+    }
+}
@@ -0,0 +1,330 @@
+package com.drawkcab.blackjack.simulation;
+
+import com.drawkcab.blackjack.game.Money;
+import com.drawkcab.blackjack.player.counting.CountingSystem;
+import com.drawkcab.blackjack.player.strategy.BookPlayerStrategy;
+import com.drawkcab.blackjack.player.strategy.IndexPlay;
+import com.drawkcab.blackjack.simulation.MonteCarloSimulator.AdaptiveResult;
+import com.drawkcab.blackjack.simulation.MonteCarloSimulator.SimulationResult;
+import com.drawkcab.blackjack.simulation.PrecisionTarget.Statistic;
+import com.drawkcab.blackjack.simulation.modules.BlackJackSimulationModule;
+import com.drawkcab.blackjack.simulation.modules.BlackJackSimulationModule.CountingConfiguration;
+import com.drawkcab.blackjack.simulation.modules.BlackJackSimulationModule.SimulationConfiguration;
+import com.drawkcab.blackjack.simulation.results.GameResultsReader;
+import com.drawkcab.blackjack.simulation.results.GameResultsWriter;
+import com.drawkcab.blackjack.simulation.statistics.GameStatistics;
+import com.google.inject.Guice;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Path;
+import java.util.Set;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static com.google.common.truth.Truth.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+class MonteCarloSimulatorTest {
+    private static final long SEED = 42;
+
+    @Test
+    void run_singleThread_summarizesAllGames() {
+        GameSimulator game = mock(GameSimulator.class);
+        when(game.playGame(anyLong())).thenReturn(1L, 2L, 3L, 4L, 5L);
+        MonteCarloSimulator simulator = new MonteCarloSimulator(() -> game, 1, SEED);
+
+        SimulationResult result = simulator.run(5);
+
+        assertThat(result.median()).isEqualTo(3.0);
+        assertThat(result.mean()).isEqualTo(3.0);
+    }
+
+    @Test
+    void run_multipleThreads_playsEveryGameOnce() {
+        AtomicInteger gamesPlayed = new AtomicInteger();
+        GameSimulator game = mock(GameSimulator.class);
+        when(game.playGame(anyLong())).then(invocation -> {
+            gamesPlayed.incrementAndGet();
+            return 10L;
+        });
+        MonteCarloSimulator simulator = new MonteCarloSimulator(() -> game, 4, SEED);
+
+        SimulationResult result = simulator.run(1_000);
+
+        assertThat(gamesPlayed.get()).isEqualTo(1_000);
+        assertThat(result.mean()).isEqualTo(10.0);
+        assertThat(result.standardDeviation()).isEqualTo(0.0);
+    }
+
+    @Test
+    void run_multipleThreads_eachWorkerGetsItsOwnGameSimulator() {
+        Set<Thread> threadsPerSimulator = ConcurrentHashMap.newKeySet();
+        AtomicInteger simulatorsCreated = new AtomicInteger();
+        MonteCarloSimulator simulator = new MonteCarloSimulator(() -> {
+            simulatorsCreated.incrementAndGet();
+            Thread owner = Thread.currentThread();
+            GameSimulator game = mock(GameSimulator.class);
+            when(game.playGame(anyLong())).then(invocation -> {
+                // A simulator must only ever be driven by the thread it was created for.
+                assertThat(Thread.currentThread()).isSameInstanceAs(owner);
+                threadsPerSimulator.add(owner);
+                return 1L;
+            });
+            return game;
+        }, 4, SEED);
+
+        simulator.run(1_000);
+
+        assertThat(simulatorsCreated.get()).isEqualTo(threadsPerSimulator.size());
+    }
+
+    @Test
+    void run_sameSeed_parallelMatchesSerial() {
+        SimulationResult serial = simulatorFor(1, SEED).run(200);
+        SimulationResult parallel = simulatorFor(4, SEED).run(200);
+
+        assertThat(parallel).isEqualTo(serial);
+    }
+
+    @Test
+    void run_differentSeed_differentResults() {
+        SimulationResult first = simulatorFor(1, SEED).run(200);
+        SimulationResult second = simulatorFor(1, SEED + 1).run(200);
+
+        assertThat(second).isNotEqualTo(first);
+    }
+
+    @Test
+    void run_counting_reproducibleAcrossThreadCounts() {
+        CountingConfiguration counting = new CountingConfiguration(CountingSystem.HI_LO,
+                IndexPlay.ILLUSTRIOUS_18, 1_000, 1, 1, 2, 4);
+
+        SimulationResult oneThread = countingSimulatorFor(1, counting).run(200);
+        SimulationResult fourThreads = countingSimulatorFor(4, counting).run(200);
+
+        assertThat(fourThreads.mean()).isEqualTo(oneThread.mean());
+        assertThat(oneThread.percentile(100)).isAtMost(1_000.0);
+    }
+
+    @Test
+    void run_sharedPool_matchesOwnPool() {
+        SimulationResult ownPool = simulatorFor(1, SEED).run(100);
+
+        SimulationResult sharedPool;
+        try (ForkJoinPool pool = new ForkJoinPool(2)) {
+            sharedPool = simulatorFor(1, SEED).run(100, pool, () -> false);
+        }
+
+        assertThat(sharedPool.mean()).isEqualTo(ownPool.mean());
+    }
+
+    @Test
+    void run_cancelled_stopsPlayingGames() {
+        AtomicInteger gamesPlayed = new AtomicInteger();
+        GameSimulator game = mock(GameSimulator.class);
+        when(game.playGame(anyLong())).then(invocation -> (long) gamesPlayed.incrementAndGet());
+        MonteCarloSimulator simulator = new MonteCarloSimulator(() -> game, 1, SEED);
+
+        try (ForkJoinPool pool = new ForkJoinPool(1)) {
+            assertThrows(CancellationException.class,
+                    () -> simulator.run(1_000, pool, () -> gamesPlayed.get() >= 10));
+        }
+
+        assertThat(gamesPlayed.get()).isEqualTo(10);
+    }
+
+    @Test
+    void run_target_stopsOnceMet() {
+        GameSimulator game = mock(GameSimulator.class);
+        when(game.playGame(anyLong())).thenReturn(10L);
+        MonteCarloSimulator simulator = new MonteCarloSimulator(() -> game, 1, SEED);
+
+        AdaptiveResult result =
+                simulator.run(new PrecisionTarget(Statistic.MEAN, 0.5, 0.95, 1_000_000));
+
+        assertThat(result.targetMet()).isTrue();
+        assertThat(result.halfWidth()).isEqualTo(0.0);
+        assertThat(result.result().statistics().count()).isEqualTo(1_000);
+    }
+
+    @Test
+    void run_unreachableTarget_stopsAtMaxRuns() {
+        AtomicInteger gamesPlayed = new AtomicInteger();
+        GameSimulator game = mock(GameSimulator.class);
+        when(game.playGame(anyLong())).then(invocation -> (long) gamesPlayed.incrementAndGet());
+        MonteCarloSimulator simulator = new MonteCarloSimulator(() -> game, 2, SEED);
+
+        AdaptiveResult result =
+                simulator.run(new PrecisionTarget(Statistic.MEAN, 1e-9, 0.95, 5_000));
+
+        assertThat(result.targetMet()).isFalse();
+        assertThat(gamesPlayed.get()).isEqualTo(5_000);
+        assertThat(result.result().statistics().count()).isEqualTo(5_000);
+        assertThat(result.halfWidth()).isGreaterThan(1e-9);
+    }
+
+    @Test
+    void run_target_reachesPrecisionAndMatchesFixedRun() {
+        PrecisionTarget target = new PrecisionTarget(Statistic.MEDIAN, 0.5, 0.95, 1_000_000);
+
+        AdaptiveResult adaptive = simulatorFor(1, SEED).run(target);
+        long games = adaptive.result().statistics().count();
+        SimulationResult fixed = simulatorFor(1, SEED).run((int) games);
+
+        assertThat(adaptive.targetMet()).isTrue();
+        assertThat(adaptive.halfWidth()).isAtMost(0.5);
+        assertThat(games).isGreaterThan(1_000L);
+        assertThat(adaptive.result().mean()).isWithin(1e-9).of(fixed.mean());
+    }
+
+    @Test
+    void resume_afterCrash_matchesUninterruptedRun(@TempDir Path directory) throws IOException {
+        SimulationResult uninterrupted = new MonteCarloSimulator(() -> seededGame(-1), 2, SEED)
+                .run(500, directory.resolve("uninterrupted"), 100);
+
+        Path checkpoint = directory.resolve("crashed");
+        MonteCarloSimulator crashing = new MonteCarloSimulator(() -> seededGame(250), 2, SEED);
+        assertThrows(IllegalStateException.class, () -> crashing.run(500, checkpoint, 100));
+        SimulationResult resumed = new MonteCarloSimulator(() -> seededGame(-1), 2, SEED)
+                .resume(checkpoint);
+
+        assertThat(resumed.statistics()).isEqualTo(uninterrupted.statistics());
+        assertThat(resumed.statistics().count()).isEqualTo(500);
+    }
+
+    @Test
+    void resume_finishedRun_playsNoMoreGames(@TempDir Path directory) throws IOException {
+        Path checkpoint = directory.resolve("run");
+        SimulationResult finished = new MonteCarloSimulator(() -> seededGame(-1), 1, SEED)
+                .run(100, checkpoint, 30);
+        GameSimulator game = mock(GameSimulator.class);
+
+        SimulationResult resumed = new MonteCarloSimulator(() -> game, 1, SEED)
+                .resume(checkpoint);
+
+        assertThat(resumed.statistics()).isEqualTo(finished.statistics());
+        verifyNoInteractions(game);
+    }
+
+    @Test
+    void run_checkpointed_closeToUncheckpointedRun(@TempDir Path directory) throws IOException {
+        SimulationResult checkpointed =
+                simulatorFor(1, SEED).run(300, directory.resolve("run"), 64);
+
+        assertThat(checkpointed.mean()).isWithin(1e-9).of(simulatorFor(1, SEED).run(300).mean());
+    }
+
+    @Test
+    void resume_differentSeed_throws(@TempDir Path directory) throws IOException {
+        Path checkpoint = directory.resolve("run");
+        simulatorFor(1, SEED).run(10, checkpoint, 5);
+
+        assertThrows(IllegalStateException.class,
+                () -> simulatorFor(1, SEED + 1).resume(checkpoint));
+    }
+
+    @Test
+    void resume_differentConfiguration_throws(@TempDir Path directory) throws IOException {
+        Path checkpoint = directory.resolve("run");
+        simulatorFor(1, SEED).run(10, checkpoint, 5);
+        MonteCarloSimulator oneDeck = Guice.createInjector(new BlackJackSimulationModule(
+                        new SimulationConfiguration(1, new BigDecimal("20.00"),
+                                new BigDecimal("10.00"), new BookPlayerStrategy(), 1, SEED)))
+                .getInstance(MonteCarloSimulator.class);
+
+        assertThrows(IllegalStateException.class, () -> oneDeck.resume(checkpoint));
+    }
+
+    @Test
+    void resume_sameConfigurationOtherThreadCount_resumes(@TempDir Path directory)
+            throws IOException {
+        Path checkpoint = directory.resolve("run");
+        SimulationResult finished = simulatorFor(1, SEED).run(50, checkpoint, 20);
+
+        assertThat(simulatorFor(2, SEED).resume(checkpoint).statistics())
+                .isEqualTo(finished.statistics());
+    }
+
+    @Test
+    void run_withResults_writesEveryGame(@TempDir Path directory) throws IOException {
+        Path path = directory.resolve("games.bin");
+        SimulationResult result;
+        try (GameResultsWriter results = GameResultsWriter.create(path)) {
+            result = simulatorFor(2, SEED).run(300, results);
+        }
+
+        GameStatistics written = new GameStatistics();
+        boolean[] seen = new boolean[300];
+        GameResultsReader.scan(path, (game, rounds, peakBank) -> {
+            seen[(int) game] = true;
+            written.add(rounds);
+            // Every game starts with a $20 bank.
+            assertThat(peakBank).isAtLeast(Money.of(new BigDecimal("20.00")));
+        });
+
+        assertThat(seen).asList().doesNotContain(false);
+        assertThat(written.count()).isEqualTo(300);
+        assertThat(written.mean()).isWithin(1e-9).of(result.mean());
+        assertThat(result.mean()).isEqualTo(simulatorFor(1, SEED).run(300).mean());
+    }
+
+    @Test
+    void run_withResults_regionsSmallerThanTask_writesEveryGame(@TempDir Path directory)
+            throws IOException {
+        Path path = directory.resolve("games.bin");
+        try (GameResultsWriter results = GameResultsWriter.create(path, 100)) {
+            simulatorFor(2, SEED).run(300, results);
+        }
+
+        assertThat(GameResultsReader.scan(path, (game, rounds, peakBank) -> { }))
+                .isEqualTo(300);
+    }
+
+    @Test
+    void constructor_noThreads_throws() {
+        assertThrows(IllegalArgumentException.class,
+                () -> new MonteCarloSimulator(() -> mock(GameSimulator.class), 0, SEED));
+    }
+
+    /**
+     * Returns a game whose length depends only on its seed, and which crashes the JVM (as far as
+     * the simulator can tell) on game {@code crashAt}.
+     */
+    private static GameSimulator seededGame(long crashAt) {
+        GameSimulator game = mock(GameSimulator.class);
+        when(game.playGame(anyLong())).then(invocation -> {
+            long seed = invocation.getArgument(0);
+            if (crashAt >= 0 && seed == GameSeeds.forGame(SEED, crashAt)) {
+                throw new IllegalStateException("crashed");
+            }
+            return Math.floorMod(seed, 1_000L);
+        });
+        return game;
+    }
+
+    private static MonteCarloSimulator countingSimulatorFor(int numThreads,
+                                                           CountingConfiguration counting) {
+        SimulationConfiguration configuration = new SimulationConfiguration(
+                6, new BigDecimal("20.00"), new BigDecimal("10.00"), new BookPlayerStrategy(),
+                numThreads, SEED, counting);
+        return Guice.createInjector(new BlackJackSimulationModule(configuration))
+                .getInstance(MonteCarloSimulator.class);
+    }
+
+    private static MonteCarloSimulator simulatorFor(int numThreads, long seed) {
+        SimulationConfiguration configuration = new SimulationConfiguration(
+                6, new BigDecimal("20.00"), new BigDecimal("10.00"), new BookPlayerStrategy(),
+                numThreads, seed);
+        return Guice.createInjector(new BlackJackSimulationModule(configuration))
+                .getInstance(MonteCarloSimulator.class);
+    }
+}
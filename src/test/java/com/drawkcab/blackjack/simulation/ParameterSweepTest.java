@@ -0,0 +1,146 @@
+package com.drawkcab.blackjack.simulation;
+
+import com.drawkcab.blackjack.player.Move;
+import com.drawkcab.blackjack.player.strategy.BookPlayerStrategy;
+import com.drawkcab.blackjack.player.strategy.Strategy;
+import com.drawkcab.blackjack.simulation.MonteCarloSimulator.SimulationResult;
+import com.drawkcab.blackjack.simulation.ParameterSweep.Cell;
+import com.drawkcab.blackjack.simulation.ParameterSweep.CellResult;
+import com.drawkcab.blackjack.simulation.ParameterSweep.Grid;
+import com.drawkcab.blackjack.simulation.modules.BlackJackSimulationModule;
+import com.drawkcab.blackjack.simulation.modules.BlackJackSimulationModule.SimulationConfiguration;
+import com.google.inject.Guice;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static com.google.common.truth.Truth.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class ParameterSweepTest {
+    private static final long SEED = 42;
+    private static final Strategy BOOK = new BookPlayerStrategy();
+    private static final Strategy ALWAYS_STAND = (hand, dealerFaceUpCard, bank) -> Move.STAND;
+
+    @Test
+    void cells_expandEveryCombination_strategyFastest() {
+        Grid grid = new Grid(List.of(1, 6), List.of(new BigDecimal("20")),
+                List.of(new BigDecimal("5"), new BigDecimal("10")), strategies());
+
+        List<Cell> cells = grid.cells();
+
+        assertThat(cells).hasSize(8);
+        assertThat(cells.get(0))
+                .isEqualTo(new Cell(1, new BigDecimal("20"), new BigDecimal("5"), "book"));
+        assertThat(cells.get(1))
+                .isEqualTo(new Cell(1, new BigDecimal("20"), new BigDecimal("5"), "stand"));
+        assertThat(cells.get(7))
+                .isEqualTo(new Cell(6, new BigDecimal("20"), new BigDecimal("10"), "stand"));
+    }
+
+    @Test
+    void grid_emptyField_throws() {
+        assertThrows(IllegalArgumentException.class, () -> new Grid(List.of(),
+                List.of(BigDecimal.TEN), List.of(BigDecimal.ONE), strategies()));
+    }
+
+    @Test
+    void range_includesBothEnds() {
+        assertThat(ParameterSweep.range(1, 8, 3)).containsExactly(1, 4, 7).inOrder();
+        assertThat(ParameterSweep.range(new BigDecimal("10.00"), new BigDecimal("12.50"),
+                new BigDecimal("1.25")))
+                .containsExactly(new BigDecimal("10.00"), new BigDecimal("11.25"),
+                        new BigDecimal("12.50"))
+                .inOrder();
+    }
+
+    @Test
+    void range_nearIntegerMax_ends() {
+        assertThat(ParameterSweep.range(Integer.MAX_VALUE - 5, Integer.MAX_VALUE, 4))
+                .containsExactly(Integer.MAX_VALUE - 5, Integer.MAX_VALUE - 1).inOrder();
+        assertThat(ParameterSweep.range(Integer.MAX_VALUE, Integer.MAX_VALUE, 1))
+                .containsExactly(Integer.MAX_VALUE);
+    }
+
+    @Test
+    void range_invalid_throws() {
+        assertThrows(IllegalArgumentException.class, () -> ParameterSweep.range(1, 8, 0));
+        assertThrows(IllegalArgumentException.class, () -> ParameterSweep.range(
+                BigDecimal.TEN, BigDecimal.ONE, BigDecimal.ONE));
+    }
+
+    @Test
+    void run_cellMatchesSingleSimulation() {
+        Grid grid = new Grid(List.of(1, 2), List.of(new BigDecimal("20")),
+                List.of(new BigDecimal("5")), strategies());
+
+        List<CellResult> results = new ParameterSweep(base(4), grid).run(100, result -> {});
+
+        SimulationResult alone = Guice.createInjector(new BlackJackSimulationModule(
+                        new SimulationConfiguration(2, new BigDecimal("20"), new BigDecimal("5"),
+                                BOOK, 1, SEED)))
+                .getInstance(MonteCarloSimulator.class)
+                .run(100);
+        assertThat(results).hasSize(4);
+        CellResult cell = results.get(2);
+        assertThat(cell.cell())
+                .isEqualTo(new Cell(2, new BigDecimal("20"), new BigDecimal("5"), "book"));
+        assertThat(cell.result().statistics()).isEqualTo(alone.statistics());
+    }
+
+    @Test
+    void run_reportsEveryCellOnce() {
+        Grid grid = new Grid(ParameterSweep.range(1, 3, 1), List.of(new BigDecimal("20")),
+                List.of(new BigDecimal("5"), new BigDecimal("10")), strategies());
+        List<Cell> reported = new ArrayList<>();
+
+        List<CellResult> results =
+                new ParameterSweep(base(2), grid).run(20, result -> reported.add(result.cell()));
+
+        assertThat(reported).containsExactlyElementsIn(grid.cells());
+        assertThat(results.stream().map(CellResult::cell).toList())
+                .containsExactlyElementsIn(grid.cells()).inOrder();
+    }
+
+    @Test
+    void run_writesTable() throws Exception {
+        Grid grid = new Grid(List.of(6), List.of(new BigDecimal("20.00")),
+                List.of(new BigDecimal("10.00")), Map.of("book", BOOK));
+        StringBuilder table = new StringBuilder();
+
+        List<CellResult> results = new ParameterSweep(base(1), grid).run(10, table);
+
+        String[] lines = table.toString().split("\n");
+        assertThat(lines).hasLength(2);
+        assertThat(lines[0]).isEqualTo(CellResult.CSV_HEADER);
+        assertThat(lines[1]).isEqualTo(results.get(0).toCsvRow());
+        assertThat(lines[1]).startsWith("6,20.00,10.00,book,10,");
+    }
+
+    @Test
+    void toCsvRow_strategyWithCommaOrQuote_isQuoted() {
+        Grid grid = new Grid(List.of(6), List.of(new BigDecimal("20.00")),
+                List.of(new BigDecimal("10.00")), Map.of("book, \"tuned\"", BOOK));
+
+        List<CellResult> results = new ParameterSweep(base(1), grid).run(10, result -> {});
+
+        assertThat(results.get(0).toCsvRow())
+                .startsWith("6,20.00,10.00,\"book, \"\"tuned\"\"\",10,");
+    }
+
+    private static SimulationConfiguration base(int numThreads) {
+        return new SimulationConfiguration(6, new BigDecimal("100"), new BigDecimal("10"), BOOK,
+                numThreads, SEED);
+    }
+
+    private static Map<String, Strategy> strategies() {
+        Map<String, Strategy> strategies = new LinkedHashMap<>();
+        strategies.put("book", BOOK);
+        strategies.put("stand", ALWAYS_STAND);
+        return strategies;
+    }
+}
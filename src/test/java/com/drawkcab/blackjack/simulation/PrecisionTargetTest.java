@@ -0,0 +1,80 @@
+package com.drawkcab.blackjack.simulation;
+
+import com.drawkcab.blackjack.simulation.MonteCarloSimulator.SimulationResult;
+import com.drawkcab.blackjack.simulation.PrecisionTarget.Statistic;
+import com.drawkcab.blackjack.simulation.statistics.GameStatistics;
+import org.junit.jupiter.api.Test;
+
+import static com.google.common.truth.Truth.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class PrecisionTargetTest {
+
+    @Test
+    void achievedHalfWidth_mean_isNormalInterval() {
+        SimulationResult result = resultOf(1, 100);
+        PrecisionTarget target = new PrecisionTarget(Statistic.MEAN, 1, 0.95, 1_000);
+
+        // z(0.975) * s / sqrt(n), with s = sqrt(100 * 101 / 12) for 1..100.
+        assertThat(target.achievedHalfWidth(result))
+                .isWithin(1e-6).of(1.959964 * Math.sqrt(100 * 101 / 12.0) / 10);
+    }
+
+    @Test
+    void achievedHalfWidth_median_bracketsOrderStatistics() {
+        SimulationResult result = resultOf(1, 10_000);
+        PrecisionTarget target = new PrecisionTarget(Statistic.MEDIAN, 1, 0.95, 1_000_000);
+
+        // The quantiles 0.5 -/+ 1.96 * 0.5 / 100 of 1..10,000 are about 98 games apart.
+        assertThat(target.achievedHalfWidth(result)).isWithin(2).of(98);
+    }
+
+    @Test
+    void achievedHalfWidth_higherConfidence_isWider() {
+        SimulationResult result = resultOf(1, 1_000);
+
+        double ninety = new PrecisionTarget(Statistic.MEAN, 1, 0.90, 10).achievedHalfWidth(result);
+        double ninetyNine =
+                new PrecisionTarget(Statistic.MEAN, 1, 0.99, 10).achievedHalfWidth(result);
+
+        assertThat(ninetyNine).isGreaterThan(ninety);
+    }
+
+    @Test
+    void achievedHalfWidth_tooFewGames_isNaN() {
+        PrecisionTarget target = new PrecisionTarget(Statistic.MEDIAN, 1, 0.95, 10);
+
+        assertThat(target.achievedHalfWidth(resultOf(1, 1))).isNaN();
+        assertThat(target.isMetBy(resultOf(1, 1))).isFalse();
+    }
+
+    @Test
+    void isMetBy_comparesHalfWidth() {
+        SimulationResult result = resultOf(1, 100);
+
+        assertThat(new PrecisionTarget(Statistic.MEAN, 6, 0.95, 10).isMetBy(result)).isTrue();
+        assertThat(new PrecisionTarget(Statistic.MEAN, 5, 0.95, 10).isMetBy(result)).isFalse();
+    }
+
+    @Test
+    void constructor_invalidTarget_throws() {
+        assertThrows(IllegalArgumentException.class,
+                () -> new PrecisionTarget(null, 1, 0.95, 10));
+        assertThrows(IllegalArgumentException.class,
+                () -> new PrecisionTarget(Statistic.MEAN, 0, 0.95, 10));
+        assertThrows(IllegalArgumentException.class,
+                () -> new PrecisionTarget(Statistic.MEAN, Double.NaN, 0.95, 10));
+        assertThrows(IllegalArgumentException.class,
+                () -> new PrecisionTarget(Statistic.MEAN, 1, 1, 10));
+        assertThrows(IllegalArgumentException.class,
+                () -> new PrecisionTarget(Statistic.MEAN, 1, 0.95, 0));
+    }
+
+    private static SimulationResult resultOf(long first, long last) {
+        GameStatistics statistics = new GameStatistics();
+        for (long rounds = first; rounds <= last; rounds++) {
+            statistics.add(rounds);
+        }
+        return SimulationResult.of(statistics);
+    }
+}
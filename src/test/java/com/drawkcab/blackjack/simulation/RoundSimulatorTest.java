@@ -4,6 +4,7 @@ import com.drawkcab.blackjack.game.Card;
 import com.drawkcab.blackjack.game.Deck;
 import com.drawkcab.blackjack.game.HandEvaluator;
 import com.drawkcab.blackjack.game.HandOutcome;
+import com.drawkcab.blackjack.game.Money;
 import com.drawkcab.blackjack.player.Dealer;
 import com.drawkcab.blackjack.player.Move;
 import com.drawkcab.blackjack.player.Player;
@@ -24,11 +25,13 @@ import java.math.BigDecimal;
 import static com.google.common.truth.Truth.assertThat;
 import static com.google.inject.Guice.createInjector;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
 class RoundSimulatorTest {
-    private static final BigDecimal STARTING_BANK = BigDecimal.TEN;
+    private static final long STARTING_BANK = Money.of(BigDecimal.TEN);
+    private static final long ONE = Money.of(BigDecimal.ONE);
 
     @Bind @Mock HandEvaluator mockHandEvaluator;
     @Mock Strategy playerStrategy;
@@ -49,34 +52,44 @@ class RoundSimulatorTest {
         deck = new Deck(1);
 
         // Marking these as lenient because when a dealer gets blackjack, no moves are performed.
-        lenient().when(playerStrategy.getNextMove(any(), any(), any())).thenReturn(Move.STAND);
-        lenient().when(dealerStrategy.getNextMove(any(), any(), any())).thenReturn(Move.STAND);
+        lenient().when(playerStrategy.getNextMove(any(), any(), anyLong())).thenReturn(Move.STAND);
+        lenient().when(dealerStrategy.getNextMove(any(), any(), anyLong())).thenReturn(Move.STAND);
     }
 
     @Test
     public void playRound_playerWins_bankIncreases() {
         when(mockHandEvaluator.getOutcome(any(), any())).thenReturn(HandOutcome.WIN);
 
-        roundSimulator.playRound(player, dealer, deck, BigDecimal.ONE);
+        roundSimulator.playRound(player, dealer, deck, ONE);
 
-        assertThat(player.getBank()).isEqualTo(BigDecimal.valueOf(11));
+        assertThat(player.getBank()).isEqualTo(Money.of(BigDecimal.valueOf(11)));
+    }
+
+    @Test
+    void playRound_bettingStrategy_betsBeforeDealing() {
+        Player bettor = new Player(playerStrategy, (minBet, bank) -> minBet * 3, STARTING_BANK);
+        when(mockHandEvaluator.getOutcome(any(), any())).thenReturn(HandOutcome.WIN);
+
+        roundSimulator.playRound(bettor, dealer, deck, ONE);
+
+        assertThat(bettor.getBank()).isEqualTo(STARTING_BANK + 3 * ONE);
     }
 
     @Test
     void playRound_blackjackWin_paysOnePointFive() {
         when(mockHandEvaluator.getOutcome(any(), any())).thenReturn(HandOutcome.BLACKJACK_WIN);
 
-        roundSimulator.playRound(player, dealer, deck, BigDecimal.ONE);
+        roundSimulator.playRound(player, dealer, deck, ONE);
 
         // BLACKJACK_WIN pays 2.5x total (2.5x1 = 2.5)
-        assertThat(player.getBank()).isEqualTo(BigDecimal.valueOf(11.5));
+        assertThat(player.getBank()).isEqualTo(Money.of(new BigDecimal("11.5")));
     }
 
     @Test
     void playRound_push_playerGetsBetBack() {
         when(mockHandEvaluator.getOutcome(any(), any())).thenReturn(HandOutcome.PUSH);
 
-        roundSimulator.playRound(player, dealer, deck, BigDecimal.ONE);
+        roundSimulator.playRound(player, dealer, deck, ONE);
 
         // PUSH means player simply gets their original bet back
         assertThat(player.getBank()).isEqualTo(STARTING_BANK);
@@ -86,10 +99,10 @@ class RoundSimulatorTest {
     void playRound_loss_playerLosesBet() {
         when(mockHandEvaluator.getOutcome(any(), any())).thenReturn(HandOutcome.LOSS);
 
-        roundSimulator.playRound(player, dealer, deck, BigDecimal.ONE);
+        roundSimulator.playRound(player, dealer, deck, ONE);
 
         // LOSS: player does not get anything back
-        BigDecimal expectedBank = STARTING_BANK.subtract(BigDecimal.ONE);
+        long expectedBank = STARTING_BANK - ONE;
         assertThat(player.getBank()).isEqualTo(expectedBank);
     }
 
@@ -97,20 +110,50 @@ class RoundSimulatorTest {
     void playRound_surrender_halfBetReturned() {
         when(mockHandEvaluator.getOutcome(any(), any())).thenReturn(HandOutcome.SURRENDER);
 
-        roundSimulator.playRound(player, dealer, deck, new BigDecimal("1.00"));
+        roundSimulator.playRound(player, dealer, deck, Money.of(new BigDecimal("1.00")));
 
         // SURRENDER returns half the bet
-        assertThat(player.getBank()).isEqualTo(new BigDecimal("9.50"));
+        assertThat(player.getBank()).isEqualTo(Money.of(new BigDecimal("9.50")));
+    }
+
+    @Test
+    void playRound_table_settlesEverySeatAgainstOneDealerHand() {
+        when(mockHandEvaluator.getOutcome(any(), any()))
+                .thenReturn(HandOutcome.WIN)
+                .thenReturn(HandOutcome.LOSS)
+                .thenReturn(HandOutcome.PUSH);
+        Player second = new Player(playerStrategy, STARTING_BANK);
+        Player third = new Player(playerStrategy, STARTING_BANK);
+        int cards = deck.cardsRemaining();
+
+        roundSimulator.playRound(new Player[] {player, second, third}, 3, dealer, deck, ONE);
+
+        assertThat(player.getBank()).isEqualTo(STARTING_BANK + ONE);
+        assertThat(second.getBank()).isEqualTo(STARTING_BANK - ONE);
+        assertThat(third.getBank()).isEqualTo(STARTING_BANK);
+        // Everyone stands, so just the deal: two cards per seat and two for the dealer.
+        assertThat(deck.cardsRemaining()).isEqualTo(cards - 8);
+    }
+
+    @Test
+    void playRound_table_seatsBeyondCountSitOut() {
+        when(mockHandEvaluator.getOutcome(any(), any())).thenReturn(HandOutcome.WIN);
+        Player sittingOut = new Player(playerStrategy, STARTING_BANK);
+
+        roundSimulator.playRound(new Player[] {player, sittingOut}, 1, dealer, deck, ONE);
+
+        assertThat(player.getBank()).isEqualTo(STARTING_BANK + ONE);
+        assertThat(sittingOut.getBank()).isEqualTo(STARTING_BANK);
     }
 
     @Test
     void playRound_multipleHands_resolvesEachHandSeparately() {
-        when(playerStrategy.getNextMove(any(), any(), any()))
+        when(playerStrategy.getNextMove(any(), any(), anyLong()))
                 .thenReturn(Move.SPLIT)  // First call: split
                 .thenReturn(Move.STAND)  // Then stand on first split hand
                 .thenReturn(Move.STAND); // Then stand on second split hand
 
-        when(dealerStrategy.getNextMove(any(), any(), any()))
+        when(dealerStrategy.getNextMove(any(), any(), anyLong()))
                 .thenReturn(Move.STAND);
 
         when(mockHandEvaluator.getOutcome(any(), any()))
@@ -120,8 +163,15 @@ class RoundSimulatorTest {
         Deck mockDeck = mock(Deck.class);
         when(mockDeck.getNextCard()).thenReturn(Card.EIGHT);
 
-        roundSimulator.playRound(player, dealer, mockDeck, BigDecimal.ONE);
+        SimulationMetrics metrics = SimulationMetrics.get();
+        long hands = metrics.getHandsPlayed();
+        long splits = metrics.getSplits();
+
+        roundSimulator.playRound(player, dealer, mockDeck, ONE);
+        roundSimulator.flushMetrics();
 
-        assertThat(player.getBank()).isEqualTo(STARTING_BANK.add(BigDecimal.TWO));
+        assertThat(player.getBank()).isEqualTo(STARTING_BANK + 2 * ONE);
+        assertThat(metrics.getHandsPlayed()).isEqualTo(hands + 2);
+        assertThat(metrics.getSplits()).isEqualTo(splits + 1);
     }
 }
\ No newline at end of file
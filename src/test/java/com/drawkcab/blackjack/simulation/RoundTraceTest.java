@@ -0,0 +1,74 @@
+package com.drawkcab.blackjack.simulation;
+
+import com.drawkcab.blackjack.game.Card;
+import com.drawkcab.blackjack.player.Move;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static com.google.common.truth.Truth.assertThat;
+
+class RoundTraceTest {
+    @BeforeEach
+    void setup() {
+        RoundTrace.clear();
+    }
+
+    @Test
+    void disabledByDefault() {
+        assertThat(RoundTrace.ENABLED).isFalse();
+    }
+
+    @Test
+    void dump_returnsEventsOldestFirst() {
+        RoundTrace.deal(Card.TEN, Card.SIX, Card.ACE, Card.SEVEN);
+        RoundTrace.move(false, Move.HIT, Card.TWO);
+        RoundTrace.move(false, Move.STAND, null);
+        RoundTrace.move(true, Move.HIT, Card.KING);
+        RoundTrace.settle(1, 40);
+        RoundTrace.reshuffle(48);
+
+        assertThat(RoundTrace.dump()).containsExactly(
+                "DEAL dealer=[TEN, SIX] player=[ACE, SEVEN]",
+                "MOVE player HIT TWO",
+                "MOVE player STAND",
+                "MOVE dealer HIT KING",
+                "SETTLE hands=[1] bankChange=[40]",
+                "RESHUFFLE cardsRemaining=[48]").inOrder();
+    }
+
+    @Test
+    void dump_full_keepsMostRecentEvents() {
+        for (int i = 0; i < RoundTrace.CAPACITY + 5; i++) {
+            RoundTrace.reshuffle(i);
+        }
+
+        List<String> dumped = RoundTrace.dump();
+
+        assertThat(dumped).hasSize(RoundTrace.CAPACITY);
+        assertThat(dumped.getFirst()).isEqualTo("RESHUFFLE cardsRemaining=[5]");
+        assertThat(dumped.getLast())
+                .isEqualTo("RESHUFFLE cardsRemaining=[" + (RoundTrace.CAPACITY + 4) + "]");
+    }
+
+    @Test
+    void clear_forgetsEvents() {
+        RoundTrace.settle(1, 0);
+
+        RoundTrace.clear();
+
+        assertThat(RoundTrace.dump()).isEmpty();
+    }
+
+    @Test
+    void dump_onlySeesCallingThread() throws Exception {
+        RoundTrace.settle(1, 0);
+
+        List<String> otherThread = CompletableFuture.supplyAsync(RoundTrace::dump).get();
+
+        assertThat(otherThread).isEmpty();
+        assertThat(RoundTrace.dump()).hasSize(1);
+    }
+}
@@ -0,0 +1,97 @@
+package com.drawkcab.blackjack.simulation;
+
+import com.drawkcab.blackjack.player.strategy.BookPlayerStrategy;
+import com.drawkcab.blackjack.simulation.modules.BlackJackSimulationModule;
+import com.drawkcab.blackjack.simulation.modules.BlackJackSimulationModule.SimulationConfiguration;
+import com.google.inject.Guice;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Path;
+import java.util.List;
+
+import static com.google.common.truth.Truth.assertThat;
+
+class SimulationEventsTest {
+    private static final String GAME = "com.drawkcab.blackjack.GameSimulated";
+    private static final String ROUND = "com.drawkcab.blackjack.RoundPlayed";
+    private static final String SHUFFLE = "com.drawkcab.blackjack.ShoeShuffled";
+    private static final int GAMES = 300;
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void enabled_recordsOneInEverySampleRate() throws IOException {
+        List<RecordedEvent> events;
+        long rounds;
+        try (Recording recording = new Recording()) {
+            recording.enable(GAME);
+            recording.enable(ROUND);
+            recording.enable(SHUFFLE);
+            recording.start();
+            rounds = playGames();
+            recording.stop();
+            events = dump(recording);
+        }
+
+        assertThat(named(events, GAME)).hasSize(GAMES / SimulationEvents.SAMPLE_EVERY);
+        List<RecordedEvent> roundEvents = named(events, ROUND);
+        assertThat(roundEvents).hasSize((int) (rounds / SimulationEvents.SAMPLE_EVERY));
+        // Every game starts with a seeded shuffle, so there are at least that many samples.
+        assertThat(named(events, SHUFFLE).size())
+                .isAtLeast(GAMES / SimulationEvents.SAMPLE_EVERY);
+
+        RecordedEvent round = roundEvents.getFirst();
+        long phases = round.getDuration("dealTime").toNanos()
+                + round.getDuration("playerTime").toNanos()
+                + round.getDuration("dealerTime").toNanos()
+                + round.getDuration("settleTime").toNanos();
+        assertThat(phases).isAtMost(round.getDuration().toNanos());
+        assertThat(round.getInt("hands")).isAtLeast(1);
+    }
+
+    @Test
+    void notEnabled_recordsNothing() throws IOException {
+        List<RecordedEvent> events;
+        try (Recording recording = new Recording()) {
+            recording.start();
+            playGames();
+            recording.stop();
+            events = dump(recording);
+        }
+
+        assertThat(named(events, GAME)).isEmpty();
+        assertThat(named(events, ROUND)).isEmpty();
+        assertThat(named(events, SHUFFLE)).isEmpty();
+    }
+
+    private static long playGames() {
+        GameSimulator game = Guice.createInjector(new BlackJackSimulationModule(
+                        new SimulationConfiguration(6, new BigDecimal("20"), new BigDecimal("5"),
+                                new BookPlayerStrategy(), 1, 1)))
+                .getInstance(GameSimulator.class);
+        long rounds = 0;
+        for (long seed = 0; seed < GAMES; seed++) {
+            rounds += game.playGame(seed);
+        }
+        return rounds;
+    }
+
+    private List<RecordedEvent> dump(Recording recording) throws IOException {
+        Path file = directory.resolve("simulation.jfr");
+        recording.dump(file);
+        return RecordingFile.readAllEvents(file);
+    }
+
+    private static List<RecordedEvent> named(List<RecordedEvent> events, String name) {
+        return events.stream()
+                .filter(event -> event.getEventType().getName().equals(name))
+                .toList();
+    }
+}
@@ -0,0 +1,77 @@
+package com.drawkcab.blackjack.simulation;
+
+import com.drawkcab.blackjack.player.strategy.BookPlayerStrategy;
+import com.drawkcab.blackjack.simulation.modules.BlackJackSimulationModule;
+import com.drawkcab.blackjack.simulation.modules.BlackJackSimulationModule.SimulationConfiguration;
+import com.google.inject.Guice;
+import org.junit.jupiter.api.Test;
+
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.math.BigDecimal;
+
+import static com.google.common.truth.Truth.assertThat;
+
+class SimulationMetricsTest {
+
+    @Test
+    void add_countsTallyAndClearsIt() {
+        SimulationMetrics metrics = SimulationMetrics.get();
+        long games = metrics.getGamesCompleted();
+        long rounds = metrics.getRoundsPlayed();
+        long doubles = metrics.getDoubles();
+        long surrenders = metrics.getSurrenders();
+        SimulationMetrics.Tally tally = new SimulationMetrics.Tally();
+        tally.games = 1;
+        tally.rounds = 40;
+        tally.doubles = 3;
+
+        metrics.add(tally);
+
+        assertThat(metrics.getGamesCompleted()).isEqualTo(games + 1);
+        assertThat(metrics.getRoundsPlayed()).isEqualTo(rounds + 40);
+        assertThat(metrics.getDoubles()).isEqualTo(doubles + 3);
+        assertThat(metrics.getSurrenders()).isEqualTo(surrenders);
+        assertThat(tally.rounds).isEqualTo(0);
+        assertThat(tally.doubles).isEqualTo(0);
+        assertThat(metrics.getMillisSinceLastProgress()).isLessThan(5_000);
+    }
+
+    @Test
+    void registeredAsPlatformMXBean() throws Exception {
+        SimulationMetrics metrics = SimulationMetrics.get();
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        ObjectName name = new ObjectName(SimulationMetrics.OBJECT_NAME);
+        SimulationMetrics.Tally tally = new SimulationMetrics.Tally();
+        tally.reshuffles = 2;
+
+        metrics.add(tally);
+        SimulationMetrics.awaitRegistration();
+
+        assertThat(server.isRegistered(name)).isTrue();
+        assertThat(server.getAttribute(name, "Reshuffles")).isEqualTo(metrics.getReshuffles());
+        assertThat((Double) server.getAttribute(name, "RoundsPerSecond")).isAtLeast(0.0);
+    }
+
+    @Test
+    void simulation_updatesCounters() {
+        SimulationMetrics metrics = SimulationMetrics.get();
+        long games = metrics.getGamesCompleted();
+        long rounds = metrics.getRoundsPlayed();
+        long hands = metrics.getHandsPlayed();
+
+        GameSimulator game = Guice.createInjector(new BlackJackSimulationModule(
+                        new SimulationConfiguration(6, new BigDecimal("20"), new BigDecimal("5"),
+                                new BookPlayerStrategy(), 1, 1)))
+                .getInstance(GameSimulator.class);
+        long played = 0;
+        for (long seed = 0; seed < 10; seed++) {
+            played += game.playGame(seed);
+        }
+
+        assertThat(metrics.getGamesCompleted()).isEqualTo(games + 10);
+        assertThat(metrics.getRoundsPlayed()).isEqualTo(rounds + played);
+        assertThat(metrics.getHandsPlayed()).isAtLeast(hands + played);
+    }
+}
@@ -0,0 +1,181 @@
+package com.drawkcab.blackjack.simulation;
+
+import com.drawkcab.blackjack.player.strategy.BookPlayerStrategy;
+import com.drawkcab.blackjack.simulation.MonteCarloSimulator.SimulationResult;
+import com.drawkcab.blackjack.simulation.modules.BlackJackSimulationModule;
+import com.drawkcab.blackjack.simulation.modules.BlackJackSimulationModule.SimulationConfiguration;
+import com.drawkcab.blackjack.simulation.statistics.GameStatistics;
+import com.google.inject.Guice;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+
+import static com.google.common.truth.Truth.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class SimulationServiceTest {
+    private static final SimulationConfiguration CONFIGURATION = new SimulationConfiguration(
+            6, new BigDecimal("20.00"), new BigDecimal("10.00"), new BookPlayerStrategy(), 1, 42);
+
+    @Test
+    void submit_matchesBlockingRun() throws Exception {
+        SimulationResult expected = Guice.createInjector(
+                        new BlackJackSimulationModule(CONFIGURATION))
+                .getInstance(MonteCarloSimulator.class)
+                .run(200);
+
+        SimulationResult result;
+        try (SimulationService service = new SimulationService(2, 2)) {
+            result = service.submit(CONFIGURATION, 200).get(30, TimeUnit.SECONDS);
+        }
+
+        assertThat(result.mean()).isEqualTo(expected.mean());
+        assertThat(result.median()).isEqualTo(expected.median());
+    }
+
+    @Test
+    void submit_moreJobsThanSlots_runsAtMostMaxConcurrentJobs() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger mostRunning = new AtomicInteger();
+        List<CompletableFuture<SimulationResult>> results = new ArrayList<>();
+
+        try (SimulationService service = new SimulationService(2, 1,
+                (configuration, runs, pool, cancelled) -> {
+                    mostRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+                    await(release);
+                    running.decrementAndGet();
+                    return result();
+                })) {
+            for (int i = 0; i < 5; i++) {
+                results.add(service.submit(CONFIGURATION, 1));
+            }
+            waitUntil(() -> service.runningJobs() == 2 && service.queuedJobs() == 3);
+
+            release.countDown();
+            for (CompletableFuture<SimulationResult> result : results) {
+                result.get(10, TimeUnit.SECONDS);
+            }
+        }
+
+        assertThat(mostRunning.get()).isEqualTo(2);
+    }
+
+    @Test
+    void cancel_queuedJob_neverRuns() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger started = new AtomicInteger();
+
+        CompletableFuture<SimulationResult> queued;
+        try (SimulationService service = new SimulationService(1, 1,
+                (configuration, runs, pool, cancelled) -> {
+                    started.incrementAndGet();
+                    await(release);
+                    return result();
+                })) {
+            CompletableFuture<SimulationResult> running = service.submit(CONFIGURATION, 1);
+            queued = service.submit(CONFIGURATION, 1);
+            waitUntil(() -> service.queuedJobs() == 1);
+
+            queued.cancel(true);
+            release.countDown();
+            running.get(10, TimeUnit.SECONDS);
+        }
+
+        assertThat(queued.isCancelled()).isTrue();
+        assertThat(started.get()).isEqualTo(1);
+    }
+
+    @Test
+    void cancel_runningJob_stopsAndFreesSlot() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+
+        try (SimulationService service = new SimulationService(1, 1,
+                (configuration, runs, pool, cancelled) -> {
+                    started.countDown();
+                    while (!cancelled.getAsBoolean()) {
+                        Thread.onSpinWait();
+                    }
+                    throw new CancellationException();
+                })) {
+            CompletableFuture<SimulationResult> running = service.submit(CONFIGURATION, 1);
+            await(started);
+
+            running.cancel(true);
+
+            waitUntil(() -> service.runningJobs() == 0);
+            assertThrows(CancellationException.class, running::join);
+        }
+    }
+
+    @Test
+    void cancel_realSimulation_stopsBeforeEveryGameIsPlayed() throws Exception {
+        try (SimulationService service = new SimulationService(1, 1)) {
+            CompletableFuture<SimulationResult> result =
+                    service.submit(CONFIGURATION, Integer.MAX_VALUE);
+            waitUntil(() -> service.runningJobs() == 1);
+
+            result.cancel(true);
+
+            waitUntil(() -> service.runningJobs() == 0);
+            assertThat(result.isCancelled()).isTrue();
+        }
+    }
+
+    @Test
+    void submit_failingJob_completesExceptionally() {
+        try (SimulationService service = new SimulationService(1, 1,
+                (configuration, runs, pool, cancelled) -> {
+                    throw new IllegalStateException("boom");
+                })) {
+            CompletableFuture<SimulationResult> result = service.submit(CONFIGURATION, 1);
+
+            Exception failure = assertThrows(Exception.class, result::join);
+            assertThat(failure).hasCauseThat().isInstanceOf(IllegalStateException.class);
+        }
+    }
+
+    @Test
+    void submit_negativeRuns_throws() {
+        try (SimulationService service = new SimulationService(1, 1)) {
+            assertThrows(IllegalArgumentException.class,
+                    () -> service.submit(CONFIGURATION, -1));
+        }
+    }
+
+    @Test
+    void constructor_noSlots_throws() {
+        assertThrows(IllegalArgumentException.class, () -> new SimulationService(0, 1));
+        assertThrows(IllegalArgumentException.class, () -> new SimulationService(1, 0));
+    }
+
+    private static SimulationResult result() {
+        return SimulationResult.of(new GameStatistics());
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            assertThat(latch.await(10, TimeUnit.SECONDS)).isTrue();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static void waitUntil(BooleanSupplier condition)
+            throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (!condition.getAsBoolean()) {
+            assertThat(System.nanoTime()).isLessThan(deadline);
+            Thread.sleep(5);
+        }
+    }
+}
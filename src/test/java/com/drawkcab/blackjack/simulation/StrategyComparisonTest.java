@@ -0,0 +1,136 @@
+package com.drawkcab.blackjack.simulation;
+
+import com.drawkcab.blackjack.player.Move;
+import com.drawkcab.blackjack.player.strategy.BookPlayerStrategy;
+import com.drawkcab.blackjack.player.strategy.Strategy;
+import com.drawkcab.blackjack.simulation.MonteCarloSimulator.SimulationResult;
+import com.drawkcab.blackjack.simulation.StrategyComparison.ComparisonResult;
+import com.drawkcab.blackjack.simulation.StrategyComparison.PairedDifference;
+import com.drawkcab.blackjack.simulation.modules.BlackJackSimulationModule;
+import com.drawkcab.blackjack.simulation.modules.BlackJackSimulationModule.SimulationConfiguration;
+import com.google.inject.Guice;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static com.google.common.truth.Truth.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.mock;
+
+class StrategyComparisonTest {
+    private static final long SEED = 42;
+    private static final Strategy BOOK = new BookPlayerStrategy();
+    // Book strategy, except it never surrenders. Close enough to Book that independent runs
+    // can't tell them apart cheaply.
+    private static final Strategy NO_SURRENDER = (hand, dealerFaceUpCard, bank) -> {
+        Move move = BOOK.getNextMove(hand, dealerFaceUpCard, bank);
+        return move == Move.SURRENDER ? Move.HIT : move;
+    };
+
+    @Test
+    void run_sameStrategyTwice_differenceIsExactlyZero() {
+        ComparisonResult result = comparisonOf(1, BOOK, BOOK).run(200);
+
+        PairedDifference difference = result.difference("variant");
+        assertThat(difference.games()).isEqualTo(200);
+        assertThat(difference.meanDifference()).isEqualTo(0.0);
+        assertThat(difference.standardDeviation()).isEqualTo(0.0);
+        assertThat(result.results().get("variant").mean())
+                .isEqualTo(result.results().get("baseline").mean());
+    }
+
+    @Test
+    void run_similarStrategies_pairingReducesVariance() {
+        PairedDifference difference =
+                comparisonOf(1, BOOK, NO_SURRENDER).run(500).difference("variant");
+
+        assertThat(difference.varianceReduction()).isGreaterThan(1.5);
+        assertThat(difference.halfWidth(0.95)).isLessThan(difference.unpairedHalfWidth(0.95));
+    }
+
+    @Test
+    void run_sameSeed_parallelMatchesSerial() {
+        ComparisonResult serial = comparisonOf(1, BOOK, NO_SURRENDER).run(200);
+        ComparisonResult parallel = comparisonOf(4, BOOK, NO_SURRENDER).run(200);
+
+        assertThat(parallel.difference("variant")).isEqualTo(serial.difference("variant"));
+    }
+
+    @Test
+    void run_identicalStrategies_matchPlayingAlone() {
+        // Identical strategies never need burning to stay in step, so each plays exactly the
+        // games it would have played on its own.
+        SimulationResult alone = Guice.createInjector(new BlackJackSimulationModule(
+                        configuration(1, BOOK)))
+                .getInstance(MonteCarloSimulator.class)
+                .run(200);
+
+        ComparisonResult result = comparisonOf(1, BOOK, BOOK).run(200);
+
+        assertThat(result.results().get("baseline").mean()).isEqualTo(alone.mean());
+    }
+
+    @Test
+    void run_cancelled_throws() {
+        AtomicInteger checks = new AtomicInteger();
+
+        try (ForkJoinPool pool = new ForkJoinPool(1)) {
+            assertThrows(CancellationException.class, () -> comparisonOf(1, BOOK, BOOK)
+                    .run(1_000, pool, () -> checks.incrementAndGet() > 20));
+        }
+    }
+
+    @Test
+    void difference_unknownOrBaseline_throws() {
+        ComparisonResult result = comparisonOf(1, BOOK, BOOK).run(10);
+
+        assertThrows(IllegalArgumentException.class, () -> result.difference("baseline"));
+        assertThrows(IllegalArgumentException.class, () -> result.difference("martingale"));
+    }
+
+    @Test
+    void pairedDifference_significance() {
+        PairedDifference clear = new PairedDifference(10_000, 5, 100, 400);
+        PairedDifference noisy = new PairedDifference(100, 5, 100, 400);
+
+        assertThat(clear.halfWidth(0.95)).isWithin(1e-3).of(1.960);
+        assertThat(clear.unpairedHalfWidth(0.95)).isWithin(1e-3).of(7.840);
+        assertThat(clear.varianceReduction()).isEqualTo(16.0);
+        assertThat(clear.isSignificant(0.95)).isTrue();
+        assertThat(noisy.isSignificant(0.95)).isFalse();
+    }
+
+    @Test
+    void pairedDifference_noVariance_varianceReductionIsDefined() {
+        assertThat(new PairedDifference(100, 0, 0, 400).varianceReduction())
+                .isPositiveInfinity();
+        assertThat(new PairedDifference(100, 0, 0, 0).varianceReduction()).isEqualTo(1.0);
+    }
+
+    @Test
+    void constructor_tooFewStrategiesOrThreads_throws() {
+        assertThrows(IllegalArgumentException.class, () -> new StrategyComparison(
+                Map.of("baseline", () -> mock(GameSimulator.class)), 1, SEED));
+        assertThrows(IllegalArgumentException.class, () -> new StrategyComparison(
+                Map.of("a", () -> mock(GameSimulator.class),
+                        "b", () -> mock(GameSimulator.class)), 0, SEED));
+    }
+
+    private static StrategyComparison comparisonOf(int numThreads, Strategy baseline,
+                                                   Strategy variant) {
+        Map<String, Strategy> strategies = new LinkedHashMap<>();
+        strategies.put("baseline", baseline);
+        strategies.put("variant", variant);
+        return StrategyComparison.of(configuration(numThreads, baseline), strategies);
+    }
+
+    private static SimulationConfiguration configuration(int numThreads, Strategy strategy) {
+        return new SimulationConfiguration(6, new BigDecimal("20.00"), new BigDecimal("10.00"),
+                strategy, numThreads, SEED);
+    }
+}
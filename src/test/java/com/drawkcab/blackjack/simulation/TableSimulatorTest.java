@@ -0,0 +1,158 @@
+package com.drawkcab.blackjack.simulation;
+
+import com.drawkcab.blackjack.game.Deck;
+import com.drawkcab.blackjack.game.Money;
+import com.drawkcab.blackjack.player.Dealer;
+import com.drawkcab.blackjack.player.Player;
+import com.drawkcab.blackjack.player.strategy.BookPlayerStrategy;
+import com.drawkcab.blackjack.player.strategy.Strategy;
+import com.drawkcab.blackjack.simulation.TableSimulator.Seat;
+import com.drawkcab.blackjack.simulation.modules.BlackJackSimulationModule;
+import com.drawkcab.blackjack.simulation.modules.BlackJackSimulationModule.SimulationConfiguration;
+import com.drawkcab.blackjack.simulation.statistics.GameStatistics;
+import com.google.inject.Guice;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static com.google.common.truth.Truth.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class TableSimulatorTest {
+    private static final Strategy BOOK = new BookPlayerStrategy();
+    private static final long MIN_BET = Money.of(BigDecimal.ONE);
+
+    @Test
+    void oneSeat_playsExactlyLikeGameSimulator() {
+        GameSimulator heads = Guice.createInjector(new BlackJackSimulationModule(
+                        new SimulationConfiguration(6, new BigDecimal("20"), new BigDecimal("5"),
+                                BOOK, 1, 1)))
+                .getInstance(GameSimulator.class);
+        TableSimulator table = TableSimulator.create(6, new BigDecimal("5"),
+                List.of(new Seat(BOOK, new BigDecimal("20"))));
+
+        for (long seed = 0; seed < 50; seed++) {
+            long rounds = table.playGame(seed);
+
+            assertThat(rounds).isEqualTo(heads.playGame(seed));
+            assertThat(table.roundsPlayed(0)).isEqualTo(rounds);
+        }
+    }
+
+    @Test
+    void seats_recordRuinTimesSeparately() {
+        TableSimulator table = TableSimulator.create(6, new BigDecimal("5"), List.of(
+                new Seat(BOOK, new BigDecimal("5")),
+                new Seat(BOOK, new BigDecimal("50")),
+                new Seat(BOOK, new BigDecimal("20"))));
+
+        List<GameStatistics> ruin = table.playGames(200, 7);
+
+        assertThat(ruin).hasSize(3);
+        assertThat(ruin.get(0).count()).isEqualTo(200);
+        // A single bet's worth can't outlast ten of them, on average.
+        assertThat(ruin.get(0).mean()).isLessThan(ruin.get(2).mean());
+        assertThat(ruin.get(2).mean()).isLessThan(ruin.get(1).mean());
+    }
+
+    @Test
+    void playGame_lastsAsLongAsTheLongestSeat() {
+        TableSimulator table = TableSimulator.create(2, new BigDecimal("5"), List.of(
+                new Seat(BOOK, new BigDecimal("10")),
+                new Seat(BOOK, new BigDecimal("30"))));
+
+        for (long seed = 0; seed < 20; seed++) {
+            long rounds = table.playGame(seed);
+
+            assertThat(rounds).isEqualTo(Math.max(table.roundsPlayed(0), table.roundsPlayed(1)));
+        }
+    }
+
+    @Test
+    void brokeSeats_leaveWithoutDisturbingSeatingOrder() {
+        // Seat 1 goes broke after one round and seat 0 after three, seat 2 lasts until the cap.
+        Player first = playerWithBanks(MIN_BET, MIN_BET, MIN_BET, 0);
+        Player second = playerWithBanks(MIN_BET, 0);
+        Player third = playerWithBanks(MIN_BET);
+        RoundSimulator rounds = mock(RoundSimulator.class);
+        List<List<Player>> seatings = new ArrayList<>();
+        doAnswer(invocation -> {
+            Player[] seats = invocation.getArgument(0);
+            int seatCount = invocation.getArgument(1);
+            seatings.add(List.copyOf(Arrays.asList(seats).subList(0, seatCount)));
+            return null;
+        }).when(rounds).playRound(any(Player[].class), anyInt(), any(), any(), anyLong());
+        TableSimulator table = new TableSimulator(rounds, List.of(first, second, third),
+                mock(Dealer.class), new Deck(6), MIN_BET, 5);
+
+        long played = table.playGame();
+
+        assertThat(played).isEqualTo(5);
+        assertThat(seatings).containsExactly(
+                List.of(first, second, third),
+                List.of(first, third),
+                List.of(first, third),
+                List.of(third),
+                List.of(third)).inOrder();
+        assertThat(table.roundsPlayed(0)).isEqualTo(3);
+        assertThat(table.roundsPlayed(1)).isEqualTo(1);
+        assertThat(table.roundsPlayed(2)).isEqualTo(5);
+    }
+
+    @Test
+    void constructor_invalidSeats_throws() {
+        RoundSimulator rounds = mock(RoundSimulator.class);
+        Dealer dealer = mock(Dealer.class);
+        Deck deck = new Deck(1);
+        List<Player> eight = Collections.nCopies(TableSimulator.MAX_SEATS + 1, mock(Player.class));
+
+        assertThrows(IllegalArgumentException.class,
+                () -> new TableSimulator(rounds, List.of(), dealer, deck, MIN_BET, 10));
+        assertThrows(IllegalArgumentException.class,
+                () -> new TableSimulator(rounds, eight, dealer, deck, MIN_BET, 10));
+        assertThrows(IllegalArgumentException.class,
+                () -> new TableSimulator(rounds, List.of(mock(Player.class)), dealer, deck,
+                        MIN_BET, 0));
+    }
+
+    @Test
+    void constructor_samePlayerInTwoSeats_throws() {
+        Player player = mock(Player.class);
+
+        assertThrows(IllegalArgumentException.class,
+                () -> new TableSimulator(mock(RoundSimulator.class),
+                        List.of(player, mock(Player.class), player), mock(Dealer.class),
+                        new Deck(1), MIN_BET, 10));
+    }
+
+    @Test
+    void create_shoeTooSmallForSeats_throws() {
+        List<Seat> twoSeats =
+                List.of(new Seat(BOOK, BigDecimal.TEN), new Seat(BOOK, BigDecimal.TEN));
+
+        assertThrows(IllegalArgumentException.class,
+                () -> TableSimulator.create(1, BigDecimal.ONE, twoSeats));
+        assertThat(TableSimulator.create(2, BigDecimal.ONE, twoSeats).seats()).isEqualTo(2);
+    }
+
+    /** A player whose bank is each of {@code banks} in turn, then the last one from then on. */
+    private static Player playerWithBanks(long first, long... rest) {
+        Player player = mock(Player.class);
+        Long[] boxed = new Long[rest.length];
+        for (int i = 0; i < rest.length; i++) {
+            boxed[i] = rest[i];
+        }
+        when(player.getBank()).thenReturn(first, boxed);
+        return player;
+    }
+}
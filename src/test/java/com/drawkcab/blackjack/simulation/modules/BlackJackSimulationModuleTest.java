@@ -0,0 +1,57 @@
+package com.drawkcab.blackjack.simulation.modules;
+
+import com.drawkcab.blackjack.player.counting.CountingSystem;
+import com.drawkcab.blackjack.player.strategy.IndexPlay;
+import com.drawkcab.blackjack.simulation.modules.BlackJackSimulationModule.CountingConfiguration;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static com.google.common.truth.Truth.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class BlackJackSimulationModuleTest {
+
+    @Test
+    void countingConfiguration_copiesRampAndPlays() {
+        int[] ramp = {1, 2, 4};
+        List<IndexPlay> plays = new ArrayList<>(IndexPlay.FAB_4);
+        CountingConfiguration counting =
+                new CountingConfiguration(CountingSystem.HI_LO, plays, 100, ramp);
+
+        ramp[0] = 8;
+        plays.clear();
+        counting.betRamp()[1] = 8;
+
+        assertThat(counting.betRamp()).asList().containsExactly(1, 2, 4).inOrder();
+        assertThat(counting.indexPlays()).isEqualTo(IndexPlay.FAB_4);
+    }
+
+    @Test
+    void countingConfiguration_equalRamps_areEqual() {
+        CountingConfiguration counting =
+                new CountingConfiguration(CountingSystem.HI_LO, IndexPlay.FAB_4, 100, 1, 2, 4);
+        CountingConfiguration same =
+                new CountingConfiguration(CountingSystem.HI_LO, IndexPlay.FAB_4, 100, 1, 2, 4);
+
+        assertThat(counting).isEqualTo(same);
+        assertThat(counting.hashCode()).isEqualTo(same.hashCode());
+        assertThat(counting.toString()).contains("betRamp=[1, 2, 4]");
+        assertThat(counting).isNotEqualTo(
+                new CountingConfiguration(CountingSystem.HI_LO, IndexPlay.FAB_4, 100, 1, 2, 8));
+    }
+
+    @Test
+    void countingConfiguration_invalid_throws() {
+        assertThrows(IllegalArgumentException.class,
+                () -> new CountingConfiguration(CountingSystem.HI_LO, List.of(), 100));
+        assertThrows(IllegalArgumentException.class,
+                () -> new CountingConfiguration(CountingSystem.HI_LO, List.of(), 100, 1, 0));
+        assertThrows(IllegalArgumentException.class,
+                () -> new CountingConfiguration(CountingSystem.HI_LO, List.of(), 0, 1));
+        assertThrows(IllegalArgumentException.class,
+                () -> new CountingConfiguration(CountingSystem.HI_LO, List.of(), 100,
+                        (int[]) null));
+    }
+}
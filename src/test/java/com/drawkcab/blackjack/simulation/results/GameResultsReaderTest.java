@@ -0,0 +1,78 @@
+package com.drawkcab.blackjack.simulation.results;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static com.google.common.truth.Truth.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class GameResultsReaderTest {
+    @TempDir
+    Path directory;
+
+    @Test
+    void scan_noGamesWritten_visitsNothing() throws IOException {
+        Path path = directory.resolve("games.bin");
+        GameResultsWriter.create(path).close();
+
+        assertThat(GameResultsReader.scan(path, (game, rounds, peakBank) -> {
+            throw new AssertionError("No games were written.");
+        })).isEqualTo(0);
+    }
+
+    @Test
+    void scan_notAResultsFile_throws() throws IOException {
+        Path path = directory.resolve("notes.txt");
+        Files.writeString(path, "definitely not a results file");
+
+        assertThrows(IOException.class,
+                () -> GameResultsReader.scan(path, (game, rounds, peakBank) -> { }));
+    }
+
+    @Test
+    void scan_emptyFile_throws() throws IOException {
+        Path path = Files.createFile(directory.resolve("empty.bin"));
+
+        assertThrows(IOException.class,
+                () -> GameResultsReader.scan(path, (game, rounds, peakBank) -> { }));
+    }
+
+    @Test
+    void scan_blockCutShort_throws() throws IOException {
+        Path path = directory.resolve("games.bin");
+        try (GameResultsWriter writer = GameResultsWriter.create(path, 256)) {
+            writer.write(0, new long[] {1, 2}, new long[] {3, 4}, 2);
+        }
+        // The block is six bytes. Claiming a seventh makes it look like the start of another
+        // block, which ends before its game count.
+        try (RandomAccessFile file = new RandomAccessFile(path.toFile(), "rw")) {
+            file.seek(GameResultsFormat.FILE_HEADER_BYTES);
+            assertThat(file.readInt()).isEqualTo(6);
+            file.seek(GameResultsFormat.FILE_HEADER_BYTES);
+            file.writeInt(7);
+        }
+
+        assertThrows(IOException.class,
+                () -> GameResultsReader.scan(path, (game, rounds, peakBank) -> { }));
+    }
+
+    @Test
+    void scan_regionClaimsMoreThanItHolds_throws() throws IOException {
+        Path path = directory.resolve("games.bin");
+        try (GameResultsWriter writer = GameResultsWriter.create(path, 256)) {
+            writer.write(0, new long[] {1}, new long[] {3}, 1);
+        }
+        try (RandomAccessFile file = new RandomAccessFile(path.toFile(), "rw")) {
+            file.seek(GameResultsFormat.FILE_HEADER_BYTES);
+            file.writeInt(1_000);
+        }
+
+        assertThrows(IOException.class,
+                () -> GameResultsReader.scan(path, (game, rounds, peakBank) -> { }));
+    }
+}
@@ -0,0 +1,134 @@
+package com.drawkcab.blackjack.simulation.results;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static com.google.common.truth.Truth.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class GameResultsWriterTest {
+    @TempDir
+    Path directory;
+
+    @Test
+    void write_readsBackEveryGame() throws IOException {
+        Path path = directory.resolve("games.bin");
+        try (GameResultsWriter writer = GameResultsWriter.create(path)) {
+            writer.write(10, new long[] {5, 0, 1L << 40}, new long[] {20_000, 0, 80_000}, 3);
+        }
+
+        List<String> games = read(path);
+
+        assertThat(games).containsExactly("10:5:20000", "11:0:0", "12:1099511627776:80000")
+                .inOrder();
+    }
+
+    @Test
+    void write_usesOnlyCountGames() throws IOException {
+        Path path = directory.resolve("games.bin");
+        try (GameResultsWriter writer = GameResultsWriter.create(path)) {
+            writer.write(0, new long[] {1, 2, 3}, new long[] {4, 5, 6}, 2);
+        }
+
+        assertThat(read(path)).containsExactly("0:1:4", "1:2:5").inOrder();
+    }
+
+    @Test
+    void write_fillsRegion_claimsAnother() throws IOException {
+        Path path = directory.resolve("games.bin");
+        try (GameResultsWriter writer = GameResultsWriter.create(path, 256)) {
+            for (int block = 0; block < 100; block++) {
+                writer.write(block * 4L, new long[] {1, 2, 3, 4}, new long[] {7, 7, 9, 8}, 4);
+            }
+        }
+
+        assertThat(GameResultsReader.scan(path, (game, rounds, peakBank) -> { })).isEqualTo(400);
+        assertThat(path.toFile().length()).isGreaterThan(256L * 2);
+    }
+
+    @Test
+    void write_manyThreads_everyGameWrittenOnce() throws Exception {
+        Path path = directory.resolve("games.bin");
+        int threads = 4;
+        int blocksPerThread = 1_000;
+        try (GameResultsWriter writer = GameResultsWriter.create(path, 4_096);
+             ExecutorService executor = Executors.newFixedThreadPool(threads)) {
+            List<Future<?>> writes = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                long firstBlock = (long) t * blocksPerThread;
+                writes.add(executor.submit(() -> {
+                    for (long block = firstBlock; block < firstBlock + blocksPerThread; block++) {
+                        writer.write(block * 2, new long[] {block, block + 1},
+                                new long[] {block * 3, block * 3 - 1}, 2);
+                    }
+                }));
+            }
+            for (Future<?> write : writes) {
+                write.get();
+            }
+        }
+
+        boolean[] seen = new boolean[threads * blocksPerThread * 2];
+        GameResultsReader.scan(path, (game, rounds, peakBank) -> {
+            assertThat(seen[(int) game]).isFalse();
+            seen[(int) game] = true;
+            long block = game / 2;
+            assertThat(rounds).isEqualTo(block + game % 2);
+            assertThat(peakBank).isEqualTo(block * 3 - game % 2);
+        });
+        for (boolean game : seen) {
+            assertThat(game).isTrue();
+        }
+    }
+
+    @Test
+    void write_afterClose_throws() throws IOException {
+        GameResultsWriter writer = GameResultsWriter.create(directory.resolve("games.bin"));
+        writer.close();
+
+        assertThrows(IllegalStateException.class,
+                () -> writer.write(0, new long[] {1}, new long[] {1}, 1));
+    }
+
+    @Test
+    void write_blockBiggerThanRegion_splitsAcrossRegions() throws IOException {
+        Path path = directory.resolve("games.bin");
+        long[] rounds = new long[100];
+        long[] peakBanks = new long[100];
+        for (int i = 0; i < rounds.length; i++) {
+            rounds[i] = i;
+            peakBanks[i] = 1_000 - i;
+        }
+        try (GameResultsWriter writer = GameResultsWriter.create(path, 100)) {
+            writer.write(50, rounds, peakBanks, 100);
+        }
+
+        List<String> games = read(path);
+
+        assertThat(games).hasSize(100);
+        for (int i = 0; i < 100; i++) {
+            assertThat(games).contains((50 + i) + ":" + i + ":" + (1_000 - i));
+        }
+    }
+
+    @Test
+    void create_tinyRegions_throws() {
+        assertThrows(IllegalArgumentException.class,
+                () -> GameResultsWriter.create(directory.resolve("games.bin"), 8));
+    }
+
+    private static List<String> read(Path path) throws IOException {
+        List<String> games = new ArrayList<>();
+        GameResultsReader.scan(path,
+                (game, rounds, peakBank) -> games.add(game + ":" + rounds + ":" + peakBank));
+        return games;
+    }
+}
@@ -0,0 +1,115 @@
+package com.drawkcab.blackjack.simulation.statistics;
+
+import org.apache.commons.math3.stat.descriptive.DescriptiveStatistics;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.SplittableRandom;
+
+import static com.google.common.truth.Truth.assertThat;
+
+class GameStatisticsTest {
+
+    @Test
+    void empty_hasNoMoments() {
+        GameStatistics statistics = new GameStatistics();
+
+        assertThat(statistics.count()).isEqualTo(0);
+        assertThat(statistics.mean()).isNaN();
+        assertThat(statistics.standardDeviation()).isNaN();
+    }
+
+    @Test
+    void add_singleGame_zeroDeviation() {
+        GameStatistics statistics = new GameStatistics();
+
+        statistics.add(42);
+
+        assertThat(statistics.mean()).isEqualTo(42.0);
+        assertThat(statistics.standardDeviation()).isEqualTo(0.0);
+        assertThat(statistics.median()).isEqualTo(42.0);
+    }
+
+    @Test
+    void add_matchesDescriptiveStatistics() {
+        GameStatistics statistics = new GameStatistics();
+        DescriptiveStatistics expected = new DescriptiveStatistics();
+        SplittableRandom random = new SplittableRandom(3);
+        for (int i = 0; i < 10_000; i++) {
+            long rounds = random.nextLong(1, 5_000);
+            statistics.add(rounds);
+            expected.addValue(rounds);
+        }
+
+        assertThat(statistics.count()).isEqualTo(10_000);
+        assertThat(statistics.mean()).isWithin(1e-9).of(expected.getMean());
+        assertThat(statistics.standardDeviation())
+                .isWithin(1e-6).of(expected.getStandardDeviation());
+        assertThat(statistics.min()).isEqualTo(expected.getMin());
+        assertThat(statistics.max()).isEqualTo(expected.getMax());
+    }
+
+    @Test
+    void merge_matchesSingleAccumulator() {
+        GameStatistics whole = new GameStatistics();
+        GameStatistics left = new GameStatistics();
+        GameStatistics right = new GameStatistics();
+        SplittableRandom random = new SplittableRandom(4);
+        for (int i = 0; i < 10_000; i++) {
+            long rounds = random.nextLong(1, 5_000);
+            whole.add(rounds);
+            (i < 3_000 ? left : right).add(rounds);
+        }
+
+        left.merge(right);
+
+        assertThat(left.count()).isEqualTo(whole.count());
+        assertThat(left.mean()).isWithin(1e-9).of(whole.mean());
+        assertThat(left.standardDeviation()).isWithin(1e-6).of(whole.standardDeviation());
+        assertThat(left.median()).isWithin(50).of(whole.median());
+        assertThat(left.histogram()).isEqualTo(whole.histogram());
+    }
+
+    @Test
+    void survival_countsLongerGames() {
+        GameStatistics statistics = new GameStatistics();
+        for (int rounds = 1; rounds <= 10; rounds++) {
+            statistics.add(rounds);
+        }
+
+        assertThat(statistics.survival(7)).isEqualTo(0.3);
+        assertThat(statistics.histogram().count()).isEqualTo(10);
+    }
+
+    @Test
+    void merge_intoEmpty_copiesMoments() {
+        GameStatistics games = new GameStatistics();
+        games.add(10);
+        games.add(20);
+
+        GameStatistics merged = new GameStatistics().merge(games);
+
+        assertThat(merged.mean()).isEqualTo(15.0);
+        assertThat(merged.standardDeviation()).isEqualTo(games.standardDeviation());
+    }
+
+    @Test
+    void readFrom_restoresStatisticsExactly() throws IOException {
+        GameStatistics games = new GameStatistics();
+        for (int rounds = 1; rounds <= 1_000; rounds++) {
+            games.add(rounds * rounds % 997);
+        }
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        games.writeTo(new DataOutputStream(bytes));
+
+        GameStatistics restored = GameStatistics.readFrom(
+                new DataInputStream(new ByteArrayInputStream(bytes.toByteArray())));
+
+        assertThat(restored).isEqualTo(games);
+        assertThat(restored.median()).isEqualTo(games.median());
+    }
+}
@@ -0,0 +1,158 @@
+package com.drawkcab.blackjack.simulation.statistics;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+import static com.google.common.truth.Truth.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class LogHistogramTest {
+
+    @Test
+    void empty_hasNoDistribution() {
+        LogHistogram histogram = new LogHistogram();
+
+        assertThat(histogram.count()).isEqualTo(0);
+        assertThat(histogram.survival(10)).isNaN();
+        assertThat(histogram.valueAtPercentile(50)).isEqualTo(-1);
+    }
+
+    @Test
+    void record_negative_throws() {
+        LogHistogram histogram = new LogHistogram();
+
+        assertThrows(IllegalArgumentException.class, () -> histogram.record(-1));
+    }
+
+    @Test
+    void smallValues_areExact() {
+        LogHistogram histogram = new LogHistogram();
+        for (int rounds = 1; rounds <= 100; rounds++) {
+            histogram.record(rounds);
+        }
+
+        assertThat(histogram.survival(0)).isEqualTo(1.0);
+        assertThat(histogram.survival(25)).isEqualTo(0.75);
+        assertThat(histogram.survival(100)).isEqualTo(0.0);
+        assertThat(histogram.valueAtPercentile(50)).isEqualTo(50);
+        assertThat(histogram.valueAtPercentile(99)).isEqualTo(99);
+        assertThat(histogram.valueAtPercentile(100)).isEqualTo(100);
+    }
+
+    @Test
+    void largeValues_withinRelativePrecision() {
+        LogHistogram histogram = new LogHistogram();
+        long[] values = new long[100_000];
+        SplittableRandom random = new SplittableRandom(5);
+        for (int i = 0; i < values.length; i++) {
+            // Heavy tailed, like game lengths.
+            values[i] = (long) (10 / Math.pow(random.nextDouble(), 1.5));
+            histogram.record(values[i]);
+        }
+        Arrays.sort(values);
+
+        for (double percentile : new double[] {50, 90, 99, 99.9, 99.99}) {
+            long exact = values[(int) Math.ceil(percentile / 100 * values.length) - 1];
+            assertThat((double) histogram.valueAtPercentile(percentile))
+                    .isWithin(exact / 128.0 + 1).of(exact);
+        }
+        long rounds = values[values.length / 2];
+        long above = Arrays.stream(values).filter(value -> value > rounds).count();
+        assertThat(histogram.survival(rounds))
+                .isWithin(0.01).of((double) above / values.length);
+    }
+
+    @Test
+    void record_extremeValue_isCounted() {
+        LogHistogram histogram = new LogHistogram();
+
+        histogram.record(Long.MAX_VALUE);
+
+        assertThat(histogram.valueAtPercentile(100)).isEqualTo(Long.MAX_VALUE);
+        assertThat(histogram.survival(Long.MAX_VALUE / 2)).isEqualTo(1.0);
+    }
+
+    @Test
+    void merge_equalsSingleHistogram() {
+        LogHistogram whole = new LogHistogram();
+        LogHistogram left = new LogHistogram();
+        LogHistogram right = new LogHistogram();
+        SplittableRandom random = new SplittableRandom(6);
+        for (int i = 0; i < 10_000; i++) {
+            long rounds = random.nextLong(1, 1_000_000);
+            whole.record(rounds);
+            (i % 3 == 0 ? left : right).record(rounds);
+        }
+
+        assertThat(new LogHistogram().merge(right).merge(left)).isEqualTo(whole);
+        assertThat(left.merge(right)).isEqualTo(whole);
+    }
+
+    @Test
+    void writeSurvivalCurve_stepsDownToZero() throws IOException {
+        LogHistogram histogram = new LogHistogram();
+        histogram.record(1);
+        histogram.record(1);
+        histogram.record(3);
+        histogram.record(4);
+        StringBuilder csv = new StringBuilder();
+
+        histogram.writeSurvivalCurve(csv);
+
+        assertThat(csv.toString()).isEqualTo("""
+                rounds,survival
+                1,1.0
+                3,0.5
+                4,0.25
+                5,0.0
+                """);
+    }
+
+    @Test
+    void writePercentiles_writesTable() throws IOException {
+        LogHistogram histogram = new LogHistogram();
+        for (int rounds = 1; rounds <= 100; rounds++) {
+            histogram.record(rounds);
+        }
+        StringBuilder csv = new StringBuilder();
+
+        histogram.writePercentiles(csv, 50, 99.99);
+
+        assertThat(csv.toString()).isEqualTo("""
+                percentile,rounds
+                50.0,50
+                99.99,100
+                """);
+    }
+
+    @Test
+    void readFrom_restoresHistogramExactly() throws IOException {
+        LogHistogram histogram = new LogHistogram();
+        for (long rounds = 1; rounds < 1_000_000; rounds *= 3) {
+            histogram.record(rounds);
+        }
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        histogram.writeTo(new DataOutputStream(bytes));
+
+        LogHistogram restored = LogHistogram.readFrom(
+                new DataInputStream(new ByteArrayInputStream(bytes.toByteArray())));
+
+        assertThat(restored).isEqualTo(histogram);
+        assertThat(restored.valueAtPercentile(90)).isEqualTo(histogram.valueAtPercentile(90));
+    }
+
+    @Test
+    void readFrom_garbage_throws() {
+        byte[] garbage = {0, 0, 0, 0, 0, 0, 0, 1, 99};
+
+        assertThrows(IOException.class, () -> LogHistogram.readFrom(
+                new DataInputStream(new ByteArrayInputStream(garbage))));
+    }
+}
@@ -0,0 +1,59 @@
+package com.drawkcab.blackjack.simulation.statistics;
+
+import org.apache.commons.math3.stat.descriptive.DescriptiveStatistics;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.SplittableRandom;
+
+import static com.google.common.truth.Truth.assertThat;
+
+class MomentsTest {
+
+    @Test
+    void empty_hasNoMoments() {
+        Moments moments = new Moments();
+
+        assertThat(moments.count()).isEqualTo(0);
+        assertThat(moments.mean()).isNaN();
+        assertThat(moments.standardDeviation()).isNaN();
+    }
+
+    @Test
+    void merge_signedValues_matchesDescriptiveStatistics() {
+        Moments left = new Moments();
+        Moments right = new Moments();
+        DescriptiveStatistics expected = new DescriptiveStatistics();
+        SplittableRandom random = new SplittableRandom(7);
+        for (int i = 0; i < 10_000; i++) {
+            double value = random.nextLong(-5_000, 5_000);
+            (i < 4_000 ? left : right).add(value);
+            expected.addValue(value);
+        }
+
+        Moments merged = new Moments().merge(left).merge(right);
+
+        assertThat(merged.count()).isEqualTo(10_000);
+        assertThat(merged.mean()).isWithin(1e-9).of(expected.getMean());
+        assertThat(merged.standardDeviation())
+                .isWithin(1e-6).of(expected.getStandardDeviation());
+    }
+
+    @Test
+    void readFrom_restoresMomentsExactly() throws IOException {
+        Moments moments = new Moments();
+        moments.add(-3);
+        moments.add(8);
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        moments.writeTo(new DataOutputStream(bytes));
+
+        Moments restored = Moments.readFrom(
+                new DataInputStream(new ByteArrayInputStream(bytes.toByteArray())));
+
+        assertThat(restored).isEqualTo(moments);
+    }
+}
@@ -0,0 +1,145 @@
+package com.drawkcab.blackjack.simulation.statistics;
+
+import org.apache.commons.math3.stat.descriptive.rank.Percentile;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.SplittableRandom;
+
+import static com.google.common.truth.Truth.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class TDigestTest {
+
+    @Test
+    void quantile_empty_isNaN() {
+        assertThat(new TDigest().quantile(0.5)).isNaN();
+    }
+
+    @Test
+    void quantile_fewValues_exact() {
+        TDigest digest = new TDigest();
+        for (int i = 1; i <= 5; i++) {
+            digest.add(i);
+        }
+
+        assertThat(digest.quantile(0.5)).isEqualTo(3.0);
+        assertThat(digest.quantile(0)).isEqualTo(1.0);
+        assertThat(digest.quantile(1)).isEqualTo(5.0);
+    }
+
+    @Test
+    void quantile_heavyTailedValues_closeToExact() {
+        SplittableRandom random = new SplittableRandom(1);
+        double[] values = new double[200_000];
+        TDigest digest = new TDigest();
+        for (int i = 0; i < values.length; i++) {
+            // Geometric-ish game lengths with a long tail.
+            values[i] = Math.floor(-150 * Math.log(1 - random.nextDouble()));
+            digest.add(values[i]);
+        }
+
+        Percentile exact = new Percentile();
+        exact.setData(values);
+        for (double q : new double[] {0.01, 0.25, 0.5, 0.75, 0.99, 0.999}) {
+            double expected = exact.evaluate(q * 100);
+            assertThat(digest.quantile(q)).isWithin(Math.max(1.0, expected * 0.02)).of(expected);
+        }
+    }
+
+    @Test
+    void size_manyValues_memoryStaysBounded() {
+        TDigest digest = new TDigest(100);
+        for (int i = 0; i < 1_000_000; i++) {
+            digest.add(i % 977);
+        }
+
+        assertThat(digest.size()).isEqualTo(1_000_000);
+        assertThat(digest.centroidCount()).isAtMost(2 * 100 + 10);
+    }
+
+    @Test
+    void merge_matchesSingleDigestClosely() {
+        TDigest combined = new TDigest();
+        TDigest[] parts = new TDigest[8];
+        for (int p = 0; p < parts.length; p++) {
+            parts[p] = new TDigest();
+        }
+        SplittableRandom random = new SplittableRandom(2);
+        for (int i = 0; i < 80_000; i++) {
+            double value = random.nextInt(10_000);
+            combined.add(value);
+            parts[i % parts.length].add(value);
+        }
+
+        TDigest merged = new TDigest();
+        for (TDigest part : parts) {
+            merged.merge(part);
+        }
+
+        assertThat(merged.size()).isEqualTo(combined.size());
+        assertThat(merged.min()).isEqualTo(combined.min());
+        assertThat(merged.max()).isEqualTo(combined.max());
+        assertThat(merged.quantile(0.5)).isWithin(100).of(combined.quantile(0.5));
+        assertThat(merged.quantile(0.99)).isWithin(20).of(combined.quantile(0.99));
+    }
+
+    @Test
+    void merge_sameInputs_equalDigests() {
+        TDigest first = digestOf(0, 5_000);
+        first.merge(digestOf(5_000, 10_000));
+        TDigest second = digestOf(0, 5_000);
+        second.merge(digestOf(5_000, 10_000));
+
+        assertThat(first).isEqualTo(second);
+    }
+
+    @Test
+    void merge_empty_noChange() {
+        TDigest digest = digestOf(0, 10);
+
+        digest.merge(new TDigest());
+
+        assertThat(digest).isEqualTo(digestOf(0, 10));
+    }
+
+    @Test
+    void readFrom_restoresDigestExactly() throws IOException {
+        TDigest digest = digestOf(0, 10_000);
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        digest.writeTo(new DataOutputStream(bytes));
+
+        TDigest restored = TDigest.readFrom(
+                new DataInputStream(new ByteArrayInputStream(bytes.toByteArray())));
+        restored.merge(digestOf(10_000, 20_000));
+        digest.merge(digestOf(10_000, 20_000));
+
+        assertThat(restored).isEqualTo(digest);
+    }
+
+    @Test
+    void readFrom_notADigest_throws() {
+        DataInputStream in = new DataInputStream(new ByteArrayInputStream(new byte[] {0, 0, 0, 1}));
+
+        assertThrows(IOException.class, () -> TDigest.readFrom(in));
+    }
+
+    @Test
+    void quantile_outOfRange_throws() {
+        TDigest digest = digestOf(0, 10);
+
+        assertThrows(IllegalArgumentException.class, () -> digest.quantile(1.5));
+    }
+
+    private static TDigest digestOf(int from, int to) {
+        TDigest digest = new TDigest();
+        for (int i = from; i < to; i++) {
+            digest.add(i);
+        }
+        return digest;
+    }
+}